@@ -4,6 +4,9 @@ import net.socialhub.j2objc.J2ObjcExtension;
 import net.socialhub.j2objc.J2ObjcExtensions;
 import net.socialhub.service.Supports;
 import net.socialhub.service.Utils;
+import net.socialhub.service.cache.ActionCache;
+import net.socialhub.service.cache.CacheConfig;
+import net.socialhub.service.control.ActionExecutor;
 import net.socialhub.service.facebook.FacebookAuth;
 import net.socialhub.service.mastodon.MastodonAuth;
 import net.socialhub.service.misskey.MisskeyAuth;
@@ -84,6 +87,40 @@ public final class SocialHub {
         return new Utils();
     }
 
+    /**
+     * Get Executor for API Requests
+     * API リクエストの並列実行に使用するエクゼキュータを取得
+     */
+    public static ActionExecutor getActionExecutor() {
+        return ActionExecutor.shared();
+    }
+
+    /**
+     * Set Executor for API Requests
+     * (Previous executor is shutdown)
+     * API リクエストの並列実行に使用するエクゼキュータを設定
+     */
+    public static void setActionExecutor(ActionExecutor executor) {
+        ActionExecutor.setShared(executor);
+    }
+
+    /**
+     * Set Default Cache Config
+     * (Applied to accounts authorized after this call)
+     * エンティティキャッシュのデフォルト設定を変更
+     */
+    public static void setCacheConfig(CacheConfig config) {
+        ActionCache.setDefaultConfig(config);
+    }
+
+    /**
+     * Shutdown Shared Resources
+     * 共有リソース (スレッド等) を停止
+     */
+    public static void shutdown() {
+        ActionExecutor.shutdownShared();
+    }
+
     public static void init() {
         J2ObjcExtension.initialize( //
                 J2ObjcExtensions.Standard.Hmac //
@@ -2,6 +2,7 @@ package net.socialhub.define;
 
 import net.socialhub.model.common.AttributedType;
 import net.socialhub.model.common.AttributedType.CommonAttributedType;
+import net.socialhub.model.common.AttributedType.UnicodeEmojiType;
 import net.socialhub.utils.StringUtil;
 
 import java.util.Arrays;
@@ -42,6 +43,10 @@ public final class AttributedTypes {
     public static final AttributedType mastodon =
             new CommonAttributedType(ACCOUNT, MASTODON_ACCOUNT_REGEX);
 
+    // Emoji (ZWJ, skin tone, keycap, flag sequences)
+    public static final AttributedType emoji =
+            new UnicodeEmojiType();
+
     public static List<AttributedType> simple() {
         return Arrays.asList(
                 AttributedTypes.link,
@@ -49,7 +54,8 @@ public final class AttributedTypes {
                 AttributedTypes.email,
                 AttributedTypes.phone,
                 AttributedTypes.hashTag,
-                AttributedTypes.twitter);
+                AttributedTypes.twitter,
+                AttributedTypes.emoji);
     }
 
     public static class Regex {
@@ -1,6 +1,7 @@
 package net.socialhub.define;
 
-import java.util.stream.Stream;
+import java.util.HashMap;
+import java.util.Map;
 
 public enum EmojiCategoryType {
 
@@ -27,6 +28,14 @@ public enum EmojiCategoryType {
 
     ;
 
+    private static final Map<String, EmojiCategoryType> CODES = new HashMap<>();
+
+    static {
+        for (EmojiCategoryType type : values()) {
+            CODES.put(type.getCode(), type);
+        }
+    }
+
     private String code;
 
     EmojiCategoryType(String code) {
@@ -38,8 +47,6 @@ public enum EmojiCategoryType {
     }
 
     public static EmojiCategoryType of(String code) {
-        return Stream.of(values()) //
-                .filter(e -> e.getCode().equals(code)) //
-                .findFirst().orElse(null);
+        return (code != null) ? CODES.get(code) : null;
     }
 }
@@ -0,0 +1,20 @@
+package net.socialhub.define;
+
+/**
+ * Emoji Definition
+ * 絵文字定義 ({@link EmojiType} {@link EmojiVariationType})
+ */
+public interface EmojiDefinition {
+
+    /** 絵文字 (コードポイント列) を取得 */
+    String getEmoji();
+
+    /** 名前 (ショートコード) を取得 */
+    String getName();
+
+    /** カテゴリを取得 */
+    EmojiCategoryType getCategory();
+
+    /** 利用頻度のレベルを取得 (小さいほど高頻度) */
+    Integer getLevel();
+}
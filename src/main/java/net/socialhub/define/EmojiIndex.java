@@ -0,0 +1,152 @@
+package net.socialhub.define;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emoji Index
+ * 絵文字の索引
+ *
+ * 名前・絵文字・カテゴリ・スキントーンの対応を初回参照時に一度だけ作成する。
+ * 作成後は変更されないため、複数スレッドから参照可能。
+ */
+public final class EmojiIndex {
+
+    /** Variation Selector-16 (絵文字表示) */
+    private static final String VS16 = "\uFE0F";
+
+    private final Map<String, EmojiDefinition> names = new HashMap<>();
+    private final Map<String, EmojiDefinition> emojis = new HashMap<>();
+
+    private final Map<EmojiCategoryType, List<EmojiType>> categories = new EnumMap<>(EmojiCategoryType.class);
+    private final Map<EmojiCategoryType, List<EmojiVariationType>> variationCategories = new EnumMap<>(EmojiCategoryType.class);
+
+    private final Map<EmojiType, List<EmojiVariationType>> variations = new EnumMap<>(EmojiType.class);
+    private final Map<EmojiVariationType, EmojiType> bases = new EnumMap<>(EmojiVariationType.class);
+
+    /**
+     * Lazy holder (built on first access)
+     */
+    private static class Holder {
+        private static final EmojiIndex INSTANCE = new EmojiIndex();
+    }
+
+    public static EmojiIndex getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private EmojiIndex() {
+        for (EmojiType emoji : EmojiType.values()) {
+            register(emoji);
+            group(categories, emoji.getCategory(), emoji);
+        }
+
+        for (EmojiVariationType emoji : EmojiVariationType.values()) {
+            register(emoji);
+            group(variationCategories, emoji.getCategory(), emoji);
+
+            // "santa::skin-tone-2" -> "santa"
+            String name = emoji.getName();
+            int index = name.indexOf("::");
+            if (index > 0) {
+                EmojiDefinition base = names.get(name.substring(0, index));
+                if (base instanceof EmojiType) {
+                    bases.put(emoji, (EmojiType) base);
+                    group(variations, (EmojiType) base, emoji);
+                }
+            }
+        }
+
+        freeze(categories);
+        freeze(variationCategories);
+        freeze(variations);
+    }
+
+    private void register(EmojiDefinition emoji) {
+        names.putIfAbsent(emoji.getName(), emoji);
+        emojis.putIfAbsent(emoji.getEmoji(), emoji);
+
+        // 異体字セレクタ無しでも検索できるように
+        String stripped = emoji.getEmoji().replace(VS16, "");
+        emojis.putIfAbsent(stripped, emoji);
+    }
+
+    private static <K, V> void group(Map<K, List<V>> map, K key, V value) {
+        if (key != null) {
+            map.computeIfAbsent(key, (k) -> new ArrayList<>()).add(value);
+        }
+    }
+
+    private static <K, V> void freeze(Map<K, List<V>> map) {
+        map.replaceAll((k, v) -> Collections.unmodifiableList(v));
+    }
+
+    // ============================================================== //
+    // Functions
+    // ============================================================== //
+
+    /**
+     * Find emoji by name (":name:" is also accepted)
+     * 名前から絵文字を検索 (":name:" 形式も可)
+     */
+    public EmojiDefinition findByName(String name) {
+        if (name == null) {
+            return null;
+        }
+        if (name.length() > 2 && name.startsWith(":") && name.endsWith(":")) {
+            name = name.substring(1, name.length() - 1);
+        }
+        return names.get(name);
+    }
+
+    /**
+     * Find emoji by emoji string (with or without VS16)
+     * 絵文字から定義を検索 (異体字セレクタの有無は問わない)
+     */
+    public EmojiDefinition findByEmoji(String emoji) {
+        if (emoji == null) {
+            return null;
+        }
+        EmojiDefinition result = emojis.get(emoji);
+        if (result == null && emoji.contains(VS16)) {
+            result = emojis.get(emoji.replace(VS16, ""));
+        }
+        return result;
+    }
+
+    /**
+     * Get emojis in category
+     * カテゴリの絵文字一覧を取得
+     */
+    public List<EmojiType> getEmojis(EmojiCategoryType category) {
+        return categories.getOrDefault(category, Collections.emptyList());
+    }
+
+    /**
+     * Get skin tone variations in category
+     * カテゴリのスキントーン絵文字一覧を取得
+     */
+    public List<EmojiVariationType> getVariations(EmojiCategoryType category) {
+        return variationCategories.getOrDefault(category, Collections.emptyList());
+    }
+
+    /**
+     * Get skin tone variations of emoji
+     * 絵文字のスキントーン一覧を取得
+     */
+    public List<EmojiVariationType> getVariations(EmojiType emoji) {
+        return variations.getOrDefault(emoji, Collections.emptyList());
+    }
+
+    /**
+     * Get base emoji of variation
+     * スキントーン絵文字の元の絵文字を取得
+     */
+    public EmojiType getBase(EmojiVariationType emoji) {
+        return bases.get(emoji);
+    }
+}
@@ -1,11 +1,9 @@
 package net.socialhub.define;
 
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @SuppressWarnings("unused")
-public enum EmojiType {
+public enum EmojiType implements EmojiDefinition {
 
     // Auto Generated Code
     // see EmojiGenerator.java (Test)
@@ -1775,23 +1773,51 @@ public enum EmojiType {
     }
 
     public static List<EmojiType> fromCategory(EmojiCategoryType category) {
-        return Stream.of(values()) //
-                .filter((e) -> e.getCategory() == category)
-                .collect(Collectors.toList());
+        return EmojiIndex.getInstance().getEmojis(category);
     }
 
+    /**
+     * Find emoji by name (null if not found)
+     * 名前から絵文字を取得
+     */
+    public static EmojiType fromName(String name) {
+        EmojiDefinition emoji = EmojiIndex.getInstance().findByName(name);
+        return (emoji instanceof EmojiType) ? (EmojiType) emoji : null;
+    }
+
+    /**
+     * Find emoji by emoji string (null if not found)
+     * 絵文字から定義を取得
+     */
+    public static EmojiType fromEmoji(String emoji) {
+        EmojiDefinition result = EmojiIndex.getInstance().findByEmoji(emoji);
+        return (result instanceof EmojiType) ? (EmojiType) result : null;
+    }
+
+    /**
+     * Get skin tone variations
+     * スキントーンの一覧を取得
+     */
+    public List<EmojiVariationType> getVariations() {
+        return EmojiIndex.getInstance().getVariations(this);
+    }
+
+    @Override
     public String getEmoji() {
         return emoji;
     }
 
+    @Override
     public String getName() {
         return name;
     }
 
+    @Override
     public EmojiCategoryType getCategory() {
         return EmojiCategoryType.of(category);
     }
 
+    @Override
     public Integer getLevel() {
         return level;
     }
@@ -1,11 +1,9 @@
 package net.socialhub.define;
 
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @SuppressWarnings("unused")
-public enum EmojiVariationType {
+public enum EmojiVariationType implements EmojiDefinition {
 
     // Auto Generated Code
     // see EmojiGenerator.java (Test)
@@ -1384,23 +1382,33 @@ public enum EmojiVariationType {
     }
 
     public static List<EmojiVariationType> fromCategory(EmojiCategoryType category) {
-        return Stream.of(values()) //
-                .filter((e) -> e.getCategory() == category)
-                .collect(Collectors.toList());
+        return EmojiIndex.getInstance().getVariations(category);
     }
 
+    /**
+     * Get base emoji (without skin tone)
+     * スキントーン無しの絵文字を取得
+     */
+    public EmojiType getBase() {
+        return EmojiIndex.getInstance().getBase(this);
+    }
+
+    @Override
     public String getEmoji() {
         return emoji;
     }
 
+    @Override
     public String getName() {
         return name;
     }
 
+    @Override
     public EmojiCategoryType getCategory() {
         return EmojiCategoryType.of(category);
     }
 
+    @Override
     public Integer getLevel() {
         return level;
     }
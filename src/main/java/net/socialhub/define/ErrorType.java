@@ -11,6 +11,10 @@ public enum ErrorType implements SocialHubError {
     RATE_LIMIT_EXCEEDED(
             "Rate limit exceeded, please try again in a moment.",
             "時間当たりのリクエストの上限に達しました。時間をおいて再度お試しください。"),
+
+    HOST_UNAVAILABLE(
+            "The server is not responding, please try again later.",
+            "サーバーが応答していません。時間をおいて再度お試しください。"),
     ;
 
     private final String messageEn;
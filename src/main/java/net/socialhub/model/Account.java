@@ -2,6 +2,7 @@ package net.socialhub.model;
 
 import net.socialhub.model.service.Service;
 import net.socialhub.service.action.AccountAction;
+import net.socialhub.service.action.AsyncAccountAction;
 import net.socialhub.service.action.RequestAction;
 
 import javax.annotation.Nonnull;
@@ -27,6 +28,15 @@ public class Account implements Serializable {
         return action;
     }
 
+    /**
+     * Get asynchronous actions
+     * 非同期アクションを取得
+     */
+    @Nonnull
+    public AsyncAccountAction asyncAction() {
+        return new AsyncAccountAction(this);
+    }
+
     @Nonnull
     public RequestAction request() {
         return action.request();
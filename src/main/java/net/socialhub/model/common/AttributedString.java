@@ -1,29 +1,31 @@
 package net.socialhub.model.common;
 
-import net.socialhub.logger.Logger;
+import net.socialhub.model.common.xml.XmlAttributedConverter;
 import net.socialhub.model.common.xml.XmlConvertRule;
 import net.socialhub.model.service.Emoji;
-import net.socialhub.utils.XmlParseUtil;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
-import static java.util.stream.Collectors.toList;
 import static net.socialhub.define.AttributedTypes.simple;
 
 /**
  * String With Attributes
  * 属性付き文字列
+ *
+ * 元の文字列からの解析は要素を最初に参照した時まで遅延する。
+ * 表示文字列は一度結合したものを保持する。
  */
 public class AttributedString {
 
-    private List<AttributedElement> elements;
+    /** Source of elements (null after parsed) */
+    private Supplier<List<AttributedElement>> source;
+
+    private volatile List<AttributedElement> elements;
+
+    private volatile String displayText;
 
     // ============================================================================== //
     // Static functions
@@ -34,7 +36,7 @@ public class AttributedString {
      * 装飾無しテキストから属性付き文字列を作成
      */
     public static AttributedString plain(String string) {
-        return new AttributedString((string != null) ? string : "", simple());
+        return plain(string, simple());
     }
 
     /**
@@ -42,7 +44,8 @@ public class AttributedString {
      * 装飾無しテキストから属性付き文字列を作成 (種類を指定)
      */
     public static AttributedString plain(String string, List<AttributedType> kinds) {
-        return new AttributedString((string != null) ? string : "", kinds);
+        String text = (string != null) ? string : "";
+        return new AttributedString(() -> AttributedTokenizer.of(kinds).tokenize(text));
     }
 
     /**
@@ -58,7 +61,8 @@ public class AttributedString {
      * XHTML テキストから属性付き文字列を作成 (ルールを指定)
      */
     public static AttributedString xhtml(String string, XmlConvertRule rule) {
-        return XmlParseUtil.xhtml(string).toAttributedString(rule);
+        return new AttributedString(() -> UnicodeEmojiMatcher.getInstance()
+                .split(XmlAttributedConverter.convert(string, rule)));
     }
 
     /**
@@ -82,21 +86,11 @@ public class AttributedString {
     }
 
     /**
-     * Attributed String with plain text and element types.
-     * 文字列から属性文字列を作成 (属性を指定)
+     * Make Attributes String parsed on first access.
+     * 最初に参照した時に解析する属性付き文字列を生成
      */
-    private AttributedString(String text, List<AttributedType> kinds) {
-        AttributedItem model = new AttributedItem();
-        model.setKind(AttributedKind.PLAIN);
-        model.setDisplayText(text);
-
-        Stream<AttributedElement> stream = Stream.of(model);
-        for (AttributedType kind : kinds) {
-            stream = stream
-                    .map(elem -> scanElements(elem, kind))
-                    .flatMap(Collection::stream);
-        }
-        elements = stream.collect(toList());
+    private AttributedString(Supplier<List<AttributedElement>> source) {
+        this.source = source;
     }
 
     /**
@@ -105,160 +99,89 @@ public class AttributedString {
      */
     public void addEmojiElement(List<Emoji> emojis) {
         if (emojis != null && !emojis.isEmpty()) {
-            Stream<AttributedElement> stream = elements.stream();
-            for (Emoji emoji : emojis) {
-                stream = stream
-                        .map(elem -> scanEmojis(elem, emoji))
-                        .flatMap(Collection::stream);
-            }
-            elements = stream.collect(toList());
+            transform((elements) -> EmojiMatcher.of(emojis).split(elements));
         }
     }
 
     /**
-     * Get Elements
-     * 要素情報の取得
+     * Add Emoji Element with prepared matcher
+     * 絵文字要素を追加 (作成済みの絵文字検出を使用)
      */
-    public List<AttributedElement> getElements() {
-        return this.elements;
+    public void addEmojiElement(EmojiMatcher matcher) {
+        if (!matcher.isEmpty()) {
+            transform(matcher::split);
+        }
     }
 
     /**
-     * Get Display Text
-     * 表示文字列を取得
+     * Add processor for each element (applied when parsed)
+     * 各要素に対する処理を追加 (解析時に適用)
      */
-    public String getDisplayText() {
-        return this.elements.stream()
-                .map(AttributedElement::getDisplayText)
-                .collect(Collectors.joining());
+    public void addElementProcessor(Consumer<AttributedElement> processor) {
+        transform((elements) -> {
+            elements.forEach(processor);
+            return elements;
+        });
     }
 
     /**
-     * Scan elements
-     * エレメントを走査
+     * Transform elements (deferred until parsed)
+     * 要素を変換 (未解析の場合は解析時まで遅延)
      */
-    private List<AttributedElement> scanElements(
-            AttributedElement element,
-            AttributedType kind) {
-
-        if (element.getKind() == AttributedKind.PLAIN) {
-            String text = element.getDisplayText();
-            if (!text.isEmpty()) {
-
-                // プレーン文字列の場合にスキャンして走査
-                Pattern p = Pattern.compile(kind.getRegex());
-                Matcher m = p.matcher(text);
-
-                // 見つかった場合分割
-                if (m.find()) {
-                    int i = m.start();
-                    String found = m.group();
-
-                    if (i >= 0) {
-                        String before = text.substring(0, i);
-                        String after = text.substring(i + found.length());
-                        List<AttributedElement> results = new ArrayList<>();
-
-                        {
-                            AttributedItem model = new AttributedItem();
-                            model.setKind(AttributedKind.PLAIN);
-                            model.setDisplayText(before);
-                            results.add(model);
-                        }
-                        {
-                            AttributedItem model = new AttributedItem();
-                            model.setDisplayText(kind.getDisplayedText(m));
-                            model.setExpandedText(kind.getExpandedText(m));
-                            model.setKind(kind.getKind());
-                            results.add(model);
-                        }
-                        {
-                            AttributedItem model = new AttributedItem();
-                            model.setKind(AttributedKind.PLAIN);
-                            model.setDisplayText(after);
-
-                            // 再帰的に作成したオブジェクトに対して走査
-                            results.addAll(scanElements(model, kind));
-                        }
-                        return results;
-
-                    } else {
+    private synchronized void transform(UnaryOperator<List<AttributedElement>> function) {
+        Supplier<List<AttributedElement>> before = source;
+        if (before != null) {
+            source = () -> function.apply(before.get());
+        } else {
+            elements = function.apply(elements);
+        }
+        displayText = null;
+    }
 
-                        // 特殊環境下でエラーになるようなので調査のためログを挟む
-                        Logger log = Logger.getLogger(AttributedString.class);
-                        log.debug("UnExpected Status");
-                        log.debug("Text : " + text);
-                        log.debug("Found: " + found);
-                        log.debug("Index: " + i);
-                    }
+    /**
+     * Parse source if not parsed yet
+     * 未解析の場合は解析
+     */
+    private List<AttributedElement> parse() {
+        List<AttributedElement> results = elements;
+        if (results == null) {
+            synchronized (this) {
+                results = elements;
+                if (results == null) {
+                    results = source.get();
+                    elements = results;
+                    source = null;
                 }
             }
         }
-        return Collections.singletonList(element);
+        return results;
     }
 
     /**
-     * Scan emojis
-     * 絵文字を抽出
+     * Get Elements
+     * (Elements may be modified by caller, so display text cache is cleared)
+     * 要素情報の取得
      */
-    private List<AttributedElement> scanEmojis(
-            AttributedElement element,
-            Emoji emoji) {
-
-        // 文字列の場合のみが対象
-        if (element.getKind() == AttributedKind.PLAIN) {
-            String text = element.getDisplayText();
-
-            // プレーン文字列の場合にスキャンして走査
-            String regex = ":" + emoji.getCode() + ":";
-            Pattern p = Pattern.compile(regex);
-            Matcher m = p.matcher(text);
-
-            // 見つかった場合分割
-            if (m.find()) {
-                int i = m.start();
-                String found = m.group();
-
-                if (i >= 0) {
-                    String before = text.substring(0, i);
-                    String after = text.substring(i + found.length());
-                    List<AttributedElement> results = new ArrayList<>();
-
-                    {
-                        AttributedItem model = new AttributedItem();
-                        model.setKind(AttributedKind.PLAIN);
-                        model.setDisplayText(before);
-                        results.add(model);
-                    }
-                    {
-                        AttributedItem model = new AttributedItem();
-                        model.setDisplayText(regex);
-                        model.setExpandedText(emoji.getUrl());
-                        model.setKind(AttributedKind.EMOJI);
-                        results.add(model);
-                    }
-                    {
-                        AttributedItem model = new AttributedItem();
-                        model.setKind(AttributedKind.PLAIN);
-                        model.setDisplayText(after);
-
-                        // 再帰的に作成したオブジェクトに対して走査
-                        results.addAll(scanEmojis(model, emoji));
-                    }
-                    return results;
-
-                } else {
+    public List<AttributedElement> getElements() {
+        List<AttributedElement> results = parse();
+        displayText = null;
+        return results;
+    }
 
-                    // 特殊環境下でエラーになるようなので調査のためログを挟む
-                    Logger log = Logger.getLogger(AttributedString.class);
-                    log.debug("UnExpected Status");
-                    log.debug("Text : " + text);
-                    log.debug("Found: " + found);
-                    log.debug("Index: " + i);
-                }
+    /**
+     * Get Display Text
+     * 表示文字列を取得
+     */
+    public String getDisplayText() {
+        String text = displayText;
+        if (text == null) {
+            StringBuilder builder = new StringBuilder();
+            for (AttributedElement element : parse()) {
+                builder.append(element.getDisplayText());
             }
+            text = builder.toString();
+            displayText = text;
         }
-
-        return Collections.singletonList(element);
+        return text;
     }
 }
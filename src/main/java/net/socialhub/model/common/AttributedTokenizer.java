@@ -0,0 +1,121 @@
+package net.socialhub.model.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * Attributed String Tokenizer
+ * 属性付き文字列の分割処理
+ *
+ * 元の文字列上の位置のみで断片を管理し、種類毎に一つの Matcher を範囲指定で使い回す。
+ * 文字列の切り出しは最後に一度だけ行う (再帰や中間文字列を作らない)。
+ * 種類の優先順位と分割結果は従来の再帰処理と同一。
+ * Unicode 絵文字は正規表現を使わず、最後の切り出しと同時にトライ木で分割する。
+ */
+final class AttributedTokenizer {
+
+    private final AttributedType[] types;
+
+    /** Split unicode emoji */
+    private final boolean emoji;
+
+    private AttributedTokenizer(AttributedType[] types, boolean emoji) {
+        this.types = types;
+        this.emoji = emoji;
+    }
+
+    /**
+     * Make tokenizer with types (earlier type has priority)
+     * 種類を指定して作成 (先の種類が優先)
+     */
+    static AttributedTokenizer of(List<AttributedType> types) {
+        List<AttributedType> patterns = new ArrayList<>(types.size());
+        boolean emoji = false;
+
+        for (AttributedType type : types) {
+            if (type instanceof AttributedType.UnicodeEmojiType) {
+                emoji = true;
+            } else {
+                patterns.add(type);
+            }
+        }
+        return new AttributedTokenizer(patterns.toArray(new AttributedType[0]), emoji);
+    }
+
+    /**
+     * Split plain text into elements
+     * 文字列を要素に分割
+     */
+    List<AttributedElement> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        tokens.add(new Token(0, text.length(), null));
+
+        for (AttributedType type : types) {
+            Matcher m = type.getPattern().matcher(text);
+            List<Token> results = new ArrayList<>(tokens.size());
+
+            for (Token token : tokens) {
+                if (token.item != null || token.start == token.end) {
+                    results.add(token);
+                    continue;
+                }
+
+                // 一致した箇所の前後で分割し、後ろは続けて走査
+                // (region は境界外を参照しないため、部分文字列に対する走査と同じ結果になる)
+                int position = token.start;
+                while (true) {
+                    m.region(position, token.end);
+                    if (!m.find() || m.end() == m.start()) {
+                        results.add(new Token(position, token.end, null));
+                        break;
+                    }
+
+                    AttributedItem model = new AttributedItem();
+                    model.setDisplayText(type.getDisplayedText(m));
+                    model.setExpandedText(type.getExpandedText(m));
+                    model.setKind(type.getKind());
+
+                    results.add(new Token(position, m.start(), null));
+                    results.add(new Token(m.start(), m.end(), model));
+                    position = m.end();
+                }
+            }
+            tokens = results;
+        }
+
+        List<AttributedElement> elements = new ArrayList<>(tokens.size());
+        UnicodeEmojiMatcher matcher = emoji ? UnicodeEmojiMatcher.getInstance() : null;
+
+        for (Token token : tokens) {
+            if (token.item != null) {
+                elements.add(token.item);
+            } else if (matcher != null) {
+                matcher.segment(text, token.start, token.end, elements);
+            } else {
+                AttributedItem model = new AttributedItem();
+                model.setKind(AttributedKind.PLAIN);
+                model.setDisplayText(text.substring(token.start, token.end));
+                elements.add(model);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Range of original text
+     * 元の文字列上の範囲 (item が null の場合は文字列)
+     */
+    private static class Token {
+
+        private final int start;
+        private final int end;
+        private final AttributedItem item;
+
+        Token(int start, int end, AttributedItem item) {
+            this.start = start;
+            this.end = end;
+            this.item = item;
+        }
+    }
+}
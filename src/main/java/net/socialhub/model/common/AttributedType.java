@@ -2,6 +2,7 @@ package net.socialhub.model.common;
 
 import java.util.function.Function;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public interface AttributedType {
 
@@ -11,6 +12,11 @@ public interface AttributedType {
     /** 正規表現を取得 */
     String getRegex();
 
+    /** コンパイル済みの正規表現を取得 */
+    default Pattern getPattern() {
+        return Pattern.compile(getRegex());
+    }
+
     /** 表示文字列を取得 */
     String getDisplayedText(Matcher m);
 
@@ -26,6 +32,8 @@ public interface AttributedType {
 
         private String regex;
 
+        private Pattern pattern;
+
         private Function<Matcher, String> display;
 
         private Function<Matcher, String> expand;
@@ -40,6 +48,9 @@ public interface AttributedType {
             this.expand = expand;
             this.regex = regex;
             this.kind = kind;
+
+            // 正規表現は作成時に一度だけコンパイル
+            this.pattern = Pattern.compile(regex);
         }
 
         public CommonAttributedType(
@@ -61,6 +72,11 @@ public interface AttributedType {
             return regex;
         }
 
+        @Override
+        public Pattern getPattern() {
+            return pattern;
+        }
+
         @Override
         public String getDisplayedText(Matcher m) {
             if (display != null) {
@@ -79,4 +95,37 @@ public interface AttributedType {
             return null;
         }
     }
+
+    /**
+     * Unicode 絵文字の種類
+     * 正規表現ではなく {@link UnicodeEmojiMatcher} のトライ木で検出する。
+     * (表示文字列・文字列は共に絵文字自体)
+     */
+    class UnicodeEmojiType implements AttributedType {
+
+        @Override
+        public AttributedKind getKind() {
+            return AttributedKind.EMOJI;
+        }
+
+        @Override
+        public String getRegex() {
+            return null;
+        }
+
+        @Override
+        public Pattern getPattern() {
+            return null;
+        }
+
+        @Override
+        public String getDisplayedText(Matcher m) {
+            return m.group();
+        }
+
+        @Override
+        public String getExpandedText(Matcher m) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,189 @@
+package net.socialhub.model.common;
+
+import net.socialhub.model.service.Emoji;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Custom Emoji Matcher
+ * カスタム絵文字のショートコード (:code:) を検出する
+ *
+ * 絵文字の集合毎にショートコードのトライ木を一度だけ作成し、
+ * 文字列を一度走査して全ての絵文字を分割する。
+ * ショートコードは必ず ':' から始まるため、':' の位置からのみ木を辿る。
+ * 同じ位置で複数一致する場合は最長のもの、同じコードの場合は先の絵文字を優先。
+ * トライ木は最初の分割時に作成するため、同じ絵文字の集合の文字列では同じインスタンスを使用する。
+ */
+public final class EmojiMatcher {
+
+    private final List<Emoji> emojis;
+
+    /** Trie of shortcodes (built on first split) */
+    private volatile Node root;
+
+    private EmojiMatcher(List<Emoji> emojis) {
+        this.emojis = emojis;
+    }
+
+    /**
+     * Make matcher of emojis (trie is built on first split)
+     * 絵文字の集合から作成 (トライ木は最初の分割時に作成)
+     */
+    public static EmojiMatcher of(List<Emoji> emojis) {
+        return new EmojiMatcher((emojis != null) ? emojis : new ArrayList<>());
+    }
+
+    /**
+     * Is no emoji to match
+     * 検出する絵文字が無いか
+     */
+    public boolean isEmpty() {
+        return emojis.isEmpty();
+    }
+
+    private Node root() {
+        Node node = root;
+        if (node == null) {
+            // 同時に作成しても結果は同じため排他しない
+            node = build(emojis);
+            root = node;
+        }
+        return node;
+    }
+
+    private static Node build(List<Emoji> emojis) {
+        Builder root = new Builder();
+        for (Emoji emoji : emojis) {
+            String code = ":" + emoji.getCode() + ":";
+
+            Builder node = root;
+            for (int i = 0; i < code.length(); i++) {
+                node = node.children.computeIfAbsent(code.charAt(i), (c) -> new Builder());
+            }
+            // 同じコードの場合は先の絵文字を優先
+            if (node.emoji == null) {
+                node.emoji = emoji;
+            }
+        }
+        return root.build();
+    }
+
+    /**
+     * Split plain elements by emoji codes
+     * 文字列要素を絵文字で分割
+     */
+    public List<AttributedElement> split(List<AttributedElement> elements) {
+        Node root = root();
+        List<AttributedElement> results = new ArrayList<>(elements.size());
+        for (AttributedElement element : elements) {
+            if (element.getKind() == AttributedKind.PLAIN) {
+                split(root, element, results);
+            } else {
+                results.add(element);
+            }
+        }
+        return results;
+    }
+
+    private static void split(Node root, AttributedElement element, List<AttributedElement> results) {
+        String text = element.getDisplayText();
+        int position = 0;
+        int start = text.indexOf(':');
+
+        while (start >= 0) {
+            Node node = root;
+            Emoji found = null;
+            int end = -1;
+
+            // ':' の位置から木を辿り、最長一致を探す
+            for (int i = start; i < text.length(); i++) {
+                node = node.child(text.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                if (node.emoji != null) {
+                    found = node.emoji;
+                    end = i + 1;
+                }
+            }
+
+            if (found == null) {
+                start = text.indexOf(':', start + 1);
+                continue;
+            }
+
+            results.add(plain(text.substring(position, start)));
+
+            AttributedItem model = new AttributedItem();
+            model.setDisplayText(text.substring(start, end));
+            model.setExpandedText(found.getUrl());
+            model.setKind(AttributedKind.EMOJI);
+            results.add(model);
+
+            position = end;
+            start = text.indexOf(':', end);
+        }
+
+        if (position == 0) {
+            results.add(element);
+        } else {
+            results.add(plain(text.substring(position)));
+        }
+    }
+
+    private static AttributedItem plain(String text) {
+        AttributedItem model = new AttributedItem();
+        model.setKind(AttributedKind.PLAIN);
+        model.setDisplayText(text);
+        return model;
+    }
+
+    /**
+     * Trie node (children are sorted by char)
+     * トライ木のノード (子は文字順)
+     */
+    private static class Node {
+
+        private final char[] chars;
+        private final Node[] children;
+        private final Emoji emoji;
+
+        Node(char[] chars, Node[] children, Emoji emoji) {
+            this.chars = chars;
+            this.children = children;
+            this.emoji = emoji;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(chars, c);
+            return (i >= 0) ? children[i] : null;
+        }
+    }
+
+    /**
+     * Mutable node for building
+     * 作成用のノード
+     */
+    private static class Builder {
+
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private Emoji emoji;
+
+        Node build() {
+            char[] chars = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                chars[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node(chars, nodes, emoji);
+        }
+    }
+}
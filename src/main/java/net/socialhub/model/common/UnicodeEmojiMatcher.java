@@ -0,0 +1,223 @@
+package net.socialhub.model.common;
+
+import net.socialhub.define.EmojiDefinition;
+import net.socialhub.define.EmojiType;
+import net.socialhub.define.EmojiVariationType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Unicode Emoji Matcher
+ * Unicode 絵文字の検出
+ *
+ * {@link EmojiType} {@link EmojiVariationType} の絵文字からトライ木を作成し、
+ * ZWJ・スキントーン・キーキャップ・国旗などの連続した絵文字を最長一致で一つの要素として切り出す。
+ * 異体字セレクタ (U+FE0F) が無い場合は、複数の文字からなる絵文字のみ検出する。
+ * (© や ❤ などの単体の文字は通常の文字として扱う)
+ */
+public final class UnicodeEmojiMatcher {
+
+    private static final char VS16 = '\uFE0F';
+
+    /** Lazy holder (built on first access) */
+    private static class Holder {
+        private static final UnicodeEmojiMatcher INSTANCE = new UnicodeEmojiMatcher();
+    }
+
+    public static UnicodeEmojiMatcher getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private final Node root;
+
+    /** ASCII chars which may start emoji (#, *, 0-9) */
+    private final boolean[] asciiStarts = new boolean[128];
+
+    private UnicodeEmojiMatcher() {
+        Builder builder = new Builder();
+        for (EmojiType emoji : EmojiType.values()) {
+            register(builder, emoji);
+        }
+        for (EmojiVariationType emoji : EmojiVariationType.values()) {
+            register(builder, emoji);
+        }
+
+        root = builder.build();
+        for (char c : root.chars) {
+            if (c < 128) {
+                asciiStarts[c] = true;
+            }
+        }
+    }
+
+    private static void register(Builder builder, EmojiDefinition emoji) {
+        String value = emoji.getEmoji();
+        builder.add(value);
+
+        // 異体字セレクタ無しの表記 (複数文字の場合のみ)
+        String stripped = value.replace(String.valueOf(VS16), "");
+        if (!stripped.equals(value) && stripped.codePointCount(0, stripped.length()) > 1) {
+            builder.add(stripped);
+        }
+    }
+
+    /**
+     * Get length of emoji starts at index (0 if not emoji)
+     * 指定位置から始まる絵文字の長さを取得 (絵文字でない場合は 0)
+     */
+    public int match(CharSequence text, int index, int end) {
+        char first = text.charAt(index);
+        if (first < 128 && !asciiStarts[first]) {
+            return 0;
+        }
+
+        Node node = root;
+        int length = 0;
+
+        for (int i = index; i < end; i++) {
+            node = node.child(text.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.terminal) {
+                length = i + 1 - index;
+            }
+        }
+
+        // 続く異体字セレクタも含める
+        if (length > 0 && index + length < end && text.charAt(index + length) == VS16) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Split range of text into plain and emoji elements
+     * 文字列の範囲を文字列要素と絵文字要素に分割
+     */
+    void segment(String text, int start, int end, List<AttributedElement> results) {
+        int position = start;
+        int i = start;
+
+        while (i < end) {
+            int length = match(text, i, end);
+            if (length == 0) {
+                i++;
+                continue;
+            }
+
+            if (i > position) {
+                results.add(plain(text.substring(position, i)));
+            }
+
+            AttributedItem model = new AttributedItem();
+            model.setDisplayText(text.substring(i, i + length));
+            model.setKind(AttributedKind.EMOJI);
+            results.add(model);
+
+            i += length;
+            position = i;
+        }
+
+        // 絵文字が無い場合も文字列要素は一つ残す
+        if (position < end || position == start) {
+            results.add(plain(text.substring(position, end)));
+        }
+    }
+
+    /**
+     * Split plain elements (including quote children)
+     * 文字列要素を分割 (引用の中も含む)
+     */
+    public List<AttributedElement> split(List<AttributedElement> elements) {
+        List<AttributedElement> results = new ArrayList<>(elements.size());
+        for (AttributedElement element : elements) {
+
+            if (element instanceof AttributedBucket) {
+                AttributedBucket bucket = (AttributedBucket) element;
+                bucket.setChildren(split(bucket.getChildren()));
+                results.add(element);
+                continue;
+            }
+
+            if (element.getKind() != AttributedKind.PLAIN || !element.getVisible()) {
+                results.add(element);
+                continue;
+            }
+
+            String text = element.getDisplayText();
+            int size = results.size();
+            segment(text, 0, text.length(), results);
+
+            // 分割されなかった場合は元の要素を使用
+            if (results.size() == size + 1 && results.get(size).getKind() == AttributedKind.PLAIN) {
+                results.set(size, element);
+            }
+        }
+        return results;
+    }
+
+    private static AttributedItem plain(String text) {
+        AttributedItem model = new AttributedItem();
+        model.setKind(AttributedKind.PLAIN);
+        model.setDisplayText(text);
+        return model;
+    }
+
+    /**
+     * Trie node (children are sorted by char)
+     * トライ木のノード (子は文字順)
+     */
+    private static class Node {
+
+        private final char[] chars;
+        private final Node[] children;
+        private final boolean terminal;
+
+        Node(char[] chars, Node[] children, boolean terminal) {
+            this.chars = chars;
+            this.children = children;
+            this.terminal = terminal;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(chars, c);
+            return (i >= 0) ? children[i] : null;
+        }
+    }
+
+    /**
+     * Mutable node for building
+     * 作成用のノード
+     */
+    private static class Builder {
+
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private boolean terminal;
+
+        void add(String value) {
+            Builder node = this;
+            for (int i = 0; i < value.length(); i++) {
+                node = node.children.computeIfAbsent(value.charAt(i), (c) -> new Builder());
+            }
+            node.terminal = true;
+        }
+
+        Node build() {
+            char[] chars = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                chars[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node(chars, nodes, terminal);
+        }
+    }
+}
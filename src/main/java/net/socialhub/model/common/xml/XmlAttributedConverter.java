@@ -0,0 +1,208 @@
+package net.socialhub.model.common.xml;
+
+import net.socialhub.model.common.AttributedBucket;
+import net.socialhub.model.common.AttributedElement;
+import net.socialhub.model.common.AttributedItem;
+import net.socialhub.model.common.AttributedKind;
+import net.socialhub.utils.StringUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * XHTML to Attributed Elements Converter
+ * XHTML から属性付き要素への変換
+ *
+ * {@link XmlTokenizer} のイベントから直接要素を作成する (木構造を作らない)。
+ * 変換規則は {@link XmlTag} と同じ。
+ */
+public final class XmlAttributedConverter implements XmlTokenizer.Handler {
+
+    private static final int TRANSPARENT = 0;
+    private static final int BR = 1;
+    private static final int P = 2;
+    private static final int A = 3;
+    private static final int QUOTE = 4;
+
+    private final XmlConvertRule rule;
+
+    private final List<Frame> frames = new ArrayList<>();
+
+    /** Depth of invisible element */
+    private int invisible = 0;
+
+    private XmlAttributedConverter(XmlConvertRule rule) {
+        this.rule = rule;
+    }
+
+    /**
+     * Convert XHTML to attributed elements
+     * XHTML を属性付き要素に変換
+     */
+    public static List<AttributedElement> convert(String html, XmlConvertRule rule) {
+        XmlAttributedConverter converter = new XmlAttributedConverter(rule);
+        Frame root = new Frame(TRANSPARENT, new ArrayList<>(), new StringBuilder());
+        converter.frames.add(root);
+
+        XmlTokenizer.parse(html, converter);
+
+        // 最後に文字列要素を追加
+        addLastString(root);
+        return root.elements;
+    }
+
+    @Override
+    public void startTag(String name, XmlTokenizer.Attributes attributes) {
+        String clazz = attributes.get("class");
+
+        // 見えない要素の場合は無視
+        if (invisible > 0 || "invisible".equals(clazz)) {
+            invisible++;
+            return;
+        }
+
+        Frame current = current();
+
+        switch (name) {
+
+            // <BR>: 改行の場合は改行
+            case "br":
+                frames.add(new Frame(BR, current.elements, current.builder));
+                return;
+
+            // <P>: タグの後は段落
+            case "p":
+                frames.add(new Frame(P, current.elements, current.builder));
+                return;
+
+            // <A>: リンクの処理
+            case "a": {
+                addString(current);
+                Frame frame = new Frame(A, current.elements, current.builder);
+                frame.clazz = clazz;
+                frame.href = attributes.get("href");
+                frames.add(frame);
+                return;
+            }
+
+            // <BLOCKQUOTE>: 引用の処理 (Tumblr)
+            case "blockquote": {
+                addString(current);
+
+                AttributedBucket elem = new AttributedBucket();
+                elem.setChildren(new ArrayList<>());
+                elem.setKind(AttributedKind.QUOTE);
+                current.elements.add(elem);
+
+                frames.add(new Frame(QUOTE, elem.getChildren(), new StringBuilder()));
+                return;
+            }
+
+            // その他の場合は無視して続行
+            default:
+                frames.add(new Frame(TRANSPARENT, current.elements, current.builder));
+        }
+    }
+
+    @Override
+    public void endTag(String name) {
+        if (invisible > 0) {
+            invisible--;
+            return;
+        }
+
+        Frame frame = frames.remove(frames.size() - 1);
+        switch (frame.type) {
+
+            case BR:
+                frame.builder.append(rule.getBr());
+                return;
+
+            case P:
+                frame.builder.append(rule.getP());
+                return;
+
+            case A: {
+                String displayText = frame.builder.toString();
+                frame.builder.setLength(0);
+
+                AttributedItem elem = new AttributedItem();
+                elem.setDisplayText(displayText);
+
+                if (frame.clazz != null && frame.clazz.contains("hashtag")) {
+                    // ハッシュタグの場合
+                    elem.setKind(AttributedKind.HASH_TAG);
+
+                } else if (frame.clazz != null && frame.clazz.contains("u-url")) {
+                    // ユーザー向け URL の場合 (Mastodon)
+                    elem.setKind(AttributedKind.ACCOUNT);
+                    elem.setExpandedText(frame.href);
+
+                } else {
+                    elem.setKind(AttributedKind.LINK);
+                    elem.setExpandedText(frame.href);
+                }
+                frame.elements.add(elem);
+                return;
+            }
+
+            case QUOTE:
+                addLastString(frame);
+                return;
+
+            default:
+        }
+    }
+
+    @Override
+    public void text(CharSequence text) {
+        if (invisible == 0) {
+            current().builder.append(text);
+        }
+    }
+
+    private Frame current() {
+        return frames.get(frames.size() - 1);
+    }
+
+    /** 文字を切り出す処理 */
+    private static void addString(Frame frame) {
+        if (frame.builder.length() > 0) {
+            AttributedItem elem = new AttributedItem();
+            elem.setDisplayText(frame.builder.toString());
+            elem.setKind(AttributedKind.PLAIN);
+            frame.elements.add(elem);
+            frame.builder.setLength(0);
+        }
+    }
+
+    /** 最後の文字列を追加 (末尾の空白を除去) */
+    private static void addLastString(Frame frame) {
+        if (frame.builder.length() > 0) {
+            AttributedItem elem = new AttributedItem();
+            elem.setDisplayText(StringUtil.trimLast(frame.builder.toString()));
+            elem.setKind(AttributedKind.PLAIN);
+            frame.elements.add(elem);
+        }
+    }
+
+    /**
+     * Open element and output destination
+     * 開いている要素と出力先
+     */
+    private static class Frame {
+
+        private final int type;
+        private final List<AttributedElement> elements;
+        private final StringBuilder builder;
+
+        private String clazz;
+        private String href;
+
+        Frame(int type, List<AttributedElement> elements, StringBuilder builder) {
+            this.type = type;
+            this.elements = elements;
+            this.builder = builder;
+        }
+    }
+}
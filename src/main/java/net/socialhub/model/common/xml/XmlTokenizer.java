@@ -0,0 +1,350 @@
+package net.socialhub.model.common.xml;
+
+import net.socialhub.utils.HtmlEntityDecoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Lenient XHTML Tokenizer
+ * 寛容な XHTML の逐次解析
+ *
+ * 文字列を一度だけ走査し、開始タグ・終了タグ・文字列を順に通知する。
+ * 閉じられていない空要素 (br, img 等) や対応しない終了タグ、
+ * 未エスケープの '&' や '<' はエラーにせず、常に整形式の順序で通知する。
+ * 改行文字 (\r \n) は従来通り取り除く。
+ */
+public final class XmlTokenizer {
+
+    /** Elements without end tag */
+    private static final Set<String> VOID_TAGS = new HashSet<>(Arrays.asList(
+            "br", "img", "hr", "input", "meta", "link", "wbr",
+            "area", "base", "col", "embed", "source", "track", "param"));
+
+    /**
+     * Tokenizer events
+     * 解析イベント
+     */
+    public interface Handler {
+
+        /** 開始タグ (属性は次のタグで再利用されるため必要な値は保持すること) */
+        void startTag(String name, Attributes attributes);
+
+        /** 終了タグ */
+        void endTag(String name);
+
+        /** 文字列 (実体参照は展開済み、再利用されるため必要な場合は複製すること) */
+        void text(CharSequence text);
+    }
+
+    private final String html;
+    private final Handler handler;
+
+    private final StringBuilder text = new StringBuilder();
+    private final Attributes attributes = new Attributes();
+    private final List<String> opens = new ArrayList<>();
+
+    private int position;
+
+    private XmlTokenizer(String html, Handler handler) {
+        this.html = html;
+        this.handler = handler;
+    }
+
+    /**
+     * Parse XHTML and notify events to handler
+     * XHTML を解析してイベントを通知
+     */
+    public static void parse(String html, Handler handler) {
+        new XmlTokenizer((html != null) ? html : "", handler).parse();
+    }
+
+    private void parse() {
+        int length = html.length();
+
+        while (position < length) {
+            char c = html.charAt(position);
+
+            if (c == '<' && position + 1 < length) {
+                char next = html.charAt(position + 1);
+
+                if (isNameStart(next)) {
+                    flushText();
+                    readStartTag();
+                    continue;
+                }
+                if (next == '/' && position + 2 < length
+                        && isNameStart(html.charAt(position + 2))) {
+                    flushText();
+                    readEndTag();
+                    continue;
+                }
+                if (next == '!' || next == '?') {
+                    readDeclaration();
+                    continue;
+                }
+            }
+
+            if (c == '&') {
+                position = decodeEntity(position, text);
+                continue;
+            }
+
+            if (c != '\n' && c != '\r') {
+                text.append(c);
+            }
+            position++;
+        }
+
+        flushText();
+
+        // 閉じられていないタグを閉じる
+        for (int i = opens.size() - 1; i >= 0; i--) {
+            handler.endTag(opens.remove(i));
+        }
+    }
+
+    // ============================================================== //
+    // Tags
+    // ============================================================== //
+
+    private void readStartTag() {
+        int length = html.length();
+        position++;
+
+        int start = position;
+        while (position < length && !isNameEnd(html.charAt(position))) {
+            position++;
+        }
+        String name = html.substring(start, position).toLowerCase(Locale.ROOT);
+
+        attributes.clear();
+        boolean selfClosing = false;
+
+        while (position < length) {
+            char c = html.charAt(position);
+
+            if (c == '>') {
+                position++;
+                break;
+            }
+            if (c == '/') {
+                selfClosing = true;
+                position++;
+                continue;
+            }
+            if (isSpace(c)) {
+                position++;
+                continue;
+            }
+
+            selfClosing = false;
+            readAttribute();
+        }
+
+        handler.startTag(name, attributes);
+        if (selfClosing || VOID_TAGS.contains(name)) {
+            handler.endTag(name);
+        } else {
+            opens.add(name);
+        }
+    }
+
+    private void readAttribute() {
+        int length = html.length();
+
+        int start = position;
+        while (position < length) {
+            char c = html.charAt(position);
+            if (c == '=' || c == '>' || c == '/' || isSpace(c)) {
+                break;
+            }
+            position++;
+        }
+        String name = html.substring(start, position).toLowerCase(Locale.ROOT);
+
+        while (position < length && isSpace(html.charAt(position))) {
+            position++;
+        }
+        if (position >= length || html.charAt(position) != '=') {
+            attributes.add(name, "");
+            return;
+        }
+
+        position++;
+        while (position < length && isSpace(html.charAt(position))) {
+            position++;
+        }
+
+        StringBuilder value = new StringBuilder();
+        char quote = (position < length) ? html.charAt(position) : 0;
+
+        if (quote == '"' || quote == '\'') {
+            position++;
+            while (position < length && html.charAt(position) != quote) {
+                position = appendValueChar(value);
+            }
+            position++;
+
+        } else {
+            while (position < length) {
+                char c = html.charAt(position);
+                if (c == '>' || isSpace(c)) {
+                    break;
+                }
+                position = appendValueChar(value);
+            }
+        }
+        attributes.add(name, value.toString());
+    }
+
+    private int appendValueChar(StringBuilder value) {
+        char c = html.charAt(position);
+        if (c == '&') {
+            return decodeEntity(position, value);
+        }
+        if (c == '\t') {
+            value.append(' ');
+        } else if (c != '\n' && c != '\r') {
+            value.append(c);
+        }
+        return position + 1;
+    }
+
+    private void readEndTag() {
+        int length = html.length();
+        position += 2;
+
+        int start = position;
+        while (position < length && !isNameEnd(html.charAt(position))) {
+            position++;
+        }
+        String name = html.substring(start, position).toLowerCase(Locale.ROOT);
+
+        int end = html.indexOf('>', position);
+        position = (end < 0) ? length : end + 1;
+
+        // 対応する開始タグまでを閉じる (存在しない場合は無視)
+        int index = opens.lastIndexOf(name);
+        if (index >= 0) {
+            for (int i = opens.size() - 1; i >= index; i--) {
+                handler.endTag(opens.remove(i));
+            }
+        }
+    }
+
+    /** コメント・CDATA・宣言・処理命令 */
+    private void readDeclaration() {
+        int length = html.length();
+
+        if (html.startsWith("<!--", position)) {
+            int end = html.indexOf("-->", position + 4);
+            position = (end < 0) ? length : end + 3;
+            return;
+        }
+
+        if (html.startsWith("<![CDATA[", position)) {
+            int end = html.indexOf("]]>", position + 9);
+            int last = (end < 0) ? length : end;
+            for (int i = position + 9; i < last; i++) {
+                char c = html.charAt(i);
+                if (c != '\n' && c != '\r') {
+                    text.append(c);
+                }
+            }
+            position = (end < 0) ? length : end + 3;
+            return;
+        }
+
+        int end = html.indexOf('>', position);
+        position = (end < 0) ? length : end + 1;
+    }
+
+    private void flushText() {
+        if (text.length() > 0) {
+            handler.text(text);
+            text.setLength(0);
+        }
+    }
+
+    // ============================================================== //
+    // Entities
+    // ============================================================== //
+
+    /**
+     * Decode entity at index and append to builder
+     * (Not entity, or unknown entity is treated as '&' character)
+     * 実体参照を展開して追加し、次の位置を返却
+     */
+    private int decodeEntity(int index, StringBuilder builder) {
+        int next = HtmlEntityDecoder.decode(html, index, builder);
+        if (next >= 0) {
+            return next;
+        }
+        builder.append('&');
+        return index + 1;
+    }
+
+    // ============================================================== //
+    // Support
+    // ============================================================== //
+
+    private static boolean isNameStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isNameEnd(char c) {
+        return c == '>' || c == '/' || isSpace(c);
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+
+    /**
+     * Tag attributes (reused for each tag)
+     * タグの属性 (タグ毎に再利用)
+     */
+    public static final class Attributes {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+
+        void clear() {
+            names.clear();
+            values.clear();
+        }
+
+        void add(String name, String value) {
+            if (!names.contains(name)) {
+                names.add(name);
+                values.add(value);
+            }
+        }
+
+        /**
+         * Get attribute value (null if not exists)
+         * 属性値を取得 (存在しない場合は null)
+         */
+        public String get(String name) {
+            int index = names.indexOf(name);
+            return (index >= 0) ? values.get(index) : null;
+        }
+
+        public int size() {
+            return names.size();
+        }
+
+        public String getName(int index) {
+            return names.get(index);
+        }
+
+        public String getValue(int index) {
+            return values.get(index);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package net.socialhub.model.error;
+
+import net.socialhub.define.ErrorType;
+
+/**
+ * Host is unavailable (request was not sent)
+ * ホストの障害が続いているためリクエストを送信しなかった場合の例外
+ */
+public class CircuitOpenException extends SocialHubException {
+
+    /** Host of request */
+    private final String host;
+
+    /** Predicted wait time until next probe request */
+    private final long waitMillis;
+
+    public CircuitOpenException(String host, long waitMillis) {
+        super("host is unavailable: " + host + " (retry after " + waitMillis + "ms)");
+        this.host = host;
+        this.waitMillis = waitMillis;
+        setError(ErrorType.HOST_UNAVAILABLE);
+    }
+
+    // region
+    public String getHost() {
+        return host;
+    }
+
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+    // endregion
+}
@@ -0,0 +1,25 @@
+package net.socialhub.model.error;
+
+import net.socialhub.define.ErrorType;
+
+/**
+ * Rate limit exceeded (request was not sent)
+ * レートリミットを超過するためリクエストを送信しなかった場合の例外
+ */
+public class RateLimitExceededException extends SocialHubException {
+
+    /** Predicted wait time until request is allowed */
+    private final long waitMillis;
+
+    public RateLimitExceededException(String message, long waitMillis) {
+        super(message);
+        this.waitMillis = waitMillis;
+        setError(ErrorType.RATE_LIMIT_EXCEEDED);
+    }
+
+    // region
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+    // endregion
+}
@@ -6,7 +6,9 @@ import net.socialhub.service.action.group.CommentGroupAction;
 import net.socialhub.service.action.request.CommentsRequest;
 
 import java.util.Date;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 public interface CommentGroup {
 
@@ -29,6 +31,46 @@ public interface CommentGroup {
      */
     Pageable<Comment> getComments();
 
+    /**
+     * Return First N Order Decided Comments
+     * 順序が決定しているコメントを先頭から指定件数取得
+     */
+    Pageable<Comment> getComments(int count);
+
+    /**
+     * Return Order Decided Comments Iterator
+     * (Comments are merged lazily)
+     * 順序が決定しているコメントを逐次取得
+     */
+    Iterator<Comment> getCommentsIterator();
+
+    /**
+     * Return Errors of Failed or Timed out Requests
+     * (Timed out requests are recorded as TimeoutException)
+     * 失敗・タイムアウトしたリクエストのエラーを取得
+     */
+    Map<CommentsRequest, Throwable> getErrors();
+
+    /**
+     * Return true if all requests are succeeded
+     * (Check errors if false, failed requests are retried by next paging)
+     * 全てのリクエストが成功したか (失敗したものは次回のページング時に再送)
+     */
+    boolean isComplete();
+
+    /**
+     * Return Requests not completed in time
+     * 期限内に完了しなかったリクエストを取得
+     */
+    Set<CommentsRequest> getPendingRequests();
+
+    /**
+     * Merge Comments of Pending Requests arrived after timeout
+     * (Return true if any comments are merged)
+     * タイムアウト後に到着したコメントを結合
+     */
+    boolean mergeArrivedComments();
+
     /**
      * Get MaxDate for Paging Request
      */
@@ -6,20 +6,34 @@ import net.socialhub.model.service.Paging;
 import net.socialhub.service.action.group.CommentGroupAction;
 import net.socialhub.service.action.group.CommentGroupActionImpl;
 import net.socialhub.service.action.request.CommentsRequest;
+import net.socialhub.utils.CommentDedupeIterator;
+import net.socialhub.utils.MergeIterator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Whole Accounts Comments
  */
 public class CommentGroupImpl implements CommentGroup {
 
+    /** Order of comments (created date desc) */
+    private static final Comparator<Comment> NEWEST_FIRST =
+            Comparator.comparing(Comment::getCreateAt).reversed();
+
     /** Comments Request Group */
     private CommentsRequestGroup requestGroup;
 
@@ -32,34 +46,317 @@ public class CommentGroupImpl implements CommentGroup {
     /** Since Date (not include) */
     private Date sinceDate;
 
+    /** Errors of Failed Requests */
+    private Map<CommentsRequest, Throwable> errors = new HashMap<>();
+
+    /** Requests not completed in time */
+    private Map<CommentsRequest, Future<Pageable<Comment>>> pendings = new HashMap<>();
+
+    /** Last succeeded pages of failed or pending requests (for paging of retry) */
+    private Map<CommentsRequest, Pageable<Comment>> incompletePages = new HashMap<>();
+
+    // Merge cache (rebuilt when entities or dates are changed)
+    private List<List<Comment>> sources;
+    private List<Comment> merged;
+    private Map<CommentsRequest, Pageable<Comment>> sourceEntities;
+    private List<List<Comment>> sourceLists;
+    private List<List<Comment>> sourceCopies;
+    private Date sourceMaxDate;
+    private Date sourceSinceDate;
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public Pageable<Comment> getComments() {
+    public synchronized Pageable<Comment> getComments() {
+        List<List<Comment>> sources = getSources();
+        if (merged == null) {
+            merged = MergeIterator.merge(sources, NEWEST_FIRST);
+            if (isDeduplicate()) {
+                merged = CommentDedupeIterator.dedupe(merged);
+            }
+        }
 
-        Stream<Comment> stream = entities.values().stream() //
-                .flatMap((e) -> e.getEntities().stream());
+        Pageable<Comment> result = new Pageable<>();
+        result.setEntities(new ArrayList<>(merged));
+        result.setPaging(new Paging(getPagingCount()));
+        return result;
+    }
 
-        long size = entities.values().stream()
-                .filter(e -> (e.getPaging() != null))
-                .map(e -> e.getPaging().getCount())
-                .min(Long::compareTo).orElse(0L);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Pageable<Comment> getComments(int count) {
+        List<Comment> comments = new ArrayList<>();
+        Iterator<Comment> iterator = getCommentsIterator();
+        while (iterator.hasNext() && comments.size() < count) {
+            comments.add(iterator.next());
+        }
+
+        Pageable<Comment> result = new Pageable<>();
+        result.setEntities(comments);
+        result.setPaging(new Paging(getPagingCount()));
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Iterator<Comment> getCommentsIterator() {
+        List<List<Comment>> sources = getSources();
+        if (merged != null) {
+            return Collections.unmodifiableList(merged).iterator();
+        }
+        Iterator<Comment> iterator = MergeIterator.of(sources, NEWEST_FIRST);
+        return isDeduplicate() ? CommentDedupeIterator.of(iterator) : iterator;
+    }
+
+    /**
+     * Remove same comments fetched by multiple accounts?
+     * 複数アカウントで取得した同じコメントを除外するか
+     */
+    private boolean isDeduplicate() {
+        return (requestGroup != null) && requestGroup.isDeduplicate();
+    }
+
+    /**
+     * Get sorted and date filtered comments of each request
+     * (Rebuild when entities or dates are changed)
+     * (Results are copies, so iterators are not affected by later merges)
+     * リクエスト毎の整列・期間絞り込み済みコメントを取得
+     */
+    private List<List<Comment>> getSources() {
+        if (sources != null && !isSourcesChanged()) {
+            return sources;
+        }
+
+        List<List<Comment>> results = new ArrayList<>();
+        List<List<Comment>> lists = new ArrayList<>();
+        List<List<Comment>> copies = new ArrayList<>();
+
+        for (Pageable<Comment> page : entities.values()) {
+            List<Comment> comments = page.getEntities();
+            lists.add(comments);
+            copies.add((comments != null) ? new ArrayList<>(comments) : null);
+
+            if (comments != null && !comments.isEmpty()) {
+                results.add(filterByDate(sorted(comments)));
+            }
+        }
+
+        sources = results;
+        sourceEntities = entities;
+        sourceLists = lists;
+        sourceCopies = copies;
+        sourceMaxDate = maxDate;
+        sourceSinceDate = sinceDate;
+        merged = null;
+        return sources;
+    }
+
+    /**
+     * Check entities or dates are changed since last merge
+     * (Lists modified in place are detected by comparing elements)
+     * 前回の結合以降にエンティティや期間が変更されたかを確認
+     */
+    private boolean isSourcesChanged() {
+        if (sourceEntities != entities
+                || !Objects.equals(sourceMaxDate, maxDate)
+                || !Objects.equals(sourceSinceDate, sinceDate)
+                || sourceLists.size() != entities.size()) {
+            return true;
+        }
+
+        int i = 0;
+        for (Pageable<Comment> page : entities.values()) {
+            List<Comment> comments = page.getEntities();
+            if (sourceLists.get(i) != comments || !isSameElements(sourceCopies.get(i), comments)) {
+                return true;
+            }
+            i++;
+        }
+        return false;
+    }
+
+    /**
+     * Check lists have same instances in same order
+     * 同じインスタンスが同じ順序で含まれるかを確認
+     */
+    private static boolean isSameElements(List<Comment> copy, List<Comment> comments) {
+        if (copy == null || comments == null) {
+            return (copy == comments);
+        }
+        if (copy.size() != comments.size()) {
+            return false;
+        }
+        for (int i = 0; i < copy.size(); i++) {
+            if (copy.get(i) != comments.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Slice comments by MaxDate and SinceDate
+     * (Comments must be sorted by created date desc)
+     * (Return copy, not view of comments)
+     * MaxDate, SinceDate の範囲で切り出し
+     */
+    private List<Comment> filterByDate(List<Comment> comments) {
+        int from = 0;
+        int to = comments.size();
 
         if (maxDate != null) {
-            stream = stream.filter((e) -> e.getCreateAt().getTime() <= maxDate.getTime());
+            from = indexOfNotAfter(comments, maxDate.getTime());
         }
         if (sinceDate != null) {
-            stream = stream.filter((e) -> e.getCreateAt().getTime() > sinceDate.getTime());
+            to = indexOfNotAfter(comments, sinceDate.getTime());
         }
+        return (from < to) ? new ArrayList<>(comments.subList(from, to)) : Collections.emptyList();
+    }
 
-        stream = stream.sorted(Comparator.comparing(Comment::getCreateAt).reversed());
-        List<Comment> comments = stream.collect(Collectors.toList());
-        Pageable<Comment> result = new Pageable<>();
+    /**
+     * Get first index of comment created at or before time
+     * (Binary search on sorted comments)
+     * 指定時刻以前に作成された最初のコメントの位置
+     */
+    private static int indexOfNotAfter(List<Comment> comments, long time) {
+        int low = 0;
+        int high = comments.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comments.get(mid).getCreateAt().getTime() > time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
 
-        result.setEntities(comments);
-        result.setPaging(new Paging(size));
-        return result;
+    /**
+     * Get comments sorted by created date desc
+     * (Return as is if already sorted)
+     * 作成日時の降順で整列 (整列済みの場合はそのまま)
+     */
+    private static List<Comment> sorted(List<Comment> comments) {
+        if (MergeIterator.isSorted(comments, NEWEST_FIRST)) {
+            return comments;
+        }
+        List<Comment> results = new ArrayList<>(comments);
+        results.sort(NEWEST_FIRST);
+        return results;
+    }
+
+    /**
+     * Get paging count (min count of requests)
+     * ページングの件数を取得
+     */
+    private long getPagingCount() {
+        return entities.values().stream()
+                .filter(e -> (e.getPaging() != null))
+                .map(e -> e.getPaging().getCount())
+                .min(Long::compareTo).orElse(0L);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean mergeArrivedComments() {
+        boolean arrived = false;
+        Iterator<Map.Entry<CommentsRequest, Future<Pageable<Comment>>>> iterator = pendings.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<CommentsRequest, Future<Pageable<Comment>>> entry = iterator.next();
+            if (!entry.getValue().isDone()) {
+                continue;
+            }
+
+            iterator.remove();
+            try {
+                Pageable<Comment> page = entry.getValue().get();
+                entities.put(entry.getKey(), page);
+                errors.remove(entry.getKey());
+                arrived = true;
+
+                // 遅れて到着したページが順序の決定範囲を満たさない場合は範囲を狭める
+                List<Comment> comments = page.getEntities();
+                if (sinceDate != null && comments != null && !comments.isEmpty()) {
+                    Date oldest = sorted(comments).get(comments.size() - 1).getCreateAt();
+                    if (oldest.getTime() - 1 > sinceDate.getTime()) {
+                        sinceDate = new Date(oldest.getTime() - 1);
+                    }
+                }
+
+            } catch (ExecutionException e) {
+                errors.put(entry.getKey(), e.getCause());
+
+            } catch (Exception e) {
+                errors.put(entry.getKey(), e);
+            }
+        }
+        return arrived;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean isComplete() {
+        return errors.isEmpty() && pendings.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Set<CommentsRequest> getPendingRequests() {
+        return new HashSet<>(pendings.keySet());
+    }
+
+    /**
+     * Get requests for next paging with their last pages
+     * (Failed requests are retried, page is null if never succeeded)
+     * 次回のページングで送信するリクエストと前回のページを取得
+     * (失敗したリクエストも再送する)
+     */
+    public synchronized Map<CommentsRequest, Pageable<Comment>> getRequestPages() {
+        Map<CommentsRequest, Pageable<Comment>> results = new HashMap<>(entities);
+        errors.keySet().forEach((request) -> {
+            if (!pendings.containsKey(request) && !results.containsKey(request)) {
+                results.put(request, incompletePages.get(request));
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Carry over pending requests from previous group
+     * (Failed requests of previous group are already retried)
+     * 前回のグループから未完了のリクエストを引き継ぐ
+     */
+    public void carryOverIncomplete(CommentGroupImpl prev) {
+        prev.getPendings().forEach((request, future) -> {
+            if (!entities.containsKey(request) && !errors.containsKey(request)) {
+                pendings.putIfAbsent(request, future);
+                errors.put(request, prev.getErrors().get(request));
+            }
+        });
+
+        // 再送時のページングのため最後に成功したページを保持
+        errors.keySet().forEach((request) -> {
+            Pageable<Comment> page = prev.getEntities().get(request);
+            if (page == null) {
+                page = prev.getIncompletePages().get(request);
+            }
+            if (page != null) {
+                incompletePages.put(request, page);
+            }
+        });
     }
 
     /**
@@ -77,13 +374,12 @@ public class CommentGroupImpl implements CommentGroup {
         entities.forEach((acc, page) -> {
             if (prev.getEntities().containsKey(acc)) {
 
-                List<Comment> comments = new ArrayList<>(page.getEntities());
-                comments.addAll(prev.getEntities().get(acc).getEntities().stream() //
+                List<Comment> prevComments = prev.getEntities().get(acc).getEntities().stream() //
                         .filter((e) -> e.getCreateAt().getTime() > sinceDate.getTime()) //
-                        .collect(Collectors.toList()));
+                        .collect(Collectors.toList());
 
-                comments.sort(Comparator.comparing(Comment::getCreateAt).reversed());
-                page.setEntities(comments);
+                page.setEntities(MergeIterator.merge(Arrays.asList( //
+                        sorted(page.getEntities()), sorted(prevComments)), NEWEST_FIRST));
             }
         });
     }
@@ -103,13 +399,12 @@ public class CommentGroupImpl implements CommentGroup {
         entities.forEach((acc, page) -> {
             if (prev.getEntities().containsKey(acc)) {
 
-                List<Comment> comments = new ArrayList<>(page.getEntities());
-                comments.addAll(prev.getEntities().get(acc).getEntities().stream() //
+                List<Comment> prevComments = prev.getEntities().get(acc).getEntities().stream() //
                         .filter((e) -> e.getCreateAt().getTime() <= maxDate.getTime()) //
-                        .collect(Collectors.toList()));
+                        .collect(Collectors.toList());
 
-                comments.sort(Comparator.comparing(Comment::getCreateAt).reversed());
-                page.setEntities(comments);
+                page.setEntities(MergeIterator.merge(Arrays.asList( //
+                        sorted(page.getEntities()), sorted(prevComments)), NEWEST_FIRST));
             }
         });
     }
@@ -214,5 +509,26 @@ public class CommentGroupImpl implements CommentGroup {
     public void setSinceDate(Date sinceDate) {
         this.sinceDate = sinceDate;
     }
+
+    @Override
+    public Map<CommentsRequest, Throwable> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<CommentsRequest, Throwable> errors) {
+        this.errors = errors;
+    }
+
+    public Map<CommentsRequest, Future<Pageable<Comment>>> getPendings() {
+        return pendings;
+    }
+
+    public void setPendings(Map<CommentsRequest, Future<Pageable<Comment>>> pendings) {
+        this.pendings = pendings;
+    }
+
+    public Map<CommentsRequest, Pageable<Comment>> getIncompletePages() {
+        return incompletePages;
+    }
     //endregion
 }
@@ -32,6 +32,18 @@ public interface CommentsRequestGroup {
     @Nonnull
     List<CommentsRequest> getRequests();
 
+    /**
+     * Remove same comments fetched by multiple accounts
+     * (Compared by identify, web url and shared comment)
+     * 複数アカウントで取得した同じコメントを除外するか
+     */
+    boolean isDeduplicate();
+
+    /**
+     * Set remove same comments fetched by multiple accounts
+     */
+    void setDeduplicate(boolean deduplicate);
+
     /**
      * Get Action
      */
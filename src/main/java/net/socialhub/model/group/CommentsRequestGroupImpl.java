@@ -13,6 +13,9 @@ public class CommentsRequestGroupImpl implements CommentsRequestGroup {
     /** List of Request Actions */
     private List<CommentsRequest> requests = new ArrayList<>();
 
+    /** Remove same comments fetched by multiple accounts */
+    private boolean deduplicate = false;
+
     public CommentsRequestGroupImpl(CommentsRequest... requests) {
         addCommentsRequests(requests);
     }
@@ -54,5 +57,15 @@ public class CommentsRequestGroupImpl implements CommentsRequestGroup {
     public void setRequests(List<CommentsRequest> requests) {
         this.requests = requests;
     }
+
+    @Override
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    @Override
+    public void setDeduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
     //endregion
 }
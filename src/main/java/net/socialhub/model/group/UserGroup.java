@@ -5,6 +5,7 @@ import net.socialhub.model.service.User;
 import net.socialhub.service.action.group.UserGroupAction;
 
 import java.util.Map;
+import java.util.Set;
 
 public interface UserGroup {
 
@@ -14,6 +15,25 @@ public interface UserGroup {
      */
     Map<Account, User> getEntities();
 
+    /**
+     * Return Errors of Failed or Timed out Requests
+     * (Timed out requests are recorded as TimeoutException)
+     * 失敗・タイムアウトしたアカウントのエラーを取得
+     */
+    Map<Account, Throwable> getErrors();
+
+    /**
+     * Return true if all requests are succeeded
+     * 全てのリクエストが成功したか
+     */
+    boolean isComplete();
+
+    /**
+     * Return Accounts of Requests not completed in time
+     * 期限内に完了しなかったアカウントを取得
+     */
+    Set<Account> getPendingAccounts();
+
     /**
      * Get Actions
      */
@@ -5,17 +5,43 @@ import net.socialhub.model.service.User;
 import net.socialhub.service.action.group.UserGroupAction;
 import net.socialhub.service.action.group.UserGroupActionImpl;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
 
 public class UserGroupImpl implements UserGroup {
 
     private Map<Account, User> entities;
 
+    /** Errors of Failed Requests */
+    private Map<Account, Throwable> errors = new HashMap<>();
+
+    /** Requests not completed in time */
+    private Map<Account, Future<User>> pendings = new HashMap<>();
+
     @Override
     public UserGroupAction action() {
         return new UserGroupActionImpl(this);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isComplete() {
+        return errors.isEmpty() && pendings.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Account> getPendingAccounts() {
+        return new HashSet<>(pendings.keySet());
+    }
+
     //region // Getter&Setter
     @Override
     public Map<Account, User> getEntities() {
@@ -25,5 +51,22 @@ public class UserGroupImpl implements UserGroup {
     public void setEntities(Map<Account, User> entities) {
         this.entities = entities;
     }
+
+    @Override
+    public Map<Account, Throwable> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<Account, Throwable> errors) {
+        this.errors = errors;
+    }
+
+    public Map<Account, Future<User>> getPendings() {
+        return pendings;
+    }
+
+    public void setPendings(Map<Account, Future<User>> pendings) {
+        this.pendings = pendings;
+    }
     //endregion
 }
@@ -58,6 +58,10 @@ public class Comment extends Identify {
      */
     private boolean directMessage = false;
 
+    /** Flags set from service (false is default, not unknown) */
+    private boolean sensitiveKnown = false;
+    private boolean directMessageKnown = false;
+
     /**
      * Get many kind of reactions
      * (like, share, :+1:, and so on)
@@ -110,6 +114,14 @@ public class Comment extends Identify {
         throw new NotImplimentedException();
     }
 
+    /**
+     * Is web url available (getWebUrl is supported)
+     * Web のアドレスを取得できるか
+     */
+    public boolean hasWebUrl() {
+        return false;
+    }
+
     /**
      * Only shared content comment.
      * 共有されたコメント情報のみの場合
@@ -120,6 +132,41 @@ public class Comment extends Identify {
                 && ((medias == null) || (medias.size() == 0)));
     }
 
+    /**
+     * Merge state of same comment
+     * (null values and flags not set from service are ignored)
+     * 同じコメントの新しい状態を反映 (null の値とサービスから設定されていないフラグは無視)
+     */
+    public synchronized void merge(Comment comment) {
+        if (comment == this) {
+            return;
+        }
+        if (comment.text != null) {
+            text = comment.text;
+        }
+        if (comment.createAt != null) {
+            createAt = comment.createAt;
+        }
+        if (comment.user != null) {
+            user = comment.user;
+        }
+        if (comment.medias != null) {
+            medias = comment.medias;
+        }
+        if (comment.sharedComment != null) {
+            sharedComment = comment.sharedComment;
+        }
+        if (comment.application != null) {
+            application = comment.application;
+        }
+        if (comment.sensitiveKnown) {
+            setPossiblySensitive(comment.possiblySensitive);
+        }
+        if (comment.directMessageKnown) {
+            setDirectMessage(comment.directMessage);
+        }
+    }
+
     //region // Getter&Setter
     public AttributedString getText() {
         return text;
@@ -167,6 +214,7 @@ public class Comment extends Identify {
 
     public void setPossiblySensitive(boolean possiblySensitive) {
         this.possiblySensitive = possiblySensitive;
+        this.sensitiveKnown = true;
     }
 
     public Application getApplication() {
@@ -183,6 +231,7 @@ public class Comment extends Identify {
 
     public void setDirectMessage(boolean directMessage) {
         this.directMessage = directMessage;
+        this.directMessageKnown = true;
     }
     //endregion
 }
@@ -13,6 +13,9 @@ public class Identify implements Serializable {
 
     private Object id;
 
+    /** Key for comparison (cleared when id or service is changed) */
+    private transient IdentifyKey key;
+
     // Constructor
     public Identify(Service service) {
         this.service = service;
@@ -48,15 +51,15 @@ public class Identify implements Serializable {
      */
     public void setSerializedIdString(String idString) {
         if (idString.startsWith("I")) {
-            id = Integer.parseInt(idString.substring(1));
+            setId(Integer.parseInt(idString.substring(1)));
             return;
         }
         if (idString.startsWith("L")) {
-            id = Long.parseLong(idString.substring(1));
+            setId(Long.parseLong(idString.substring(1)));
             return;
         }
         if (idString.startsWith("S")) {
-            id = idString.substring(1);
+            setId(idString.substring(1));
             return;
         }
         throw new IllegalStateException("Not supported type.");
@@ -71,9 +74,62 @@ public class Identify implements Serializable {
                 && this.getId().equals(id.getId());
     }
 
+    /**
+     * Get scope in which id is unique (null if unique in service)
+     * (ex. message ts of Slack is unique only in channel)
+     * ID が一意となる範囲を取得 (サービス内で一意の場合は null)
+     */
+    public Object getIdScope() {
+        return null;
+    }
+
+    /**
+     * Clear key (call when id scope is changed)
+     * 比較用キーを破棄 (ID の範囲が変更された場合に呼び出す)
+     */
+    protected void clearKey() {
+        this.key = null;
+    }
+
+    /**
+     * Get key for hash maps and sets (null if id is not set)
+     * ハッシュマップ等で用いる識別キーを取得 (ID が無い場合は null)
+     */
+    public IdentifyKey getKey() {
+        IdentifyKey key = this.key;
+        if (key == null && id != null) {
+            key = IdentifyKey.of(this);
+            this.key = key;
+        }
+        return key;
+    }
+
+    /**
+     * Same kind, service, account and id (and id scope)
+     * (Identify without id is equal only to itself)
+     * 種別・サービス・アカウント・ID (と ID の範囲) が同じか
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Identify) || id == null) {
+            return false;
+        }
+        return getKey().equals(((Identify) obj).getKey());
+    }
+
+    @Override
+    public int hashCode() {
+        IdentifyKey key = getKey();
+        return (key != null) ? key.hashCode() : System.identityHashCode(this);
+    }
+
     //region // Getter&Setter
     public void setId(Object id) {
         this.id = id;
+        this.key = null;
     }
 
     public Object getId() {
@@ -91,6 +147,7 @@ public class Identify implements Serializable {
 
     public void setService(Service service) {
         this.service = service;
+        this.key = null;
     }
     //endregion
 }
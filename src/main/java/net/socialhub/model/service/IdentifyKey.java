@@ -0,0 +1,162 @@
+package net.socialhub.model.service;
+
+import net.socialhub.define.ServiceType;
+import net.socialhub.model.Account;
+
+import java.util.Objects;
+
+/**
+ * Identify Key
+ * 識別子の比較用キー (不変)
+ *
+ * 種別 (コメント・ユーザーなど)・サービス種別・アカウント・ID の組で比較する。
+ * (ID がチャンネル内でのみ一意の場合などは、その範囲も比較する)
+ * 数値 ID はプリミティブで、文字列 ID はインターンして保持し、ハッシュ値は作成時に計算する。
+ * アカウントは同一インスタンスを同じとみなす。
+ * (ホストで作成したキーはアカウントの代わりにリクエスト先のホストで比較する)
+ * アカウントのインスタンスに依存するため、シリアライズせずに識別子から都度作成する。
+ */
+public final class IdentifyKey {
+
+    /** Entity kind (direct subclass of Identify) */
+    private final Class<?> kind;
+
+    private final ServiceType type;
+
+    private final Account account;
+
+    /** Request host (used instead of account) */
+    private final String host;
+
+    /** Numeric id (used when text is null) */
+    private final long number;
+
+    /** String id (interned) */
+    private final String text;
+
+    /** Scope in which id is unique (null if unique in service) */
+    private final String scope;
+
+    private final int hash;
+
+    private IdentifyKey(Class<?> kind, ServiceType type, Account account, String host,
+                        long number, String text, String scope) {
+        this.kind = kind;
+        this.type = type;
+        this.account = account;
+        this.host = host;
+        this.number = number;
+        this.text = text;
+        this.scope = scope;
+
+        int hash = (text != null) ? text.hashCode() : Long.hashCode(number);
+        hash = 31 * hash + Objects.hashCode(scope);
+        hash = 31 * hash + Objects.hashCode(type);
+        hash = 31 * hash + System.identityHashCode(account);
+        hash = 31 * hash + Objects.hashCode(host);
+        this.hash = 31 * hash + kind.hashCode();
+    }
+
+    /**
+     * Make key of identify (null if id is not set)
+     * 識別子のキーを作成 (ID が無い場合は null)
+     */
+    public static IdentifyKey of(Identify identify) {
+        Service service = identify.getService();
+        Account account = (service != null) ? service.getAccount() : null;
+        return of(identify, account, null);
+    }
+
+    /**
+     * Make key of identify compared by request host instead of account
+     * (Same entity fetched by other accounts of same host is equal, null if id is not set)
+     * ホストで比較する識別子のキーを作成 (同じホストの別アカウントで取得したものも同じ)
+     */
+    public static IdentifyKey ofHost(Identify identify) {
+        Service service = identify.getService();
+        String host = (service != null) ? service.getRequestHost() : null;
+        return of(identify, null, host);
+    }
+
+    private static IdentifyKey of(Identify identify, Account account, String host) {
+        Object id = identify.getId();
+        if (id == null) {
+            return null;
+        }
+
+        Service service = identify.getService();
+        ServiceType type = (service != null) ? service.getType() : null;
+        Class<?> kind = kind(identify.getClass());
+
+        Object idScope = identify.getIdScope();
+        String scope = (idScope != null) ? idScope.toString().intern() : null;
+
+        if (id instanceof Long || id instanceof Integer) {
+            return new IdentifyKey(kind, type, account, host, ((Number) id).longValue(), null, scope);
+        }
+        return new IdentifyKey(kind, type, account, host, 0L, id.toString().intern(), scope);
+    }
+
+    /** Get direct subclass of Identify (Comment, User, Channel ...) */
+    private static Class<?> kind(Class<?> clazz) {
+        while (clazz.getSuperclass() != null
+                && clazz.getSuperclass() != Identify.class
+                && clazz.getSuperclass() != Object.class) {
+            clazz = clazz.getSuperclass();
+        }
+        return clazz;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdentifyKey)) {
+            return false;
+        }
+        IdentifyKey other = (IdentifyKey) o;
+        return (hash == other.hash)
+                && (number == other.number)
+                && Objects.equals(text, other.text)
+                && Objects.equals(scope, other.scope)
+                && (type == other.type)
+                && (account == other.account)
+                && Objects.equals(host, other.host)
+                && (kind == other.kind);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "IdentifyKey{" + kind.getSimpleName() + ", " + type + ", "
+                + ((scope != null) ? (scope + "/") : "")
+                + ((text != null) ? text : String.valueOf(number)) + '}';
+    }
+
+    //region // Getter&Setter
+    public Class<?> getKind() {
+        return kind;
+    }
+
+    public ServiceType getType() {
+        return type;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+    //endregion
+}
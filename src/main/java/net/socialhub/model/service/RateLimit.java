@@ -2,21 +2,37 @@ package net.socialhub.model.service;
 
 import net.socialhub.define.ServiceType;
 import net.socialhub.define.action.ActionType;
+import net.socialhub.model.error.RateLimitExceededException;
+import net.socialhub.model.error.SocialHubException;
 import org.apache.commons.lang3.time.DateUtils;
 import twitter4j.RateLimitStatus;
 
 import java.io.Serializable;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * SNS レートリミット
  * SNS RateLimit
+ *
+ * レスポンスのレートリミット情報を元に、リクエスト前に残り回数を予約する。
+ * 残り回数が無い場合はリセットまで待機し、待機時間が上限を超える場合は
+ * リクエストを送信せずに {@link RateLimitExceededException} を送出する。
+ * (Mastodon はアカウント全体の制限のため、全アクション共通でも管理する)
  */
 public class RateLimit implements Serializable {
 
-    private Map<ActionType, RateLimitValue> dictionary = new HashMap<>();
+    /** Default max wait time for admission */
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 10 * 1000L;
+
+    /** Key of account wide limit */
+    private static final String ACCOUNT = "$account";
+
+    private Map<Object, RateLimitValue> dictionary = new ConcurrentHashMap<>();
+
+    /** Max wait time for admission (fail fast if 0) */
+    private volatile long maxWaitMillis = DEFAULT_MAX_WAIT_MILLIS;
 
     /**
      * レートリミット情報を格納
@@ -28,7 +44,7 @@ public class RateLimit implements Serializable {
         // POST 系についてはレートリミットは取得不可
         if (response.getRateLimitStatus() != null) {
             RateLimitValue value = new RateLimitValue(response);
-            dictionary.put(action, value);
+            update(action, value);
         }
     }
 
@@ -38,8 +54,11 @@ public class RateLimit implements Serializable {
      * (For Mastodon)
      */
     public void addInfo(ActionType action, mastodon4j.entity.share.Response<?> response) {
-        RateLimitValue value = new RateLimitValue(response);
-        dictionary.put(action, value);
+        if (response.getRateLimit() != null) {
+            RateLimitValue value = new RateLimitValue(response);
+            update(action, value);
+            update(ACCOUNT, value.copy());
+        }
     }
 
     /**
@@ -51,7 +70,122 @@ public class RateLimit implements Serializable {
                 dictionary.get(action).isRemaining();
     }
 
-    private static class RateLimitValue {
+    /**
+     * リクエスト可能になるまでの予測待機時間
+     * Get predicted wait time until request is allowed
+     * (0 if request is allowed now)
+     */
+    public long getWaitMillis(ActionType action) {
+        long now = System.currentTimeMillis();
+        return Math.max(waitMillis(action, now), waitMillis(ACCOUNT, now));
+    }
+
+    /**
+     * リクエスト前に残り回数を予約 (必要に応じて待機)
+     * Acquire request before calling api
+     * (Wait until reset if no remaining, or throw if wait is too long)
+     */
+    public void acquire(ActionType action) {
+        while (true) {
+            long now = System.currentTimeMillis();
+            long wait = Math.max(waitMillis(action, now), waitMillis(ACCOUNT, now));
+
+            if (wait <= 0) {
+                if (reserve(action, now)) {
+                    return;
+                }
+                // 予約中に使い切られた場合は再計算
+                continue;
+            }
+
+            if (wait > maxWaitMillis) {
+                throw new RateLimitExceededException("rate limit exceeded: "
+                        + action + " (retry after " + wait + "ms)", wait);
+            }
+
+            sleep(wait);
+        }
+    }
+
+    /**
+     * アカウント全体の制限が解除されるまで待機 (予約はしない)
+     * Wait until account wide limit is reset
+     * (Throw if wait is too long)
+     */
+    public void awaitAccount() {
+        long wait = waitMillis(ACCOUNT, System.currentTimeMillis());
+        if (wait > maxWaitMillis) {
+            throw new RateLimitExceededException("rate limit exceeded: "
+                    + "account (retry after " + wait + "ms)", wait);
+        }
+        if (wait > 0) {
+            sleep(wait);
+        }
+    }
+
+    /**
+     * 過負荷 (429) のレスポンスを記録
+     * Record too many requests response (account wide)
+     * (Return wait time: until known reset, or backoff if unknown)
+     */
+    public long addTooManyRequests(long backoffMillis) {
+        RateLimitValue value = dictionary.computeIfAbsent(ACCOUNT, (k) -> new RateLimitValue());
+        return value.exhaust(System.currentTimeMillis(), backoffMillis);
+    }
+
+    private void update(Object key, RateLimitValue value) {
+        dictionary.merge(key, value, RateLimitValue::merge);
+    }
+
+    private long waitMillis(Object key, long now) {
+        RateLimitValue value = dictionary.get(key);
+        return (value != null) ? value.waitMillis(now) : 0L;
+    }
+
+    /**
+     * Reserve action and account wide limit together
+     * (Action is not consumed if account wide limit is exhausted)
+     * アクションとアカウント全体の残り回数を同時に予約
+     */
+    private boolean reserve(ActionType action, long now) {
+        RateLimitValue value = dictionary.get(action);
+        RateLimitValue account = dictionary.get(ACCOUNT);
+        if (value == null) {
+            return (account == null) || account.reserve(now);
+        }
+
+        // ロックは常にアクション → アカウント全体の順で取得
+        synchronized (value) {
+            if (!value.isReservable(now)) {
+                return false;
+            }
+            if (account != null && !account.reserve(now)) {
+                return false;
+            }
+            return value.reserve(now);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            java.lang.Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            java.lang.Thread.currentThread().interrupt();
+            throw new SocialHubException("interrupted while waiting rate limit.", e);
+        }
+    }
+
+    //region // Getter&Setter
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+    //endregion
+
+    private static class RateLimitValue implements Serializable {
 
         private ServiceType service;
 
@@ -83,12 +217,96 @@ public class RateLimit implements Serializable {
             this.reset = rateLimit.getReset();
         }
 
+        /**
+         * For limit known only by error response
+         */
+        private RateLimitValue() {
+        }
+
+        private RateLimitValue(RateLimitValue value) {
+            this.service = value.service;
+            this.limit = value.limit;
+            this.remaining = value.remaining;
+            this.reset = value.reset;
+        }
+
+        private RateLimitValue copy() {
+            return new RateLimitValue(this);
+        }
+
+        /**
+         * Merge latest response into current value
+         * (Same window keeps smaller remaining, because requests reserved
+         * after this response was made are not counted yet)
+         * 最新のレスポンスを反映
+         */
+        private synchronized RateLimitValue merge(RateLimitValue latest) {
+            boolean sameWindow = (reset != null) && (latest.reset != null)
+                    && Math.abs(reset.getTime() - latest.reset.getTime()) < 1000L;
+
+            remaining = sameWindow ? Math.min(remaining, latest.remaining) : latest.remaining;
+            limit = latest.limit;
+            reset = latest.reset;
+            return this;
+        }
+
+        /**
+         * Mark no remaining until reset (or backoff if reset is unknown)
+         * リセットまで残り回数を無しにする
+         */
+        private synchronized long exhaust(long now, long backoffMillis) {
+            remaining = 0;
+            if (reset == null || reset.getTime() <= now) {
+                reset = new Date(now + backoffMillis);
+            }
+            return reset.getTime() - now;
+        }
+
+        /**
+         * Wait time until request is allowed
+         * リクエスト可能になるまでの時間
+         */
+        private synchronized long waitMillis(long now) {
+            if (remaining > 0 || reset == null) {
+                return 0L;
+            }
+            return Math.max(0L, reset.getTime() - now);
+        }
+
+        /**
+         * Can reserve one request (not consumed)
+         * リクエストを予約できるか
+         */
+        private synchronized boolean isReservable(long now) {
+
+            // リセット時刻を過ぎた場合は次のレスポンスまで上限まで許可
+            if (reset != null && reset.getTime() <= now) {
+                remaining = limit;
+                reset = null;
+            }
+            return (remaining > 0) || (reset == null);
+        }
+
+        /**
+         * Reserve one request (false if no remaining)
+         * リクエストを一回分予約
+         */
+        private synchronized boolean reserve(long now) {
+            if (!isReservable(now)) {
+                return false;
+            }
+            if (remaining > 0) {
+                remaining--;
+            }
+            return true;
+        }
+
         /**
          * リクエスト可能かどうか？
          * Is remaining api request count?
          */
-        private boolean isRemaining() {
-            return (remaining > 0) || reset.before(new Date());
+        private synchronized boolean isRemaining() {
+            return (remaining > 0) || (reset == null) || reset.before(new Date());
         }
     }
 }
@@ -16,7 +16,7 @@ public class Service implements Serializable {
     private ServiceType type;
     private RateLimit rateLimit;
 
-    /** Use Only Mastodon */
+    /** Use Only Mastodon and Misskey */
     private String apiHost;
     private String streamApiHost;
 
@@ -60,6 +60,15 @@ public class Service implements Serializable {
         return (ServiceType.Misskey == type);
     }
 
+    /**
+     * Get host name for request control
+     * (API host if exists, or service type name)
+     * リクエスト制御用のホスト名を取得
+     */
+    public String getRequestHost() {
+        return (apiHost != null) ? apiHost : type.name();
+    }
+
     //region // Getter&Setter
     public Account getAccount() {
         return account;
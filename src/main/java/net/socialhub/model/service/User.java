@@ -81,6 +81,31 @@ public class User extends Identify {
         throw new NotImplimentedException();
     }
 
+    /**
+     * Merge state of same user (null values are ignored)
+     * 同じユーザーの新しい状態を反映 (null の値は無視)
+     */
+    public synchronized void merge(User user) {
+        if (user == this) {
+            return;
+        }
+        if (user.name != null) {
+            name = user.name;
+        }
+        if (user.screenName != null) {
+            screenName = user.screenName;
+        }
+        if (user.description != null) {
+            description = user.description;
+        }
+        if (user.iconImageUrl != null) {
+            iconImageUrl = user.iconImageUrl;
+        }
+        if (user.coverImageUrl != null) {
+            coverImageUrl = user.coverImageUrl;
+        }
+    }
+
     //region // Getter&Setter
     public String getName() {
         return name;
@@ -28,6 +28,10 @@ public abstract class MiniBlogComment extends Comment {
     /** User shared this comment */
     private boolean isShared = false;
 
+    /** Flags set from service or reaction (false is default, not unknown) */
+    private boolean likedKnown = false;
+    private boolean sharedKnown = false;
+
     /** Reply To ID */
     private Identify replyTo;
 
@@ -64,7 +68,7 @@ public abstract class MiniBlogComment extends Comment {
     }
 
     @Override
-    public void applyReaction(Reaction reaction) {
+    public synchronized void applyReaction(Reaction reaction) {
         if (ReactionType.Like.getCode().contains(reaction.getName())) {
             if (reaction.getReacting() && !isLiked) {
                 likeCount = (likeCount == null) ? 1 : likeCount + 1;
@@ -74,6 +78,7 @@ public abstract class MiniBlogComment extends Comment {
                 likeCount = (likeCount == null) ? 0 : likeCount - 1;
                 isLiked = false;
             }
+            likedKnown = true;
         }
 
         if (ReactionType.Share.getCode().contains(reaction.getName())) {
@@ -85,6 +90,7 @@ public abstract class MiniBlogComment extends Comment {
                 shareCount = (shareCount == null) ? 0 : shareCount - 1;
                 isShared = false;
             }
+            sharedKnown = true;
         }
     }
 
@@ -103,6 +109,32 @@ public abstract class MiniBlogComment extends Comment {
         return form;
     }
 
+    @Override
+    public synchronized void merge(Comment comment) {
+        super.merge(comment);
+        if (comment instanceof MiniBlogComment && comment != this) {
+            MiniBlogComment c = (MiniBlogComment) comment;
+            if (c.likeCount != null) {
+                likeCount = c.likeCount;
+            }
+            if (c.shareCount != null) {
+                shareCount = c.shareCount;
+            }
+            if (c.replyTo != null) {
+                replyTo = c.replyTo;
+            }
+            if (c.poll != null) {
+                poll = c.poll;
+            }
+            if (c.likedKnown) {
+                setLiked(c.isLiked);
+            }
+            if (c.sharedKnown) {
+                setShared(c.isShared);
+            }
+        }
+    }
+
     //region // Getter&Setter
     public Long getLikeCount() {
         return likeCount;
@@ -134,6 +166,7 @@ public abstract class MiniBlogComment extends Comment {
 
     public void setLiked(boolean liked) {
         isLiked = liked;
+        likedKnown = true;
     }
 
     public boolean getShared() {
@@ -142,6 +175,7 @@ public abstract class MiniBlogComment extends Comment {
 
     public void setShared(boolean shared) {
         isShared = shared;
+        sharedKnown = true;
     }
 
     public Poll getPoll() {
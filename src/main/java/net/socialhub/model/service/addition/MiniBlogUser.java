@@ -27,6 +27,9 @@ public abstract class MiniBlogUser extends User {
     /** Is protected account? */
     private boolean isProtected = false;
 
+    /** Protected is set from service (false is default, not unknown) */
+    private boolean protectedKnown = false;
+
     /** Profile url */
     private AttributedString profileUrl;
 
@@ -43,6 +46,29 @@ public abstract class MiniBlogUser extends User {
         return form;
     }
 
+    @Override
+    public synchronized void merge(User user) {
+        super.merge(user);
+        if (user instanceof MiniBlogUser && user != this) {
+            MiniBlogUser u = (MiniBlogUser) user;
+            if (u.followingsCount != null) {
+                followingsCount = u.followingsCount;
+            }
+            if (u.followersCount != null) {
+                followersCount = u.followersCount;
+            }
+            if (u.statusesCount != null) {
+                statusesCount = u.statusesCount;
+            }
+            if (u.profileUrl != null) {
+                profileUrl = u.profileUrl;
+            }
+            if (u.protectedKnown) {
+                setProtected(u.isProtected);
+            }
+        }
+    }
+
     //region // Getter&Setter
     public Long getFollowingsCount() {
         return followingsCount;
@@ -74,6 +100,7 @@ public abstract class MiniBlogUser extends User {
 
     public void setProtected(boolean aProtected) {
         isProtected = aProtected;
+        protectedKnown = true;
     }
 
     public AttributedString getProfileUrl() {
@@ -2,6 +2,7 @@ package net.socialhub.model.service.addition.mastodon;
 
 import net.socialhub.define.service.mastodon.MastodonVisibility;
 import net.socialhub.model.common.AttributedString;
+import net.socialhub.model.service.Comment;
 import net.socialhub.model.service.Emoji;
 import net.socialhub.model.service.Reaction;
 import net.socialhub.model.service.Service;
@@ -41,11 +42,8 @@ public class MastodonComment extends MiniBlogComment {
     }
 
     @Override
-    public boolean equals(Object obj) {
-        if (obj instanceof MastodonComment) {
-            return getId().equals(((MastodonComment) obj).getId());
-        }
-        return false;
+    public boolean hasWebUrl() {
+        return (getUser() != null);
     }
 
     @Override
@@ -61,6 +59,26 @@ public class MastodonComment extends MiniBlogComment {
         return reactions;
     }
 
+    @Override
+    public synchronized void merge(Comment comment) {
+        super.merge(comment);
+        if (comment instanceof MastodonComment && comment != this) {
+            MastodonComment c = (MastodonComment) comment;
+            if (c.spoilerText != null) {
+                spoilerText = c.spoilerText;
+            }
+            if (c.visibility != null) {
+                visibility = c.visibility;
+            }
+            if (c.replyCount != null) {
+                replyCount = c.replyCount;
+            }
+            if (c.emojis != null) {
+                emojis = c.emojis;
+            }
+        }
+    }
+
     // region // Getter&Setter
     public AttributedString getSpoilerText() {
         return spoilerText;
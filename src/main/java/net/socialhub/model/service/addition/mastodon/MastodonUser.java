@@ -7,6 +7,7 @@ import net.socialhub.model.common.AttributedString;
 import net.socialhub.model.request.CommentForm;
 import net.socialhub.model.service.Emoji;
 import net.socialhub.model.service.Service;
+import net.socialhub.model.service.User;
 import net.socialhub.model.service.addition.MiniBlogUser;
 
 import java.net.URL;
@@ -111,6 +112,23 @@ public class MastodonUser extends MiniBlogUser {
         return form;
     }
 
+    @Override
+    public synchronized void merge(User user) {
+        super.merge(user);
+        if (user instanceof MastodonUser && user != this) {
+            MastodonUser u = (MastodonUser) user;
+            if (u.attributedName != null) {
+                attributedName = u.attributedName;
+            }
+            if (u.fields != null) {
+                fields = u.fields;
+            }
+            if (u.emojis != null) {
+                emojis = u.emojis;
+            }
+        }
+    }
+
     // region // Getter&Setter
     public List<AttributedFiled> getFields() {
         return fields;
@@ -14,9 +14,6 @@ import java.util.List;
 
 public class MisskeyComment extends MiniBlogComment {
 
-    /** ID for Paging */
-    private String pagingId;
-
     /** Warning text (Mastodon only) */
     private AttributedString spoilerText;
 
@@ -44,11 +41,8 @@ public class MisskeyComment extends MiniBlogComment {
     }
 
     @Override
-    public boolean equals(Object obj) {
-        if (obj instanceof MastodonComment) {
-            return getId().equals(((MastodonComment) obj).getId());
-        }
-        return false;
+    public boolean hasWebUrl() {
+        return (getUser() != null);
     }
 
     @Override
@@ -78,15 +72,30 @@ public class MisskeyComment extends MiniBlogComment {
         return results;
     }
 
-    public String getIdForPaging() {
-        return (pagingId != null) ? pagingId : (String) getId();
+    @Override
+    public synchronized void merge(Comment comment) {
+        super.merge(comment);
+        if (comment instanceof MisskeyComment && comment != this) {
+            MisskeyComment c = (MisskeyComment) comment;
+            if (c.spoilerText != null) {
+                spoilerText = c.spoilerText;
+            }
+            if (c.visibility != null) {
+                visibility = c.visibility;
+            }
+            if (c.replyCount != null) {
+                replyCount = c.replyCount;
+            }
+            if (c.reactions != null) {
+                reactions = c.reactions;
+            }
+            if (c.emojis != null) {
+                emojis = c.emojis;
+            }
+        }
     }
 
     // region // Getter&Setter
-    public void setPagingId(String pagingId) {
-        this.pagingId = pagingId;
-    }
-
     public AttributedString getSpoilerText() {
         return spoilerText;
     }
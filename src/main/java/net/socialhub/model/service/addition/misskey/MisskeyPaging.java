@@ -3,23 +3,35 @@ package net.socialhub.model.service.addition.misskey;
 import net.socialhub.model.service.Identify;
 import net.socialhub.model.service.Paging;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Misskey Paging
  * Misskey の特殊ページングに対応
+ *
+ * 通知から取得したコメントは通知の ID でページングするため、
+ * 一覧毎にエンティティの ID とページング用 ID の対応を保持する。
+ * (コメントのインスタンスは他の一覧と共有されるため、コメントには保持しない)
  */
 public class MisskeyPaging extends Paging {
 
     private String untilId;
     private String sinceId;
 
+    /** IDs for paging (keyed by entity id, entity id is used if absent) */
+    private Map<Object, String> pagingIds;
+
     /**
      * From Paging instance
      */
     public static MisskeyPaging fromPaging(Paging paging) {
         if (paging instanceof MisskeyPaging) {
-            return ((MisskeyPaging) paging).copy();
+            // ページング用 ID は元の一覧のものなので引き継がない
+            MisskeyPaging pg = ((MisskeyPaging) paging).copy();
+            pg.setPagingIds(null);
+            return pg;
         }
 
         // Count の取得
@@ -38,18 +50,8 @@ public class MisskeyPaging extends Paging {
         MisskeyPaging pg = copy();
 
         if (!entities.isEmpty()) {
-            T first = entities.get(0);
             pg.setUntilId(null);
-
-            // Comment の場合はページング用 ID を使用
-            if (first instanceof MisskeyComment) {
-                MisskeyComment mc = (MisskeyComment) first;
-                pg.setSinceId(mc.getIdForPaging());
-
-            } else {
-                // 他のオブジェクトはそのままのを使用
-                pg.setSinceId((String) first.getId());
-            }
+            pg.setSinceId(getIdForPaging(entities.get(0)));
         }
         return pg;
     }
@@ -62,22 +64,21 @@ public class MisskeyPaging extends Paging {
         MisskeyPaging pg = copy();
 
         if (!entities.isEmpty()) {
-            T last = entities.get(entities.size() - 1);
             pg.setSinceId(null);
-
-            // Comment の場合はページング用 ID を使用
-            if (last instanceof MisskeyComment) {
-                MisskeyComment mc = (MisskeyComment) last;
-                pg.setUntilId(mc.getIdForPaging());
-
-            } else {
-                // 他のオブジェクトはそのままのを使用
-                pg.setUntilId((String) last.getId());
-            }
+            pg.setUntilId(getIdForPaging(entities.get(entities.size() - 1)));
         }
         return pg;
     }
 
+    /**
+     * Get ID for paging of entity
+     * エンティティのページング用 ID を取得 (通知の場合は通知の ID)
+     */
+    public String getIdForPaging(Identify entity) {
+        String id = (pagingIds != null) ? pagingIds.get(entity.getId()) : null;
+        return (id != null) ? id : (String) entity.getId();
+    }
+
     /**
      * オブジェクトコピー
      */
@@ -85,6 +86,7 @@ public class MisskeyPaging extends Paging {
         MisskeyPaging pg = new MisskeyPaging();
         pg.setSinceId(getSinceId());
         pg.setUntilId(getUntilId());
+        pg.setPagingIds((pagingIds != null) ? new HashMap<>(pagingIds) : null);
         copyTo(pg);
         return pg;
     }
@@ -105,5 +107,13 @@ public class MisskeyPaging extends Paging {
     public void setSinceId(String sinceId) {
         this.sinceId = sinceId;
     }
+
+    public Map<Object, String> getPagingIds() {
+        return pagingIds;
+    }
+
+    public void setPagingIds(Map<Object, String> pagingIds) {
+        this.pagingIds = pagingIds;
+    }
     // endregion
 }
@@ -6,6 +6,7 @@ import net.socialhub.model.request.CommentForm;
 import net.socialhub.model.service.Comment;
 import net.socialhub.model.service.Emoji;
 import net.socialhub.model.service.Service;
+import net.socialhub.model.service.User;
 import net.socialhub.model.service.addition.MiniBlogUser;
 import net.socialhub.model.service.support.Color;
 
@@ -36,6 +37,10 @@ public class MisskeyUser extends MiniBlogUser {
     private boolean isCat = false;
     private boolean isBot = false;
 
+    /** Flags set from service (false is default, not unknown) */
+    private boolean catKnown = false;
+    private boolean botKnown = false;
+
     /** Simple object for timeline */
     private boolean isSimple = false;
 
@@ -106,6 +111,45 @@ public class MisskeyUser extends MiniBlogUser {
         return form;
     }
 
+    @Override
+    public synchronized void merge(User user) {
+        super.merge(user);
+        if (user instanceof MisskeyUser && user != this) {
+            MisskeyUser u = (MisskeyUser) user;
+            if (u.attributedName != null) {
+                attributedName = u.attributedName;
+            }
+            if (u.fields != null) {
+                fields = u.fields;
+            }
+            if (u.pinnedComments != null) {
+                pinnedComments = u.pinnedComments;
+            }
+            if (u.emojis != null) {
+                emojis = u.emojis;
+            }
+            if (u.location != null) {
+                location = u.location;
+            }
+            if (u.host != null) {
+                host = u.host;
+            }
+            if (u.avatarColor != null) {
+                avatarColor = u.avatarColor;
+            }
+            if (u.bannerColor != null) {
+                bannerColor = u.bannerColor;
+            }
+            if (u.catKnown) {
+                setCat(u.isCat);
+            }
+            if (u.botKnown) {
+                setBot(u.isBot);
+            }
+            isSimple = isSimple && u.isSimple;
+        }
+    }
+
     // region // Getter&Setter
     public List<AttributedFiled> getFields() {
         return fields;
@@ -153,6 +197,7 @@ public class MisskeyUser extends MiniBlogUser {
 
     public void setCat(boolean cat) {
         isCat = cat;
+        catKnown = true;
     }
 
     public boolean isBot() {
@@ -161,6 +206,7 @@ public class MisskeyUser extends MiniBlogUser {
 
     public void setBot(boolean bot) {
         isBot = bot;
+        botKnown = true;
     }
 
     public boolean isSimple() {
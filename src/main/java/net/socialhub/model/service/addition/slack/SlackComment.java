@@ -31,6 +31,20 @@ public class SlackComment extends Comment {
                 getChannel() + "/p" + getId();
     }
 
+    @Override
+    public boolean hasWebUrl() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * (Message ts is unique only in channel)
+     */
+    @Override
+    public Object getIdScope() {
+        return channel;
+    }
+
     @Override
     public List<Reaction> getReactions() {
         if (reactions == null) {
@@ -80,6 +94,23 @@ public class SlackComment extends Comment {
         this.reactions = reactions;
     }
 
+    @Override
+    public synchronized void merge(Comment comment) {
+        super.merge(comment);
+        if (comment instanceof SlackComment && comment != this) {
+            SlackComment c = (SlackComment) comment;
+            if (c.channel != null) {
+                channel = c.channel;
+            }
+            if (c.threadId != null) {
+                threadId = c.threadId;
+            }
+            if (c.reactions != null) {
+                reactions = c.reactions;
+            }
+        }
+    }
+
     // region // Getter&Setter
     public String getChannel() {
         return channel;
@@ -87,6 +118,7 @@ public class SlackComment extends Comment {
 
     public void setChannel(String channel) {
         this.channel = channel;
+        clearKey();
     }
 
     public String getThreadId() {
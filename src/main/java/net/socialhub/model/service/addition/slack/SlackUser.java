@@ -61,6 +61,32 @@ public class SlackUser extends User {
         return fields;
     }
 
+    @Override
+    public synchronized void merge(User user) {
+        super.merge(user);
+        if (user instanceof SlackUser && user != this) {
+            SlackUser u = (SlackUser) user;
+            if (u.email != null) {
+                email = u.email;
+            }
+            if (u.phone != null) {
+                phone = u.phone;
+            }
+            if (u.title != null) {
+                title = u.title;
+            }
+            if (u.displayName != null) {
+                displayName = u.displayName;
+            }
+            if (u.team != null) {
+                team = u.team;
+            }
+            if (u.isBot != null) {
+                isBot = u.isBot;
+            }
+        }
+    }
+
     //region // Getter&Setter
     public AttributedString getEmail() {
         return email;
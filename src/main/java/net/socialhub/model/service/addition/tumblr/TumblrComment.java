@@ -22,6 +22,9 @@ public class TumblrComment extends Comment {
     /** User already liked this post */
     private boolean isLiked;
 
+    /** Liked is set from service or reaction (false is default, not unknown) */
+    private boolean likedKnown;
+
     public TumblrComment(Service service) {
         super(service);
     }
@@ -48,7 +51,7 @@ public class TumblrComment extends Comment {
     }
 
     @Override
-    public void applyReaction(Reaction reaction) {
+    public synchronized void applyReaction(Reaction reaction) {
         if (ReactionType.Like.getCode().contains(reaction.getName())) {
             if (reaction.getReacting() && !isLiked) {
                 isLiked = true;
@@ -56,9 +59,35 @@ public class TumblrComment extends Comment {
             if (!reaction.getReacting() && isLiked) {
                 isLiked = false;
             }
+            likedKnown = true;
+        }
+    }
+
+    @Override
+    public synchronized void merge(Comment comment) {
+        super.merge(comment);
+        if (comment instanceof TumblrComment && comment != this) {
+            TumblrComment c = (TumblrComment) comment;
+            if (c.noteCount != null) {
+                noteCount = c.noteCount;
+            }
+            if (c.webUrl != null) {
+                webUrl = c.webUrl;
+            }
+            if (c.reblogKey != null) {
+                reblogKey = c.reblogKey;
+            }
+            if (c.likedKnown) {
+                setLiked(c.isLiked);
+            }
         }
     }
 
+    @Override
+    public boolean hasWebUrl() {
+        return (webUrl != null);
+    }
+
     //region // Getter&Setter
     @Override
     public String getWebUrl() {
@@ -91,6 +120,7 @@ public class TumblrComment extends Comment {
 
     public void setLiked(boolean liked) {
         isLiked = liked;
+        likedKnown = true;
     }
     //endregion
 }
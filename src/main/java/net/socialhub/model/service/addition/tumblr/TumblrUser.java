@@ -31,6 +31,32 @@ public class TumblrUser extends User {
      */
     private Relationship relationship;
 
+    @Override
+    public synchronized void merge(User user) {
+        super.merge(user);
+        if (user instanceof TumblrUser && user != this) {
+            TumblrUser u = (TumblrUser) user;
+            if (u.followersCount != null) {
+                followersCount = u.followersCount;
+            }
+            if (u.postsCount != null) {
+                postsCount = u.postsCount;
+            }
+            if (u.likesCount != null) {
+                likesCount = u.likesCount;
+            }
+            if (u.blogUrl != null) {
+                blogUrl = u.blogUrl;
+            }
+            if (u.blogTitle != null) {
+                blogTitle = u.blogTitle;
+            }
+            if (u.relationship != null) {
+                relationship = u.relationship;
+            }
+        }
+    }
+
     //region // Getter&Setter
     public Integer getFollowersCount() {
         return followersCount;
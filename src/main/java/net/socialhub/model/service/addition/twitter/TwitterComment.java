@@ -29,6 +29,11 @@ public class TwitterComment extends MiniBlogComment {
                 + "/status/" + getId().toString();
     }
 
+    @Override
+    public boolean hasWebUrl() {
+        return (getUser() != null);
+    }
+
     /**
      * {@inheritDoc}
      * Caution : Network request cause if user me not cached.
@@ -69,12 +74,4 @@ public class TwitterComment extends MiniBlogComment {
         form.message(false);
         return form;
     }
-
-    @Override
-    public boolean equals(Object obj) {
-        if (obj instanceof TwitterComment) {
-            return getId().equals(((TwitterComment) obj).getId());
-        }
-        return false;
-    }
 }
@@ -5,6 +5,7 @@ import net.socialhub.model.common.AttributedFiled;
 import net.socialhub.model.common.AttributedString;
 import net.socialhub.model.request.CommentForm;
 import net.socialhub.model.service.Service;
+import net.socialhub.model.service.User;
 import net.socialhub.model.service.addition.MiniBlogUser;
 import net.socialhub.service.twitter.TwitterMapper;
 
@@ -30,6 +31,9 @@ public class TwitterUser extends MiniBlogUser {
     /** Is verified account? */
     private boolean isVerified = false;
 
+    /** Verified is set from service (false is default, not unknown) */
+    private boolean verifiedKnown = false;
+
     /** Count of Favorites */
     private Long favoritesCount;
 
@@ -73,6 +77,26 @@ public class TwitterUser extends MiniBlogUser {
         return getIconImageUrl().replace(beforeSize.getSuffix(), size.getSuffix());
     }
 
+    @Override
+    public synchronized void merge(User user) {
+        super.merge(user);
+        if (user instanceof TwitterUser && user != this) {
+            TwitterUser u = (TwitterUser) user;
+            if (u.url != null) {
+                url = u.url;
+            }
+            if (u.location != null) {
+                location = u.location;
+            }
+            if (u.favoritesCount != null) {
+                favoritesCount = u.favoritesCount;
+            }
+            if (u.verifiedKnown) {
+                setVerified(u.isVerified);
+            }
+        }
+    }
+
     //region // Getter&Setter
     public AttributedString getUrl() {
         return url;
@@ -104,6 +128,7 @@ public class TwitterUser extends MiniBlogUser {
 
     public void setVerified(boolean verified) {
         isVerified = verified;
+        verifiedKnown = true;
     }
     //endregion
 }
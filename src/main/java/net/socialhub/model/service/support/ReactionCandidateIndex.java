@@ -0,0 +1,420 @@
+package net.socialhub.model.service.support;
+
+import net.socialhub.define.EmojiDefinition;
+import net.socialhub.define.EmojiType;
+import net.socialhub.define.EmojiVariationType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reaction Candidate Index
+ * リアクション候補の前方一致検索 (入力補完)
+ *
+ * 名前・エイリアス・検索語からトライ木を作成し、各ノードに配下の上位候補を保持する。
+ * そのため上位件数以内の検索は入力文字数分ノードを辿るのみで完了する。
+ * 順位は使用回数・よく使われるもの・名前の短いものの順。
+ * インスタンスの絵文字が変わった場合は差分のみ更新する。
+ */
+public class ReactionCandidateIndex {
+
+    /** Number of candidates kept in each node */
+    private static final int TOP_SIZE = 32;
+
+    /** Ranking (used count, frequently used, shorter name) */
+    private static final Comparator<Entry> RANKING = (a, b) -> {
+        if (a.usage != b.usage) {
+            return (a.usage > b.usage) ? -1 : 1;
+        }
+        if (a.frequent != b.frequent) {
+            return a.frequent ? -1 : 1;
+        }
+        if (a.primary.length() != b.primary.length()) {
+            return a.primary.length() - b.primary.length();
+        }
+        int compare = a.primary.compareTo(b.primary);
+        return (compare != 0) ? compare : a.key.compareTo(b.key);
+    };
+
+    /** Candidates always included (standard emoji) */
+    private final List<ReactionCandidate> base;
+
+    private final Node root = new Node(0);
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    // ============================================================== //
+    // Static functions
+    // ============================================================== //
+
+    /**
+     * Make index with standard emoji
+     * 標準の絵文字を含めて作成
+     */
+    public static ReactionCandidateIndex ofDefault() {
+        List<ReactionCandidate> candidates = new ArrayList<>();
+        for (EmojiType emoji : EmojiType.values()) {
+            candidates.add(candidate(emoji));
+        }
+        for (EmojiVariationType emoji : EmojiVariationType.values()) {
+            candidates.add(candidate(emoji));
+        }
+        return of(candidates);
+    }
+
+    /**
+     * Make index with base candidates
+     * 常に含める候補を指定して作成
+     */
+    public static ReactionCandidateIndex of(List<ReactionCandidate> base) {
+        return new ReactionCandidateIndex(base);
+    }
+
+    private ReactionCandidateIndex(List<ReactionCandidate> base) {
+        this.base = new ArrayList<>(base);
+        update(Collections.emptyList());
+    }
+
+    private static ReactionCandidate candidate(EmojiDefinition emoji) {
+        ReactionCandidate candidate = new ReactionCandidate();
+        candidate.setCategory(emoji.getCategory().getCode());
+        candidate.setEmoji(emoji.getEmoji());
+        candidate.setName(emoji.getName());
+
+        candidate.setSearchWord(emoji.getName());
+        candidate.setFrequentlyUsed((emoji.getLevel() != null) && (emoji.getLevel() <= 10));
+        return candidate;
+    }
+
+    // ============================================================== //
+    // Functions
+    // ============================================================== //
+
+    /**
+     * Search candidates by prefix (":sm" or "sm")
+     * 前方一致で候補を検索
+     */
+    public synchronized List<ReactionCandidate> search(String prefix, int limit) {
+        Node node = root;
+        String word = normalize(prefix);
+
+        for (int i = 0; i < word.length() && node != null; i++) {
+            node = node.child(word.charAt(i));
+        }
+        if (node == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // 保持している上位件数を超える場合のみ配下を走査
+        List<Entry> ranked = node.top;
+        if (limit > TOP_SIZE && ranked.size() >= TOP_SIZE) {
+            Set<Entry> all = new LinkedHashSet<>();
+            collect(node, all);
+            ranked = new ArrayList<>(all);
+            ranked.sort(RANKING);
+        }
+
+        int size = Math.min(limit, ranked.size());
+        List<ReactionCandidate> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(ranked.get(i).candidate);
+        }
+        return results;
+    }
+
+    /**
+     * Update candidates of account (only differences are applied)
+     * アカウントの候補を更新 (差分のみ反映)
+     */
+    public synchronized void update(List<ReactionCandidate> candidates) {
+
+        // 同じ絵文字はアカウントの候補を優先
+        Map<String, ReactionCandidate> desired = new LinkedHashMap<>();
+        for (ReactionCandidate candidate : base) {
+            desired.put(key(candidate), candidate);
+        }
+        if (candidates != null) {
+            for (ReactionCandidate candidate : candidates) {
+                desired.put(key(candidate), candidate);
+            }
+        }
+
+        List<Entry> removes = new ArrayList<>();
+        List<Entry> adds = new ArrayList<>();
+
+        for (Entry entry : entries.values()) {
+            if (!desired.containsKey(entry.key)) {
+                removes.add(entry);
+            }
+        }
+
+        desired.forEach((key, candidate) -> {
+            Entry before = entries.get(key);
+            if (before != null && before.candidate == candidate) {
+                return;
+            }
+
+            Entry entry = new Entry(key, candidate);
+            if (before != null) {
+                entry.usage = before.usage;
+
+                // 検索語と順位が同じ場合は差し替えのみ
+                if (Arrays.equals(before.words, entry.words) && before.frequent == entry.frequent) {
+                    before.candidate = candidate;
+                    return;
+                }
+                removes.add(before);
+            }
+            adds.add(entry);
+        });
+
+        remove(removes);
+        adds.forEach(this::add);
+    }
+
+    /**
+     * Record usage of candidate (raise ranking)
+     * 候補の使用を記録 (順位を上げる)
+     */
+    public synchronized void recordUsage(ReactionCandidate candidate) {
+        Entry entry = entries.get(key(candidate));
+        if (entry == null) {
+            return;
+        }
+
+        List<Node> path = new ArrayList<>();
+        for (String word : entry.words) {
+            path(word, path);
+        }
+
+        for (Node node : path) {
+            node.top.remove(entry);
+        }
+        entry.usage++;
+        for (Node node : path) {
+            node.offer(entry);
+        }
+    }
+
+    /**
+     * Get number of candidates
+     * 候補数を取得
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // ============================================================== //
+    // Trie
+    // ============================================================== //
+
+    private void add(Entry entry) {
+        entries.put(entry.key, entry);
+
+        for (String word : entry.words) {
+            Node node = root;
+            node.offer(entry);
+
+            for (int i = 0; i < word.length(); i++) {
+                node = node.childOrAdd(word.charAt(i));
+                node.offer(entry);
+            }
+            node.entries.add(entry);
+        }
+    }
+
+    private void remove(List<Entry> removes) {
+        if (removes.isEmpty()) {
+            return;
+        }
+
+        Set<Node> dirty = new HashSet<>();
+        for (Entry entry : removes) {
+            entries.remove(entry.key);
+
+            List<Node> path = new ArrayList<>();
+            for (String word : entry.words) {
+                path(word, path);
+                path.get(path.size() - 1).entries.remove(entry);
+            }
+            for (Node node : path) {
+                if (node.top.contains(entry)) {
+                    dirty.add(node);
+                }
+            }
+        }
+
+        // 深いノードから上位候補を再計算
+        List<Node> nodes = new ArrayList<>(dirty);
+        nodes.sort((a, b) -> b.depth - a.depth);
+        for (Node node : nodes) {
+            node.rebuild();
+        }
+    }
+
+    /** Add nodes from root to word */
+    private void path(String word, List<Node> path) {
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < word.length(); i++) {
+            node = node.child(word.charAt(i));
+            path.add(node);
+        }
+    }
+
+    private static void collect(Node node, Set<Entry> results) {
+        results.addAll(node.entries);
+        for (int i = 0; i < node.size; i++) {
+            collect(node.children[i], results);
+        }
+    }
+
+    // ============================================================== //
+    // Support
+    // ============================================================== //
+
+    /** Identity of candidate (emoji or name and icon) */
+    private static String key(ReactionCandidate candidate) {
+        if (candidate.getEmoji() != null) {
+            return "E:" + candidate.getEmoji();
+        }
+        return "N:" + candidate.getName() + "|" + candidate.getIconUrl();
+    }
+
+    /** Strip colons and lower case */
+    private static String normalize(String word) {
+        if (word == null) {
+            return "";
+        }
+        int start = 0;
+        int end = word.length();
+        while (start < end && word.charAt(start) == ':') {
+            start++;
+        }
+        while (end > start && word.charAt(end - 1) == ':') {
+            end--;
+        }
+        return word.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indexed candidate
+     * 索引の候補
+     */
+    private static class Entry {
+
+        private final String key;
+        private final String[] words;
+        private final String primary;
+        private final boolean frequent;
+
+        private ReactionCandidate candidate;
+        private int usage;
+
+        Entry(String key, ReactionCandidate candidate) {
+            this.key = key;
+            this.candidate = candidate;
+            this.frequent = candidate.isFrequentlyUsed();
+
+            Set<String> words = new LinkedHashSet<>();
+            if (candidate.getName() != null) {
+                for (String name : candidate.getAllNames()) {
+                    words.add(normalize(name));
+                }
+            }
+            words.add(normalize(candidate.getSearchWord()));
+            words.remove("");
+
+            this.words = words.toArray(new String[0]);
+            this.primary = (this.words.length > 0) ? this.words[0] : "";
+        }
+    }
+
+    /**
+     * Trie node (children are sorted by char)
+     * トライ木のノード (子は文字順)
+     */
+    private static class Node {
+
+        private final int depth;
+
+        private char[] chars = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+
+        /** Entries which word ends here */
+        private final List<Entry> entries = new ArrayList<>(1);
+
+        /** Top ranked entries under this node */
+        private final List<Entry> top = new ArrayList<>();
+
+        Node(int depth) {
+            this.depth = depth;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(chars, 0, size, c);
+            return (i >= 0) ? children[i] : null;
+        }
+
+        Node childOrAdd(char c) {
+            int i = Arrays.binarySearch(chars, 0, size, c);
+            if (i >= 0) {
+                return children[i];
+            }
+
+            i = -(i + 1);
+            if (size == chars.length) {
+                int capacity = Math.max(2, size * 2);
+                chars = Arrays.copyOf(chars, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(chars, i, chars, i + 1, size - i);
+            System.arraycopy(children, i, children, i + 1, size - i);
+
+            Node node = new Node(depth + 1);
+            chars[i] = c;
+            children[i] = node;
+            size++;
+            return node;
+        }
+
+        /** Insert into top if ranked */
+        void offer(Entry entry) {
+            if (top.contains(entry)) {
+                return;
+            }
+            int i = Collections.binarySearch(top, entry, RANKING);
+            i = (i >= 0) ? i : -(i + 1);
+            if (i < TOP_SIZE) {
+                top.add(i, entry);
+                if (top.size() > TOP_SIZE) {
+                    top.remove(TOP_SIZE);
+                }
+            }
+        }
+
+        /** Rebuild top from entries and children */
+        void rebuild() {
+            Set<Entry> merged = new HashSet<>(entries);
+            for (int i = 0; i < size; i++) {
+                merged.addAll(children[i].top);
+            }
+
+            List<Entry> sorted = new ArrayList<>(merged);
+            sorted.sort(RANKING);
+            top.clear();
+            top.addAll(sorted.subList(0, Math.min(TOP_SIZE, sorted.size())));
+        }
+    }
+}
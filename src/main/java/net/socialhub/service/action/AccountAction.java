@@ -269,6 +269,14 @@ public interface AccountAction {
         throw new NotImplimentedException();
     }
 
+    /**
+     * Search Reaction Candidates by prefix (e.g. ":sm")
+     * 前方一致でリアクション候補を検索 (標準の絵文字を含む)
+     */
+    default List<ReactionCandidate> searchReactionCandidates(String prefix, int limit) {
+        throw new NotImplimentedException();
+    }
+
     /**
      * Get Comment Context
      * コメントについて前後の会話を取得
@@ -1,13 +1,51 @@
 package net.socialhub.service.action;
 
+import net.socialhub.define.action.ActionType;
 import net.socialhub.model.Account;
+import net.socialhub.model.error.CircuitOpenException;
+import net.socialhub.model.error.RateLimitExceededException;
+import net.socialhub.model.service.RateLimit;
 import net.socialhub.model.service.User;
+import net.socialhub.model.service.support.ReactionCandidate;
+import net.socialhub.model.service.support.ReactionCandidateIndex;
+import net.socialhub.service.cache.ActionCache;
+import net.socialhub.service.control.ActionExecutor;
+import net.socialhub.service.control.CircuitBreaker;
+import net.socialhub.service.control.RequestHedger;
+import net.socialhub.service.control.RequestKey;
+import net.socialhub.service.control.RetryPolicy;
+import net.socialhub.service.control.SingleFlight;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public abstract class AccountActionImpl implements AccountAction {
 
+    /** Is request with retry in flight on current thread (nested requests join it) */
+    private static final ThreadLocal<Boolean> inFlight = new ThreadLocal<>();
+
     private Account account;
 
-    protected User me;
+    /** Entity cache of this account */
+    private ActionCache cache = ActionCache.ofDefault();
+
+    /** Retry policy of transient errors */
+    private RetryPolicy retryPolicy = RetryPolicy.ofDefault();
+
+    /** Hedging of slow reads (disabled if null) */
+    private RequestHedger hedger;
+
+    /** Coalescing of same requests in flight */
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /** Autocomplete index of reaction candidates (created on first search) */
+    private ReactionCandidateIndex reactionIndex;
+
+    /** Candidates applied to index */
+    private List<ReactionCandidate> indexedCandidates;
 
     @SuppressWarnings("unchecked")
     public <T extends AccountActionImpl> T account(Account account) {
@@ -23,6 +61,42 @@ public abstract class AccountActionImpl implements AccountAction {
         void proceed() throws E;
     }
 
+    /**
+     * Caller composed of requests sent by proceed each
+     * 個別に送信するリクエストから構成される呼び出し
+     */
+    private static class CompositeCaller<T> implements ActionCaller<T, Exception> {
+
+        private final ActionCaller<T, Exception> caller;
+
+        CompositeCaller(ActionCaller<T, Exception> caller) {
+            this.caller = caller;
+        }
+
+        @Override
+        public T proceed() throws Exception {
+            return caller.proceed();
+        }
+    }
+
+    /**
+     * Runner composed of requests sent by proceed each
+     * 個別に送信するリクエストから構成される処理
+     */
+    private static class CompositeRunner implements ActionRunner<Exception> {
+
+        private final ActionRunner<Exception> runner;
+
+        CompositeRunner(ActionRunner<Exception> runner) {
+            this.runner = runner;
+        }
+
+        @Override
+        public void proceed() throws Exception {
+            runner.proceed();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -36,9 +110,251 @@ public abstract class AccountActionImpl implements AccountAction {
      * キャッシュ付きで自分のユーザーを取得
      */
     public User getUserMeWithCache() {
+        User me = cache.getUsers().get(ActionCache.ME);
         return (me != null) ? me : getUserMe();
     }
 
+    /**
+     * Cache authorized user
+     * 自分のユーザーをキャッシュ
+     */
+    protected User cacheUserMe(User me) {
+        cache.getUsers().put(ActionCache.ME, me);
+        if (me != null) {
+            cache.getUsers().put(me.getId(), me);
+        }
+        return me;
+    }
+
+    /**
+     * {@inheritDoc}
+     * (Index is updated only when cached candidates are changed)
+     */
+    @Override
+    public List<ReactionCandidate> searchReactionCandidates(String prefix, int limit) {
+        return getReactionIndex().search(prefix, limit);
+    }
+
+    /**
+     * Get reaction candidate index with latest candidates
+     * 最新の候補を反映したリアクション候補の索引を取得
+     */
+    public ReactionCandidateIndex getReactionIndex() {
+        List<ReactionCandidate> candidates = getReactionCandidates();
+
+        synchronized (this) {
+            if (reactionIndex == null) {
+                reactionIndex = ReactionCandidateIndex.ofDefault();
+            }
+            // キャッシュから同じ一覧が返却された場合は更新しない
+            if (candidates != indexedCandidates) {
+                reactionIndex.update(candidates);
+                indexedCandidates = candidates;
+            }
+            return reactionIndex;
+        }
+    }
+
+    /**
+     * Share result of same request in flight
+     * (Concurrent requests with same action type and args run only once)
+     * 実行中の同一リクエストの結果を共有
+     */
+    protected <T> T coalesce(ActionType actionType, Supplier<T> supplier, Object... args) {
+        return singleFlight.execute(RequestKey.of(account, actionType, args), supplier);
+    }
+
+    /**
+     * Replace users and comments in result with canonical instances
+     * (Newer values are merged into instance already held)
+     * 結果のユーザー・コメントを正規のインスタンスに置き換え
+     */
+    protected <T> T canonical(T result) {
+        return cache.getStore().resolve(result);
+    }
+
+    /**
+     * Mark caller as composed of requests sent by proceed each
+     * (Retry and circuit breaker are applied to each request, not whole caller)
+     * 個別に送信するリクエストから構成される呼び出しとしてマーク
+     * (再試行・サーキットブレーカーは全体ではなく個々のリクエストに適用)
+     */
+    protected <T> ActionCaller<T, Exception> composite(ActionCaller<T, Exception> caller) {
+        return new CompositeCaller<>(caller);
+    }
+
+    /**
+     * Mark runner as composed of requests sent by proceed each
+     * (Retry and circuit breaker are applied to each request, not whole runner)
+     * 個別に送信するリクエストから構成される処理としてマーク
+     */
+    protected ActionRunner<Exception> composite(ActionRunner<Exception> runner) {
+        return new CompositeRunner(runner);
+    }
+
+    /**
+     * Call api with retry of transient errors
+     * (Too many requests is recorded to rate limit, so other requests of account wait too)
+     * (Requests to host with consecutive failures fail fast by circuit breaker)
+     * (Requests nested in request in flight are part of it, so not retried or recorded twice)
+     * 一時的なエラーを再試行して API を呼び出し
+     */
+    protected <T> T retry(
+            ActionCaller<T, Exception> caller,
+            boolean idempotent,
+            RetryPolicy.Classifier classifier) throws Exception {
+
+        // 構成要素のリクエスト毎、もしくは外側のリクエストで再試行する
+        if (caller instanceof CompositeCaller || Boolean.TRUE.equals(inFlight.get())) {
+            return caller.proceed();
+        }
+
+        boolean hasService = (account != null && account.getService() != null);
+        RateLimit rateLimit = hasService ? account.getService().getRateLimit() : null;
+        String host = hasService ? account.getService().getRequestHost() : null;
+        CircuitBreaker breaker = CircuitBreaker.shared();
+
+        inFlight.set(true);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    if (rateLimit != null) {
+                        rateLimit.awaitAccount();
+                    }
+                    if (host == null) {
+                        return caller.proceed();
+                    }
+                    return callWithBreaker(breaker, host, caller, classifier);
+
+                } catch (Exception e) {
+                    long retryAfter = classifier.retryAfter(e, idempotent);
+
+                    // 過負荷の場合はアカウント全体で送信を控える
+                    if (retryAfter == RetryPolicy.BACKOFF && rateLimit != null && isAccountWideRateLimit()
+                            && RetryPolicy.statusCodeOf(e) == RetryPolicy.TOO_MANY_REQUESTS) {
+                        retryAfter = rateLimit.addTooManyRequests(retryPolicy.backoffMillis(attempt));
+                    }
+
+                    long delay = retryPolicy.delayMillis(attempt, retryAfter);
+                    if (delay < 0) {
+                        throw e;
+                    }
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            inFlight.remove();
+        }
+    }
+
+    /**
+     * Call api without result with retry of transient errors
+     * 一時的なエラーを再試行して API を呼び出し (結果無し)
+     */
+    protected void retry(
+            ActionRunner<Exception> runner,
+            boolean idempotent,
+            RetryPolicy.Classifier classifier) throws Exception {
+
+        if (runner instanceof CompositeRunner) {
+            runner.proceed();
+            return;
+        }
+        retry(() -> {
+            runner.proceed();
+            return null;
+        }, idempotent, classifier);
+    }
+
+    /**
+     * Wrap idempotent read with hedging (if enabled)
+     * (Duplicate request is sent if first one is slower than host's usual latency)
+     * (Rate limit is reserved by each request sent, because both reach the server,
+     * but circuit breaker records a pair as one call with the first success)
+     * 冪等な参照リクエストをヘッジ付きにする (有効な場合)
+     * どちらもホストのエクゼキュータで送信し、ヘッジは許可に空きがある場合のみ送信する。
+     */
+    protected <T> ActionCaller<T, Exception> hedged(ActionCaller<T, Exception> caller) {
+        RequestHedger hedger = this.hedger;
+        if (hedger == null || account == null || account.getService() == null) {
+            return caller;
+        }
+        String host = account.getService().getRequestHost();
+        ExecutorService executor = ActionExecutor.shared().getExecutor(account);
+        return () -> hedger.call(host, executor, caller::proceed);
+    }
+
+    /**
+     * Call api recording result to circuit breaker of host
+     * ホストのサーキットブレーカーに結果を記録して API を呼び出し
+     */
+    private <T> T callWithBreaker(
+            CircuitBreaker breaker,
+            String host,
+            ActionCaller<T, Exception> caller,
+            RetryPolicy.Classifier classifier) throws Exception {
+
+        breaker.acquire(host);
+        long start = System.currentTimeMillis();
+        CircuitBreaker.Outcome outcome = CircuitBreaker.Outcome.IGNORE;
+
+        try {
+            T result = caller.proceed();
+            outcome = CircuitBreaker.Outcome.SUCCESS;
+            return result;
+
+        } catch (Exception e) {
+            outcome = hostOutcomeOf(e, classifier);
+            throw e;
+
+        } finally {
+            breaker.record(host, outcome, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Classify error as host failure or not
+     * (Overload and network errors are failure, other error responses mean host is alive)
+     * エラーがホストの障害かどうかを分類
+     */
+    private static CircuitBreaker.Outcome hostOutcomeOf(Exception e, RetryPolicy.Classifier classifier) {
+
+        // 送信前に止めたものは状態に影響させない (並列処理の例外に包まれている場合も含む)
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof RateLimitExceededException || t instanceof CircuitOpenException) {
+                return CircuitBreaker.Outcome.IGNORE;
+            }
+        }
+        if (classifier.retryAfter(e, true) == RetryPolicy.BACKOFF
+                && RetryPolicy.statusCodeOf(e) != RetryPolicy.TOO_MANY_REQUESTS) {
+            return CircuitBreaker.Outcome.FAILURE;
+        }
+        return CircuitBreaker.Outcome.SUCCESS;
+    }
+
+    /**
+     * Is rate limit shared by whole account? (not per endpoint)
+     * レートリミットがアカウント全体で共通か
+     */
+    protected boolean isAccountWideRateLimit() {
+        return true;
+    }
+
+    /**
+     * Get executor for parallel requests
+     * (Shared executor bounded by account's host)
+     * (Tasks submitted in request in flight are part of it)
+     * 並列リクエスト用のエクゼキュータを取得
+     */
+    protected ExecutorService getExecutor() {
+        return new NestedExecutor(ActionExecutor.shared().getExecutor(account));
+    }
+
 
     //region // Getter&Setter
     public Account getAccount() {
@@ -48,5 +364,89 @@ public abstract class AccountActionImpl implements AccountAction {
     public void setAccount(Account account) {
         this.account = account;
     }
+
+    public ActionCache getCache() {
+        return cache;
+    }
+
+    public void setCache(ActionCache cache) {
+        this.cache = cache;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public RequestHedger getHedger() {
+        return hedger;
+    }
+
+    public void setHedger(RequestHedger hedger) {
+        this.hedger = hedger;
+    }
     //endregion
+
+    /**
+     * Executor passing request in flight to tasks
+     * (Requests in tasks are not retried or recorded separately from it)
+     * 実行中のリクエストをタスクに引き継ぐエクゼキュータ
+     */
+    private static class NestedExecutor extends AbstractExecutorService {
+
+        private final ExecutorService executor;
+
+        NestedExecutor(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (!Boolean.TRUE.equals(inFlight.get())) {
+                executor.execute(command);
+                return;
+            }
+            executor.execute(() -> {
+                Boolean prev = inFlight.get();
+                inFlight.set(true);
+                try {
+                    command.run();
+                } finally {
+                    if (prev == null) {
+                        inFlight.remove();
+                    } else {
+                        inFlight.set(prev);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            executor.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return executor.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executor.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executor.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return executor.awaitTermination(timeout, unit);
+        }
+    }
 }
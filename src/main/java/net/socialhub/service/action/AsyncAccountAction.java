@@ -0,0 +1,409 @@
+package net.socialhub.service.action;
+
+import net.socialhub.model.Account;
+import net.socialhub.model.request.CommentForm;
+import net.socialhub.model.service.Channel;
+import net.socialhub.model.service.Comment;
+import net.socialhub.model.service.Context;
+import net.socialhub.model.service.Identify;
+import net.socialhub.model.service.Pageable;
+import net.socialhub.model.service.Paging;
+import net.socialhub.model.service.Relationship;
+import net.socialhub.model.service.Thread;
+import net.socialhub.model.service.User;
+import net.socialhub.model.service.support.ReactionCandidate;
+import net.socialhub.service.control.ActionExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous Account Actions
+ * (Wrap AccountAction with CompletableFuture)
+ * アカウントアクションの非同期版
+ *
+ * 共有エクゼキュータ上で実行し、ホスト毎の並列数の上限に達した場合は
+ * 呼び出し元をブロックせずに待ち合わせる。
+ * 失敗した場合は CompletionException で例外を包んで通知する。
+ */
+public class AsyncAccountAction {
+
+    private final Account account;
+
+    private final AccountAction action;
+
+    public AsyncAccountAction(Account account) {
+        this.account = account;
+        this.action = account.action();
+    }
+
+    // ============================================================== //
+    // Account API
+    // アカウント関連 API
+    // ============================================================== //
+
+    /**
+     * Get Authorized My Account
+     * 認証した自身のユーザー情報を取得
+     */
+    public CompletableFuture<User> getUserMe() {
+        return supply(() -> action.getUserMe());
+    }
+
+    /**
+     * Get Specific UserInfo
+     * 特定のユーザーを取得
+     */
+    public CompletableFuture<User> getUser(Identify id) {
+        return supply(() -> action.getUser(id));
+    }
+
+    /**
+     * Follow User
+     * ユーザーをフォロー
+     */
+    public CompletableFuture<Void> followUser(Identify id) {
+        return run(() -> action.followUser(id));
+    }
+
+    /**
+     * Unfollow User
+     * ユーザーをフォロー解除
+     */
+    public CompletableFuture<Void> unfollowUser(Identify id) {
+        return run(() -> action.unfollowUser(id));
+    }
+
+    /**
+     * Mute User
+     * ユーザーをミュート
+     */
+    public CompletableFuture<Void> muteUser(Identify id) {
+        return run(() -> action.muteUser(id));
+    }
+
+    /**
+     * Unmute User
+     * ユーザーをミュート解除
+     */
+    public CompletableFuture<Void> unmuteUser(Identify id) {
+        return run(() -> action.unmuteUser(id));
+    }
+
+    /**
+     * Block User
+     * ユーザーをブロック
+     */
+    public CompletableFuture<Void> blockUser(Identify id) {
+        return run(() -> action.blockUser(id));
+    }
+
+    /**
+     * Unblock User
+     * ユーザーをブロック解除
+     */
+    public CompletableFuture<Void> unblockUser(Identify id) {
+        return run(() -> action.unblockUser(id));
+    }
+
+    /**
+     * Get relationship
+     * 認証アカウントとの関係を取得
+     */
+    public CompletableFuture<Relationship> getRelationship(Identify id) {
+        return supply(() -> action.getRelationship(id));
+    }
+
+    // ============================================================== //
+    // User API
+    // ユーザー関連 API
+    // ============================================================== //
+
+    /**
+     * Get Following Account
+     * フォローしているユーザー情報を取得
+     */
+    public CompletableFuture<Pageable<User>> getFollowingUsers(Identify id, Paging paging) {
+        return supply(() -> action.getFollowingUsers(id, paging));
+    }
+
+    /**
+     * Get Follower Account
+     * フォローされているユーザー情報を取得
+     */
+    public CompletableFuture<Pageable<User>> getFollowerUsers(Identify id, Paging paging) {
+        return supply(() -> action.getFollowerUsers(id, paging));
+    }
+
+    /**
+     * Search User Account
+     * ユーザーアカウントを検索
+     */
+    public CompletableFuture<Pageable<User>> searchUsers(String query, Paging paging) {
+        return supply(() -> action.searchUsers(query, paging));
+    }
+
+    // ============================================================== //
+    // TimeLine API
+    // タイムライン関連 API
+    // ============================================================== //
+
+    /**
+     * Get Home TimeLine
+     * ホームタイムラインを取得
+     */
+    public CompletableFuture<Pageable<Comment>> getHomeTimeLine(Paging paging) {
+        return supply(() -> action.getHomeTimeLine(paging));
+    }
+
+    /**
+     * Get Mention TimeLine
+     * メンションタイムラインを取得
+     */
+    public CompletableFuture<Pageable<Comment>> getMentionTimeLine(Paging paging) {
+        return supply(() -> action.getMentionTimeLine(paging));
+    }
+
+    /**
+     * Get User Comment TimeLine
+     * ユーザーの投稿したコメントのタイムラインを取得
+     */
+    public CompletableFuture<Pageable<Comment>> getUserCommentTimeLine(Identify id, Paging paging) {
+        return supply(() -> action.getUserCommentTimeLine(id, paging));
+    }
+
+    /**
+     * Get User Like TimeLine
+     * ユーザーのイイネしたコメントのタイムラインを取得
+     */
+    public CompletableFuture<Pageable<Comment>> getUserLikeTimeLine(Identify id, Paging paging) {
+        return supply(() -> action.getUserLikeTimeLine(id, paging));
+    }
+
+    /**
+     * Get User Media TimeLine
+     * ユーザーのメディア一覧を取得
+     */
+    public CompletableFuture<Pageable<Comment>> getUserMediaTimeLine(Identify id, Paging paging) {
+        return supply(() -> action.getUserMediaTimeLine(id, paging));
+    }
+
+    /**
+     * Get Search TimeLine
+     * 検索タイムラインを取得
+     */
+    public CompletableFuture<Pageable<Comment>> getSearchTimeLine(String query, Paging paging) {
+        return supply(() -> action.getSearchTimeLine(query, paging));
+    }
+
+    // ============================================================== //
+    // Comment API
+    // コメント関連 API
+    // ============================================================== //
+
+    /**
+     * Post Comment
+     * コメントを作成
+     */
+    public CompletableFuture<Void> postComment(CommentForm req) {
+        return run(() -> action.postComment(req));
+    }
+
+    /**
+     * Get Comment
+     * 単品コメントを取得
+     */
+    public CompletableFuture<Comment> getComment(Identify id) {
+        return supply(() -> action.getComment(id));
+    }
+
+    /**
+     * Like Comment
+     * コメントにたいしてイイねする
+     * (Twitter Mastodon ではお気に入りをする)
+     */
+    public CompletableFuture<Void> likeComment(Identify id) {
+        return run(() -> action.likeComment(id));
+    }
+
+    /**
+     * Unlike Comment
+     * コメントに対してのイイねを取り消す
+     * (Twitter Mastodon ではお気に入りを消す)
+     */
+    public CompletableFuture<Void> unlikeComment(Identify id) {
+        return run(() -> action.unlikeComment(id));
+    }
+
+    /**
+     * Share Comment
+     * コメントをシェアする
+     */
+    public CompletableFuture<Void> shareComment(Identify id) {
+        return run(() -> action.shareComment(id));
+    }
+
+    /**
+     * Unshare Comment
+     * コメントのシェアを取り消す
+     */
+    public CompletableFuture<Void> unshareComment(Identify id) {
+        return run(() -> action.unshareComment(id));
+    }
+
+    /**
+     * Reaction Comment
+     * リアクションする
+     */
+    public CompletableFuture<Void> reactionComment(Identify id, String reaction) {
+        return run(() -> action.reactionComment(id, reaction));
+    }
+
+    /**
+     * UnReaction Comment
+     * リアクションを取り消す
+     */
+    public CompletableFuture<Void> unreactionComment(Identify id, String reaction) {
+        return run(() -> action.unreactionComment(id, reaction));
+    }
+
+    /**
+     * Delete Comment
+     * 自分のコメントを削除
+     */
+    public CompletableFuture<Void> deleteComment(Identify id) {
+        return run(() -> action.deleteComment(id));
+    }
+
+    /**
+     * Get Reaction Candidates
+     * リアクション候補を取得
+     */
+    public CompletableFuture<List<ReactionCandidate>> getReactionCandidates() {
+        return supply(() -> action.getReactionCandidates());
+    }
+
+    /**
+     * Get Comment Context
+     * コメントについて前後の会話を取得
+     */
+    public CompletableFuture<Context> getCommentContext(Identify id) {
+        return supply(() -> action.getCommentContext(id));
+    }
+
+    // ============================================================== //
+    // Channel (List) API
+    // チャンネル (リスト) 関連 API
+    // ============================================================== //
+
+    /**
+     * Get Channels (or Owned Lists)
+     * 自分の閲覧可能なチャンネルを取得
+     */
+    public CompletableFuture<Pageable<Channel>> getChannels(Identify id, Paging paging) {
+        return supply(() -> action.getChannels(id, paging));
+    }
+
+    /**
+     * Get Channels Comments
+     * チャンネルでの発言を取得
+     */
+    public CompletableFuture<Pageable<Comment>> getChannelTimeLine(Identify id, Paging paging) {
+        return supply(() -> action.getChannelTimeLine(id, paging));
+    }
+
+    /**
+     * Get Channels Users
+     * チャンネルのユーザーを取得
+     */
+    public CompletableFuture<Pageable<User>> getChannelUsers(Identify id, Paging paging) {
+        return supply(() -> action.getChannelUsers(id, paging));
+    }
+
+    // ============================================================== //
+    // Message API
+    // メッセージ関連 API
+    // ============================================================== //
+
+    /**
+     * Get Message Thread
+     * メッセージスレッドを取得
+     */
+    public CompletableFuture<Pageable<Thread>> getMessageThread(Paging paging) {
+        return supply(() -> action.getMessageThread(paging));
+    }
+
+    /**
+     * Get Message Thread Comments
+     * メッセージスレッドの内容を取得
+     */
+    public CompletableFuture<Pageable<Comment>> getMessageTimeLine(Identify id, Paging paging) {
+        return supply(() -> action.getMessageTimeLine(id, paging));
+    }
+
+    /**
+     * Post Message to Thread
+     * メッセージを送信
+     */
+    public CompletableFuture<Void> postMessage(CommentForm req) {
+        return run(() -> action.postMessage(req));
+    }
+
+    // ============================================================== //
+    // Alias
+    // エイリアス
+    // ============================================================== //
+
+    /**
+     * Like <-> Favorite
+     */
+    public CompletableFuture<Void> favoriteComment(Identify id) {
+        return run(() -> action.favoriteComment(id));
+    }
+
+    public CompletableFuture<Void> unfavoriteComment(Identify id) {
+        return run(() -> action.unfavoriteComment(id));
+    }
+
+    /**
+     * Share <-> Retweet
+     */
+    public CompletableFuture<Void> retweetComment(Identify id) {
+        return run(() -> action.retweetComment(id));
+    }
+
+    public CompletableFuture<Void> unretweetComment(Identify id) {
+        return run(() -> action.unretweetComment(id));
+    }
+
+    /**
+     * Channel <-> List
+     */
+    public CompletableFuture<Pageable<Channel>> getLists(Identify id, Paging paging) {
+        return supply(() -> action.getLists(id, paging));
+    }
+
+    // ============================================================== //
+    // Support
+    // ============================================================== //
+
+    private <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, getExecutor());
+    }
+
+    private CompletableFuture<Void> run(Runnable runnable) {
+        return CompletableFuture.runAsync(runnable, getExecutor());
+    }
+
+    private Executor getExecutor() {
+        return ActionExecutor.shared().getAsyncExecutor(account);
+    }
+
+    //region // Getter&Setter
+    public Account getAccount() {
+        return account;
+    }
+    //endregion
+}
@@ -3,6 +3,8 @@ package net.socialhub.service.action.group;
 import net.socialhub.model.group.CommentGroup;
 import net.socialhub.model.group.UserGroup;
 
+import java.util.concurrent.TimeUnit;
+
 public interface AccountGroupAction {
 
     /**
@@ -11,9 +13,21 @@ public interface AccountGroupAction {
      */
     UserGroup getUserMe();
 
+    /**
+     * Get All User's Information arrived within timeout
+     * 期限内に取得できたグループのユーザー情報を取得
+     */
+    UserGroup getUserMe(long timeout, TimeUnit unit);
+
     /**
      * Get Timeline Comments
      * タイムラインを取得
      */
     CommentGroup getHomeTimeLine();
+
+    /**
+     * Get Timeline Comments arrived within timeout
+     * 期限内に取得できたタイムラインを取得
+     */
+    CommentGroup getHomeTimeLine(long timeout, TimeUnit unit);
 }
@@ -8,13 +8,12 @@ import net.socialhub.model.group.UserGroup;
 import net.socialhub.model.group.UserGroupImpl;
 import net.socialhub.model.service.User;
 import net.socialhub.service.action.request.CommentsRequest;
-import net.socialhub.utils.HandlingUtil;
+import net.socialhub.service.control.ActionExecutor;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -34,18 +33,32 @@ public class AccountGroupActionImpl implements AccountGroupAction {
      */
     @Override
     public UserGroup getUserMe() {
+        return requestUserMe(null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UserGroup getUserMe(long timeout, TimeUnit unit) {
+        return requestUserMe(timeout, unit);
+    }
+
+    private UserGroup requestUserMe(Long timeout, TimeUnit unit) {
         UserGroupImpl model = new UserGroupImpl();
-        ExecutorService pool = Executors.newCachedThreadPool();
+        ActionExecutor executor = ActionExecutor.shared();
 
         Map<Account, Future<User>> futures = accountGroup //
                 .getAccounts().stream().collect(Collectors.toMap(Function.identity(), //
-                        (acc) -> pool.submit(() -> acc.action().getUserMe())));
+                        (acc) -> executor.getExecutor(acc).submit(() -> acc.action().getUserMe())));
 
-        Map<Account, User> entities = futures //
-                .entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, //
-                        (entry) -> HandlingUtil.runtime(() -> entry.getValue().get())));
+        // 一部のアカウントの失敗・タイムアウトはエラーとして記録
+        GroupResults<Account, User> results =
+                GroupResults.await(futures, timeout, unit).throwIfAllFailed();
 
-        model.setEntities(entities);
+        model.setEntities(results.getEntities());
+        model.setErrors(results.getErrors());
+        model.setPendings(results.getPendings());
         return model;
     }
 
@@ -54,14 +67,21 @@ public class AccountGroupActionImpl implements AccountGroupAction {
      */
     @Override
     public CommentGroup getHomeTimeLine() {
+        return getHomeTimeLineRequests().action().getComments();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CommentGroup getHomeTimeLine(long timeout, TimeUnit unit) {
+        return getHomeTimeLineRequests().action().getComments(timeout, unit);
+    }
+
+    private CommentsRequestGroupImpl getHomeTimeLineRequests() {
         List<CommentsRequest> requests = accountGroup.getAccounts().stream() //
                 .map((acc) -> acc.action().request().getHomeTimeLine()) //
                 .collect(Collectors.toList());
-        return getComments(requests);
-    }
-
-    private CommentGroup getComments(List<CommentsRequest> requests) {
-        return new CommentsRequestGroupImpl(requests.toArray(new CommentsRequest[] {})) //
-                .action().getComments();
+        return new CommentsRequestGroupImpl(requests.toArray(new CommentsRequest[] {}));
     }
 }
@@ -2,6 +2,8 @@ package net.socialhub.service.action.group;
 
 import net.socialhub.model.group.CommentGroup;
 
+import java.util.concurrent.TimeUnit;
+
 public interface CommentGroupAction {
 
     /**
@@ -10,9 +12,21 @@ public interface CommentGroupAction {
      */
     CommentGroup getNewComments();
 
+    /**
+     * Get Newer Comments arrived within timeout
+     * 期限内に取得できた最新コメントを取得
+     */
+    CommentGroup getNewComments(long timeout, TimeUnit unit);
+
     /**
      * Get Older Comments
      * 遡ってコメントを取得
      */
     CommentGroup getPastComments();
+
+    /**
+     * Get Older Comments arrived within timeout
+     * 期限内に取得できた過去のコメントを取得
+     */
+    CommentGroup getPastComments(long timeout, TimeUnit unit);
 }
@@ -6,12 +6,11 @@ import net.socialhub.model.service.Comment;
 import net.socialhub.model.service.Pageable;
 import net.socialhub.model.service.Paging;
 import net.socialhub.service.action.request.CommentsRequest;
-import net.socialhub.utils.HandlingUtil;
+import net.socialhub.service.control.ActionExecutor;
 
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -20,6 +19,9 @@ import java.util.stream.Collectors;
  */
 public class CommentGroupActionImpl implements CommentGroupAction {
 
+    /** Count of retried request without previous page */
+    private static final long DEFAULT_COUNT = 200L;
+
     private CommentGroupImpl commentGroup;
 
     public CommentGroupActionImpl(CommentGroupImpl commentGroup) {
@@ -31,24 +33,40 @@ public class CommentGroupActionImpl implements CommentGroupAction {
      */
     @Override
     public CommentGroup getNewComments() {
+        return requestNewComments(null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CommentGroup getNewComments(long timeout, TimeUnit unit) {
+        return requestNewComments(timeout, unit);
+    }
+
+    private CommentGroup requestNewComments(Long timeout, TimeUnit unit) {
         CommentGroupImpl model = new CommentGroupImpl();
-        ExecutorService pool = Executors.newCachedThreadPool();
+        commentGroup.mergeArrivedComments();
+        ActionExecutor executor = ActionExecutor.shared();
 
         Map<CommentsRequest, Future<Pageable<Comment>>> futures =
-                commentGroup.getEntities().entrySet().stream()
+                commentGroup.getRequestPages().entrySet().stream()
                         .collect(Collectors.toMap(Map.Entry::getKey,
-                                (entry) -> pool.submit(() -> {
-                                    Paging paging = entry.getValue().newPage();
+                                (entry) -> executor.getExecutor(entry.getKey().getAccount()).submit(() -> {
+                                    Pageable<Comment> page = entry.getValue();
+                                    Paging paging = (page != null) ? page.newPage() : new Paging(DEFAULT_COUNT);
                                     return entry.getKey().getComments(paging);
                                 })));
 
-        Map<CommentsRequest, Pageable<Comment>> entities = futures
-                .entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
-                        (entry) -> HandlingUtil.runtime(() -> entry.getValue().get())));
+        GroupResults<CommentsRequest, Pageable<Comment>> results =
+                GroupResults.await(futures, timeout, unit).throwIfAllFailed();
 
-        model.setEntities(entities);
+        model.setEntities(results.getEntities());
+        model.setErrors(results.getErrors());
+        model.setPendings(results.getPendings());
         model.setMaxDateFromEntities();
         model.margeWhenNewPageRequest(commentGroup);
+        model.carryOverIncomplete(commentGroup);
         model.setRequestGroup(commentGroup.getRequestGroup());
         return model;
     }
@@ -58,24 +76,40 @@ public class CommentGroupActionImpl implements CommentGroupAction {
      */
     @Override
     public CommentGroup getPastComments() {
+        return requestPastComments(null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CommentGroup getPastComments(long timeout, TimeUnit unit) {
+        return requestPastComments(timeout, unit);
+    }
+
+    private CommentGroup requestPastComments(Long timeout, TimeUnit unit) {
         CommentGroupImpl model = new CommentGroupImpl();
-        ExecutorService pool = Executors.newCachedThreadPool();
+        commentGroup.mergeArrivedComments();
+        ActionExecutor executor = ActionExecutor.shared();
 
         Map<CommentsRequest, Future<Pageable<Comment>>> futures =
-                commentGroup.getEntities().entrySet().stream()
+                commentGroup.getRequestPages().entrySet().stream()
                         .collect(Collectors.toMap(Map.Entry::getKey,
-                                (entry) -> pool.submit(() -> {
-                                    Paging paging = entry.getValue().pastPage();
+                                (entry) -> executor.getExecutor(entry.getKey().getAccount()).submit(() -> {
+                                    Pageable<Comment> page = entry.getValue();
+                                    Paging paging = (page != null) ? page.pastPage() : new Paging(DEFAULT_COUNT);
                                     return entry.getKey().getComments(paging);
                                 })));
 
-        Map<CommentsRequest, Pageable<Comment>> entities = futures
-                .entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
-                        (entry) -> HandlingUtil.runtime(() -> entry.getValue().get())));
+        GroupResults<CommentsRequest, Pageable<Comment>> results =
+                GroupResults.await(futures, timeout, unit).throwIfAllFailed();
 
-        model.setEntities(entities);
+        model.setEntities(results.getEntities());
+        model.setErrors(results.getErrors());
+        model.setPendings(results.getPendings());
         model.setSinceDateFromEntities();
         model.margeWhenPastPageRequest(commentGroup);
+        model.carryOverIncomplete(commentGroup);
         model.setRequestGroup(commentGroup.getRequestGroup());
         return model;
     }
@@ -2,10 +2,19 @@ package net.socialhub.service.action.group;
 
 import net.socialhub.model.group.CommentGroup;
 
+import java.util.concurrent.TimeUnit;
+
 public interface CommentsRequestGroupAction {
 
     /**
      * Get Comments
      */
     CommentGroup getComments();
+
+    /**
+     * Get Comments arrived within timeout
+     * (Failed or timed out requests are recorded in CommentGroup)
+     * 期限内に取得できたコメントを取得
+     */
+    CommentGroup getComments(long timeout, TimeUnit unit);
 }
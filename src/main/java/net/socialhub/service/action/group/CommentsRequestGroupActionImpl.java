@@ -1,5 +1,6 @@
 package net.socialhub.service.action.group;
 
+import net.socialhub.model.error.CircuitOpenException;
 import net.socialhub.model.group.CommentGroup;
 import net.socialhub.model.group.CommentGroupImpl;
 import net.socialhub.model.group.CommentsRequestGroupImpl;
@@ -7,13 +8,14 @@ import net.socialhub.model.service.Comment;
 import net.socialhub.model.service.Pageable;
 import net.socialhub.model.service.Paging;
 import net.socialhub.service.action.request.CommentsRequest;
-import net.socialhub.utils.HandlingUtil;
+import net.socialhub.service.control.ActionExecutor;
+import net.socialhub.service.control.CircuitBreaker;
 
 import java.util.Date;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -30,29 +32,58 @@ public class CommentsRequestGroupActionImpl implements CommentsRequestGroupActio
      */
     @Override
     public CommentGroup getComments() {
-        return getComments(new Paging(200L));
+        return getComments(new Paging(200L), null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CommentGroup getComments(long timeout, TimeUnit unit) {
+        return getComments(new Paging(200L), timeout, unit);
     }
 
     /**
      * コメント情報をページング付きで取得
      */
-    private CommentGroup getComments(Paging paging) {
+    private CommentGroup getComments(Paging paging, Long timeout, TimeUnit unit) {
         CommentGroupImpl model = new CommentGroupImpl();
-        ExecutorService pool = Executors.newCachedThreadPool();
+        ActionExecutor executor = ActionExecutor.shared();
+        CircuitBreaker breaker = CircuitBreaker.shared();
         Paging copiedPage = (paging != null) ? paging.copy() : null;
 
         Map<CommentsRequest, Future<Pageable<Comment>>> futures = requestGroup //
                 .getRequests().stream().collect(Collectors.toMap(Function.identity(), //
-                        (request) -> pool.submit(() -> request.getComments(copiedPage))));
+                        (request) -> submit(executor, breaker, request, copiedPage)));
 
-        Map<CommentsRequest, Pageable<Comment>> entities = futures //
-                .entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, //
-                        (entry) -> HandlingUtil.runtime(() -> entry.getValue().get())));
+        GroupResults<CommentsRequest, Pageable<Comment>> results = //
+                GroupResults.await(futures, timeout, unit).throwIfAllFailed();
 
-        model.setEntities(entities);
+        model.setEntities(results.getEntities());
+        model.setErrors(results.getErrors());
+        model.setPendings(results.getPendings());
         model.setMaxDate(new Date());
         model.setSinceDateFromEntities();
         model.setRequestGroup(requestGroup);
         return model;
     }
+
+    /**
+     * Submit request (skip host known as unavailable)
+     * リクエストを実行 (障害中のホストは送信せずに失敗とする)
+     */
+    private Future<Pageable<Comment>> submit(
+            ActionExecutor executor,
+            CircuitBreaker breaker,
+            CommentsRequest request,
+            Paging paging) {
+
+        String host = request.getAccount().getService().getRequestHost();
+        if (!breaker.isAvailable(host)) {
+            CompletableFuture<Pageable<Comment>> future = new CompletableFuture<>();
+            future.completeExceptionally(new CircuitOpenException(host, breaker.getWaitMillis(host)));
+            return future;
+        }
+        return executor.getExecutor(host).submit(() -> request.getComments(paging));
+    }
 }
@@ -0,0 +1,108 @@
+package net.socialhub.service.action.group;
+
+import net.socialhub.logger.Logger;
+import net.socialhub.model.error.SocialHubException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Results of Group Requests
+ * グループリクエストの結果 (成功・失敗・未完了)
+ *
+ * 一部のリクエストが失敗・タイムアウトしても、
+ * 到着した結果のみでグループを構成できるように集計する。
+ */
+public class GroupResults<K, V> {
+
+    private static final Logger logger = Logger.getLogger(GroupResults.class);
+
+    /** Succeeded Results */
+    private Map<K, V> entities = new HashMap<>();
+
+    /** Errors of Failed Requests */
+    private Map<K, Throwable> errors = new HashMap<>();
+
+    /** Requests not completed in time (also recorded in errors) */
+    private Map<K, Future<V>> pendings = new HashMap<>();
+
+    /**
+     * Wait all requests until completed
+     * 全てのリクエストの完了を待機
+     */
+    public static <K, V> GroupResults<K, V> await(Map<K, Future<V>> futures) {
+        return await(futures, null, null);
+    }
+
+    /**
+     * Wait requests until deadline
+     * (Requests not completed are left as pending)
+     * 期限までリクエストの完了を待機 (未完了のものは保留)
+     *
+     * @param timeout timeout of whole requests (wait all if null)
+     */
+    public static <K, V> GroupResults<K, V> await(Map<K, Future<V>> futures, Long timeout, TimeUnit unit) {
+        GroupResults<K, V> results = new GroupResults<>();
+        long deadline = (timeout != null) ? (System.nanoTime() + unit.toNanos(timeout)) : 0L;
+
+        for (Map.Entry<K, Future<V>> entry : futures.entrySet()) {
+            K key = entry.getKey();
+            Future<V> future = entry.getValue();
+
+            try {
+                if (timeout == null) {
+                    results.entities.put(key, future.get());
+                } else {
+                    long remain = Math.max(0L, deadline - System.nanoTime());
+                    results.entities.put(key, future.get(remain, TimeUnit.NANOSECONDS));
+                }
+
+            } catch (TimeoutException e) {
+                results.errors.put(key, e);
+                results.pendings.put(key, future);
+
+            } catch (ExecutionException e) {
+                logger.debug("group request failed.", e.getCause());
+                results.errors.put(key, e.getCause());
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SocialHubException(e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Throw error if all requests are failed
+     * 全てのリクエストが失敗した場合に例外を送出
+     */
+    public GroupResults<K, V> throwIfAllFailed() {
+        if (entities.isEmpty() && pendings.isEmpty() && !errors.isEmpty()) {
+            Throwable cause = errors.values().iterator().next();
+            if (cause instanceof SocialHubException) {
+                throw (SocialHubException) cause;
+            }
+            throw new SocialHubException(cause);
+        }
+        return this;
+    }
+
+    //region // Getter&Setter
+    public Map<K, V> getEntities() {
+        return entities;
+    }
+
+    public Map<K, Throwable> getErrors() {
+        return errors;
+    }
+
+    public Map<K, Future<V>> getPendings() {
+        return pendings;
+    }
+    //endregion
+}
@@ -8,6 +8,10 @@ import net.socialhub.model.service.Request;
 import net.socialhub.model.service.Stream;
 import net.socialhub.service.action.RequestActionImpl.SerializeBuilder;
 import net.socialhub.service.action.callback.EventCallback;
+import net.socialhub.service.control.ActionExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface CommentsRequest extends Request {
 
@@ -17,6 +21,15 @@ public interface CommentsRequest extends Request {
      */
     Pageable<Comment> getComments(Paging paging);
 
+    /**
+     * Get Comments Asynchronously
+     * 非同期でコメントを取得
+     */
+    default CompletableFuture<Pageable<Comment>> getCommentsAsync(Paging paging) {
+        Executor executor = ActionExecutor.shared().getAsyncExecutor(getAccount());
+        return CompletableFuture.supplyAsync(() -> getComments(paging), executor);
+    }
+
     /**
      * Get Comment Stream
      * コメントストリームを取得
@@ -5,6 +5,10 @@ import net.socialhub.model.service.Paging;
 import net.socialhub.model.service.Request;
 import net.socialhub.model.service.User;
 import net.socialhub.service.action.RequestActionImpl.SerializeBuilder;
+import net.socialhub.service.control.ActionExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface UsersRequest extends Request {
 
@@ -14,6 +18,15 @@ public interface UsersRequest extends Request {
      */
     Pageable<User> getUsers(Paging paging);
 
+    /**
+     * Get Users Asynchronously
+     * 非同期でユーザーを取得
+     */
+    default CompletableFuture<Pageable<User>> getUsersAsync(Paging paging) {
+        Executor executor = ActionExecutor.shared().getAsyncExecutor(getAccount());
+        return CompletableFuture.supplyAsync(() -> getUsers(paging), executor);
+    }
+
     /**
      * To Serialized String
      * シリアライズ化された文字列を取得
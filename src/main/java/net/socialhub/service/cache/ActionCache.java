@@ -0,0 +1,172 @@
+package net.socialhub.service.cache;
+
+import net.socialhub.model.service.Channel;
+import net.socialhub.model.service.Comment;
+import net.socialhub.model.service.Identify;
+import net.socialhub.model.service.Pageable;
+import net.socialhub.model.service.Paging;
+import net.socialhub.model.service.User;
+import net.socialhub.model.service.support.ReactionCandidate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Action Cache
+ * アカウント毎のエンティティキャッシュ
+ * (ユーザー・コメント・チャンネル・絵文字・インスタンス情報)
+ * 及び正規化されたユーザー・コメント ({@link EntityStore})
+ */
+public class ActionCache {
+
+    /** Key of authorized user */
+    public static final String ME = "$me";
+
+    /** Default config for new caches */
+    private static CacheConfig defaultConfig = CacheConfig.ofDefault();
+
+    private final EntityCache<Object, User> users;
+
+    private final EntityCache<Object, Comment> comments;
+
+    private final EntityCache<Object, Pageable<Channel>> channels;
+
+    private final EntityCache<Object, List<ReactionCandidate>> emojis;
+
+    private final EntityCache<String, Object> metadata;
+
+    private final EntityStore store = new EntityStore();
+
+    /**
+     * Make cache with default config
+     * デフォルト設定でキャッシュを作成
+     */
+    public static ActionCache ofDefault() {
+        return of(getDefaultConfig());
+    }
+
+    /**
+     * Make cache with config
+     * 設定を指定してキャッシュを作成
+     */
+    public static ActionCache of(CacheConfig config) {
+        return new ActionCache(config);
+    }
+
+    private ActionCache(CacheConfig config) {
+        users = EntityCache.of(config.getUserSize(), config.getUserTtl(), TimeUnit.SECONDS);
+        comments = EntityCache.of(config.getCommentSize(), config.getCommentTtl(), TimeUnit.SECONDS);
+        channels = EntityCache.of(config.getChannelSize(), config.getChannelTtl(), TimeUnit.SECONDS);
+        emojis = EntityCache.of(config.getEmojiSize(), config.getEmojiTtl(), TimeUnit.SECONDS);
+        metadata = EntityCache.of(config.getMetadataSize(), config.getMetadataTtl(), TimeUnit.SECONDS);
+    }
+
+    // ============================================================== //
+    // Functions
+    // ============================================================== //
+
+    /**
+     * Get cache key of owner (authorized user if null)
+     * 所有者のキーを取得 (null の場合は自分)
+     */
+    public static Object ownerKey(Identify id) {
+        return (id != null && id.getId() != null) ? id.getId() : ME;
+    }
+
+    /**
+     * Get channels of owner with cache
+     * (Only request without paging is cached, and copy is returned for each caller)
+     * 所有者のチャンネル一覧をキャッシュ付きで取得
+     * (ページング指定時はキャッシュを使用しない)
+     */
+    public Pageable<Channel> getChannels(Identify id, Paging paging, Supplier<Pageable<Channel>> loader) {
+        if (paging != null) {
+            return loader.get();
+        }
+        return copy(channels.get(ownerKey(id), loader));
+    }
+
+    /**
+     * Copy pageable (entities list and paging)
+     * ページを複製
+     */
+    private static <T extends Identify> Pageable<T> copy(Pageable<T> page) {
+        if (page == null) {
+            return null;
+        }
+        Pageable<T> result = new Pageable<>();
+        result.setEntities((page.getEntities() != null) ? new ArrayList<>(page.getEntities()) : null);
+        result.setPaging((page.getPaging() != null) ? page.getPaging().copy() : null);
+        result.setPredicate(page.getPredicate());
+        return result;
+    }
+
+    /**
+     * Invalidate user (after follow, mute, block etc.)
+     * ユーザーのキャッシュを破棄
+     */
+    public void invalidateUser(Identify id) {
+        if (id != null) {
+            users.remove(id.getId());
+        }
+    }
+
+    /**
+     * Invalidate comment (after like, share, reaction etc.)
+     * コメントのキャッシュを破棄
+     */
+    public void invalidateComment(Identify id) {
+        if (id != null) {
+            comments.remove(id.getId());
+        }
+    }
+
+    /**
+     * Remove all caches
+     * 全てのキャッシュを削除
+     */
+    public void clear() {
+        users.clear();
+        comments.clear();
+        channels.clear();
+        emojis.clear();
+        metadata.clear();
+        store.clear();
+    }
+
+    //region // Getter&Setter
+    public static synchronized CacheConfig getDefaultConfig() {
+        return defaultConfig;
+    }
+
+    public static synchronized void setDefaultConfig(CacheConfig config) {
+        defaultConfig = config;
+    }
+
+    public EntityCache<Object, User> getUsers() {
+        return users;
+    }
+
+    public EntityCache<Object, Comment> getComments() {
+        return comments;
+    }
+
+    public EntityCache<Object, Pageable<Channel>> getChannels() {
+        return channels;
+    }
+
+    public EntityCache<Object, List<ReactionCandidate>> getEmojis() {
+        return emojis;
+    }
+
+    public EntityCache<String, Object> getMetadata() {
+        return metadata;
+    }
+
+    public EntityStore getStore() {
+        return store;
+    }
+    //endregion
+}
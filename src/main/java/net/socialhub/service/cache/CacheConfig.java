@@ -0,0 +1,134 @@
+package net.socialhub.service.cache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache Config
+ * キャッシュの件数・有効期限の設定
+ */
+public class CacheConfig {
+
+    /** Users (size, seconds) */
+    private int userSize = 1000;
+    private long userTtl = TimeUnit.MINUTES.toSeconds(10);
+
+    /** Comments (size, seconds) */
+    private int commentSize = 1000;
+    private long commentTtl = TimeUnit.MINUTES.toSeconds(3);
+
+    /** Channels (size, seconds) */
+    private int channelSize = 20;
+    private long channelTtl = TimeUnit.MINUTES.toSeconds(10);
+
+    /** Emojis (size, seconds) */
+    private int emojiSize = 4;
+    private long emojiTtl = TimeUnit.HOURS.toSeconds(1);
+
+    /** Instance Metadata (size, seconds) */
+    private int metadataSize = 20;
+    private long metadataTtl = TimeUnit.HOURS.toSeconds(1);
+
+    /**
+     * Make default config
+     * デフォルト設定を作成
+     */
+    public static CacheConfig ofDefault() {
+        return new CacheConfig();
+    }
+
+    /**
+     * Make config which disables all caches
+     * 全てのキャッシュを無効にする設定を作成
+     */
+    public static CacheConfig disabled() {
+        CacheConfig config = new CacheConfig();
+        config.userSize = 0;
+        config.commentSize = 0;
+        config.channelSize = 0;
+        config.emojiSize = 0;
+        config.metadataSize = 0;
+        return config;
+    }
+
+    //region // Getter&Setter
+    public int getUserSize() {
+        return userSize;
+    }
+
+    public void setUserSize(int userSize) {
+        this.userSize = userSize;
+    }
+
+    public long getUserTtl() {
+        return userTtl;
+    }
+
+    public void setUserTtl(long userTtl) {
+        this.userTtl = userTtl;
+    }
+
+    public int getCommentSize() {
+        return commentSize;
+    }
+
+    public void setCommentSize(int commentSize) {
+        this.commentSize = commentSize;
+    }
+
+    public long getCommentTtl() {
+        return commentTtl;
+    }
+
+    public void setCommentTtl(long commentTtl) {
+        this.commentTtl = commentTtl;
+    }
+
+    public int getChannelSize() {
+        return channelSize;
+    }
+
+    public void setChannelSize(int channelSize) {
+        this.channelSize = channelSize;
+    }
+
+    public long getChannelTtl() {
+        return channelTtl;
+    }
+
+    public void setChannelTtl(long channelTtl) {
+        this.channelTtl = channelTtl;
+    }
+
+    public int getEmojiSize() {
+        return emojiSize;
+    }
+
+    public void setEmojiSize(int emojiSize) {
+        this.emojiSize = emojiSize;
+    }
+
+    public long getEmojiTtl() {
+        return emojiTtl;
+    }
+
+    public void setEmojiTtl(long emojiTtl) {
+        this.emojiTtl = emojiTtl;
+    }
+
+    public int getMetadataSize() {
+        return metadataSize;
+    }
+
+    public void setMetadataSize(int metadataSize) {
+        this.metadataSize = metadataSize;
+    }
+
+    public long getMetadataTtl() {
+        return metadataTtl;
+    }
+
+    public void setMetadataTtl(long metadataTtl) {
+        this.metadataTtl = metadataTtl;
+    }
+    //endregion
+}
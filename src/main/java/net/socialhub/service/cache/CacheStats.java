@@ -0,0 +1,91 @@
+package net.socialhub.service.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache Statistics
+ * キャッシュの統計情報 (ヒット数・ミス数・破棄数)
+ */
+public class CacheStats {
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong loadCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expirationCount = new AtomicLong();
+
+    void recordHit() {
+        hitCount.incrementAndGet();
+    }
+
+    void recordMiss() {
+        missCount.incrementAndGet();
+    }
+
+    void recordLoad() {
+        loadCount.incrementAndGet();
+    }
+
+    void recordEviction() {
+        evictionCount.incrementAndGet();
+    }
+
+    void recordExpiration() {
+        expirationCount.incrementAndGet();
+    }
+
+    /**
+     * Get hit rate (0.0 - 1.0)
+     * ヒット率を取得
+     */
+    public double getHitRate() {
+        long hit = hitCount.get();
+        long total = hit + missCount.get();
+        return (total == 0) ? 1.0 : ((double) hit / total);
+    }
+
+    /**
+     * Reset all counts
+     * 統計情報をリセット
+     */
+    public void reset() {
+        hitCount.set(0);
+        missCount.set(0);
+        loadCount.set(0);
+        evictionCount.set(0);
+        expirationCount.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hit=" + hitCount.get() +
+                ", miss=" + missCount.get() +
+                ", load=" + loadCount.get() +
+                ", eviction=" + evictionCount.get() +
+                ", expiration=" + expirationCount.get() +
+                '}';
+    }
+
+    //region // Getter&Setter
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public long getExpirationCount() {
+        return expirationCount.get();
+    }
+    //endregion
+}
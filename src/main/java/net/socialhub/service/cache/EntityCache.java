@@ -0,0 +1,162 @@
+package net.socialhub.service.cache;
+
+import net.socialhub.utils.LimitMap;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Entity Cache
+ * 件数と有効期限で制限したキャッシュ
+ *
+ * 件数を超えた場合は最も参照されていないものから破棄 (LRU)。
+ * 有効期限を過ぎたものは参照時に破棄する。
+ * 同じキーの読み込みは一度だけ実行する。
+ */
+public class EntityCache<K, V> {
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    private final CacheStats stats = new CacheStats();
+
+    private final LimitMap<K, CacheEntry<V>> map;
+
+    /**
+     * Make cache with size and time to live
+     * 件数と有効期限を指定して作成
+     */
+    public static <K, V> EntityCache<K, V> of(int maxSize, long ttl, TimeUnit unit) {
+        return new EntityCache<>(maxSize, unit.toNanos(ttl));
+    }
+
+    private EntityCache(int maxSize, long ttlNanos) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.map = new LimitMap<K, CacheEntry<V>>(maxSize) {
+            @Override
+            protected void onEviction(K key, CacheEntry<V> value) {
+                stats.recordEviction();
+            }
+        };
+    }
+
+    /**
+     * Get cached value (null if not cached or expired)
+     * キャッシュを取得 (存在しない or 期限切れの場合は null)
+     */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+
+        CacheEntry<V> entry = map.get(key);
+        if (entry != null) {
+            if (!entry.isExpired()) {
+                stats.recordHit();
+                return entry.value;
+            }
+            if (map.remove(key, entry)) {
+                stats.recordExpiration();
+            }
+        }
+        stats.recordMiss();
+        return null;
+    }
+
+    /**
+     * Get cached value or load and cache
+     * (Null value is not cached, same key is loaded only once at a time)
+     * キャッシュを取得、存在しない場合は読み込んでキャッシュ
+     */
+    public V get(K key, Supplier<V> loader) {
+        V value = get(key);
+        if (value != null || key == null || maxSize <= 0) {
+            return (value != null) ? value : load(loader);
+        }
+
+        CacheEntry<V> entry = map.computeIfAbsent(key, (k) -> {
+            V loaded = load(loader);
+            return (loaded != null) ? new CacheEntry<>(loaded, System.nanoTime() + ttlNanos) : null;
+        });
+        return (entry != null) ? entry.value : null;
+    }
+
+    private V load(Supplier<V> loader) {
+        stats.recordLoad();
+        return loader.get();
+    }
+
+    /**
+     * Put value
+     * キャッシュを設定
+     */
+    public void put(K key, V value) {
+        if (key == null || value == null || maxSize <= 0) {
+            return;
+        }
+        map.put(key, new CacheEntry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Remove value
+     * キャッシュを削除
+     */
+    public void remove(K key) {
+        if (key == null) {
+            return;
+        }
+        map.remove(key);
+    }
+
+    /**
+     * Remove expired values
+     * 期限切れのキャッシュを削除
+     */
+    public void cleanUp() {
+        map.removeIf((key, entry) -> entry.isExpired()) //
+                .forEach((entry) -> stats.recordExpiration());
+    }
+
+    /**
+     * Remove all values
+     * 全てのキャッシュを削除
+     */
+    public void clear() {
+        map.clear();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    //region // Getter&Setter
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+    //endregion
+
+    /**
+     * Cached value with expire time
+     * 有効期限付きの値
+     */
+    static class CacheEntry<V> {
+
+        private final V value;
+        private final long expireAt;
+
+        CacheEntry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired() {
+            return (System.nanoTime() - expireAt) > 0;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package net.socialhub.service.cache;
+
+import net.socialhub.model.service.Comment;
+import net.socialhub.model.service.Context;
+import net.socialhub.model.service.Identify;
+import net.socialhub.model.service.Notification;
+import net.socialhub.model.service.Pageable;
+import net.socialhub.model.service.User;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entity Store
+ * アカウント毎の正規化されたエンティティ
+ *
+ * 同じ ID のユーザー・コメントは一つのインスタンスに集約し、
+ * 新しく取得した内容はそのインスタンスに反映する (どこからも参照されなくなったものは破棄)。
+ * タイムライン・コンテキスト・ストリームの間でインスタンスを共有するため、
+ * 一箇所での更新 (リアクションなど) が全ての表示に反映される。
+ */
+public class EntityStore {
+
+    private final WeakValues<User> users = new WeakValues<>();
+
+    private final WeakValues<Comment> comments = new WeakValues<>();
+
+    // ============================================================== //
+    // Resolve
+    // ============================================================== //
+
+    /**
+     * Resolve entities in result to canonical instances
+     * (Comment, User, Pageable, Context, Notification and List of them)
+     * 結果に含まれるエンティティを正規のインスタンスに置き換え
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T resolve(T result) {
+        if (result instanceof Comment) {
+            return (T) comment((Comment) result);
+        }
+        if (result instanceof User) {
+            return (T) user((User) result);
+        }
+        if (result instanceof Pageable) {
+            Pageable<Identify> pageable = (Pageable<Identify>) result;
+            pageable.setEntities(resolveList(pageable.getEntities()));
+            return result;
+        }
+        if (result instanceof Context) {
+            Context context = (Context) result;
+            context.setAncestors(resolveList(context.getAncestors()));
+            context.setDescendants(resolveList(context.getDescendants()));
+            return result;
+        }
+        if (result instanceof Notification) {
+            Notification notification = (Notification) result;
+            notification.setUsers(resolveList(notification.getUsers()));
+            notification.setComments(resolveList(notification.getComments()));
+            return result;
+        }
+        if (result instanceof List) {
+            return (T) resolveList((List<Object>) result);
+        }
+        return result;
+    }
+
+    /**
+     * Resolve comment (and its user, shared comment)
+     * コメントを正規のインスタンスに置き換え
+     */
+    public Comment comment(Comment comment) {
+        if (comment == null || comment.getId() == null) {
+            return comment;
+        }
+
+        if (comment.getUser() != null) {
+            comment.setUser(user(comment.getUser()));
+        }
+        if (comment.getSharedComment() != null) {
+            comment.setSharedComment(comment(comment.getSharedComment()));
+        }
+        return comments.resolve(storeKey(comment), comment);
+    }
+
+    /**
+     * Resolve user
+     * ユーザーを正規のインスタンスに置き換え
+     */
+    public User user(User user) {
+        if (user == null || user.getId() == null) {
+            return user;
+        }
+        return users.resolve(user.getId(), user);
+    }
+
+    // ============================================================== //
+    // Functions
+    // ============================================================== //
+
+    /**
+     * Get canonical comment (null if not stored)
+     * 正規のコメントを取得
+     */
+    public Comment getComment(Object id) {
+        return comments.get(id);
+    }
+
+    /**
+     * Get canonical user (null if not stored)
+     * 正規のユーザーを取得
+     */
+    public User getUser(Object id) {
+        return users.get(id);
+    }
+
+    /**
+     * Remove deleted comment
+     * 削除されたコメントを除去
+     */
+    public Comment removeComment(Object id) {
+        return comments.remove(id);
+    }
+
+    /**
+     * Remove all entities
+     * 全てのエンティティを削除
+     */
+    public void clear() {
+        users.clear();
+        comments.clear();
+    }
+
+    /**
+     * Get key of comment in store
+     * (Id is combined with its scope if id is unique only in scope)
+     * 保持に用いるコメントのキーを取得 (ID が範囲内でのみ一意の場合は範囲と組にする)
+     */
+    private static Object storeKey(Comment comment) {
+        Object scope = comment.getIdScope();
+        return (scope != null) ? Arrays.asList(scope, comment.getId()) : comment.getId();
+    }
+
+    private <E> List<E> resolveList(List<E> list) {
+        if (list == null) {
+            return null;
+        }
+
+        // 変更がある場合のみ新しいリストを作成 (変更不可のリストもあるため)
+        List<E> results = null;
+        for (int i = 0; i < list.size(); i++) {
+            E entity = list.get(i);
+            E resolved = resolve(entity);
+
+            if (results == null && resolved != entity) {
+                results = new ArrayList<>(list.subList(0, i));
+            }
+            if (results != null) {
+                results.add(resolved);
+            }
+        }
+        return (results != null) ? results : list;
+    }
+
+    /**
+     * Map with weakly referenced values
+     * 値を弱参照で保持するマップ
+     */
+    private static class WeakValues<V extends Identify> {
+
+        private final Map<Object, Ref<V>> map = new HashMap<>();
+        private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+        synchronized V resolve(Object key, V value) {
+            expunge();
+
+            Ref<V> ref = map.get(key);
+            V canonical = (ref != null) ? ref.get() : null;
+
+            // 同じ型のものは既存のインスタンスに反映
+            if (canonical != null && canonical.getClass() == value.getClass()) {
+                merge(canonical, value);
+                return canonical;
+            }
+
+            map.put(key, new Ref<>(key, value, queue));
+            return value;
+        }
+
+        synchronized V get(Object key) {
+            expunge();
+            Ref<V> ref = map.get(key);
+            return (ref != null) ? ref.get() : null;
+        }
+
+        synchronized V remove(Object key) {
+            expunge();
+            Ref<V> ref = map.remove(key);
+            return (ref != null) ? ref.get() : null;
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+
+        /** Remove collected references */
+        @SuppressWarnings("unchecked")
+        private void expunge() {
+            Ref<V> ref;
+            while ((ref = (Ref<V>) queue.poll()) != null) {
+                if (map.get(ref.key) == ref) {
+                    map.remove(ref.key);
+                }
+            }
+        }
+
+        private static void merge(Identify canonical, Identify value) {
+            if (canonical instanceof Comment) {
+                ((Comment) canonical).merge((Comment) value);
+            }
+            if (canonical instanceof User) {
+                ((User) canonical).merge((User) value);
+            }
+        }
+    }
+
+    private static class Ref<V> extends WeakReference<V> {
+
+        private final Object key;
+
+        Ref(Object key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
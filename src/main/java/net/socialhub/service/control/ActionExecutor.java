@@ -0,0 +1,491 @@
+package net.socialhub.service.control;
+
+import net.socialhub.logger.Logger;
+import net.socialhub.model.Account;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Action Executor
+ * API リクエストを並列実行する共有エクゼキュータ
+ * (ホスト毎に並列数を制限)
+ *
+ * 並列数の上限に達した場合はタスクを待ち合わせ、空きが出た時点で実行する。
+ * (呼び出し元のスレッドでは実行しないため、ホスト毎の上限と待機のタイムアウトが守られる)
+ * ただし同じホストのタスク内からのネストしたリクエスト (グループ → コンテキスト取得等) は、
+ * 空きが無い場合に実行中のスレッドで実行するため、デッドロックしない。
+ * (そのスレッドは既に許可を保持しているため、並列数の上限は超えない)
+ */
+public class ActionExecutor {
+
+    private static final Logger logger = Logger.getLogger(ActionExecutor.class);
+
+    /** Default max thread count */
+    public static final int DEFAULT_MAX_THREADS = 64;
+
+    /** Default max parallel request count per host */
+    public static final int DEFAULT_MAX_PARALLEL_PER_HOST = 16;
+
+    /** Thread keep alive seconds */
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    /** Delay to retry dispatch of starved hosts */
+    private static final long RESCUE_DELAY_MILLIS = 10L;
+
+    /** Shared instance */
+    private static ActionExecutor shared;
+
+    private final ExecutorService executor;
+
+    private final int maxParallelPerHost;
+
+    private final Map<String, HostExecutor> hosts = new ConcurrentHashMap<>();
+
+    /** Hosts with tasks rejected by saturated pool (drained when any task completes) */
+    private final Set<HostExecutor> starved = ConcurrentHashMap.newKeySet();
+
+    /** Timer to retry dispatch of starved hosts (if no worker took over) */
+    private final ScheduledThreadPoolExecutor rescuer;
+
+    private final AtomicBoolean rescueScheduled = new AtomicBoolean();
+
+    /** Host executor of task running on current thread */
+    private static final ThreadLocal<HostExecutor> running = new ThreadLocal<>();
+
+    // ============================================================== //
+    // Static functions
+    // ============================================================== //
+
+    /**
+     * Get shared executor
+     * 共有エクゼキュータを取得
+     */
+    public static synchronized ActionExecutor shared() {
+        if (shared == null || shared.isShutdown()) {
+            shared = ofDefault();
+        }
+        return shared;
+    }
+
+    /**
+     * Set shared executor
+     * (Previous executor is shutdown gracefully)
+     * 共有エクゼキュータを設定 (以前のものは停止)
+     */
+    public static synchronized void setShared(ActionExecutor executor) {
+        ActionExecutor prev = shared;
+        shared = executor;
+
+        if (prev != null && prev != executor) {
+            prev.shutdown();
+        }
+    }
+
+    /**
+     * Shutdown shared executor
+     * 共有エクゼキュータを停止
+     */
+    public static synchronized void shutdownShared() {
+        if (shared != null) {
+            shared.shutdown();
+            shared = null;
+        }
+    }
+
+    /**
+     * Make executor with default thread pool
+     * デフォルトのスレッドプールで作成
+     */
+    public static ActionExecutor ofDefault() {
+        return ofThreads(DEFAULT_MAX_THREADS, DEFAULT_MAX_PARALLEL_PER_HOST);
+    }
+
+    /**
+     * Make executor with bounded thread pool
+     * スレッド数を指定して作成
+     */
+    public static ActionExecutor ofThreads(int maxThreads, int maxParallelPerHost) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                0, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new ActionThreadFactory());
+        return new ActionExecutor(pool, maxParallelPerHost);
+    }
+
+    /**
+     * Make executor with virtual threads (JDK 21+)
+     * (Fallback to default thread pool if not supported)
+     * 仮想スレッドで作成 (非対応の場合はデフォルト)
+     */
+    public static ActionExecutor ofVirtualThreads(int maxParallelPerHost) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) method.invoke(null);
+            return new ActionExecutor(executor, maxParallelPerHost);
+
+        } catch (Exception e) {
+            logger.debug("virtual threads not supported, use thread pool.");
+            return ofThreads(DEFAULT_MAX_THREADS, maxParallelPerHost);
+        }
+    }
+
+    /**
+     * Make executor with specified executor service
+     * (Lifecycle of executor service is owned by ActionExecutor)
+     * 任意のエクゼキュータで作成
+     */
+    public static ActionExecutor of(ExecutorService executor, int maxParallelPerHost) {
+        return new ActionExecutor(executor, maxParallelPerHost);
+    }
+
+    // ============================================================== //
+    // Constructor
+    // ============================================================== //
+
+    private ActionExecutor(ExecutorService executor, int maxParallelPerHost) {
+        if (maxParallelPerHost <= 0) {
+            throw new IllegalArgumentException("maxParallelPerHost must be positive.");
+        }
+        this.executor = executor;
+        this.maxParallelPerHost = maxParallelPerHost;
+
+        this.rescuer = new ScheduledThreadPoolExecutor(1, new ActionThreadFactory());
+        this.rescuer.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        this.rescuer.allowCoreThreadTimeOut(true);
+    }
+
+    // ============================================================== //
+    // Functions
+    // ============================================================== //
+
+    /**
+     * Get executor for account's host
+     * アカウントのホスト向けのエクゼキュータを取得
+     */
+    public ExecutorService getExecutor(Account account) {
+        return getExecutor(account.getService().getRequestHost());
+    }
+
+    /**
+     * Get executor for host
+     * (Tasks are queued until host permits are available,
+     * nested tasks of same host run on current thread if no permit)
+     * (Shutdown of returned executor is ignored)
+     * ホスト向けのエクゼキュータを取得 (停止操作は無視)
+     */
+    public ExecutorService getExecutor(String host) {
+        return hosts.computeIfAbsent(host, (h) -> new HostExecutor());
+    }
+
+    /**
+     * Get asynchronous executor for account's host
+     * アカウントのホスト向けの非同期エクゼキュータを取得
+     */
+    public Executor getAsyncExecutor(Account account) {
+        return getAsyncExecutor(account.getService().getRequestHost());
+    }
+
+    /**
+     * Get asynchronous executor for host
+     * (Tasks are queued until host permits are available)
+     * ホスト向けの非同期エクゼキュータを取得
+     * (並列数の上限に達した場合は呼び出し元で実行せずに待ち合わせる)
+     */
+    public Executor getAsyncExecutor(String host) {
+        HostExecutor executor = hosts.computeIfAbsent(host, (h) -> new HostExecutor());
+        return executor::enqueue;
+    }
+
+    /**
+     * Shutdown executor (running tasks are completed)
+     * エクゼキュータを停止 (実行中のタスクは完了まで実行)
+     */
+    public void shutdown() {
+        executor.shutdown();
+        rescuer.shutdown();
+    }
+
+    /**
+     * Shutdown executor immediately
+     * エクゼキュータを即時停止
+     */
+    public List<Runnable> shutdownNow() {
+        rescuer.shutdownNow();
+        return executor.shutdownNow();
+    }
+
+    /**
+     * Await termination
+     * 停止完了まで待機
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * Run tasks on pool thread (permit of host must be acquired)
+     * (Tasks of hosts rejected by saturated pool are taken over after)
+     * プールのスレッドでタスクを実行
+     * (プールの飽和で実行できなかった他のホストのタスクも引き継いで実行)
+     */
+    private void work(HostExecutor host, Runnable command) {
+        while (host != null) {
+            host.runAll(command);
+
+            host = null;
+            command = null;
+            for (HostExecutor starving : starved) {
+                if (starved.remove(starving)) {
+                    command = starving.next();
+                    if (command != null) {
+                        host = starving;
+                        starving.drain();
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Schedule retry of starved hosts
+     * (Worker may have checked starved hosts before registered)
+     * プールの飽和で実行できなかったホストの再実行を予約
+     * (登録前に全てのスレッドが確認を終えていた場合も取り残さない)
+     */
+    private void scheduleRescue() {
+        if (rescueScheduled.compareAndSet(false, true)) {
+            try {
+                rescuer.schedule(this::rescue, RESCUE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                rescueScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Dispatch tasks of starved hosts
+     * (Rejected again, starved host is registered and retry is scheduled)
+     * 飽和で実行できなかったホストのタスクを再度実行
+     */
+    private void rescue() {
+        rescueScheduled.set(false);
+        for (HostExecutor starving : starved) {
+            if (starved.remove(starving)) {
+                starving.drain();
+            }
+        }
+    }
+
+    //region // Getter&Setter
+    public int getMaxParallelPerHost() {
+        return maxParallelPerHost;
+    }
+    //endregion
+
+    // ============================================================== //
+    // Classes
+    // ============================================================== //
+
+    /**
+     * Executor bounded by host
+     * ホスト毎に並列数を制限したエクゼキュータ
+     */
+    class HostExecutor extends AbstractExecutorService {
+
+        private final Semaphore permits = new Semaphore(maxParallelPerHost);
+
+        private final Deque<Runnable> queue = new ConcurrentLinkedDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+
+            // 同じホストのタスク内からの呼び出しで空きが無い場合はそのまま実行
+            if (running.get() == this) {
+                if (permits.tryAcquire()) {
+                    if (!dispatch(command)) {
+                        command.run();
+                    }
+                } else {
+                    command.run();
+                }
+                return;
+            }
+            enqueue(command);
+        }
+
+        /**
+         * Queue task until permit is available
+         * 許可を得られるまでタスクを待ち合わせる
+         */
+        void enqueue(Runnable command) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("ActionExecutor is shutdown.");
+            }
+            queue.add(command);
+            drain();
+        }
+
+        /**
+         * Run task only if permit is available now
+         * (Return false without queueing if host is busy or pool is saturated)
+         * 許可に空きがある場合のみタスクを実行 (待ち合わせない)
+         */
+        boolean tryExecute(Runnable command) {
+            if (executor.isShutdown() || !queue.isEmpty() || !permits.tryAcquire()) {
+                return false;
+            }
+            return dispatch(command);
+        }
+
+        /**
+         * Dispatch queued tasks while permits are available
+         * 許可が得られる間、待ち合わせ中のタスクを実行
+         */
+        void drain() {
+            while (!queue.isEmpty()) {
+                Runnable command = next();
+                if (command == null) {
+                    return;
+                }
+                if (!dispatch(command)) {
+                    // プールが飽和している場合は先頭に戻し、他のタスクを終えたスレッドが引き継ぐ
+                    // (引き継ぐスレッドが無い場合に備えて再実行も予約)
+                    queue.addFirst(command);
+                    starved.add(this);
+                    scheduleRescue();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Take next queued task with permit (null if no task or permit)
+         * 許可を取得して次のタスクを取り出す
+         */
+        Runnable next() {
+            if (!permits.tryAcquire()) {
+                return null;
+            }
+            Runnable command = queue.poll();
+            if (command == null) {
+                permits.release();
+            }
+            return command;
+        }
+
+        /**
+         * Run task and queued tasks on current thread, then release permit
+         * タスクと待ち合わせ中のタスクを実行して許可を返却
+         */
+        void runAll(Runnable command) {
+            HostExecutor prev = running.get();
+            running.set(this);
+            try {
+                for (Runnable task = command; task != null; task = queue.poll()) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        logger.debug("action task failed.", e);
+                    }
+                }
+            } finally {
+                running.set(prev);
+                permits.release();
+            }
+
+            // 許可の返却と同時に追加されたタスクを実行
+            drain();
+        }
+
+        /**
+         * Run task on pool (permit must be acquired)
+         * (Return false and release permit if pool rejected task)
+         * プールでタスクを実行 (許可を取得済みであること)
+         */
+        private boolean dispatch(Runnable command) {
+            try {
+                executor.execute(() -> work(this, command));
+                return true;
+
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                return false;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            // ライフサイクルは ActionExecutor が管理
+        }
+
+        /**
+         * Remove queued tasks of this host
+         * (Shared pool is not stopped, use ActionExecutor#shutdownNow)
+         * 待ち合わせ中のタスクを取り除いて返却
+         */
+        @Override
+        public List<Runnable> shutdownNow() {
+            List<Runnable> tasks = new ArrayList<>();
+            for (Runnable command = queue.poll(); command != null; command = queue.poll()) {
+                tasks.add(command);
+            }
+            return tasks;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executor.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executor.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return executor.awaitTermination(timeout, unit);
+        }
+    }
+
+    /**
+     * Daemon thread factory
+     * デーモンスレッドを生成
+     */
+    static class ActionThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable);
+            thread.setName("socialhub-action-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package net.socialhub.service.control;
+
+import net.socialhub.logger.Logger;
+import net.socialhub.model.Account;
+import net.socialhub.model.error.CircuitOpenException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit Breaker
+ * ホスト毎のサーキットブレーカー
+ *
+ * 連続した障害 (通信エラー・5xx・応答遅延) が閾値に達したホストへの
+ * リクエストを一定時間送信せずに即時失敗させる。
+ * 一定時間後は少数の試験リクエストのみ許可し (半開)、
+ * 成功した場合は通常状態に戻し、失敗した場合は再度遮断する。
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = Logger.getLogger(CircuitBreaker.class);
+
+    /** Default consecutive failure count to open */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    /** Default latency regarded as failure */
+    public static final long DEFAULT_SLOW_CALL_MILLIS = 20 * 1000L;
+
+    /** Default open duration before probe */
+    public static final long DEFAULT_OPEN_MILLIS = 30 * 1000L;
+
+    /** Default max probe requests in half open */
+    public static final int DEFAULT_HALF_OPEN_PROBES = 1;
+
+    /** Shared instance */
+    private static CircuitBreaker shared;
+
+    private final int failureThreshold;
+
+    private final long slowCallMillis;
+
+    private final long openMillis;
+
+    private final int halfOpenProbes;
+
+    private final Map<String, HostCircuit> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * State of circuit
+     * 回路の状態
+     */
+    public enum State {
+        /** Requests are allowed */
+        CLOSED,
+        /** Requests fail fast */
+        OPEN,
+        /** Only probe requests are allowed */
+        HALF_OPEN,
+    }
+
+    /**
+     * Result of request
+     * リクエストの結果
+     */
+    public enum Outcome {
+        /** Host responded */
+        SUCCESS,
+        /** Host failure (network, 5xx, too slow) */
+        FAILURE,
+        /** Not related to host state (not sent, etc.) */
+        IGNORE,
+    }
+
+    // ============================================================== //
+    // Static functions
+    // ============================================================== //
+
+    /**
+     * Get shared circuit breaker
+     * 共有のサーキットブレーカーを取得
+     */
+    public static synchronized CircuitBreaker shared() {
+        if (shared == null) {
+            shared = ofDefault();
+        }
+        return shared;
+    }
+
+    /**
+     * Set shared circuit breaker
+     * 共有のサーキットブレーカーを設定
+     */
+    public static synchronized void setShared(CircuitBreaker breaker) {
+        shared = breaker;
+    }
+
+    /**
+     * Make circuit breaker with default config
+     * デフォルトの設定で作成
+     */
+    public static CircuitBreaker ofDefault() {
+        return of(DEFAULT_FAILURE_THRESHOLD, DEFAULT_SLOW_CALL_MILLIS,
+                DEFAULT_OPEN_MILLIS, DEFAULT_HALF_OPEN_PROBES);
+    }
+
+    /**
+     * Make circuit breaker
+     * 設定を指定して作成
+     */
+    public static CircuitBreaker of(int failureThreshold, long slowCallMillis, long openMillis, int halfOpenProbes) {
+        if (failureThreshold <= 0 || halfOpenProbes <= 0) {
+            throw new IllegalArgumentException("failureThreshold and halfOpenProbes must be positive.");
+        }
+        return new CircuitBreaker(failureThreshold, slowCallMillis, openMillis, halfOpenProbes);
+    }
+
+    // ============================================================== //
+    // Constructor
+    // ============================================================== //
+
+    private CircuitBreaker(int failureThreshold, long slowCallMillis, long openMillis, int halfOpenProbes) {
+        this.failureThreshold = failureThreshold;
+        this.slowCallMillis = slowCallMillis;
+        this.openMillis = openMillis;
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    // ============================================================== //
+    // Functions
+    // ============================================================== //
+
+    /**
+     * Acquire permission of request to host
+     * (Throw if circuit is open)
+     * ホストへのリクエストの許可を取得 (遮断中の場合は例外)
+     */
+    public void acquire(String host) {
+        getCircuit(host).acquire(System.currentTimeMillis());
+    }
+
+    /**
+     * Record result of request acquired
+     * 許可を得たリクエストの結果を記録
+     *
+     * @param elapsedMillis latency of request (regarded as failure if too slow)
+     */
+    public void record(String host, Outcome outcome, long elapsedMillis) {
+        if (outcome == Outcome.SUCCESS && slowCallMillis > 0 && elapsedMillis >= slowCallMillis) {
+            outcome = Outcome.FAILURE;
+        }
+        getCircuit(host).record(outcome, System.currentTimeMillis());
+    }
+
+    /**
+     * Is request to account's host allowed now?
+     * (Use for skipping known bad hosts)
+     * アカウントのホストにリクエスト可能か
+     */
+    public boolean isAvailable(Account account) {
+        return isAvailable(account.getService().getRequestHost());
+    }
+
+    /**
+     * Is request to host allowed now?
+     * ホストにリクエスト可能か
+     */
+    public boolean isAvailable(String host) {
+        HostCircuit circuit = hosts.get(host);
+        return (circuit == null) || circuit.isAvailable(System.currentTimeMillis());
+    }
+
+    /**
+     * Get state of host
+     * ホストの状態を取得
+     */
+    public State getState(String host) {
+        HostCircuit circuit = hosts.get(host);
+        return (circuit != null) ? circuit.getState(System.currentTimeMillis()) : State.CLOSED;
+    }
+
+    /**
+     * Get wait time until next probe (0 if allowed now)
+     * 次の試験リクエストまでの時間を取得
+     */
+    public long getWaitMillis(String host) {
+        HostCircuit circuit = hosts.get(host);
+        return (circuit != null) ? circuit.waitMillis(System.currentTimeMillis()) : 0L;
+    }
+
+    /**
+     * Reset state of host
+     * ホストの状態を初期化
+     */
+    public void reset(String host) {
+        hosts.remove(host);
+    }
+
+    private HostCircuit getCircuit(String host) {
+        return hosts.computeIfAbsent(host, HostCircuit::new);
+    }
+
+    //region // Getter&Setter
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public long getSlowCallMillis() {
+        return slowCallMillis;
+    }
+
+    public long getOpenMillis() {
+        return openMillis;
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+    //endregion
+
+    // ============================================================== //
+    // Classes
+    // ============================================================== //
+
+    /**
+     * Circuit of host
+     * ホスト毎の回路
+     */
+    class HostCircuit {
+
+        private final String host;
+
+        private State state = State.CLOSED;
+
+        /** Consecutive failure count */
+        private int failures;
+
+        /** Time opened */
+        private long openedAt;
+
+        /** Probe requests in flight */
+        private int probes;
+
+        HostCircuit(String host) {
+            this.host = host;
+        }
+
+        synchronized void acquire(long now) {
+            State current = getState(now);
+
+            if (current == State.OPEN) {
+                throw new CircuitOpenException(host, waitMillis(now));
+            }
+            if (current == State.HALF_OPEN) {
+                if (probes >= halfOpenProbes) {
+                    throw new CircuitOpenException(host, 0L);
+                }
+                state = State.HALF_OPEN;
+                probes++;
+            }
+        }
+
+        synchronized void record(Outcome outcome, long now) {
+            boolean probe = (state == State.HALF_OPEN);
+            if (probe && probes > 0) {
+                probes--;
+            }
+
+            switch (outcome) {
+                case SUCCESS:
+                    if (state != State.CLOSED) {
+                        logger.debug("circuit closed: " + host);
+                    }
+                    state = State.CLOSED;
+                    failures = 0;
+                    break;
+
+                case FAILURE:
+                    failures++;
+                    if (probe || (state == State.CLOSED && failures >= failureThreshold)) {
+                        logger.debug("circuit opened: " + host);
+                        state = State.OPEN;
+                        openedAt = now;
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        synchronized boolean isAvailable(long now) {
+            State current = getState(now);
+            return (current == State.CLOSED)
+                    || (current == State.HALF_OPEN && probes < halfOpenProbes);
+        }
+
+        /**
+         * Get state (open is changed to half open after open duration)
+         * 状態を取得 (遮断時間の経過後は半開)
+         */
+        synchronized State getState(long now) {
+            if (state == State.OPEN && now - openedAt >= openMillis) {
+                return State.HALF_OPEN;
+            }
+            return state;
+        }
+
+        synchronized long waitMillis(long now) {
+            if (state != State.OPEN) {
+                return 0L;
+            }
+            return Math.max(0L, openedAt + openMillis - now);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package net.socialhub.service.control;
+
+import net.socialhub.model.error.SocialHubException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request Hedger
+ * 遅い参照リクエストの追い越し (ヘッジ) を行う
+ *
+ * 最初のリクエストが実行開始からホストの観測レイテンシ (p95) を超えても完了しない場合、
+ * 同じリクエストをもう一度送信し、先に成功した方の結果を採用する。
+ * (並列数の上限による待ち合わせの時間はレイテンシに含めない)
+ * 負荷が高い場合に送信数が倍増しないように、ヘッジは全体の予算内でのみ行う。
+ * (予算はリクエスト毎に budgetRatio 分貯まり、ヘッジ一回で 1 消費する)
+ * ホストのエクゼキュータの場合、ヘッジは許可に空きがある場合のみ送信し、
+ * 空きが無い (ホストが混雑している) 場合は送信せずに最初のリクエストを待つ。
+ * (それ以外のエクゼキュータの場合は別の小さなスレッドプールで送信する)
+ * 冪等な参照系のリクエストにのみ使用すること。
+ */
+public class RequestHedger {
+
+    /** Default percentile of latency to hedge */
+    public static final double DEFAULT_PERCENTILE = 0.95;
+
+    /** Default ratio of hedged requests */
+    public static final double DEFAULT_BUDGET_RATIO = 0.1;
+
+    /** Default max budget (burst of hedges) */
+    public static final double DEFAULT_MAX_BUDGET = 10.0;
+
+    /** Default min delay before hedge */
+    public static final long DEFAULT_MIN_DELAY_MILLIS = 50L;
+
+    /** Max threads sending hedges for executors other than host (hedges are skipped if all busy) */
+    private static final int HEDGE_THREADS = 4;
+
+    /** Keep alive seconds of hedge threads */
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    /** Latency samples kept per host */
+    private static final int WINDOW_SIZE = 128;
+
+    /** Min samples to estimate latency (not hedge until collected) */
+    private static final int MIN_SAMPLES = 20;
+
+    /** Shared instance */
+    private static RequestHedger shared;
+
+    private final double percentile;
+
+    private final double budgetRatio;
+
+    private final double maxBudget;
+
+    private final long minDelayMillis;
+
+    /** Remaining budget of hedges */
+    private double budget;
+
+    private final Map<String, LatencyWindow> hosts = new ConcurrentHashMap<>();
+
+    /** Executor of hedges for executors other than host */
+    private final ExecutorService hedgeExecutor = new ThreadPoolExecutor(
+            0, HEDGE_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), new ActionExecutor.ActionThreadFactory());
+
+    // ============================================================== //
+    // Static functions
+    // ============================================================== //
+
+    /**
+     * Get shared hedger (budget is shared by all accounts)
+     * 共有のヘッジャーを取得 (予算は全アカウントで共通)
+     */
+    public static synchronized RequestHedger shared() {
+        if (shared == null) {
+            shared = ofDefault();
+        }
+        return shared;
+    }
+
+    /**
+     * Set shared hedger
+     * 共有のヘッジャーを設定
+     */
+    public static synchronized void setShared(RequestHedger hedger) {
+        shared = hedger;
+    }
+
+    /**
+     * Make hedger with default config
+     * デフォルトの設定で作成
+     */
+    public static RequestHedger ofDefault() {
+        return of(DEFAULT_PERCENTILE, DEFAULT_BUDGET_RATIO,
+                DEFAULT_MAX_BUDGET, DEFAULT_MIN_DELAY_MILLIS);
+    }
+
+    /**
+     * Make hedger
+     * 設定を指定して作成
+     */
+    public static RequestHedger of(double percentile, double budgetRatio, double maxBudget, long minDelayMillis) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be in (0, 1].");
+        }
+        return new RequestHedger(percentile, budgetRatio, maxBudget, minDelayMillis);
+    }
+
+    // ============================================================== //
+    // Constructor
+    // ============================================================== //
+
+    private RequestHedger(double percentile, double budgetRatio, double maxBudget, long minDelayMillis) {
+        this.percentile = percentile;
+        this.budgetRatio = budgetRatio;
+        this.maxBudget = maxBudget;
+        this.minDelayMillis = minDelayMillis;
+    }
+
+    // ============================================================== //
+    // Functions
+    // ============================================================== //
+
+    /**
+     * Call request with hedging
+     * (Result of first succeeded request is returned, error is thrown if both failed)
+     * ヘッジ付きでリクエストを実行
+     *
+     * @param host host of request (latency is observed per host)
+     * @param executor executor of requests (hedge is sent only if host has free permit)
+     */
+    public <T> T call(String host, Executor executor, Callable<T> caller) throws Exception {
+        deposit();
+
+        CompletableFuture<Long> started = new CompletableFuture<>();
+        CompletableFuture<T> primary = submit(host, executor, caller, started);
+        long delay = getHedgeDelayMillis(host);
+
+        try {
+            if (delay < 0) {
+                return primary.get();
+            }
+
+            // 待ち合わせの時間は含めず、実行開始から計測
+            CompletableFuture.anyOf(started, primary).get();
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(
+                    System.nanoTime() - started.getNow(System.nanoTime()));
+            try {
+                return primary.get(Math.max(0L, delay - elapsed), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 予算が無い場合は最初のリクエストを待つ
+                if (!withdraw()) {
+                    return primary.get();
+                }
+            }
+
+            CompletableFuture<T> hedge;
+            try {
+                hedge = submit(host, hedgeExecutorOf(executor), caller, null);
+            } catch (RejectedExecutionException e) {
+                // ホストに空きが無い場合は予算を戻して最初のリクエストを待つ
+                refund();
+                return primary.get();
+            }
+            return firstSuccess(primary, hedge).get();
+
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new SocialHubException(cause);
+
+        } catch (InterruptedException e) {
+            java.lang.Thread.currentThread().interrupt();
+            throw new SocialHubException(e);
+        }
+    }
+
+    /**
+     * Get delay before hedge of host (-1 if latency is unknown yet)
+     * ヘッジまでの待機時間を取得 (レイテンシが不明な場合は -1)
+     */
+    public long getHedgeDelayMillis(String host) {
+        LatencyWindow window = hosts.get(host);
+        long latency = (window != null) ? window.percentile(percentile) : -1L;
+        return (latency < 0) ? -1L : Math.max(minDelayMillis, latency);
+    }
+
+    /**
+     * Get remaining budget of hedges
+     * ヘッジの残り予算を取得
+     */
+    public synchronized double getBudget() {
+        return budget;
+    }
+
+    /**
+     * Get executor of hedge
+     * (Hedge to host is sent only if permit is available, not to exceed limit of host)
+     * ヘッジのエクゼキュータを取得 (ホストの場合は許可に空きがある場合のみ送信)
+     */
+    private Executor hedgeExecutorOf(Executor executor) {
+        if (executor instanceof ActionExecutor.HostExecutor) {
+            ActionExecutor.HostExecutor host = (ActionExecutor.HostExecutor) executor;
+            return (command) -> {
+                if (!host.tryExecute(command)) {
+                    throw new RejectedExecutionException("host is busy.");
+                }
+            };
+        }
+        return hedgeExecutor;
+    }
+
+    private <T> CompletableFuture<T> submit(String host, Executor executor,
+                                            Callable<T> caller, CompletableFuture<Long> started) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (started != null) {
+                started.complete(System.nanoTime());
+            }
+            long start = System.currentTimeMillis();
+            try {
+                T result = caller.call();
+                hosts.computeIfAbsent(host, (h) -> new LatencyWindow())
+                        .add(System.currentTimeMillis() - start);
+                return result;
+
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Complete with first success (or first error if both failed)
+     * 先に成功した結果で完了 (両方失敗した場合は最初のエラー)
+     */
+    private static <T> CompletableFuture<T> firstSuccess(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        for (CompletableFuture<T> future : Arrays.asList(first, second)) {
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(unwrap(error));
+                }
+            });
+        }
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof ExecutionException || e instanceof CompletionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    private synchronized void deposit() {
+        budget = Math.min(maxBudget, budget + budgetRatio);
+    }
+
+    private synchronized void refund() {
+        budget = Math.min(maxBudget, budget + 1.0);
+    }
+
+    private synchronized boolean withdraw() {
+        if (budget >= 1.0) {
+            budget -= 1.0;
+            return true;
+        }
+        return false;
+    }
+
+    //region // Getter&Setter
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    public double getMaxBudget() {
+        return maxBudget;
+    }
+
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+    //endregion
+
+    // ============================================================== //
+    // Classes
+    // ============================================================== //
+
+    /**
+     * Recent latencies of host
+     * ホストの直近のレイテンシ
+     */
+    static class LatencyWindow {
+
+        private final long[] samples = new long[WINDOW_SIZE];
+
+        private int count;
+
+        private int next;
+
+        synchronized void add(long latency) {
+            samples[next] = latency;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized long percentile(double p) {
+            if (count < MIN_SAMPLES) {
+                return -1L;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(p * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package net.socialhub.service.control;
+
+import net.socialhub.define.action.ActionType;
+import net.socialhub.model.Account;
+import net.socialhub.model.service.Identify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Request Key
+ * リクエストの識別キー (アカウント・アクション種別・引数)
+ *
+ * アカウントは同一インスタンスを同じとみなす。
+ * Identify は ID の値で比較し、その他の引数は equals で比較する。
+ */
+public final class RequestKey {
+
+    private final Account account;
+
+    private final ActionType actionType;
+
+    private final List<Object> args;
+
+    private final int hash;
+
+    private RequestKey(Account account, ActionType actionType, List<Object> args) {
+        this.account = account;
+        this.actionType = actionType;
+        this.args = args;
+        this.hash = Objects.hash(System.identityHashCode(account), actionType, args);
+    }
+
+    /**
+     * Make request key
+     * リクエストキーを作成
+     */
+    public static RequestKey of(Account account, ActionType actionType, Object... args) {
+        List<Object> values = new ArrayList<>(args.length);
+        for (Object arg : args) {
+            if (arg instanceof Identify) {
+                Identify id = (Identify) arg;
+                values.add(id.getClass());
+                values.add(id.getId());
+            } else {
+                values.add(arg);
+            }
+        }
+        return new RequestKey(account, actionType, values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestKey)) {
+            return false;
+        }
+        RequestKey other = (RequestKey) o;
+        return (account == other.account)
+                && Objects.equals(actionType, other.actionType)
+                && Objects.equals(args, other.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestKey{" + actionType + ", " + args + '}';
+    }
+}
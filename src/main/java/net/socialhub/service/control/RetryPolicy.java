@@ -0,0 +1,225 @@
+package net.socialhub.service.control;
+
+import net.socialhub.model.error.CircuitOpenException;
+import net.socialhub.model.error.RateLimitExceededException;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry Policy
+ * 一時的なエラーの再試行方針
+ *
+ * 再試行の間隔は指数的に増加させ、全区間のジッターを加える (full jitter)。
+ * Retry-After やリセット時刻が分かる場合はその時間待機する。
+ * 参照系 (冪等) は過負荷・通信エラーで再試行し、
+ * 更新系はリクエストが処理されていないことが明らかな場合のみ再試行する。
+ */
+public final class RetryPolicy {
+
+    /** Not retryable */
+    public static final long NOT_RETRYABLE = -1L;
+
+    /** Retryable with backoff (wait time is unknown) */
+    public static final long BACKOFF = 0L;
+
+    /** Status code of too many requests */
+    public static final int TOO_MANY_REQUESTS = 429;
+
+    /** Default config */
+    private static RetryPolicy defaultPolicy = new RetryPolicy(3, 500L, 8 * 1000L, 30 * 1000L);
+
+    /** Max attempts (include first request) */
+    private final int maxAttempts;
+
+    /** Base delay of exponential backoff */
+    private final long baseDelayMillis;
+
+    /** Max delay of exponential backoff */
+    private final long maxDelayMillis;
+
+    /** Max wait of Retry-After (not retry if longer) */
+    private final long maxRetryAfterMillis;
+
+    /**
+     * Classify exception of service
+     * サービスのエラーを分類
+     */
+    public interface Classifier {
+
+        /**
+         * Get wait time before retry
+         * (NOT_RETRYABLE, BACKOFF or Retry-After millis)
+         * 再試行までの待機時間を取得
+         */
+        long retryAfter(Exception e, boolean idempotent);
+    }
+
+    // ============================================================== //
+    // Static functions
+    // ============================================================== //
+
+    /**
+     * Get default policy
+     * デフォルトの方針を取得
+     */
+    public static synchronized RetryPolicy ofDefault() {
+        return defaultPolicy;
+    }
+
+    /**
+     * Set default policy
+     * デフォルトの方針を設定
+     */
+    public static synchronized void setDefault(RetryPolicy policy) {
+        defaultPolicy = policy;
+    }
+
+    /**
+     * Make policy without retry
+     * 再試行しない方針を作成
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, 0L, 0L, 0L);
+    }
+
+    /**
+     * Make policy
+     * 方針を作成
+     */
+    public static RetryPolicy of(int maxAttempts, long baseDelayMillis, long maxDelayMillis, long maxRetryAfterMillis) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive.");
+        }
+        return new RetryPolicy(maxAttempts, baseDelayMillis, maxDelayMillis, maxRetryAfterMillis);
+    }
+
+    private RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis, long maxRetryAfterMillis) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxRetryAfterMillis = maxRetryAfterMillis;
+    }
+
+    // ============================================================== //
+    // Functions
+    // ============================================================== //
+
+    /**
+     * Get delay before next attempt (NOT_RETRYABLE if give up)
+     * (attempt starts with 1)
+     * 次の試行までの待機時間を取得 (再試行しない場合は NOT_RETRYABLE)
+     */
+    public long delayMillis(int attempt, long retryAfter) {
+        if (retryAfter < 0 || attempt >= maxAttempts) {
+            return NOT_RETRYABLE;
+        }
+
+        // 待機時間が分かる場合は少しずらして待機
+        if (retryAfter > 0) {
+            if (retryAfter > maxRetryAfterMillis) {
+                return NOT_RETRYABLE;
+            }
+            return retryAfter + jitter(baseDelayMillis);
+        }
+
+        return backoffMillis(attempt);
+    }
+
+    /**
+     * Get exponential backoff with full jitter
+     * 指数バックオフの待機時間を取得 (ジッター付き)
+     */
+    public long backoffMillis(int attempt) {
+        long ceiling = baseDelayMillis << Math.min(Math.max(attempt - 1, 0), 20);
+        return jitter(Math.min(maxDelayMillis, ceiling));
+    }
+
+    /**
+     * Classify common errors (network, status code)
+     * (Requests stopped before sending by local rate limit or circuit breaker are not retried,
+     * because they have already waited as long as allowed)
+     * 共通のエラーを分類 (送信前に止めたものは再試行しない)
+     */
+    public static long retryAfterOf(Throwable e, boolean idempotent) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+
+            // 送信前にレートリミット・サーキットブレーカーで止めたもの
+            // (許容する待機時間を既に超えているため、再試行せずに呼び出し元に返す)
+            if (t instanceof RateLimitExceededException
+                    || t instanceof CircuitOpenException) {
+                return NOT_RETRYABLE;
+            }
+
+            // レスポンスが返却されている場合はステータスで判断
+            int status = statusCodeOf(t);
+            if (status == TOO_MANY_REQUESTS) {
+                return BACKOFF;
+            }
+            if (status == 502 || status == 503 || status == 504) {
+                return idempotent ? BACKOFF : NOT_RETRYABLE;
+            }
+            if (status > 0) {
+                return NOT_RETRYABLE;
+            }
+
+            // 接続できていないため更新系も再試行可能
+            if (t instanceof ConnectException
+                    || t instanceof UnknownHostException
+                    || t instanceof NoRouteToHostException) {
+                return BACKOFF;
+            }
+            if (t instanceof IOException) {
+                return idempotent ? BACKOFF : NOT_RETRYABLE;
+            }
+        }
+        return NOT_RETRYABLE;
+    }
+
+    /**
+     * Get HTTP status code of library exception (-1 if unknown)
+     * (Exceptions of each library expose status code in different names)
+     * ライブラリの例外から HTTP ステータスを取得
+     */
+    public static int statusCodeOf(Throwable e) {
+        for (String name : new String[]{"getStatusCode", "getResponseCode", "getStatus"}) {
+            try {
+                Method method = e.getClass().getMethod(name);
+                Class<?> type = method.getReturnType();
+                if (type == int.class || type == Integer.class) {
+                    Object value = method.invoke(e);
+                    return (value != null) ? (Integer) value : -1;
+                }
+            } catch (Exception ignore) {
+                // not supported
+            }
+        }
+        return -1;
+    }
+
+    private static long jitter(long bound) {
+        return (bound > 0) ? ThreadLocalRandom.current().nextLong(bound + 1) : 0L;
+    }
+
+    //region // Getter&Setter
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    public long getMaxRetryAfterMillis() {
+        return maxRetryAfterMillis;
+    }
+    //endregion
+}
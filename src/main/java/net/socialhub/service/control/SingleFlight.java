@@ -0,0 +1,69 @@
+package net.socialhub.service.control;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single Flight
+ * 同一リクエストの同時実行をまとめる
+ *
+ * 同じキーのリクエストが実行中の場合は新たに実行せず、
+ * 実行中のリクエストの結果 (例外を含む) を共有する。
+ * 完了後の結果は保持しない (キャッシュは EntityCache を使用)。
+ */
+public class SingleFlight {
+
+    private final Map<Object, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Execute or join in-flight request
+     * リクエストを実行 (実行中の場合は結果を待機)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> supplier) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> other = flights.putIfAbsent(key, flight);
+        if (other != null) {
+            return (T) await(other);
+        }
+
+        try {
+            T result = supplier.get();
+            flight.complete(result);
+            return result;
+
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Get count of in-flight requests
+     * 実行中のリクエスト数を取得
+     */
+    public int getInFlightCount() {
+        return flights.size();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -74,7 +74,7 @@ public class FacebookAction extends AccountActionImpl {
 
     private <T> T proceed(ActionCaller<T, FacebookException> runner) {
         try {
-            return runner.proceed();
+            return canonical(runner.proceed());
         } catch (FacebookException e) {
             handleFacebookException(e);
             return null;
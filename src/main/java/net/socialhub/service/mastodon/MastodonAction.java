@@ -60,13 +60,18 @@ import net.socialhub.service.action.callback.lifecycle.ConnectCallback;
 import net.socialhub.service.action.callback.lifecycle.DisconnectCallback;
 import net.socialhub.service.action.callback.user.FollowUserCallback;
 import net.socialhub.service.action.specific.MicroBlogAccountAction;
+import net.socialhub.service.cache.ActionCache;
+import net.socialhub.service.cache.EntityStore;
+import net.socialhub.service.control.RetryPolicy;
 import net.socialhub.utils.MapperUtil;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static java.util.Comparator.comparing;
@@ -114,15 +119,15 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
      */
     @Override
     public User getUserMe() {
-        return proceed(() -> {
+        return coalesce(GetUserMe, () -> proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetUserMe);
             Response<mastodon4j.entity.Account> account = mastodon.verifyCredentials();
 
             service.getRateLimit().addInfo(GetUserMe, account);
-            me = MastodonMapper.user(account.get(), service);
-            return me;
-        });
+            return cacheUserMe(MastodonMapper.user(account.get(), service));
+        }));
     }
 
     /**
@@ -130,14 +135,15 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
      */
     @Override
     public User getUser(Identify id) {
-        return proceed(() -> {
+        return getCache().getUsers().get(id.getId(), () -> proceed(hedged(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetUser);
             Response<mastodon4j.entity.Account> account = mastodon.getAccount((Long) id.getId());
 
             service.getRateLimit().addInfo(GetUser, account);
             return MastodonMapper.user(account.get(), service);
-        });
+        })));
     }
 
     /**
@@ -148,10 +154,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(FollowUser);
             Response<?> relationship = mastodon.follow((Long) id.getId());
 
             service.getRateLimit().addInfo(FollowUser, relationship);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -162,10 +170,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UnfollowUser);
             Response<?> relationship = mastodon.unfollow((Long) id.getId());
 
             service.getRateLimit().addInfo(UnfollowUser, relationship);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -176,10 +186,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(MuteUser);
             Response<?> relationship = mastodon.mute((Long) id.getId());
 
             service.getRateLimit().addInfo(MuteUser, relationship);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -190,10 +202,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UnmuteUser);
             Response<?> relationship = mastodon.unmute((Long) id.getId());
 
             service.getRateLimit().addInfo(UnmuteUser, relationship);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -204,10 +218,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(BlockUser);
             Response<?> relationship = mastodon.block((Long) id.getId());
 
             service.getRateLimit().addInfo(BlockUser, relationship);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -218,10 +234,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UnblockUser);
             Response<?> relationship = mastodon.unblock((Long) id.getId());
 
             service.getRateLimit().addInfo(UnblockUser, relationship);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -229,15 +247,16 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
      */
     @Override
     public Relationship getRelationship(Identify id) {
-        return proceed(() -> {
+        return coalesce(GetRelationship, () -> proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetRelationship);
             Response<mastodon4j.entity.Relationship[]> relationships = //
                     mastodon.relationships((Long) id.getId());
 
             service.getRateLimit().addInfo(GetRelationship, relationships);
             return MastodonMapper.relationship(relationships.get()[0]);
-        });
+        }), id);
     }
 
     // ============================================================== //
@@ -253,6 +272,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         return proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetFollowingUsers);
             Range range = getRange(paging);
 
             Response<mastodon4j.entity.Account[]> accounts = //
@@ -271,6 +291,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         return proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetFollowerUsers);
             Range range = getRange(paging);
 
             Response<mastodon4j.entity.Account[]> accounts = //
@@ -289,6 +310,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         return proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(SearchUsers);
             Page page = getPage(paging);
 
             Response<Results> results = mastodon.search().search( //
@@ -308,15 +330,16 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
      */
     @Override
     public Pageable<Comment> getHomeTimeLine(Paging paging) {
-        return proceed(() -> {
+        return proceed(hedged(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(HomeTimeLine);
             Range range = getRange(paging);
 
             Response<Status[]> status = mastodon.getHomeTimeline(range);
             service.getRateLimit().addInfo(HomeTimeLine, status);
             return MastodonMapper.timeLine(status.get(), service, paging);
-        });
+        }));
     }
 
     /**
@@ -327,6 +350,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         return proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(MentionTimeLine);
             Range range = getRange(paging);
 
             Response<mastodon4j.entity.Notification[]> status = //
@@ -354,6 +378,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         return proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UserCommentTimeLine);
             Range range = getRange(paging);
 
             Response<Status[]> status = mastodon.accounts().getStatuses( //
@@ -377,6 +402,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
 
                     Mastodon mastodon = auth.getAccessor();
                     Service service = getAccount().getService();
+                    service.getRateLimit().acquire(UserLikeTimeLine);
                     Range range = getRange(paging);
 
                     Response<Status[]> status = mastodon.favourites().getFavourites(range);
@@ -399,6 +425,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         return proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UserMediaTimeLine);
             Range range = getRange(paging);
 
             Response<Status[]> status = mastodon.accounts().getStatuses( //
@@ -448,9 +475,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
      */
     @Override
     public void postComment(CommentForm req) {
-        proceed(() -> {
+
+        // アップロードと投稿を個別に再試行 (投稿の失敗で画像を再送しない)
+        proceed(composite(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(PostComment);
 
             StatusUpdate update = new StatusUpdate();
             update.setContent(req.getText());
@@ -472,9 +502,10 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
                 // Mastodon はアップロードされた順番で配置が決定
                 // -> 並列にメディアをアップロードせずに逐次上げる
                 req.getImages().forEach(image -> {
-                    InputStream input = new ByteArrayInputStream(image.getData());
-                    Response<Attachment> attachment = mastodon.media() //
-                            .postMedia(input, image.getName(), null);
+                    Response<Attachment> attachment = proceed(() -> {
+                        InputStream input = new ByteArrayInputStream(image.getData());
+                        return mastodon.media().postMedia(input, image.getName(), null);
+                    }, false);
                     update.getMediaIds().add(attachment.get().getId());
                 });
             }
@@ -484,9 +515,11 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
                 update.setSensitive(true);
             }
 
-            Response<Status> status = mastodon.statuses().postStatus(update);
-            service.getRateLimit().addInfo(PostComment, status);
-        });
+            proceed(() -> {
+                Response<Status> status = mastodon.statuses().postStatus(update);
+                service.getRateLimit().addInfo(PostComment, status);
+            });
+        }));
     }
 
     /**
@@ -494,14 +527,15 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
      */
     @Override
     public Comment getComment(Identify id) {
-        return proceed(() -> {
+        return getCache().getComments().get(id.getId(), () -> proceed(hedged(() -> {
             Mastodon mastodon = auth.getAccessor();
-            Response<Status> status = mastodon.statuses().getStatus((Long) id.getId());
-
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetComment);
+
+            Response<Status> status = mastodon.statuses().getStatus((Long) id.getId());
             service.getRateLimit().addInfo(GetComment, status);
             return MastodonMapper.comment(status.get(), service);
-        });
+        })));
     }
 
     /**
@@ -512,10 +546,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(LikeComment);
             Response<Status> status = mastodon.statuses().favourite((Long) id.getId());
 
             service.getRateLimit().addInfo(LikeComment, status);
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -526,10 +562,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UnlikeComment);
             Response<Status> status = mastodon.statuses().unfavourite((Long) id.getId());
 
             service.getRateLimit().addInfo(UnlikeComment, status);
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -540,10 +578,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(ShareComment);
             Response<Status> status = mastodon.statuses().reblog((Long) id.getId());
 
             service.getRateLimit().addInfo(ShareComment, status);
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -554,10 +594,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UnShareComment);
             Response<Status> status = mastodon.statuses().unreblog((Long) id.getId());
 
             service.getRateLimit().addInfo(UnShareComment, status);
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -608,10 +650,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(DeleteComment);
             Response<Void> voids = mastodon.statuses().deleteStatus((Long) id.getId());
 
             service.getRateLimit().addInfo(DeleteComment, voids);
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -619,7 +663,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
      */
     @Override
     public List<ReactionCandidate> getReactionCandidates() {
-        return MastodonMapper.reactionCandidates();
+        return getCache().getEmojis().get(ActionCache.ME, MastodonMapper::reactionCandidates);
     }
 
     /**
@@ -627,9 +671,10 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
      */
     @Override
     public Context getCommentContext(Identify id) {
-        return proceed(() -> {
+        return coalesce(GetContext, () -> proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetContext);
 
             Long displayId = (Long) ((id instanceof Comment) ? //
                     ((Comment) id).getDisplayComment().getId() : id.getId());
@@ -638,17 +683,18 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
 
             service.getRateLimit().addInfo(GetContext, response);
 
+            Map<Long, User> users = new HashMap<>();
             Context context = new Context();
             context.setDescendants(Arrays.stream(response.get().getDescendants()) //
-                    .map(e -> MastodonMapper.comment(e, service)) //
+                    .map(e -> MastodonMapper.comment(e, service, users)) //
                     .collect(toList()));
             context.setAncestors(Arrays.stream(response.get().getAncestors()) //
-                    .map(e -> MastodonMapper.comment(e, service)) //
+                    .map(e -> MastodonMapper.comment(e, service, users)) //
                     .collect(toList()));
 
             MapperUtil.sortContext(context);
             return context;
-        });
+        }), id);
     }
 
     // ============================================================== //
@@ -660,9 +706,10 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
      */
     @Override
     public Pageable<Channel> getChannels(Identify id, Paging paging) {
-        return proceed(() -> {
+        return getCache().getChannels(id, paging, () -> proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetChannels);
 
             if (id != null) {
                 User me = getUserMeWithCache();
@@ -675,7 +722,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
             Response<mastodon4j.entity.List[]> lists = mastodon.list().getLists();
             service.getRateLimit().addInfo(GetChannels, lists);
             return MastodonMapper.channels(lists.get(), service);
-        });
+        }));
     }
 
     /**
@@ -686,6 +733,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         return proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(ChannelTimeLine);
             Range range = getRange(paging);
 
             Response<Status[]> status = mastodon.timelines()
@@ -704,6 +752,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
         return proceed(() -> {
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(ChannelTimeLine);
             Long limit = (paging != null) ? paging.getCount() : null;
 
             Response<mastodon4j.entity.Account[]> status = mastodon
@@ -731,12 +780,13 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
             Response<Conversation[]> response =
                     mastodon.timelines().getConversations(range);
 
+            Map<Long, User> users = new HashMap<>();
             List<Thread> threads = new ArrayList<>();
             for (Conversation conv : response.get()) {
 
                 // 最後のコメントを取得
                 Comment comment = MastodonMapper
-                        .comment(conv.getLastStatus(), service);
+                        .comment(conv.getLastStatus(), service, users);
 
                 // 「名前: コメント内容」のフォーマットで説明文を作成
                 String description = comment.getUser().getName()
@@ -752,7 +802,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
 
                 // アカウントリストを設定
                 for (mastodon4j.entity.Account account : conv.getAccounts()) {
-                    User user = MastodonMapper.user(account, service);
+                    User user = MastodonMapper.user(account, service, users);
                     thread.getUsers().add(user);
                 }
             }
@@ -776,6 +826,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
             Long commentId = null;
             Mastodon mastodon = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetContext);
 
             // Identify を直接作成した場合
             if (id.getId() instanceof Long) {
@@ -796,12 +847,13 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
             Response<mastodon4j.entity.Context> response =
                     mastodon.getContext(commentId);
 
+            Map<Long, User> users = new HashMap<>();
             List<Comment> comments = new ArrayList<>();
             comments.addAll(Arrays.stream(response.get().getDescendants()) //
-                    .map(e -> MastodonMapper.comment(e, service)) //
+                    .map(e -> MastodonMapper.comment(e, service, users)) //
                     .collect(toList()));
             comments.addAll(Arrays.stream(response.get().getAncestors()) //
-                    .map(e -> MastodonMapper.comment(e, service)) //
+                    .map(e -> MastodonMapper.comment(e, service, users)) //
                     .collect(toList()));
 
             // 最後のコメントも追加
@@ -847,7 +899,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
 
             MastodonStream model = new MastodonStream();
             UserStream stream = mastodon.streaming().userStream().register(
-                    new MastodonCommentListener(callback, service),
+                    new MastodonCommentListener(callback, service, getCache().getStore()),
                     new MastodonConnectionListener(callback, model));
 
             model.setStream(stream);
@@ -1028,7 +1080,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
 
             MastodonStream model = new MastodonStream();
             PublicStream stream = mastodon.streaming().publicStream(true).register(
-                    new MastodonCommentListener(callback, service),
+                    new MastodonCommentListener(callback, service, getCache().getStore()),
                     new MastodonConnectionListener(callback, model));
 
             model.setStream(stream);
@@ -1048,7 +1100,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
 
             MastodonStream model = new MastodonStream();
             PublicStream stream = mastodon.streaming().publicStream(false).register(
-                    new MastodonCommentListener(callback, service),
+                    new MastodonCommentListener(callback, service, getCache().getStore()),
                     new MastodonConnectionListener(callback, model));
 
             model.setStream(stream);
@@ -1094,8 +1146,9 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
             Response<Status[]> status = mastodon.accounts().getStatuses( //
                     (Long) id.getId(), true, false, false, false, range);
 
+            Map<Long, User> users = new HashMap<>();
             return Stream.of(status.get())
-                    .map(s -> MastodonMapper.comment(s, service))
+                    .map(s -> MastodonMapper.comment(s, service, users))
                     .collect(toList());
         });
     }
@@ -1156,18 +1209,21 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
 
         private EventCallback listener;
         private Service service;
+        private EntityStore store;
 
         MastodonCommentListener(
                 EventCallback listener,
-                Service service) {
+                Service service,
+                EntityStore store) {
             this.listener = listener;
             this.service = service;
+            this.store = store;
         }
 
         @Override
         public void onUpdate(Status status) {
             if (listener instanceof UpdateCommentCallback) {
-                Comment comment = MastodonMapper.comment(status, service);
+                Comment comment = store.comment(MastodonMapper.comment(status, service));
                 CommentEvent event = new CommentEvent(comment);
                 ((UpdateCommentCallback) listener).onUpdate(event);
             }
@@ -1175,6 +1231,7 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
 
         @Override
         public void onDelete(long id) {
+            store.removeComment(id);
             if (listener instanceof DeleteCommentCallback) {
                 IdentifyEvent event = new IdentifyEvent(id);
                 ((DeleteCommentCallback) listener).onDelete(event);
@@ -1277,8 +1334,12 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
     // ============================================================== //
 
     private <T> T proceed(ActionCaller<T, Exception> runner) {
+        return proceed(runner, true);
+    }
+
+    private <T> T proceed(ActionCaller<T, Exception> runner, boolean idempotent) {
         try {
-            return runner.proceed();
+            return canonical(retry(runner, idempotent, RetryPolicy::retryAfterOf));
         } catch (Exception e) {
             handleException(e);
             return null;
@@ -1287,13 +1348,18 @@ public class MastodonAction extends AccountActionImpl implements MicroBlogAccoun
 
     private void proceed(ActionRunner<Exception> runner) {
         try {
-            runner.proceed();
+            retry(runner, false, RetryPolicy::retryAfterOf);
         } catch (Exception e) {
             handleException(e);
         }
     }
 
     private static void handleException(Exception e) {
+
+        // 送信前に止めたもの (レートリミット等) はそのまま
+        if (e instanceof SocialHubException) {
+            throw (SocialHubException) e;
+        }
         SocialHubException se = new SocialHubException(e);
 
         if (e instanceof MastodonException) {
@@ -27,6 +27,9 @@ public class MastodonAuth implements ServiceAuth<Mastodon> {
     private String clientSecret;
     private String accessToken;
 
+    /** Accessor with current credentials (shared by threads) */
+    private volatile Mastodon accessor;
+
     public MastodonAuth(String host) {
         this.host = host;
     }
@@ -34,11 +37,30 @@ public class MastodonAuth implements ServiceAuth<Mastodon> {
     /**
      * Get Request Token for Mastodon
      * Mastodon のリクエストトークンの取得
+     * (Instance is built once and reused until credentials are changed)
      */
     @Override
     public Mastodon getAccessor() {
-        return MastodonFactory.getInstance( //
-                this.host, this.accessToken);
+        Mastodon mastodon = accessor;
+        if (mastodon != null) {
+            return mastodon;
+        }
+
+        synchronized (this) {
+            if (accessor == null) {
+                accessor = MastodonFactory.getInstance( //
+                        this.host, this.accessToken);
+            }
+            return accessor;
+        }
+    }
+
+    /**
+     * Discard accessor (rebuilt with current credentials on next call)
+     * アクセサを破棄 (次回の呼び出し時に現在の認証情報で再生成)
+     */
+    public synchronized void clearAccessor() {
+        accessor = null;
     }
 
     /**
@@ -48,9 +70,12 @@ public class MastodonAuth implements ServiceAuth<Mastodon> {
     public Account getAccountWithAccessToken(String accessToken) {
 
         this.accessToken = accessToken;
+        clearAccessor();
+
         Account account = new Account();
         ServiceType type = ServiceType.Mastodon;
         Service service = new Service(type, account);
+        service.setApiHost(host);
         account.setAction(new MastodonAction(account, this));
         account.setService(service);
         return account;
@@ -124,6 +149,7 @@ public class MastodonAuth implements ServiceAuth<Mastodon> {
 
     public void setHost(String host) {
         this.host = host;
+        clearAccessor();
     }
 
     public String getClientId() {
@@ -148,6 +174,7 @@ public class MastodonAuth implements ServiceAuth<Mastodon> {
 
     public void setAccessToken(String accessToken) {
         this.accessToken = accessToken;
+        clearAccessor();
     }
     //endregion
 }
@@ -12,11 +12,11 @@ import net.socialhub.define.service.mastodon.MastodonMediaType;
 import net.socialhub.define.service.mastodon.MastodonNotificationType;
 import net.socialhub.define.service.mastodon.MastodonReactionType;
 import net.socialhub.logger.Logger;
-import net.socialhub.model.common.AttributedElement;
 import net.socialhub.model.common.AttributedFiled;
 import net.socialhub.model.common.AttributedItem;
 import net.socialhub.model.common.AttributedKind;
 import net.socialhub.model.common.AttributedString;
+import net.socialhub.model.common.EmojiMatcher;
 import net.socialhub.model.common.xml.XmlConvertRule;
 import net.socialhub.model.service.Application;
 import net.socialhub.model.service.Channel;
@@ -36,15 +36,16 @@ import net.socialhub.model.service.addition.mastodon.MastodonUser;
 import net.socialhub.model.service.paging.BorderPaging;
 import net.socialhub.model.service.support.PollOption;
 import net.socialhub.model.service.support.ReactionCandidate;
+import net.socialhub.utils.DateParseUtil;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.TimeZone;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
@@ -53,8 +54,6 @@ public class MastodonMapper {
 
     private static Logger logger = Logger.getLogger(MastodonMapper.class);
 
-    private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
-
     private static final XmlConvertRule XML_RULE = xmlConvertRule();
 
     /** J2ObjC はダイナミックロードできない為に使用を明示するために使用 */
@@ -63,9 +62,6 @@ public class MastodonMapper {
             mastodon4j.entity.Mention.class,
             mastodon4j.entity.Tag.class);
 
-    /** 時間のパーサーオブジェクト */
-    private static SimpleDateFormat dateParser = null;
-
     // ============================================================== //
     // Single Object Mapper
     // ============================================================== //
@@ -90,7 +86,8 @@ public class MastodonMapper {
 
         // ユーザー説明分の設定
         model.setDescription(AttributedString.xhtml(account.getNote(), XML_RULE));
-        model.getDescription().addEmojiElement(model.getEmojis());
+        EmojiMatcher emojiMatcher = EmojiMatcher.of(model.getEmojis());
+        model.getDescription().addEmojiElement(emojiMatcher);
 
         model.setFollowersCount(account.getFollowersCount());
         model.setFollowingsCount(account.getFollowingCount());
@@ -108,7 +105,7 @@ public class MastodonMapper {
                 AttributedFiled f = new AttributedFiled();
 
                 f.setValue(AttributedString.xhtml(field.getValue(), XML_RULE));
-                f.getValue().addEmojiElement(model.getEmojis());
+                f.getValue().addEmojiElement(emojiMatcher);
                 f.setName(field.getName());
                 model.getFields().add(f);
             }
@@ -117,6 +114,18 @@ public class MastodonMapper {
         return model;
     }
 
+    /**
+     * ユーザーマッピング
+     * (同じページ内の同じユーザーは一度だけ作成して共有)
+     */
+    public static User user(
+            Account account, //
+            Service service, //
+            Map<Long, User> users) {
+
+        return users.computeIfAbsent(account.getId(), (id) -> user(account, service));
+    }
+
     /**
      * ユーザー関係
      */
@@ -138,12 +147,24 @@ public class MastodonMapper {
             Status status, //
             Service service) {
 
+        return comment(status, service, new HashMap<>());
+    }
+
+    /**
+     * コメントマッピング
+     * (ユーザーはページ内で共有)
+     */
+    public static Comment comment(
+            Status status, //
+            Service service, //
+            Map<Long, User> users) {
+
         MastodonComment model = new MastodonComment(service);
 
         try {
             model.setId(status.getId());
-            model.setUser(user(status.getAccount(), service));
-            model.setCreateAt(getDateParser().parse(status.getCreatedAt()));
+            model.setUser(user(status.getAccount(), service, users));
+            model.setCreateAt(DateParseUtil.iso8601(status.getCreatedAt()));
             model.setApplication(application(status.getApplication()));
             model.setPossiblySensitive(status.isSensitive());
             model.setVisibility(status.getVisibility());
@@ -156,7 +177,7 @@ public class MastodonMapper {
 
             // リツイートの場合は内部を展開
             if (status.getReblog() != null) {
-                model.setSharedComment(comment(status.getReblog(), service));
+                model.setSharedComment(comment(status.getReblog(), service, users));
                 model.setMedias(new ArrayList<>());
 
             } else {
@@ -164,18 +185,21 @@ public class MastodonMapper {
                 // 絵文字の追加
                 model.setEmojis(emojis(status.getEmojis()));
 
+                EmojiMatcher emojiMatcher = EmojiMatcher.of(model.getEmojis());
+
                 // 注釈の設定
                 model.setSpoilerText(AttributedString.plain(status.getSpoilerText()));
-                model.getSpoilerText().addEmojiElement(model.getEmojis());
+                model.getSpoilerText().addEmojiElement(emojiMatcher);
 
                 // 本文の設定
                 model.setText(AttributedString.xhtml(status.getContent(), XML_RULE));
-                model.getText().addEmojiElement(model.getEmojis());
+                model.getText().addEmojiElement(emojiMatcher);
 
                 // メンションの設定
                 if (status.getMentions() != null) {
-                    for (Mention mention : status.getMentions()) {
-                        for (AttributedElement elem : model.getText().getElements()) {
+                    List<Mention> mentions = status.getMentions();
+                    model.getText().addElementProcessor((elem) -> {
+                        for (Mention mention : mentions) {
 
                             // 要素の種類が ACCOUNT の場合
                             if ((elem.getKind() == AttributedKind.ACCOUNT)
@@ -188,7 +212,7 @@ public class MastodonMapper {
                                 }
                             }
                         }
-                    }
+                    });
                 }
 
                 // メディアの設定
@@ -269,7 +293,7 @@ public class MastodonMapper {
 
             // 通行期限
             if (poll.getExpiresAt() != null) {
-                model.setExpireAt(getDateParser().parse(poll.getExpiresAt()));
+                model.setExpireAt(DateParseUtil.iso8601(poll.getExpiresAt()));
             }
 
             // 絵文字の追加
@@ -344,9 +368,21 @@ public class MastodonMapper {
             mastodon4j.entity.Notification notification,
             Service service) {
 
+        return notification(notification, service, new HashMap<>());
+    }
+
+    /**
+     * 通知マッピング
+     * (ユーザーはページ内で共有)
+     */
+    public static Notification notification(
+            mastodon4j.entity.Notification notification,
+            Service service,
+            Map<Long, User> users) {
+
         try {
             Notification model = new Notification(service);
-            model.setCreateAt(getDateParser().parse(notification.getCreatedAt()));
+            model.setCreateAt(DateParseUtil.iso8601(notification.getCreatedAt()));
             model.setId(notification.getId());
 
             MastodonNotificationType type =
@@ -361,13 +397,13 @@ public class MastodonMapper {
             // ステータス情報
             if (notification.getStatus() != null) {
                 model.setComments(Collections.singletonList(
-                        comment(notification.getStatus(), service)));
+                        comment(notification.getStatus(), service, users)));
             }
 
             // ユーザー情報
             if (notification.getAccount() != null) {
                 model.setUsers(Collections.singletonList(
-                        user(notification.getAccount(), service)));
+                        user(notification.getAccount(), service, users)));
             }
             return model;
 
@@ -423,8 +459,9 @@ public class MastodonMapper {
             Service service, //
             Paging paging) {
 
+        Map<Long, User> users = new HashMap<>();
         Pageable<Comment> model = new Pageable<>();
-        model.setEntities(statuses.stream().map(e -> comment(e, service)) //
+        model.setEntities(statuses.stream().map(e -> comment(e, service, users)) //
                 .sorted(Comparator.comparing(Comment::getCreateAt).reversed()) //
                 .collect(toList()));
 
@@ -471,9 +508,10 @@ public class MastodonMapper {
             Service service,
             Paging paging) {
 
+        Map<Long, User> users = new HashMap<>();
         Pageable<Notification> model = new Pageable<>();
         model.setEntities(Stream.of(notifications)
-                .map(a -> notification(a, service))
+                .map(a -> notification(a, service, users))
                 .collect(toList()));
 
         model.setPaging(beMastodonPaging(BorderPaging.fromPaging(paging)));
@@ -528,16 +566,4 @@ public class MastodonMapper {
         bp.setIdUnit(4L);
         return bp;
     }
-
-    // ============================================================== //
-    // Support
-    // ============================================================== //
-
-    public static SimpleDateFormat getDateParser() {
-        if (dateParser == null) {
-            dateParser = new SimpleDateFormat(DATE_FORMAT);
-            dateParser.setTimeZone(TimeZone.getTimeZone("UTC"));
-        }
-        return dateParser;
-    }
 }
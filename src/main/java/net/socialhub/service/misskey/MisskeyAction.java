@@ -126,6 +126,9 @@ import net.socialhub.service.action.callback.lifecycle.ConnectCallback;
 import net.socialhub.service.action.callback.lifecycle.DisconnectCallback;
 import net.socialhub.service.action.callback.user.FollowUserCallback;
 import net.socialhub.service.action.specific.MicroBlogAccountAction;
+import net.socialhub.service.cache.ActionCache;
+import net.socialhub.service.cache.EntityStore;
+import net.socialhub.service.control.RetryPolicy;
 import net.socialhub.utils.CollectionUtil;
 import net.socialhub.utils.HandlingUtil;
 import net.socialhub.utils.MapperUtil;
@@ -139,13 +142,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
+import static net.socialhub.define.action.OtherActionType.GetContext;
+import static net.socialhub.define.action.OtherActionType.GetRelationship;
+import static net.socialhub.define.action.OtherActionType.GetUserMe;
 
 public class MisskeyAction extends AccountActionImpl implements MicroBlogAccountAction {
 
@@ -153,9 +158,6 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
 
     private ServiceAuth<Misskey> auth;
 
-    /** Reaction Candidate Cache */
-    private List<ReactionCandidate> reactionCandidate;
-
     // ============================================================== //
     // Account
     // ============================================================== //
@@ -165,16 +167,15 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
      */
     @Override
     public User getUserMe() {
-        return proceed(() -> {
+        return coalesce(GetUserMe, () -> proceed(() -> {
             Misskey misskey = auth.getAccessor();
             Service service = getAccount().getService();
             Response<IResponse> response = misskey.accounts()
                     .i(IRequest.builder().build());
 
-            me = MisskeyMapper.user(response.get(),
-                    misskey.getHost(), service);
-            return me;
-        });
+            return cacheUserMe(MisskeyMapper.user(response.get(),
+                    misskey.getHost(), service));
+        }));
     }
 
     /**
@@ -182,7 +183,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
      */
     @Override
     public User getUser(Identify id) {
-        return proceed(() -> {
+        return getCache().getUsers().get(id.getId(), () -> proceed(hedged(() -> {
             Misskey misskey = auth.getAccessor();
             Service service = getAccount().getService();
             UsersShowResponse users;
@@ -203,7 +204,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
 
             return MisskeyMapper.user(users,
                     misskey.getHost(), service);
-        });
+        })));
     }
 
     /**
@@ -219,6 +220,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                             .userId((String) id.getId())
                             .build());
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -234,6 +236,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                             .userId((String) id.getId())
                             .build());
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -248,6 +251,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                             .userId((String) id.getId())
                             .build());
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -262,6 +266,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                             .userId((String) id.getId())
                             .build());
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -276,6 +281,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                             .userId((String) id.getId())
                             .build());
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -290,6 +296,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                             .userId((String) id.getId())
                             .build());
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -297,7 +304,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
      */
     @Override
     public Relationship getRelationship(Identify id) {
-        return proceed(() -> {
+        return coalesce(GetRelationship, () -> proceed(() -> {
             Misskey misskey = auth.getAccessor();
             Response<UsersRelationResponse[]> response =
                     misskey.users().relation(UsersRelationRequest.builder()
@@ -305,7 +312,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                             .build());
 
             return MisskeyMapper.relationship(response.get()[0]);
-        });
+        }), id);
     }
 
     // ============================================================== //
@@ -416,7 +423,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
      */
     @Override
     public Pageable<Comment> getHomeTimeLine(Paging paging) {
-        return proceed(() -> {
+        return proceed(hedged(() -> {
             Misskey misskey = auth.getAccessor();
             Service service = getAccount().getService();
 
@@ -433,7 +440,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                             .filter(e -> e.getFeaturedId() == null)
                             .toArray(Note[]::new),
                     misskey.getHost(), service, paging);
-        });
+        }));
     }
 
     /**
@@ -578,9 +585,10 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
             return;
         }
 
-        proceed(() -> {
+        // アップロードと投稿を個別に再試行 (投稿の失敗で画像を再送しない)
+        proceed(composite(() -> {
             Misskey misskey = auth.getAccessor();
-            ExecutorService pool = Executors.newCachedThreadPool();
+            ExecutorService pool = getExecutor();
 
             NotesCreateRequest.NotesCreateRequestBuilder builder =
                     NotesCreateRequest.builder();
@@ -605,7 +613,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
 
                 // 画像を並列でアップロードする
                 List<Future<String>> medias = req.getImages() //
-                        .stream().map(image -> pool.submit(() -> {
+                        .stream().map(image -> pool.submit(() -> proceed(() -> {
                             InputStream input = new ByteArrayInputStream(image.getData());
                             Response<FilesCreateResponse> response = misskey.files()
                                     .create(FilesCreateRequest.builder()
@@ -616,15 +624,17 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                                             .build());
 
                             return response.get().getId();
-                        })).collect(toList());
+                        }, false))).collect(toList());
 
                 fileIds.addAll(medias.stream().map( //
                         (e) -> HandlingUtil.runtime(e::get)) //
                         .collect(toList()));
             }
 
-            misskey.notes().create(builder.build());
-        });
+            proceed(() -> {
+                misskey.notes().create(builder.build());
+            });
+        }));
     }
 
     /**
@@ -632,7 +642,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
      */
     @Override
     public Comment getComment(Identify id) {
-        return proceed(() -> {
+        return getCache().getComments().get(id.getId(), () -> proceed(hedged(() -> {
             Misskey misskey = auth.getAccessor();
             Service service = getAccount().getService();
 
@@ -643,7 +653,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
 
             return MisskeyMapper.comment(response.get(),
                     misskey.getHost(), service);
-        });
+        })));
     }
 
     /**
@@ -657,6 +667,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                     .noteId((String) id.getId())
                     .build());
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -670,6 +681,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                     .noteId((String) id.getId())
                     .build());
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -683,6 +695,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                     .renoteId((String) id.getId())
                     .build());
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -696,6 +709,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                     .noteId((String) id.getId())
                     .build());
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -763,6 +777,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                     .noteId((String) id.getId())
                     .build());
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -770,21 +785,16 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
      */
     @Override
     public List<ReactionCandidate> getReactionCandidates() {
-        if (this.reactionCandidate != null) {
-            return this.reactionCandidate;
-        }
-
-        return proceed(() -> {
+        return getCache().getEmojis().get(ActionCache.ME, () -> proceed(() -> {
             Misskey misskey = auth.getAccessor();
             Response<MetaResponse> response =
                     misskey.meta().meta(MetaRequest.builder()
                             .detail(true)
                             .build());
 
-            this.reactionCandidate = MisskeyMapper.reactionCandidates(
+            return MisskeyMapper.reactionCandidates(
                     response.get().getEmojis());
-            return this.reactionCandidate;
-        });
+        }));
     }
 
     /**
@@ -792,10 +802,10 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
      */
     @Override
     public Context getCommentContext(Identify id) {
-        return proceed(() -> {
+        return coalesce(GetContext, () -> proceed(() -> {
             Misskey misskey = auth.getAccessor();
             Service service = getAccount().getService();
-            ExecutorService pool = Executors.newCachedThreadPool();
+            ExecutorService pool = getExecutor();
 
             String displayId = (String) ((id instanceof Comment) ? //
                     ((Comment) id).getDisplayComment().getId() : id.getId());
@@ -826,18 +836,19 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                     .map(Note::getId).collect(toList()));
 
             // コンテキストの組み立て
+            Map<String, User> users = new HashMap<>();
             Context context = new Context();
             context.setAncestors(Stream.of(conversation.get()) //
-                    .map(e -> MisskeyMapper.comment(e, misskey.getHost(), service)) //
+                    .map(e -> MisskeyMapper.comment(e, misskey.getHost(), service, users)) //
                     .collect(toList()));
 
             context.setDescendants(descendants.stream() //
-                    .map(e -> MisskeyMapper.comment(e, misskey.getHost(), service)) //
+                    .map(e -> MisskeyMapper.comment(e, misskey.getHost(), service, users)) //
                     .collect(toList()));
 
             MapperUtil.sortContext(context);
             return context;
-        });
+        }), id);
     }
 
     // さらなる返信を探して notes に追加
@@ -896,7 +907,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
      */
     @Override
     public Pageable<Channel> getChannels(Identify id, Paging paging) {
-        return proceed(() -> {
+        return getCache().getChannels(id, paging, () -> proceed(() -> {
             Misskey misskey = auth.getAccessor();
             Service service = getAccount().getService();
 
@@ -913,7 +924,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
                     misskey.lists().list(UsersListsListRequest.builder().build());
 
             return MisskeyMapper.channels(response.get(), service);
-        });
+        }));
     }
 
     /**
@@ -978,7 +989,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
         return proceed(() -> {
             Misskey misskey = auth.getAccessor();
             Service service = getAccount().getService();
-            ExecutorService pool = Executors.newCachedThreadPool();
+            ExecutorService pool = getExecutor();
 
             Future<Response<MessagingHistoryResponse[]>> groupsFuture =
                     pool.submit(() -> misskey.messages().history(
@@ -1193,7 +1204,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
         return proceed(() -> {
             Misskey misskey = auth.getAccessor();
             Service service = getAccount().getService();
-            ExecutorService pool = Executors.newCachedThreadPool();
+            ExecutorService pool = getExecutor();
 
             Future<List<ReactionCandidate>> reactionFuture =
                     pool.submit(this::getReactionCandidates);
@@ -1237,7 +1248,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
 
             MisskeyCommentsListener commentsListener =
                     new MisskeyCommentsListener(callback,
-                            service, misskey.getHost());
+                            service, misskey.getHost(), getCache().getStore());
             MisskeyConnectionListener connectionListener =
                     new MisskeyConnectionListener(callback, () ->
                             stream.homeTimeLine(commentsListener));
@@ -1376,7 +1387,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
 
             MisskeyCommentsListener commentsListener =
                     new MisskeyCommentsListener(callback,
-                            service, misskey.getHost());
+                            service, misskey.getHost(), getCache().getStore());
             MisskeyConnectionListener connectionListener =
                     new MisskeyConnectionListener(callback, () ->
                             stream.localTimeline(commentsListener));
@@ -1403,7 +1414,7 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
 
             MisskeyCommentsListener commentsListener =
                     new MisskeyCommentsListener(callback,
-                            service, misskey.getHost());
+                            service, misskey.getHost(), getCache().getStore());
             MisskeyConnectionListener connectionListener =
                     new MisskeyConnectionListener(callback, () ->
                             stream.globalTimeline(commentsListener));
@@ -1482,20 +1493,23 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
         private EventCallback listener;
         private Service service;
         private String host;
+        private EntityStore store;
 
         MisskeyCommentsListener(
                 EventCallback listener,
                 Service service,
-                String host) {
+                String host,
+                EntityStore store) {
             this.listener = listener;
             this.service = service;
             this.host = host;
+            this.store = store;
         }
 
         @Override
         public void onNoteUpdate(Note note) {
             if (listener instanceof UpdateCommentCallback) {
-                Comment comment = MisskeyMapper.comment(note, host, service);
+                Comment comment = store.comment(MisskeyMapper.comment(note, host, service));
                 ((UpdateCommentCallback) listener).onUpdate(new CommentEvent(comment));
             }
         }
@@ -1624,8 +1638,12 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
     // ============================================================== //
 
     private <T> T proceed(ActionCaller<T, Exception> runner) {
+        return proceed(runner, true);
+    }
+
+    private <T> T proceed(ActionCaller<T, Exception> runner, boolean idempotent) {
         try {
-            return runner.proceed();
+            return canonical(retry(runner, idempotent, RetryPolicy::retryAfterOf));
         } catch (Exception e) {
             handleException(e);
             return null;
@@ -1634,13 +1652,18 @@ public class MisskeyAction extends AccountActionImpl implements MicroBlogAccount
 
     private void proceed(ActionRunner<Exception> runner) {
         try {
-            runner.proceed();
+            retry(runner, false, RetryPolicy::retryAfterOf);
         } catch (Exception e) {
             handleException(e);
         }
     }
 
     private static void handleException(Exception e) {
+
+        // 送信前に止めたもの (レートリミット等) はそのまま
+        if (e instanceof SocialHubException) {
+            throw (SocialHubException) e;
+        }
         SocialHubException se = new SocialHubException(e);
 
         if (e instanceof MisskeyException) {
@@ -29,6 +29,9 @@ public class MisskeyAuth implements ServiceAuth<Misskey> {
     private String clientSecret;
     private String accessToken;
 
+    /** Accessor with current credentials (shared by threads) */
+    private volatile Misskey accessor;
+
     public MisskeyAuth(String host) {
         this.host = host;
     }
@@ -36,13 +39,33 @@ public class MisskeyAuth implements ServiceAuth<Misskey> {
     /**
      * Get Request Token for Misskey
      * Mastodon のリクエストトークンの取得
+     * (Instance is built once and reused until credentials are changed)
      */
     @Override
     public Misskey getAccessor() {
-        if ((clientSecret != null) && (accessToken != null)) {
-            return MisskeyFactory.getInstance(host, clientSecret, accessToken);
+        Misskey misskey = accessor;
+        if (misskey != null) {
+            return misskey;
+        }
+
+        synchronized (this) {
+            if (accessor == null) {
+                if ((clientSecret != null) && (accessToken != null)) {
+                    accessor = MisskeyFactory.getInstance(host, clientSecret, accessToken);
+                } else {
+                    accessor = MisskeyFactory.getInstance(host);
+                }
+            }
+            return accessor;
         }
-        return MisskeyFactory.getInstance(host);
+    }
+
+    /**
+     * Discard accessor (rebuilt with current credentials on next call)
+     * アクセサを破棄 (次回の呼び出し時に現在の認証情報で再生成)
+     */
+    public synchronized void clearAccessor() {
+        accessor = null;
     }
 
     /**
@@ -52,9 +75,12 @@ public class MisskeyAuth implements ServiceAuth<Misskey> {
     public Account getAccountWithAccessToken(String accessToken) {
 
         this.accessToken = accessToken;
+        clearAccessor();
+
         Account account = new Account();
         ServiceType type = ServiceType.Misskey;
         Service service = new Service(type, account);
+        service.setApiHost(host);
         account.setAction(new MisskeyAction(account, this));
         account.setService(service);
         return account;
@@ -70,6 +96,7 @@ public class MisskeyAuth implements ServiceAuth<Misskey> {
 
         this.clientId = clientId;
         this.clientSecret = clientSecret;
+        clearAccessor();
     }
 
     /**
@@ -95,6 +122,7 @@ public class MisskeyAuth implements ServiceAuth<Misskey> {
 
         this.clientId = response.get().getId();
         this.clientSecret = response.get().getSecret();
+        clearAccessor();
     }
 
     /**
@@ -138,6 +166,7 @@ public class MisskeyAuth implements ServiceAuth<Misskey> {
 
     public void setHost(String host) {
         this.host = host;
+        clearAccessor();
     }
 
     public String getClientId() {
@@ -154,6 +183,7 @@ public class MisskeyAuth implements ServiceAuth<Misskey> {
 
     public void setClientSecret(String clientSecret) {
         this.clientSecret = clientSecret;
+        clearAccessor();
     }
 
     public String getAccessToken() {
@@ -162,6 +192,7 @@ public class MisskeyAuth implements ServiceAuth<Misskey> {
 
     public void setAccessToken(String accessToken) {
         this.accessToken = accessToken;
+        clearAccessor();
     }
     //endregion
 }
@@ -14,6 +14,7 @@ import net.socialhub.define.service.misskey.MisskeyVisibility;
 import net.socialhub.logger.Logger;
 import net.socialhub.model.common.AttributedFiled;
 import net.socialhub.model.common.AttributedString;
+import net.socialhub.model.common.EmojiMatcher;
 import net.socialhub.model.service.Channel;
 import net.socialhub.model.service.Comment;
 import net.socialhub.model.service.Emoji;
@@ -37,19 +38,19 @@ import net.socialhub.model.service.addition.misskey.MisskeyUser;
 import net.socialhub.model.service.support.Color;
 import net.socialhub.model.service.support.PollOption;
 import net.socialhub.model.service.support.ReactionCandidate;
+import net.socialhub.utils.DateParseUtil;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.TimeZone;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
@@ -60,15 +61,10 @@ public class MisskeyMapper {
 
     private static Logger logger = Logger.getLogger(MisskeyMapper.class);
 
-    private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
-
     /** J2ObjC はダイナミックロードできない為に使用を明示するために使用 */
     private final static List<Class<?>> ClassLoader = Arrays.asList(
             misskey4j.entity.Choice.class);
 
-    /** 時間のパーサーオブジェクト */
-    private static SimpleDateFormat dateParser = null;
-
     // ============================================================== //
     // Single Object Mapper
     // ============================================================== //
@@ -111,7 +107,8 @@ public class MisskeyMapper {
 
         // ユーザー説明分の設定
         model.setDescription(AttributedString.plain(account.getDescription()));
-        model.getDescription().addEmojiElement(model.getEmojis());
+        EmojiMatcher emojiMatcher = EmojiMatcher.of(model.getEmojis());
+        model.getDescription().addEmojiElement(emojiMatcher);
 
         model.setFollowersCount(account.getFollowersCount());
         model.setFollowingsCount(account.getFollowingCount());
@@ -146,7 +143,7 @@ public class MisskeyMapper {
                 AttributedFiled f = new AttributedFiled();
 
                 f.setValue(AttributedString.plain(field.getValue()));
-                f.getValue().addEmojiElement(model.getEmojis());
+                f.getValue().addEmojiElement(emojiMatcher);
                 f.setName(field.getName());
                 model.getFields().add(f);
             }
@@ -155,6 +152,19 @@ public class MisskeyMapper {
         return model;
     }
 
+    /**
+     * ユーザーマッピング
+     * (同じページ内の同じユーザーは一度だけ作成して共有)
+     */
+    public static User user(
+            misskey4j.entity.User account,
+            String host,
+            Service service,
+            Map<String, User> users) {
+
+        return users.computeIfAbsent(account.getId(), (id) -> user(account, host, service));
+    }
+
     /**
      * コメントマッピング
      */
@@ -163,12 +173,25 @@ public class MisskeyMapper {
             String host,
             Service service) {
 
+        return comment(note, host, service, new HashMap<>());
+    }
+
+    /**
+     * コメントマッピング
+     * (ユーザーはページ内で共有)
+     */
+    public static Comment comment(
+            Note note,
+            String host,
+            Service service,
+            Map<String, User> users) {
+
         MisskeyComment model = new MisskeyComment(service);
 
         try {
             model.setId(note.getId());
-            model.setUser(user(note.getUser(), host, service));
-            model.setCreateAt(getDateParser().parse(note.getCreatedAt()));
+            model.setUser(user(note.getUser(), host, service, users));
+            model.setCreateAt(DateParseUtil.iso8601(note.getCreatedAt()));
             model.setShareCount(note.getRenoteCount());
             model.setReplyCount(note.getRepliesCount());
             model.setVisibility(note.getVisibility());
@@ -183,18 +206,20 @@ public class MisskeyMapper {
             // リツイートの場合は内部を展開
             if (note.getRenote() != null) {
                 model.setSharedComment(comment(
-                        note.getRenote(), host, service));
+                        note.getRenote(), host, service, users));
             }
 
+            EmojiMatcher emojiMatcher = EmojiMatcher.of(model.getEmojis());
+
             // 注釈の設定
             if (note.getCw() != null) {
                 model.setSpoilerText(AttributedString.plain(note.getCw()));
-                model.getSpoilerText().addEmojiElement(model.getEmojis());
+                model.getSpoilerText().addEmojiElement(emojiMatcher);
             }
 
             // 本文の設定
             model.setText(AttributedString.plain(note.getText()));
-            model.getText().addEmojiElement(model.getEmojis());
+            model.getText().addEmojiElement(emojiMatcher);
 
             // メディアの設定
             model.setMedias(medias(note.getFiles()));
@@ -224,9 +249,21 @@ public class MisskeyMapper {
             String host,
             Service service) {
 
-        Comment comment = comment(notification.getNote(), host, service);
-        ((MisskeyComment) comment).setPagingId(notification.getId());
-        return comment;
+        return mention(notification, host, service, new HashMap<>());
+    }
+
+    /**
+     * 通知メンションマッピング
+     * (ユーザーはページ内で共有)
+     */
+    public static Comment mention(
+            misskey4j.entity.Notification notification,
+            String host,
+            Service service,
+            Map<String, User> users) {
+
+        // ページング用の通知 ID は一覧 (MisskeyPaging) で保持
+        return comment(notification.getNote(), host, service, users);
     }
 
     /**
@@ -317,7 +354,7 @@ public class MisskeyMapper {
 
             model.setId(list.getId());
             model.setName(list.getName());
-            model.setCreateAt(getDateParser().parse(list.getCreatedAt()));
+            model.setCreateAt(DateParseUtil.iso8601(list.getCreatedAt()));
             model.setPublic(false);
 
             return model;
@@ -337,9 +374,23 @@ public class MisskeyMapper {
             String host,
             Service service) {
 
+        return notification(notification, reactions, host, service, new HashMap<>());
+    }
+
+    /**
+     * 通知マッピング
+     * (ユーザーはページ内で共有)
+     */
+    public static Notification notification(
+            misskey4j.entity.Notification notification,
+            List<ReactionCandidate> reactions,
+            String host,
+            Service service,
+            Map<String, User> users) {
+
         try {
             MisskeyNotification model = new MisskeyNotification(service);
-            model.setCreateAt(getDateParser().parse(notification.getCreatedAt()));
+            model.setCreateAt(DateParseUtil.iso8601(notification.getCreatedAt()));
             model.setReaction(notification.getReaction());
             model.setId(notification.getId());
 
@@ -358,13 +409,13 @@ public class MisskeyMapper {
             // ステータス情報
             if (notification.getNote() != null) {
                 model.setComments(Collections.singletonList(
-                        comment(notification.getNote(), host, service)));
+                        comment(notification.getNote(), host, service, users)));
             }
 
             // ユーザー情報
             if (notification.getUser() != null) {
                 model.setUsers(Collections.singletonList(
-                        user(notification.getUser(), host, service)));
+                        user(notification.getUser(), host, service, users)));
             }
             return model;
 
@@ -390,12 +441,12 @@ public class MisskeyMapper {
                     + ": " + message.getText();
 
             MisskeyThread thread = new MisskeyThread(service);
-            thread.setLastUpdate(getDateParser().parse(message.getCreatedAt()));
+            thread.setLastUpdate(DateParseUtil.iso8601(message.getCreatedAt()));
             thread.setDescription(description);
 
             // ユーザー個人チャットの場合
             if (message.getUser() != null) {
-                User user = user(message.getUser(), host, service);
+                User user = user(message.getUser(), host, service, userMap);
                 thread.setUsers(singletonList(user));
 
                 thread.setId(message.getUserId().equals(me.getId())
@@ -437,12 +488,26 @@ public class MisskeyMapper {
             String host,
             Service service) {
 
+        return message(message, emojis, host, service, new HashMap<>());
+    }
+
+    /**
+     * メッセージマッピング
+     * (ユーザーはページ内で共有)
+     */
+    public static Comment message(
+            Message message,
+            List<Emoji> emojis,
+            String host,
+            Service service,
+            Map<String, User> users) {
+
         MisskeyComment model = new MisskeyComment(service);
 
         try {
             model.setId(message.getId());
-            model.setUser(user(message.getUser(), host, service));
-            model.setCreateAt(getDateParser().parse(message.getCreatedAt()));
+            model.setUser(user(message.getUser(), host, service, users));
+            model.setCreateAt(DateParseUtil.iso8601(message.getCreatedAt()));
             model.setVisibility(MisskeyVisibility.Message);
             model.setReactions(new ArrayList<>());
             model.setShareCount(0L);
@@ -484,7 +549,7 @@ public class MisskeyMapper {
             model.setNoteId(note.getId());
 
             if (poll.getExpiresAt() != null) {
-                Date expiredAt = getDateParser().parse(poll.getExpiresAt());
+                Date expiredAt = DateParseUtil.iso8601(poll.getExpiresAt());
                 model.setExpired(expiredAt.before(new Date()));
                 model.setExpireAt(expiredAt);
 
@@ -579,8 +644,9 @@ public class MisskeyMapper {
             Service service,
             Paging paging) {
 
+        Map<String, User> users = new HashMap<>();
         Pageable<Comment> model = new Pageable<>();
-        model.setEntities(Stream.of(notes).map(e -> comment(e, host, service)) //
+        model.setEntities(Stream.of(notes).map(e -> comment(e, host, service, users)) //
                 .sorted(Comparator.comparing(Comment::getCreateAt).reversed()) //
                 .collect(toList()));
 
@@ -597,12 +663,19 @@ public class MisskeyMapper {
             Service service,
             Paging paging) {
 
+        Map<String, User> users = new HashMap<>();
+        Map<Object, String> pagingIds = new HashMap<>();
         Pageable<Comment> model = new Pageable<>();
-        model.setEntities(Stream.of(notifications).map(n -> mention(n, host, service)) //
-                .sorted(Comparator.comparing(Comment::getCreateAt).reversed()) //
+        model.setEntities(Stream.of(notifications).map(n -> {
+            Comment comment = mention(n, host, service, users);
+            pagingIds.put(comment.getId(), n.getId());
+            return comment;
+        }).sorted(Comparator.comparing(Comment::getCreateAt).reversed()) //
                 .collect(toList()));
 
-        model.setPaging(MisskeyPaging.fromPaging(paging));
+        MisskeyPaging pg = MisskeyPaging.fromPaging(paging);
+        pg.setPagingIds(pagingIds);
+        model.setPaging(pg);
         return model;
     }
 
@@ -622,7 +695,8 @@ public class MisskeyMapper {
                 .map(MisskeyMapper::emoji)
                 .collect(toList());
 
-        model.setEntities(Stream.of(messages).map(e -> message(e, emojis, host, service)) //
+        Map<String, User> users = new HashMap<>();
+        model.setEntities(Stream.of(messages).map(e -> message(e, emojis, host, service, users)) //
                 .sorted(Comparator.comparing(Comment::getCreateAt).reversed()) //
                 .collect(toList()));
 
@@ -725,9 +799,10 @@ public class MisskeyMapper {
             Service service,
             Paging paging) {
 
+        Map<String, User> users = new HashMap<>();
         Pageable<Notification> model = new Pageable<>();
         model.setEntities(Stream.of(notifications)
-                .map(a -> notification(a, reactions, host, service))
+                .map(a -> notification(a, reactions, host, service, users))
                 .collect(toList()));
 
         model.setPaging(MisskeyPaging.fromPaging(paging));
@@ -782,16 +857,4 @@ public class MisskeyMapper {
 
         return candidates;
     }
-
-    // ============================================================== //
-    // Support
-    // ============================================================== //
-
-    public static SimpleDateFormat getDateParser() {
-        if (dateParser == null) {
-            dateParser = new SimpleDateFormat(DATE_FORMAT);
-            dateParser.setTimeZone(TimeZone.getTimeZone("UTC"));
-        }
-        return dateParser;
-    }
 }
@@ -60,14 +60,14 @@ import net.socialhub.model.service.support.ReactionCandidate;
 import net.socialhub.service.ServiceAuth;
 import net.socialhub.service.action.AccountActionImpl;
 import net.socialhub.service.action.RequestAction;
+import net.socialhub.service.cache.ActionCache;
+import net.socialhub.service.control.RetryPolicy;
 import net.socialhub.service.slack.SlackAuth.SlackAccessor;
-import net.socialhub.utils.LimitMap;
 import net.socialhub.utils.MapperUtil;
 
 import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
@@ -77,13 +77,14 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.singletonList;
+import static net.socialhub.define.action.OtherActionType.GetContext;
+import static net.socialhub.define.action.OtherActionType.GetUserMe;
 import static net.socialhub.define.service.slack.SlackMessageSubType.BotMessage;
 
 /**
@@ -91,20 +92,14 @@ import static net.socialhub.define.service.slack.SlackMessageSubType.BotMessage;
  */
 public class SlackAction extends AccountActionImpl {
 
-    private ServiceAuth<SlackAccessor> auth;
+    /** Metadata key of team info */
+    private static final String TEAM_KEY = "team";
 
-    /** Cached team info */
-    private SlackTeam team;
+    private ServiceAuth<SlackAccessor> auth;
 
     /** Cached General Channel Id */
     private String generalChannel;
 
-    /** Account Cache Data */
-    private Map<String, User> userCache = Collections.synchronizedMap(new LimitMap<>(200));
-    private Map<String, User> botCache = Collections.synchronizedMap(new LimitMap<>(10));
-
-    /** Reaction Candidate Cache */
-    private List<ReactionCandidate> reactionCandidate;
 
     // ============================================================== //
     // Account
@@ -115,7 +110,7 @@ public class SlackAction extends AccountActionImpl {
      */
     @Override
     public User getUserMe() {
-        return proceed(() -> {
+        return coalesce(GetUserMe, () -> proceed(() -> {
             Service service = getAccount().getService();
             AuthTestResponse test = auth.getAccessor().getSlack() //
                     .methods().authTest(AuthTestRequest.builder() //
@@ -128,9 +123,8 @@ public class SlackAction extends AccountActionImpl {
                             .user(test.getUserId()) //
                             .build());
 
-            me = userCache(SlackMapper.user(account, getTeam(), service));
-            return me;
-        });
+            return cacheUserMe(SlackMapper.user(account, getTeam(), service));
+        }));
     }
 
     /**
@@ -138,7 +132,7 @@ public class SlackAction extends AccountActionImpl {
      */
     @Override
     public User getUser(Identify id) {
-        return proceed(() -> {
+        return getCache().getUsers().get(id.getId(), () -> proceed(() -> {
             Service service = getAccount().getService();
             UsersInfoResponse account = auth.getAccessor().getSlack() //
                     .methods().usersInfo(UsersInfoRequest.builder() //
@@ -146,8 +140,8 @@ public class SlackAction extends AccountActionImpl {
                             .user((String) id.getId()) //
                             .build());
 
-            return userCache(SlackMapper.user(account, getTeam(), service));
-        });
+            return SlackMapper.user(account, getTeam(), service);
+        }));
     }
 
     // ============================================================== //
@@ -168,6 +162,7 @@ public class SlackAction extends AccountActionImpl {
     @Override
     public void likeComment(Identify id) {
         reactionComment(id, "heart");
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -176,6 +171,7 @@ public class SlackAction extends AccountActionImpl {
     @Override
     public void unlikeComment(Identify id) {
         unreactionComment(id, "heart");
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -192,6 +188,7 @@ public class SlackAction extends AccountActionImpl {
                             .name(reaction) //
                             .build());
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -208,6 +205,7 @@ public class SlackAction extends AccountActionImpl {
                             .name(reaction) //
                             .build());
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -223,6 +221,7 @@ public class SlackAction extends AccountActionImpl {
                             .ts((String) id.getId()) //
                             .build());
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -230,18 +229,13 @@ public class SlackAction extends AccountActionImpl {
      */
     @Override
     public List<ReactionCandidate> getReactionCandidates() {
-        if (this.reactionCandidate != null) {
-            return this.reactionCandidate;
-        }
-
-        return proceed(() -> {
+        return getCache().getEmojis().get(ActionCache.ME, () -> proceed(() -> {
             EmojiListResponse response = auth.getAccessor().getSlack() //
                     .methods().emojiList(EmojiListRequest.builder() //
                             .token(auth.getAccessor().getToken()).build());
 
-            this.reactionCandidate = SlackMapper.reactionCandidates(response);
-            return this.reactionCandidate;
-        });
+            return SlackMapper.reactionCandidates(response);
+        }));
     }
 
     /**
@@ -249,8 +243,8 @@ public class SlackAction extends AccountActionImpl {
      */
     @Override
     public Context getCommentContext(Identify id) {
-        return proceed(() -> {
-            ExecutorService pool = Executors.newCachedThreadPool();
+        return coalesce(GetContext, () -> proceed(() -> {
+            ExecutorService pool = getExecutor();
 
             // ------------------------------------------------ //
             // Async Request
@@ -301,7 +295,7 @@ public class SlackAction extends AccountActionImpl {
 
             Map<String, User> userMap = users.parallelStream() //
                     .collect(Collectors.toMap(Function.identity(), //
-                            (i) -> getUserWithCache(new Identify(service, i))));
+                            (i) -> getUser(new Identify(service, i))));
 
             Context context = new Context();
             context.setAncestors(new ArrayList<>());
@@ -326,7 +320,7 @@ public class SlackAction extends AccountActionImpl {
 
             MapperUtil.sortContext(context);
             return context;
-        });
+        }), id);
     }
 
     // ============================================================== //
@@ -350,7 +344,7 @@ public class SlackAction extends AccountActionImpl {
      */
     @Override
     public Pageable<Channel> getChannels(Identify id, Paging paging) {
-        return proceed(() -> {
+        return getCache().getChannels(id, paging, () -> proceed(() -> {
             Service service = getAccount().getService();
             ConversationsListResponse response = auth.getAccessor().getSlack() //
                     .methods().conversationsList(ConversationsListRequest.builder()
@@ -366,7 +360,7 @@ public class SlackAction extends AccountActionImpl {
                     .map((c) -> generalChannel = c.getId());
 
             return SlackMapper.channel(response, service);
-        });
+        }));
     }
 
     /**
@@ -387,7 +381,7 @@ public class SlackAction extends AccountActionImpl {
     @Override
     public Pageable<Thread> getMessageThread(Paging paging) {
         return proceed(() -> {
-            ExecutorService pool = Executors.newCachedThreadPool();
+            ExecutorService pool = getExecutor();
 
             Service service = getAccount().getService();
             Integer count = getCountFromPage(paging, 200);
@@ -569,7 +563,7 @@ public class SlackAction extends AccountActionImpl {
             Supplier<List<Message>> messageSupplier) {
 
         return proceed(() -> {
-            ExecutorService pool = Executors.newCachedThreadPool();
+            ExecutorService pool = getExecutor();
 
             // ------------------------------------------------ //
             // Async Request
@@ -609,7 +603,7 @@ public class SlackAction extends AccountActionImpl {
                     .distinct().collect(Collectors.toList());
             Map<String, User> userMap = users.parallelStream() //
                     .collect(Collectors.toMap(Function.identity(), //
-                            (id) -> getUserWithCache(new Identify(service, id))));
+                            (id) -> getUser(new Identify(service, id))));
 
             // BOTS
             List<String> bots = messages.stream() //
@@ -618,7 +612,7 @@ public class SlackAction extends AccountActionImpl {
                     .distinct().collect(Collectors.toList());
             Map<String, User> botMap = bots.parallelStream() //
                     .collect(Collectors.toMap(Function.identity(), //
-                            (id) -> getBotWithCache(new Identify(service, id))));
+                            (id) -> getBots(new Identify(service, id))));
 
             Pageable<Comment> pageable = SlackMapper.timeLine(messages, //
                     userMap, botMap, userMe, candidates, channel, service, paging);
@@ -793,19 +787,14 @@ public class SlackAction extends AccountActionImpl {
      * チーム情報を返却 (既にリクエスト済みの場合はキャッシュを返す)
      */
     public SlackTeam getTeam() {
-        if (this.team != null) {
-            return this.team;
-        }
-
-        return proceed(() -> {
+        return (SlackTeam) getCache().getMetadata().get(TEAM_KEY, () -> proceed(() -> {
             TeamInfoResponse team = auth.getAccessor().getSlack() //
                     .methods().teamInfo(TeamInfoRequest.builder() //
                             .token(auth.getAccessor().getToken()) //
                             .build());
 
-            this.team = SlackMapper.team(team);
-            return this.team;
-        });
+            return SlackMapper.team(team);
+        }));
     }
 
     /**
@@ -813,7 +802,7 @@ public class SlackAction extends AccountActionImpl {
      * ボットの情報を取得
      */
     public User getBots(Identify id) {
-        return proceed(() -> {
+        return getCache().getUsers().get(id.getId(), () -> proceed(() -> {
             Service service = getAccount().getService();
             BotsInfoResponse bots = auth.getAccessor().getSlack() //
                     .methods().botsInfo(BotsInfoRequest.builder() //
@@ -821,8 +810,8 @@ public class SlackAction extends AccountActionImpl {
                             .bot((String) id.getId()) //
                             .build());
 
-            return botCache(SlackMapper.bots(bots, service));
-        });
+            return SlackMapper.bots(bots, service);
+        }));
     }
 
     // ============================================================== //
@@ -873,7 +862,7 @@ public class SlackAction extends AccountActionImpl {
         // ユーザー一覧を取得
         Map<String, User> userMap = userIds.parallelStream() //
                 .collect(Collectors.toMap(Function.identity(), //
-                        (id) -> getUserWithCache(new Identify(service, id))));
+                        (id) -> getUser(new Identify(service, id))));
 
         SlackMapper.setMentionName(comments, userMap);
     }
@@ -882,42 +871,12 @@ public class SlackAction extends AccountActionImpl {
     // Cache
     // ============================================================== //
 
-    private User userCache(User user) {
-        user.getId(String.class).ifPresent( //
-                (id) -> userCache.put(id, user));
-        return user;
-    }
-
-    // Cache
-    private User getUserWithCache(Identify id) {
-        String time = id.getId(String.class).orElse(null);
-        if (time != null && userCache.containsKey(time)) {
-            return userCache.get(time);
-        }
-        return getUser(id);
-    }
-
-    private User botCache(User bot) {
-        bot.getId(String.class).ifPresent( //
-                (id) -> botCache.put(id, bot));
-        return bot;
-    }
-
-    // Cache
-    private User getBotWithCache(Identify id) {
-        String time = id.getId(String.class).orElse(null);
-        if (time != null && botCache.containsKey(time)) {
-            return botCache.get(time);
-        }
-        return getBots(id);
-    }
-
     private User getAccountWithCache(Identify id) {
         if (((String) id.getId()).startsWith("U")) {
-            return getUserWithCache(id);
+            return getUser(id);
         }
         if (((String) id.getId()).startsWith("B")) {
-            return getUserWithCache(id);
+            return getUser(id);
         }
         throw new NotImplimentedException();
     }
@@ -952,7 +911,7 @@ public class SlackAction extends AccountActionImpl {
 
     private <T> T proceed(ActionCaller<T, Exception> runner) {
         try {
-            return runner.proceed();
+            return canonical(retry(runner, true, RetryPolicy::retryAfterOf));
         } catch (Exception e) {
             handleException(e);
             return null;
@@ -961,13 +920,18 @@ public class SlackAction extends AccountActionImpl {
 
     private void proceed(ActionRunner<Exception> runner) {
         try {
-            runner.proceed();
+            retry(runner, false, RetryPolicy::retryAfterOf);
         } catch (Exception e) {
             handleException(e);
         }
     }
 
     private static void handleException(Exception e) {
+
+        // 送信前に止めたもの (レートリミット等) はそのまま
+        if (e instanceof SocialHubException) {
+            throw (SocialHubException) e;
+        }
         throw new SocialHubException(e);
     }
 
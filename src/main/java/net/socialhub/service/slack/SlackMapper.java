@@ -11,11 +11,14 @@ import com.github.seratch.jslack.api.model.File;
 import com.github.seratch.jslack.api.model.Message;
 import com.github.seratch.jslack.api.model.User.Profile;
 import net.socialhub.define.EmojiCategoryType;
+import net.socialhub.define.EmojiDefinition;
+import net.socialhub.define.EmojiIndex;
 import net.socialhub.define.EmojiType;
 import net.socialhub.define.EmojiVariationType;
 import net.socialhub.define.MediaType;
 import net.socialhub.define.service.slack.SlackMessageSubType;
 import net.socialhub.logger.Logger;
+import net.socialhub.model.common.AttributedElement;
 import net.socialhub.model.common.AttributedItem;
 import net.socialhub.model.common.AttributedKind;
 import net.socialhub.model.common.AttributedString;
@@ -36,6 +39,7 @@ import net.socialhub.model.service.paging.CursorPaging;
 import net.socialhub.model.service.paging.DatePaging;
 import net.socialhub.model.service.support.ReactionCandidate;
 import net.socialhub.service.action.AccountAction;
+import net.socialhub.utils.HtmlEntityDecoder;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
@@ -188,12 +192,14 @@ public final class SlackMapper {
                 }
 
                 model.setText(AttributedString.plain(builder.toString(), simple()));
+                model.getText().addElementProcessor(SlackMapper::decodeEntities);
             }
 
         } else {
 
             // 通常のメッセージの場合
             model.setText(AttributedString.plain(message.getText(), simple()));
+            model.getText().addElementProcessor(SlackMapper::decodeEntities);
         }
 
         // チャンネルはモデルが正
@@ -282,8 +288,14 @@ public final class SlackMapper {
                 // 自分がリアクションしたかどうかを設定
                 model.setReacting(reaction.getUsers().contains((String) userMe.getId()));
 
-                // 絵文字や URL を注入
-                if (candidates != null) {
+                // 標準の絵文字は索引から取得
+                EmojiDefinition emoji = EmojiIndex.getInstance().findByName(reaction.getName());
+                if (emoji != null) {
+                    model.setEmoji(emoji.getEmoji());
+
+                } else if (candidates != null) {
+
+                    // カスタム絵文字の URL を注入
                     candidates.stream() //
                             .filter(c -> c.getName().equals(reaction.getName())) //
                             .findFirst().ifPresent(c -> {
@@ -531,6 +543,20 @@ public final class SlackMapper {
         });
     }
 
+    /**
+     * Slack のエスケープ (&amp; &lt; &gt;) を展開
+     * (リンクやメンションの解析後に展開する)
+     */
+    private static void decodeEntities(AttributedElement elem) {
+        if (elem instanceof AttributedItem) {
+            AttributedItem item = (AttributedItem) elem;
+            if (item.getKind() != AttributedKind.PLAIN) {
+                item.setExpandedText(HtmlEntityDecoder.decode(item.getExpandedText()));
+            }
+            item.setDisplayText(HtmlEntityDecoder.decode(item.getDisplayText()));
+        }
+    }
+
     public static Date getFromDateString(String date) {
         return new Date(Long.parseLong(date) * 1000L);
     }
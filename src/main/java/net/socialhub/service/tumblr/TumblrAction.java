@@ -28,15 +28,18 @@ import net.socialhub.model.service.support.ReactionCandidate;
 import net.socialhub.model.service.support.TupleIdentify;
 import net.socialhub.service.ServiceAuth;
 import net.socialhub.service.action.AccountActionImpl;
+import net.socialhub.service.cache.ActionCache;
+import net.socialhub.service.control.RetryPolicy;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import static java.util.Collections.singletonList;
+import static net.socialhub.define.action.OtherActionType.GetRelationship;
+import static net.socialhub.define.action.OtherActionType.GetUserMe;
 
 public class TumblrAction extends AccountActionImpl {
 
@@ -60,7 +63,7 @@ public class TumblrAction extends AccountActionImpl {
      */
     @Override
     public User getUserMe() {
-        return proceed(() -> {
+        return coalesce(GetUserMe, () -> proceed(() -> {
             Service service = getAccount().getService();
             com.tumblr.jumblr.types.User user = auth.getAccessor().user();
 
@@ -80,9 +83,8 @@ public class TumblrAction extends AccountActionImpl {
                     TumblrMapper.margeUser(result, cover);
                 }
             }
-            me = result;
-            return result;
-        });
+            return cacheUserMe(result);
+        }));
     }
 
     /**
@@ -90,8 +92,8 @@ public class TumblrAction extends AccountActionImpl {
      */
     @Override
     public User getUser(Identify id) {
-        return proceed(() -> {
-            ExecutorService pool = Executors.newCachedThreadPool();
+        return getCache().getUsers().get(id.getId(), () -> proceed(() -> {
+            ExecutorService pool = getExecutor();
             Service service = getAccount().getService();
 
             // デフォルトのユーザー情報の取得
@@ -117,7 +119,7 @@ public class TumblrAction extends AccountActionImpl {
 
             TumblrMapper.margeUser(resultUser, coverUser);
             return resultUser;
-        });
+        }));
     }
 
     /**
@@ -128,6 +130,7 @@ public class TumblrAction extends AccountActionImpl {
         proceed(() -> {
             auth.getAccessor().follow((String) id.getId());
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -138,6 +141,7 @@ public class TumblrAction extends AccountActionImpl {
         proceed(() -> {
             auth.getAccessor().unfollow((String) id.getId());
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -145,7 +149,7 @@ public class TumblrAction extends AccountActionImpl {
      */
     @Override
     public Relationship getRelationship(Identify id) {
-        return proceed(() -> {
+        return coalesce(GetRelationship, () -> proceed(() -> {
 
             // オブジェクトに格納済みなので返却
             if (id instanceof TumblrUser) {
@@ -159,7 +163,7 @@ public class TumblrAction extends AccountActionImpl {
             }
 
             throw new IllegalStateException();
-        });
+        }), id);
     }
 
     // ============================================================== //
@@ -317,7 +321,7 @@ public class TumblrAction extends AccountActionImpl {
      */
     @Override
     public Comment getComment(Identify id) {
-        return proceed(() -> {
+        return getCache().getComments().get(id.getId(), () -> proceed(() -> {
             if (id instanceof TupleIdentify) {
                 TupleIdentify tuple = ((TupleIdentify) id);
                 Service service = getAccount().getService();
@@ -330,7 +334,7 @@ public class TumblrAction extends AccountActionImpl {
             } else {
                 throw new NotSupportedException("TupleIdentify required.");
             }
-        });
+        }));
     }
 
     /**
@@ -347,6 +351,7 @@ public class TumblrAction extends AccountActionImpl {
                 throw new NotSupportedException("TumblrComment (id and reblog key only) required.");
             }
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -363,6 +368,7 @@ public class TumblrAction extends AccountActionImpl {
                 throw new NotSupportedException("TumblrComment (id and reblog key only) required.");
             }
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -380,6 +386,7 @@ public class TumblrAction extends AccountActionImpl {
                 throw new NotSupportedException("TumblrComment (id, blogName reblog key only) required.");
             }
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -440,6 +447,7 @@ public class TumblrAction extends AccountActionImpl {
                 throw new NotSupportedException("TumblrComment (id, blog n ame only) required.");
             }
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -447,7 +455,7 @@ public class TumblrAction extends AccountActionImpl {
      */
     @Override
     public List<ReactionCandidate> getReactionCandidates() {
-        return TumblrMapper.reactionCandidates();
+        return getCache().getEmojis().get(ActionCache.ME, TumblrMapper::reactionCandidates);
     }
 
     // ============================================================== //
@@ -497,7 +505,7 @@ public class TumblrAction extends AccountActionImpl {
 
     private <T> T proceed(ActionCaller<T, Exception> runner) {
         try {
-            return runner.proceed();
+            return canonical(retry(runner, true, RetryPolicy::retryAfterOf));
         } catch (Exception e) {
             handleTumblrException(e);
             return null;
@@ -506,13 +514,18 @@ public class TumblrAction extends AccountActionImpl {
 
     private void proceed(ActionRunner<Exception> runner) {
         try {
-            runner.proceed();
+            retry(runner, false, RetryPolicy::retryAfterOf);
         } catch (Exception e) {
             handleTumblrException(e);
         }
     }
 
     private static void handleTumblrException(Exception e) {
+
+        // 送信前に止めたもの (レートリミット等) はそのまま
+        if (e instanceof SocialHubException) {
+            throw (SocialHubException) e;
+        }
         throw new SocialHubException(e);
     }
 
@@ -21,6 +21,8 @@ public class TumblrAuth implements ServiceAuth<JumblrClient> {
 
     private Token requestToken;
 
+    /** Accessor with current credentials (shared by threads) */
+    private volatile JumblrClient accessor;
 
     public TumblrAuth(
             String consumerKey, //
@@ -33,12 +35,31 @@ public class TumblrAuth implements ServiceAuth<JumblrClient> {
     /**
      * Get Request Token for Tumblr
      * Tumblr のリクエストトークンの取得
+     * (Client is built once and reused until credentials are changed)
      */
     @Override
     public JumblrClient getAccessor() {
-        JumblrClient client = new JumblrClient(consumerKey, consumerSecret);
-        client.setToken(accessToken, accessSecret);
-        return client;
+        JumblrClient client = accessor;
+        if (client != null) {
+            return client;
+        }
+
+        synchronized (this) {
+            if (accessor == null) {
+                client = new JumblrClient(consumerKey, consumerSecret);
+                client.setToken(accessToken, accessSecret);
+                accessor = client;
+            }
+            return accessor;
+        }
+    }
+
+    /**
+     * Discard accessor (rebuilt with current credentials on next call)
+     * アクセサを破棄 (次回の呼び出し時に現在の認証情報で再生成)
+     */
+    public synchronized void clearAccessor() {
+        accessor = null;
     }
 
     /**
@@ -51,6 +72,7 @@ public class TumblrAuth implements ServiceAuth<JumblrClient> {
 
         this.accessToken = accessToken;
         this.accessSecret = accessSecret;
+        clearAccessor();
 
         Account account = new Account();
         ServiceType type = ServiceType.Tumblr;
@@ -98,6 +120,7 @@ public class TumblrAuth implements ServiceAuth<JumblrClient> {
 
     public void setConsumerKey(String consumerKey) {
         this.consumerKey = consumerKey;
+        clearAccessor();
     }
 
     public String getConsumerSecret() {
@@ -106,6 +129,7 @@ public class TumblrAuth implements ServiceAuth<JumblrClient> {
 
     public void setConsumerSecret(String consumerSecret) {
         this.consumerSecret = consumerSecret;
+        clearAccessor();
     }
 
     public String getAccessToken() {
@@ -114,6 +138,7 @@ public class TumblrAuth implements ServiceAuth<JumblrClient> {
 
     public void setAccessToken(String accessToken) {
         this.accessToken = accessToken;
+        clearAccessor();
     }
 
     public String getAccessSecret() {
@@ -122,6 +147,7 @@ public class TumblrAuth implements ServiceAuth<JumblrClient> {
 
     public void setAccessSecret(String accessSecret) {
         this.accessSecret = accessSecret;
+        clearAccessor();
     }
     //endregion
 }
@@ -45,6 +45,9 @@ import net.socialhub.service.action.callback.comment.NotificationCommentCallback
 import net.socialhub.service.action.callback.comment.UpdateCommentCallback;
 import net.socialhub.service.action.callback.lifecycle.ConnectCallback;
 import net.socialhub.service.action.callback.lifecycle.DisconnectCallback;
+import net.socialhub.service.cache.ActionCache;
+import net.socialhub.service.cache.EntityStore;
+import net.socialhub.service.control.RetryPolicy;
 import net.socialhub.utils.HandlingUtil;
 import net.socialhub.utils.MapperUtil;
 import net.socialhub.utils.SnowflakeUtil;
@@ -73,14 +76,17 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import static java.util.Collections.singletonList;
@@ -90,6 +96,7 @@ import static net.socialhub.define.action.OtherActionType.DeleteComment;
 import static net.socialhub.define.action.OtherActionType.FollowUser;
 import static net.socialhub.define.action.OtherActionType.GetChannels;
 import static net.socialhub.define.action.OtherActionType.GetComment;
+import static net.socialhub.define.action.OtherActionType.GetContext;
 import static net.socialhub.define.action.OtherActionType.GetRelationship;
 import static net.socialhub.define.action.OtherActionType.GetUser;
 import static net.socialhub.define.action.OtherActionType.GetUserMe;
@@ -132,14 +139,14 @@ public class TwitterAction extends AccountActionImpl {
      */
     @Override
     public User getUserMe() {
-        return proceed(() -> {
+        return coalesce(GetUserMe, () -> proceed(() -> {
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetUserMe);
             twitter4j.User user = auth.getAccessor().verifyCredentials();
             service.getRateLimit().addInfo(GetUserMe, user);
 
-            me = TwitterMapper.user(user, service);
-            return me;
-        });
+            return cacheUserMe(TwitterMapper.user(user, service));
+        }));
     }
 
     /**
@@ -147,8 +154,9 @@ public class TwitterAction extends AccountActionImpl {
      */
     @Override
     public User getUser(Identify id) {
-        return proceed(() -> {
+        return getCache().getUsers().get(id.getId(), () -> proceed(() -> {
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetUser);
 
             // ID
             if (id.getId(Long.class).isPresent()) {
@@ -165,7 +173,7 @@ public class TwitterAction extends AccountActionImpl {
             }
 
             return null;
-        });
+        }));
     }
 
     /**
@@ -175,9 +183,11 @@ public class TwitterAction extends AccountActionImpl {
     public void followUser(Identify id) {
         proceed(() -> {
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(FollowUser);
             twitter4j.User after = auth.getAccessor().createFriendship((Long) id.getId());
             service.getRateLimit().addInfo(FollowUser, after);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -187,9 +197,11 @@ public class TwitterAction extends AccountActionImpl {
     public void unfollowUser(Identify id) {
         proceed(() -> {
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UnfollowUser);
             twitter4j.User after = auth.getAccessor().destroyFriendship((Long) id.getId());
             service.getRateLimit().addInfo(UnfollowUser, after);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -199,9 +211,11 @@ public class TwitterAction extends AccountActionImpl {
     public void muteUser(Identify id) {
         proceed(() -> {
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(MuteUser);
             twitter4j.User after = auth.getAccessor().createMute((Long) id.getId());
             service.getRateLimit().addInfo(MuteUser, after);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -211,9 +225,11 @@ public class TwitterAction extends AccountActionImpl {
     public void unmuteUser(Identify id) {
         proceed(() -> {
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UnmuteUser);
             twitter4j.User after = auth.getAccessor().destroyMute((Long) id.getId());
             service.getRateLimit().addInfo(UnmuteUser, after);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -223,9 +239,11 @@ public class TwitterAction extends AccountActionImpl {
     public void blockUser(Identify id) {
         proceed(() -> {
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(BlockUser);
             twitter4j.User after = auth.getAccessor().createBlock((Long) id.getId());
             service.getRateLimit().addInfo(BlockUser, after);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -235,9 +253,11 @@ public class TwitterAction extends AccountActionImpl {
     public void unblockUser(Identify id) {
         proceed(() -> {
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UnblockUser);
             twitter4j.User after = auth.getAccessor().destroyBlock((Long) id.getId());
             service.getRateLimit().addInfo(UnblockUser, after);
         });
+        getCache().invalidateUser(id);
     }
 
     /**
@@ -245,8 +265,9 @@ public class TwitterAction extends AccountActionImpl {
      */
     @Override
     public Relationship getRelationship(Identify id) {
-        return proceed(() -> {
+        return coalesce(GetRelationship, () -> proceed(() -> {
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetRelationship);
 
             User me = getUserMeWithCache();
             twitter4j.Relationship relationship = auth.getAccessor() //
@@ -254,7 +275,7 @@ public class TwitterAction extends AccountActionImpl {
 
             service.getRateLimit().addInfo(GetRelationship, relationship);
             return TwitterMapper.relationship(relationship);
-        });
+        }), id);
     }
 
     // ============================================================== //
@@ -271,6 +292,7 @@ public class TwitterAction extends AccountActionImpl {
             long cursor = getCursorFromPage(paging, -1L);
 
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetFollowingUsers);
             PagableResponseList<twitter4j.User> users = auth.getAccessor() //
                     .getFriendsList((Long) id.getId(), cursor, count);
 
@@ -289,6 +311,7 @@ public class TwitterAction extends AccountActionImpl {
             long cursor = getCursorFromPage(paging, -1L);
 
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetFollowerUsers);
             PagableResponseList<twitter4j.User> users = auth.getAccessor() //
                     .getFollowersList((Long) id.getId(), cursor, count);
 
@@ -305,6 +328,7 @@ public class TwitterAction extends AccountActionImpl {
 
         return proceed(() -> {
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(SearchUsers);
 
             int page = 1;
             if (paging != null) {
@@ -338,6 +362,7 @@ public class TwitterAction extends AccountActionImpl {
         return proceed(() -> {
             Twitter twitter = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(HomeTimeLine);
             ResponseList<Status> statues = (paging == null) ? twitter.getHomeTimeline() //
                     : twitter.getHomeTimeline(TwitterMapper.fromPaging(paging));
 
@@ -354,6 +379,7 @@ public class TwitterAction extends AccountActionImpl {
         return proceed(() -> {
             Twitter twitter = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(MentionTimeLine);
             ResponseList<Status> statues = (paging == null) ? twitter.getMentionsTimeline() //
                     : twitter.getMentionsTimeline(TwitterMapper.fromPaging(paging));
 
@@ -370,6 +396,7 @@ public class TwitterAction extends AccountActionImpl {
         return proceed(() -> {
             Twitter twitter = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UserCommentTimeLine);
 
             ResponseList<Status> statues = null;
             twitter4j.Paging page = (paging == null) ? //
@@ -404,6 +431,7 @@ public class TwitterAction extends AccountActionImpl {
         return proceed(() -> {
             Twitter twitter = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UserLikeTimeLine);
 
             ResponseList<Status> statues = null;
             twitter4j.Paging page = (paging == null) ? //
@@ -488,6 +516,7 @@ public class TwitterAction extends AccountActionImpl {
         return proceed(() -> {
             Twitter twitter = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(SearchTimeLine);
 
             Query q = TwitterMapper.queryFromPaging(paging).query(query);
             QueryResult result = twitter.search(q);
@@ -511,9 +540,10 @@ public class TwitterAction extends AccountActionImpl {
             return;
         }
 
-        proceed(() -> {
+        // アップロードと投稿を個別に再試行 (投稿の失敗で画像を再送しない)
+        proceed(composite(() -> {
             Twitter twitter = auth.getAccessor();
-            ExecutorService pool = Executors.newCachedThreadPool();
+            ExecutorService pool = getExecutor();
             StatusUpdate update = new StatusUpdate(req.getText());
 
             // 返信の処理
@@ -526,10 +556,10 @@ public class TwitterAction extends AccountActionImpl {
 
                 // 画像を並列でアップロードする
                 List<Future<Long>> medias = req.getImages() //
-                        .stream().map(image -> pool.submit(() -> {
+                        .stream().map(image -> pool.submit(() -> proceed(() -> {
                             InputStream input = new ByteArrayInputStream(image.getData());
                             return twitter.uploadMedia(image.getName(), input).getMediaId();
-                        })).collect(toList());
+                        }, false))).collect(toList());
 
                 update.setMediaIds(medias.stream().mapToLong( //
                         (e) -> HandlingUtil.runtime(e::get)).toArray());
@@ -540,10 +570,12 @@ public class TwitterAction extends AccountActionImpl {
                 update.setPossiblySensitive(true);
             }
 
-            Status status = twitter.updateStatus(update);
-            Service service = getAccount().getService();
-            service.getRateLimit().addInfo(GetComment, status);
-        });
+            proceed(() -> {
+                Status status = twitter.updateStatus(update);
+                Service service = getAccount().getService();
+                service.getRateLimit().addInfo(GetComment, status);
+            });
+        }));
     }
 
     /**
@@ -551,15 +583,16 @@ public class TwitterAction extends AccountActionImpl {
      */
     @Override
     public Comment getComment(Identify id) {
-        return proceed(() -> {
+        return getCache().getComments().get(id.getId(), () -> proceed(() -> {
             Twitter twitter = auth.getAccessor();
-            Status status = twitter.showStatus((Long) id.getId());
-
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetComment);
+
+            Status status = twitter.showStatus((Long) id.getId());
             service.getRateLimit().addInfo(GetComment, status);
 
             return TwitterMapper.comment(status, service);
-        });
+        }));
     }
 
     /**
@@ -569,11 +602,13 @@ public class TwitterAction extends AccountActionImpl {
     public void likeComment(Identify id) {
         proceed(() -> {
             Twitter twitter = auth.getAccessor();
-            Status status = twitter.favorites().createFavorite((Long) id.getId());
-
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(LikeComment);
+
+            Status status = twitter.favorites().createFavorite((Long) id.getId());
             service.getRateLimit().addInfo(LikeComment, status);
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -583,11 +618,13 @@ public class TwitterAction extends AccountActionImpl {
     public void unlikeComment(Identify id) {
         proceed(() -> {
             Twitter twitter = auth.getAccessor();
-            Status status = twitter.favorites().destroyFavorite((Long) id.getId());
-
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UnlikeComment);
+
+            Status status = twitter.favorites().destroyFavorite((Long) id.getId());
             service.getRateLimit().addInfo(UnlikeComment, status);
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -597,11 +634,13 @@ public class TwitterAction extends AccountActionImpl {
     public void shareComment(Identify id) {
         proceed(() -> {
             Twitter twitter = auth.getAccessor();
-            Status status = twitter.tweets().retweetStatus((Long) id.getId());
-
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(ShareComment);
+
+            Status status = twitter.tweets().retweetStatus((Long) id.getId());
             service.getRateLimit().addInfo(ShareComment, status);
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -611,11 +650,13 @@ public class TwitterAction extends AccountActionImpl {
     public void unshareComment(Identify id) {
         proceed(() -> {
             Twitter twitter = auth.getAccessor();
-            Status status = twitter.tweets().unRetweetStatus((Long) id.getId());
-
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(UnShareComment);
+
+            Status status = twitter.tweets().unRetweetStatus((Long) id.getId());
             service.getRateLimit().addInfo(UnShareComment, status);
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -665,11 +706,13 @@ public class TwitterAction extends AccountActionImpl {
     public void deleteComment(Identify id) {
         proceed(() -> {
             Twitter twitter = auth.getAccessor();
-            Status status = twitter.tweets().destroyStatus((Long) id.getId());
-
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(DeleteComment);
+
+            Status status = twitter.tweets().destroyStatus((Long) id.getId());
             service.getRateLimit().addInfo(DeleteComment, status);
         });
+        getCache().invalidateComment(id);
     }
 
     /**
@@ -677,7 +720,7 @@ public class TwitterAction extends AccountActionImpl {
      */
     @Override
     public List<ReactionCandidate> getReactionCandidates() {
-        return TwitterMapper.reactionCandidates();
+        return getCache().getEmojis().get(ActionCache.ME, TwitterMapper::reactionCandidates);
     }
 
     /**
@@ -696,10 +739,11 @@ public class TwitterAction extends AccountActionImpl {
             }
         }
 
-        return proceed(() -> {
+        // 個々のリクエスト毎に再試行する (全体は再試行しない)
+        return coalesce(GetContext, () -> proceed(composite(() -> {
             Twitter twitter = auth.getAccessor();
             Service service = getAccount().getService();
-            ExecutorService pool = Executors.newCachedThreadPool();
+            ExecutorService pool = getExecutor();
 
             TwitterComment originComment = toTwitterComment(id);
             TwitterComment comment = toTwitterComment(originComment.getDisplayComment());
@@ -715,23 +759,30 @@ public class TwitterAction extends AccountActionImpl {
 
             if (comment.getReplyTo() != null) {
                 ancestors = pool.submit(() -> {
-                    return proceed(() -> {
-                        List<Comment> results = new ArrayList<>();
-                        Long replyId = (Long) comment.getReplyTo().getId();
-
-                        for (int i = 0; i < 10; i++) {
-                            Status status = twitter.showStatus(replyId);
-                            Comment c = TwitterMapper.comment(status, service);
-                            results.add(0, c);
-
-                            if (status.getInReplyToStatusId() > 0) {
-                                replyId = status.getInReplyToStatusId();
-                                continue;
-                            }
-                            break;
+                    List<Comment> results = new ArrayList<>();
+                    Map<Long, User> users = new HashMap<>();
+                    Long replyId = (Long) comment.getReplyTo().getId();
+
+                    for (int i = 0; i < 10; i++) {
+                        Long targetId = replyId;
+                        Status status = proceed(() -> {
+                            // 単体取得と同じエンドポイントの制限を使用
+                            service.getRateLimit().acquire(GetComment);
+                            Status result = twitter.showStatus(targetId);
+                            service.getRateLimit().addInfo(GetComment, result);
+                            return result;
+                        });
+
+                        Comment c = TwitterMapper.comment(status, service, users);
+                        results.add(0, c);
+
+                        if (status.getInReplyToStatusId() > 0) {
+                            replyId = status.getInReplyToStatusId();
+                            continue;
                         }
-                        return results;
-                    });
+                        break;
+                    }
+                    return results;
                 });
             }
 
@@ -756,7 +807,10 @@ public class TwitterAction extends AccountActionImpl {
                         query.setQuery(mention + " -RT");
                         query.setCount(200);
 
-                        return twitter.search(query).getTweets();
+                        service.getRateLimit().acquire(SearchTimeLine);
+                        QueryResult result = twitter.search(query);
+                        service.getRateLimit().addInfo(SearchTimeLine, result);
+                        return result.getTweets();
                     });
                 });
 
@@ -768,7 +822,10 @@ public class TwitterAction extends AccountActionImpl {
                         query.setQuery(mention + " -RT");
                         query.setCount(200);
 
-                        return twitter.search(query).getTweets();
+                        service.getRateLimit().acquire(SearchTimeLine);
+                        QueryResult result = twitter.search(query);
+                        service.getRateLimit().addInfo(SearchTimeLine, result);
+                        return result.getTweets();
                     });
                 });
 
@@ -779,50 +836,50 @@ public class TwitterAction extends AccountActionImpl {
                         query.setQuery(comment.getWebUrl() + " -RT");
                         query.setCount(200);
 
-                        return twitter.search(query).getTweets();
+                        service.getRateLimit().acquire(SearchTimeLine);
+                        QueryResult result = twitter.search(query);
+                        service.getRateLimit().addInfo(SearchTimeLine, result);
+                        return result.getTweets();
                     });
                 });
 
-                // 結果を統合
-                List<Status> statuses = new ArrayList<>();
-                statuses.addAll(afterRecent.get());
-                statuses.addAll(afterWhole.get());
-                statuses = statuses.stream().distinct().collect(toList());
+                // 結果を統合 (返信先 ID 毎に索引)
+                Map<Long, List<Status>> replies = new HashMap<>();
+                Set<Long> statusIds = new HashSet<>();
+                for (List<Status> tweets : Arrays.asList(afterRecent.get(), afterWhole.get())) {
+                    for (Status status : tweets) {
+                        if (statusIds.add(status.getId())) {
+                            replies.computeIfAbsent(status.getInReplyToStatusId(),
+                                    (k) -> new ArrayList<>()).add(status);
+                        }
+                    }
+                }
 
                 // 結果として扱うステータス一覧
                 List<Status> results = new ArrayList<>(afterQuote.get());
+                Set<Long> resultIds = new HashSet<>();
+                results.forEach((status) -> resultIds.add(status.getId()));
 
-                // 返信リストを取得
-                List<Long> idList = new ArrayList<>();
-                idList.add(sinceId);
-
-                while (true) {
-                    List<Status> inserts = new ArrayList<>();
+                // 返信を辿って結果に加える
+                Deque<Long> idQueue = new ArrayDeque<>();
+                idQueue.add(sinceId);
 
-                    for (Status status : statuses) {
-                        if (idList.contains(status.getInReplyToStatusId())) {
-                            if (!results.contains(status)) {
-                                inserts.add(status);
-                            }
-                        }
+                while (!idQueue.isEmpty()) {
+                    List<Status> inserts = replies.remove(idQueue.poll());
+                    if (inserts == null) {
+                        continue;
                     }
-
-                    // 既に全て加えてあれば終了
-                    if (inserts.isEmpty()) {
-                        break;
+                    for (Status status : inserts) {
+                        if (resultIds.add(status.getId())) {
+                            results.add(status);
+                            idQueue.add(status.getId());
+                        }
                     }
-
-                    // 返信関連の ID を一覧に加える
-                    idList.addAll(inserts.stream().map(Status::getId).collect(toList()));
-                    idList = idList.stream().distinct().collect(toList());
-
-                    statuses.removeAll(inserts);
-                    results.addAll(inserts);
-                    inserts.clear();
                 }
 
+                Map<Long, User> users = new HashMap<>();
                 descendants = results.stream()
-                        .map((c) -> TwitterMapper.comment(c, service))
+                        .map((c) -> TwitterMapper.comment(c, service, users))
                         .collect(toList());
             }
 
@@ -831,7 +888,7 @@ public class TwitterAction extends AccountActionImpl {
             context.setAncestors((ancestors != null) ? ancestors.get() : new ArrayList<>());
             MapperUtil.sortContext(context);
             return context;
-        });
+        })), id);
     }
 
     // ============================================================== //
@@ -848,10 +905,11 @@ public class TwitterAction extends AccountActionImpl {
             long cursor = getCursorFromPage(paging, -1L);
 
             Twitter twitter = auth.getAccessor();
+            Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetChannels);
+
             PagableResponseList<UserList> lists = twitter.list()
                     .getUserListsOwnerships((Long) id.getId(), count, cursor);
-
-            Service service = getAccount().getService();
             service.getRateLimit().addInfo(GetChannels, lists);
             return TwitterMapper.channels(lists, service, paging);
         });
@@ -865,6 +923,7 @@ public class TwitterAction extends AccountActionImpl {
         return proceed(() -> {
             Twitter twitter = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(ChannelTimeLine);
             ResponseList<Status> statues = twitter.list().getUserListStatuses(
                     (Long) id.getId(), TwitterMapper.fromPaging(paging));
 
@@ -884,6 +943,7 @@ public class TwitterAction extends AccountActionImpl {
 
             Twitter twitter = auth.getAccessor();
             Service service = getAccount().getService();
+            service.getRateLimit().acquire(ChannelUsers);
 
             ResponseList<twitter4j.User> users = twitter.list()
                     .getUserListMembers((Long) id.getId(), count, cursor);
@@ -921,10 +981,11 @@ public class TwitterAction extends AccountActionImpl {
             long cursor = getCursorFromPage(paging, -1L);
 
             Twitter twitter = auth.getAccessor();
+            Service service = getAccount().getService();
+            service.getRateLimit().acquire(GetChannels);
+
             PagableResponseList<UserList> lists = twitter.list()
                     .getUserListMemberships((Long) id.getId(), count, cursor);
-
-            Service service = getAccount().getService();
             service.getRateLimit().addInfo(GetChannels, lists);
             return TwitterMapper.channels(lists, service, paging);
         });
@@ -942,7 +1003,7 @@ public class TwitterAction extends AccountActionImpl {
         return proceed(() -> {
             int count = getCountFromPage(paging, 50);
             String cursor = getCursorFromPage(paging, null);
-            ExecutorService pool = Executors.newCachedThreadPool();
+            ExecutorService pool = getExecutor();
 
             Twitter twitter = auth.getAccessor();
             Service service = getAccount().getService();
@@ -1045,9 +1106,10 @@ public class TwitterAction extends AccountActionImpl {
             return;
         }
 
-        proceed(() -> {
+        // アップロードと送信を個別に再試行 (送信の失敗で画像・先のメッセージを再送しない)
+        proceed(composite(() -> {
             Twitter twitter = auth.getAccessor();
-            ExecutorService pool = Executors.newCachedThreadPool();
+            ExecutorService pool = getExecutor();
 
             // どの DM スレッドかに送信するか？
             if (req.getTargetId() == null) {
@@ -1078,6 +1140,7 @@ public class TwitterAction extends AccountActionImpl {
             if (targetId == null) {
                 throw new IllegalStateException("Invalid Thread ID.");
             }
+            Long userId = targetId;
 
             // 画像の処理
             List<Long> mediaIds = new ArrayList<>();
@@ -1085,10 +1148,10 @@ public class TwitterAction extends AccountActionImpl {
 
                 // 画像を並列でアップロードする
                 List<Future<Long>> medias = req.getImages() //
-                        .stream().map(image -> pool.submit(() -> {
+                        .stream().map(image -> pool.submit(() -> proceed(() -> {
                             InputStream input = new ByteArrayInputStream(image.getData());
                             return twitter.uploadMedia(image.getName(), input).getMediaId();
-                        })).collect(toList());
+                        }, false))).collect(toList());
 
                 for (Future<Long> m : medias) {
                     mediaIds.add(HandlingUtil.runtime(m::get));
@@ -1097,8 +1160,10 @@ public class TwitterAction extends AccountActionImpl {
 
             // メディアがない場合
             if (mediaIds.size() == 0) {
-                twitter.directMessages().sendDirectMessage(
-                        targetId, req.getText());
+                proceed(() -> {
+                    twitter.directMessages().sendDirectMessage(
+                            userId, req.getText());
+                });
 
             } else {
 
@@ -1107,17 +1172,21 @@ public class TwitterAction extends AccountActionImpl {
                 for (Long mediaId : mediaIds) {
 
                     if (mediaId.equals(mediaIds.get(lastIndex))) {
-                        twitter.directMessages().sendDirectMessage(
-                                targetId, req.getText(), mediaId);
+                        proceed(() -> {
+                            twitter.directMessages().sendDirectMessage(
+                                    userId, req.getText(), mediaId);
+                        });
                     } else {
 
                         // 複数画像が存在する場合は先に画像情報を送信
-                        twitter.directMessages().sendDirectMessage(
-                                targetId, "", mediaId);
+                        proceed(() -> {
+                            twitter.directMessages().sendDirectMessage(
+                                    userId, "", mediaId);
+                        });
                     }
                 }
             }
-        });
+        }));
     }
 
     // ============================================================== //
@@ -1157,7 +1226,7 @@ public class TwitterAction extends AccountActionImpl {
 
             TwitterStream stream = ((TwitterAuth) auth).getStreamAccessor();
             stream.addConnectionLifeCycleListener(new TwitterConnectionListener(callback));
-            stream.addListener(new TwitterCommentListener(callback, idList, service));
+            stream.addListener(new TwitterCommentListener(callback, idList, service, getCache().getStore()));
 
             return new net.socialhub.model.service.addition
                     .twitter.TwitterStream(stream, (s) -> {
@@ -1178,7 +1247,7 @@ public class TwitterAction extends AccountActionImpl {
             Service service = getAccount().getService();
             TwitterStream stream = ((TwitterAuth) auth).getStreamAccessor();
             stream.addConnectionLifeCycleListener(new TwitterConnectionListener(callback));
-            stream.addListener(new TwitterCommentListener(callback, null, service));
+            stream.addListener(new TwitterCommentListener(callback, null, service, getCache().getStore()));
 
             return new net.socialhub.model.service.addition
                     .twitter.TwitterStream(stream, (s) -> {
@@ -1300,7 +1369,7 @@ public class TwitterAction extends AccountActionImpl {
      * トレンドとトップコメントを取得
      */
     public List<TrendComment> getTrendsComment(Integer id) {
-        ExecutorService pool = Executors.newCachedThreadPool();
+        ExecutorService pool = getExecutor();
         List<Trend> trends = getTrends(id);
 
         // 分割して検索リクエストを送信
@@ -1403,14 +1472,17 @@ public class TwitterAction extends AccountActionImpl {
         private final EventCallback listener;
         private final List<Long> userIdList;
         private final Service service;
+        private final EntityStore store;
 
         TwitterCommentListener(
                 EventCallback listener,
                 List<Long> userIdList,
-                Service service) {
+                Service service,
+                EntityStore store) {
             this.listener = listener;
             this.userIdList = userIdList;
             this.service = service;
+            this.store = store;
         }
 
         @Override
@@ -1433,7 +1505,7 @@ public class TwitterAction extends AccountActionImpl {
                     }
                 }
 
-                Comment comment = TwitterMapper.comment(status, service);
+                Comment comment = store.comment(TwitterMapper.comment(status, service));
                 CommentEvent event = new CommentEvent(comment);
                 ((UpdateCommentCallback) listener).onUpdate(event);
             }
@@ -1441,6 +1513,7 @@ public class TwitterAction extends AccountActionImpl {
 
         @Override
         public void onDeletionNotice(StatusDeletionNotice delete) {
+            store.removeComment(delete.getStatusId());
             if (listener instanceof DeleteCommentCallback) {
                 if (delete.getStatusId() > 0L) {
                     IdentifyEvent event = new IdentifyEvent(delete.getStatusId());
@@ -1565,8 +1638,12 @@ public class TwitterAction extends AccountActionImpl {
 
     // FIXME: TwitterException
     private <T> T proceed(ActionCaller<T, Exception> runner) {
+        return proceed(runner, true);
+    }
+
+    private <T> T proceed(ActionCaller<T, Exception> runner, boolean idempotent) {
         try {
-            return runner.proceed();
+            return canonical(retry(runner, idempotent, TwitterAction::retryAfter));
         } catch (Exception e) {
             handleTwitterException(e);
             return null;
@@ -1575,13 +1652,47 @@ public class TwitterAction extends AccountActionImpl {
 
     private void proceed(ActionRunner<Exception> runner) {
         try {
-            runner.proceed();
+            retry(runner, false, TwitterAction::retryAfter);
         } catch (Exception e) {
             handleTwitterException(e);
         }
     }
 
+    /**
+     * Classify error for retry
+     * (Rate limit exceeded waits until reset if it is near)
+     * 再試行のためのエラー分類
+     */
+    private static long retryAfter(Exception e, boolean idempotent) {
+        if (e instanceof TwitterException) {
+            TwitterException te = (TwitterException) e;
+
+            // リクエスト上限 (リセットまでの時間が分かる場合は待機)
+            if (te.exceededRateLimitation()) {
+                return (te.getRetryAfter() > 0) ? te.getRetryAfter() * 1000L : RetryPolicy.BACKOFF;
+            }
+            if (te.isCausedByNetworkIssue() && te.getCause() != null) {
+                return RetryPolicy.retryAfterOf(te.getCause(), idempotent);
+            }
+        }
+        return RetryPolicy.retryAfterOf(e, idempotent);
+    }
+
+    /**
+     * {@inheritDoc}
+     * (Twitter rate limits are per endpoint)
+     */
+    @Override
+    protected boolean isAccountWideRateLimit() {
+        return false;
+    }
+
     private static void handleTwitterException(Exception e) {
+
+        // 送信前に止めたもの (レートリミット等) はそのまま
+        if (e instanceof SocialHubException) {
+            throw (SocialHubException) e;
+        }
         SocialHubException se = new SocialHubException(e);
 
         if (e instanceof TwitterException) {
@@ -28,6 +28,9 @@ public class TwitterAuth implements ServiceAuth<Twitter> {
     // For Authorization
     private RequestToken requestToken;
 
+    /** Accessor with current credentials (shared by threads) */
+    private volatile Twitter accessor;
+
     public TwitterAuth( //
             String consumerKey, //
             String consumerSecret) {
@@ -39,15 +42,33 @@ public class TwitterAuth implements ServiceAuth<Twitter> {
     /**
      * Get Request Token for Twitter
      * Twitter のリクエストトークンの取得
+     * (Instance is built once and reused until credentials are changed)
      */
     @Override
     public Twitter getAccessor() {
+        Twitter twitter = accessor;
+        if (twitter != null) {
+            return twitter;
+        }
 
-        Twitter twitter = createTwitterInstance();
-        AccessToken token = new AccessToken(accessToken, accessSecret);
-        twitter.setOAuthConsumer(consumerKey, consumerSecret);
-        twitter.setOAuthAccessToken(token);
-        return twitter;
+        synchronized (this) {
+            if (accessor == null) {
+                twitter = createTwitterInstance();
+                AccessToken token = new AccessToken(accessToken, accessSecret);
+                twitter.setOAuthConsumer(consumerKey, consumerSecret);
+                twitter.setOAuthAccessToken(token);
+                accessor = twitter;
+            }
+            return accessor;
+        }
+    }
+
+    /**
+     * Discard accessor (rebuilt with current credentials on next call)
+     * アクセサを破棄 (次回の呼び出し時に現在の認証情報で再生成)
+     */
+    public synchronized void clearAccessor() {
+        accessor = null;
     }
 
     /**
@@ -73,6 +94,7 @@ public class TwitterAuth implements ServiceAuth<Twitter> {
 
         this.accessToken = accessToken;
         this.accessSecret = accessSecret;
+        clearAccessor();
 
         Account account = new Account();
         ServiceType type = ServiceType.Twitter;
@@ -135,6 +157,7 @@ public class TwitterAuth implements ServiceAuth<Twitter> {
 
     public void setConsumerKey(String consumerKey) {
         this.consumerKey = consumerKey;
+        clearAccessor();
     }
 
     public String getConsumerSecret() {
@@ -143,6 +166,7 @@ public class TwitterAuth implements ServiceAuth<Twitter> {
 
     public void setConsumerSecret(String consumerSecret) {
         this.consumerSecret = consumerSecret;
+        clearAccessor();
     }
 
     public String getAccessToken() {
@@ -151,6 +175,7 @@ public class TwitterAuth implements ServiceAuth<Twitter> {
 
     public void setAccessToken(String accessToken) {
         this.accessToken = accessToken;
+        clearAccessor();
     }
 
     public String getAccessSecret() {
@@ -159,6 +184,7 @@ public class TwitterAuth implements ServiceAuth<Twitter> {
 
     public void setAccessSecret(String accessSecret) {
         this.accessSecret = accessSecret;
+        clearAccessor();
     }
     //endregion
 }
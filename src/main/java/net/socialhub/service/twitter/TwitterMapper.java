@@ -48,6 +48,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -91,16 +92,7 @@ public class TwitterMapper {
             model.setUrl(url);
 
             URLEntity entity = user.getURLEntity();
-            for (AttributedElement elem : url.getElements()) {
-                if (elem.getExpandedText().equals(entity.getText())) {
-
-                    if (elem instanceof AttributedItem) {
-                        AttributedItem item = (AttributedItem) elem;
-                        item.setExpandedText(entity.getExpandedURL());
-                        item.setDisplayText(entity.getDisplayURL());
-                    }
-                }
-            }
+            url.addElementProcessor(urlEntities(new URLEntity[]{entity}));
         }
 
         // プロフィールページの設定
@@ -112,22 +104,23 @@ public class TwitterMapper {
         model.setDescription(desc);
 
         // URL の DisplayURL ExpandedURL を設定
-        for (URLEntity entity : user.getDescriptionURLEntities()) {
-            for (AttributedElement elem : desc.getElements()) {
-                if (elem.getExpandedText().equals(entity.getText())) {
-
-                    if (elem instanceof AttributedItem) {
-                        AttributedItem item = (AttributedItem) elem;
-                        item.setExpandedText(entity.getExpandedURL());
-                        item.setDisplayText(entity.getDisplayURL());
-                    }
-                }
-            }
-        }
+        desc.addElementProcessor(urlEntities(user.getDescriptionURLEntities()));
 
         return model;
     }
 
+    /**
+     * ユーザーマッピング
+     * (同じページ内の同じユーザーは一度だけ作成して共有)
+     */
+    public static User user(
+            twitter4j.User user,
+            Service service,
+            Map<Long, User> users) {
+
+        return users.computeIfAbsent(user.getId(), (id) -> user(user, service));
+    }
+
     /**
      * コメントマッピング
      */
@@ -135,11 +128,23 @@ public class TwitterMapper {
             Status status,
             Service service) {
 
+        return comment(status, service, new HashMap<>());
+    }
+
+    /**
+     * コメントマッピング
+     * (ユーザーはページ内で共有)
+     */
+    public static Comment comment(
+            Status status,
+            Service service,
+            Map<Long, User> users) {
+
         TwitterComment model = new TwitterComment(service);
 
         model.setId(status.getId());
         model.setCreateAt(status.getCreatedAt());
-        model.setUser(user(status.getUser(), service));
+        model.setUser(user(status.getUser(), service, users));
         model.setPossiblySensitive(status.isPossiblySensitive());
         model.setApplication(application(status.getSource()));
 
@@ -158,32 +163,21 @@ public class TwitterMapper {
         // リツイートの場合内部を展開
         if (status.isRetweet()) {
 
-            model.setSharedComment(comment(status.getRetweetedStatus(), service));
+            model.setSharedComment(comment(status.getRetweetedStatus(), service, users));
             model.setMedias(new ArrayList<>());
 
         } else {
 
             // 引用リツイートの場合はここで展開
             if (status.getQuotedStatus() != null) {
-                model.setSharedComment(comment(status.getQuotedStatus(), service));
+                model.setSharedComment(comment(status.getQuotedStatus(), service, users));
             }
 
             AttributedString text = AttributedString.plain(displayText(status));
             model.setText(text);
 
             // URL の DisplayURL ExpandedURL を設定
-            for (URLEntity entity : status.getURLEntities()) {
-                for (AttributedElement elem : text.getElements()) {
-                    if (elem.getExpandedText().equals(entity.getText())) {
-
-                        if (elem instanceof AttributedItem) {
-                            AttributedItem item = (AttributedItem) elem;
-                            item.setExpandedText(entity.getExpandedURL());
-                            item.setDisplayText(entity.getDisplayURL());
-                        }
-                    }
-                }
-            }
+            text.addElementProcessor(urlEntities(status.getURLEntities()));
 
             // メディア情報を取得時に展開
             model.setMedias(medias(status.getMediaEntities()));
@@ -212,18 +206,7 @@ public class TwitterMapper {
         model.setText(text);
 
         // URL の DisplayURL ExpandedURL を設定
-        for (URLEntity entity : message.getURLEntities()) {
-            for (AttributedElement elem : text.getElements()) {
-                if (elem.getExpandedText().equals(entity.getText())) {
-
-                    if (elem instanceof AttributedItem) {
-                        AttributedItem item = (AttributedItem) elem;
-                        item.setExpandedText(entity.getExpandedURL());
-                        item.setDisplayText(entity.getDisplayURL());
-                    }
-                }
-            }
-        }
+        text.addElementProcessor(urlEntities(message.getURLEntities()));
 
         // メディア情報を取得時に展開
         model.setMedias(medias(message.getMediaEntities()));
@@ -475,8 +458,9 @@ public class TwitterMapper {
             Service service, //
             Paging paging) {
 
+        Map<Long, User> users = new HashMap<>();
         Pageable<Comment> model = new Pageable<>();
-        model.setEntities(statuses.stream().map(e -> comment(e, service)) //
+        model.setEntities(statuses.stream().map(e -> comment(e, service, users)) //
                 .sorted(Comparator.comparing(Comment::getCreateAt).reversed()) //
                 .collect(toList()));
 
@@ -492,8 +476,9 @@ public class TwitterMapper {
             Service service, //
             Paging paging) {
 
+        Map<Long, User> users = new HashMap<>();
         Pageable<Comment> model = new Pageable<>();
-        model.setEntities(results.getTweets().stream().map(e -> comment(e, service)) //
+        model.setEntities(results.getTweets().stream().map(e -> comment(e, service, users)) //
                 .sorted(Comparator.comparing(Comment::getCreateAt).reversed()) //
                 .collect(toList()));
 
@@ -700,6 +685,25 @@ public class TwitterMapper {
                 .collect(toList());
     }
 
+    /**
+     * Replace t.co url with display / expanded url.
+     * URL の DisplayURL ExpandedURL を設定
+     */
+    private static Consumer<AttributedElement> urlEntities(URLEntity[] entities) {
+        return (elem) -> {
+            for (URLEntity entity : entities) {
+                if (elem.getExpandedText().equals(entity.getText())) {
+
+                    if (elem instanceof AttributedItem) {
+                        AttributedItem item = (AttributedItem) elem;
+                        item.setExpandedText(entity.getExpandedURL());
+                        item.setDisplayText(entity.getDisplayURL());
+                    }
+                }
+            }
+        };
+    }
+
     /**
      * デフォルトアイコンサイズを取得
      */
@@ -0,0 +1,110 @@
+package net.socialhub.utils;
+
+import net.socialhub.model.service.Comment;
+import net.socialhub.model.service.IdentifyKey;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Comment Dedupe Iterator
+ * 複数アカウントで取得した同じコメントを除外するイテレータ
+ *
+ * コメント毎に識別キー (ホストで比較する IdentifyKey) と Web URL を求め、
+ * 既に返却したコメントとキーが一つでも一致するものを除外する。
+ * 共有のみのコメント (RT, Renote) は共有元のキーも持つため、
+ * 共有元や同じコメントの別の共有とも重複とみなす。
+ * 既出のキーはハッシュで保持するため、全体で O(n) で処理する。
+ */
+public class CommentDedupeIterator implements Iterator<Comment> {
+
+    private final Iterator<? extends Comment> source;
+
+    /** Keys of returned comments (IdentifyKey or web url) */
+    private final Set<Object> keys = new HashSet<>();
+
+    private final List<Object> buffer = new ArrayList<>(4);
+
+    private Comment next;
+
+    /**
+     * Make dedupe iterator (first comment of same keys is returned)
+     * 重複を除外するイテレータを作成 (同じキーのうち最初のものを返却)
+     */
+    public static CommentDedupeIterator of(Iterator<? extends Comment> source) {
+        return new CommentDedupeIterator(source);
+    }
+
+    /**
+     * Remove duplicated comments from list
+     * リストから重複したコメントを除外
+     */
+    public static List<Comment> dedupe(List<? extends Comment> comments) {
+        List<Comment> results = new ArrayList<>(comments.size());
+        CommentDedupeIterator iterator = of(comments.iterator());
+        while (iterator.hasNext()) {
+            results.add(iterator.next());
+        }
+        return results;
+    }
+
+    private CommentDedupeIterator(Iterator<? extends Comment> source) {
+        this.source = source;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && source.hasNext()) {
+            Comment comment = source.next();
+
+            buffer.clear();
+            keys(comment, buffer);
+            if (comment.isOnlyShared()) {
+                keys(comment.getSharedComment(), buffer);
+            }
+
+            // 除外したコメントのキーも記録 (共有元を介した重複のため)
+            boolean duplicated = false;
+            for (Object key : buffer) {
+                duplicated |= !keys.add(key);
+            }
+            if (!duplicated) {
+                next = comment;
+            }
+        }
+        return (next != null);
+    }
+
+    @Override
+    public Comment next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Comment result = next;
+        next = null;
+        return result;
+    }
+
+    /**
+     * Add keys of comment (identify and web url)
+     * コメントのキーを追加
+     */
+    private static void keys(Comment comment, List<Object> results) {
+        IdentifyKey key = IdentifyKey.ofHost(comment);
+        if (key != null) {
+            results.add(key);
+        }
+
+        // Web URL が取得できないサービス・コメントは識別キーのみ
+        if (comment.hasWebUrl()) {
+            String url = comment.getWebUrl();
+            if (url != null) {
+                results.add(url);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package net.socialhub.utils;
+
+import java.text.ParseException;
+import java.util.Date;
+
+/**
+ * Date Parse Util
+ * 日時文字列の解析
+ *
+ * 固定形式の ISO-8601 (yyyy-MM-ddTHH:mm:ss.SSSZ) を文字単位で解析する。
+ * 共有する状態を持たないためスレッドセーフで、SimpleDateFormat や Calendar を作成しない。
+ */
+public final class DateParseUtil {
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private DateParseUtil() {
+    }
+
+    /**
+     * Parse ISO-8601 date time
+     * (yyyy-MM-ddTHH:mm:ss[.fraction](Z|+HH:mm|-HH:mm))
+     * ISO-8601 形式の日時を解析
+     */
+    public static Date iso8601(String text) throws ParseException {
+        if (text == null) {
+            throw new ParseException("date is null.", 0);
+        }
+
+        int length = text.length();
+        if (length < 20) {
+            throw new ParseException("unparseable date: " + text, 0);
+        }
+
+        int year = digits(text, 0, 4);
+        expect(text, 4, '-');
+        int month = digits(text, 5, 2);
+        expect(text, 7, '-');
+        int day = digits(text, 8, 2);
+        expect(text, 10, 'T');
+        int hour = digits(text, 11, 2);
+        expect(text, 13, ':');
+        int minute = digits(text, 14, 2);
+        expect(text, 16, ':');
+        int second = digits(text, 17, 2);
+
+        // 小数部 (ミリ秒以下は切り捨て)
+        int i = 19;
+        int millis = 0;
+        if (text.charAt(i) == '.') {
+            int start = ++i;
+            while (i < length && isDigit(text.charAt(i))) {
+                if (i - start < 3) {
+                    millis = millis * 10 + (text.charAt(i) - '0');
+                }
+                i++;
+            }
+            if (i == start) {
+                throw new ParseException("unparseable date: " + text, i);
+            }
+            for (int n = i - start; n < 3; n++) {
+                millis *= 10;
+            }
+        }
+
+        // タイムゾーン
+        if (i >= length) {
+            throw new ParseException("unparseable date: " + text, i);
+        }
+        int offset = 0;
+        char zone = text.charAt(i);
+        if (zone == 'Z' || zone == 'z') {
+            i++;
+        } else if ((zone == '+' || zone == '-') && i + 6 == length) {
+            expect(text, i + 3, ':');
+            offset = digits(text, i + 1, 2) * 60 + digits(text, i + 4, 2);
+            offset = (zone == '-') ? -offset : offset;
+            i += 6;
+        } else {
+            throw new ParseException("unparseable date: " + text, i);
+        }
+
+        if (i != length || month < 1 || month > 12 || day < 1 || day > 31
+                || hour > 23 || minute > 59 || second > 59) {
+            throw new ParseException("unparseable date: " + text, 0);
+        }
+
+        long time = epochDay(year, month, day) * MILLIS_PER_DAY
+                + ((hour * 60L + minute - offset) * 60 + second) * 1000 + millis;
+        return new Date(time);
+    }
+
+    // ============================================================== //
+    // Support
+    // ============================================================== //
+
+    /**
+     * Days from 1970-01-01 (proleptic Gregorian)
+     * 1970-01-01 からの日数
+     */
+    private static long epochDay(int year, int month, int day) {
+        long y = (month <= 2) ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153 * (month + ((month > 2) ? -3 : 9)) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    private static int digits(String text, int index, int count) throws ParseException {
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                throw new ParseException("unparseable date: " + text, i);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void expect(String text, int index, char c) throws ParseException {
+        if (text.charAt(index) != c) {
+            throw new ParseException("unparseable date: " + text, index);
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
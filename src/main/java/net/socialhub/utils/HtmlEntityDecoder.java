@@ -0,0 +1,190 @@
+package net.socialhub.utils;
+
+import net.socialhub.define.SpecialCharType;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * HTML Entity Decoder
+ * HTML 実体参照の展開
+ *
+ * {@link SpecialCharType} の名前からトライ木を作成し、
+ * 名前付き・数値の実体参照を正規表現を使わず一度の走査で展開する。
+ * 末尾の ';' が無いものや未定義のものは展開しない。
+ */
+public final class HtmlEntityDecoder {
+
+    private static final Node ROOT = build();
+
+    private HtmlEntityDecoder() {
+    }
+
+    private static Node build() {
+        Builder root = new Builder();
+        root.add("apos", "'");
+
+        for (SpecialCharType type : SpecialCharType.values()) {
+            String entity = type.getEntityRepl();
+            String number = type.getNumberRepl();
+
+            // 数値のみの定義は対象外
+            if (!entity.startsWith("&#")) {
+                int code = Integer.parseInt(number.substring(2, number.length() - 1));
+                root.add(entity.substring(1, entity.length() - 1), new String(Character.toChars(code)));
+            }
+        }
+        return root.build();
+    }
+
+    /**
+     * Decode all entities in string
+     * 文字列中の実体参照を全て展開
+     */
+    public static String decode(String str) {
+        if (str == null) {
+            return null;
+        }
+
+        int index = str.indexOf('&');
+        if (index < 0) {
+            return str;
+        }
+
+        StringBuilder builder = new StringBuilder(str.length());
+        builder.append(str, 0, index);
+
+        while (index < str.length()) {
+            char c = str.charAt(index);
+            if (c == '&') {
+                int next = decode(str, index, builder);
+                if (next >= 0) {
+                    index = next;
+                    continue;
+                }
+            }
+            builder.append(c);
+            index++;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Decode entity starts at index ('&') and append to builder
+     * (Return index after entity, or -1 and append nothing if not entity)
+     * 指定位置の実体参照を展開して追加し、次の位置を返却 (実体参照でない場合は -1)
+     */
+    public static int decode(CharSequence str, int index, StringBuilder builder) {
+        int length = str.length();
+        int i = index + 1;
+
+        if (i < length && str.charAt(i) == '#') {
+            return decodeNumber(str, i + 1, builder);
+        }
+
+        // トライ木を辿る
+        Node node = ROOT;
+        while (i < length) {
+            char c = str.charAt(i);
+            if (c == ';') {
+                if (node.value != null && node != ROOT) {
+                    builder.append(node.value);
+                    return i + 1;
+                }
+                return -1;
+            }
+
+            node = node.child(c);
+            if (node == null) {
+                return -1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static int decodeNumber(CharSequence str, int index, StringBuilder builder) {
+        int length = str.length();
+        int radix = 10;
+        int i = index;
+
+        if (i < length && (str.charAt(i) == 'x' || str.charAt(i) == 'X')) {
+            radix = 16;
+            i++;
+        }
+
+        int start = i;
+        int code = 0;
+        while (i < length) {
+            int digit = Character.digit(str.charAt(i), radix);
+            if (digit < 0) {
+                break;
+            }
+            code = code * radix + digit;
+            if (code > Character.MAX_CODE_POINT) {
+                return -1;
+            }
+            i++;
+        }
+
+        if (i == start || i >= length || str.charAt(i) != ';') {
+            return -1;
+        }
+        builder.appendCodePoint(code);
+        return i + 1;
+    }
+
+    /**
+     * Trie node (children are sorted by char)
+     * トライ木のノード (子は文字順)
+     */
+    private static class Node {
+
+        private final char[] chars;
+        private final Node[] children;
+        private final String value;
+
+        Node(char[] chars, Node[] children, String value) {
+            this.chars = chars;
+            this.children = children;
+            this.value = value;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(chars, c);
+            return (i >= 0) ? children[i] : null;
+        }
+    }
+
+    /**
+     * Mutable node for building
+     * 作成用のノード
+     */
+    private static class Builder {
+
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private String value;
+
+        void add(String name, String value) {
+            Builder node = this;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.children.computeIfAbsent(name.charAt(i), (c) -> new Builder());
+            }
+            node.value = value;
+        }
+
+        Node build() {
+            char[] chars = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                chars[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node(chars, nodes, value);
+        }
+    }
+}
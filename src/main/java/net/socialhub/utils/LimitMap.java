@@ -1,18 +1,329 @@
 package net.socialhub.utils;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 
-public class LimitMap<K, V> extends LinkedHashMap<K, V> {
+/**
+ * Limit Map
+ * 件数制限付きの並行マップ
+ *
+ * キーのハッシュでセグメントに分割し、セグメント毎にロックする。
+ * 各セグメントは参照順 (LRU) で管理し、上限を超えた場合は最も参照されていないものを破棄。
+ * computeIfAbsent は同じキーの読み込みを一度だけ実行する (他のスレッドは結果を待機)。
+ * 読み込み中の関数から同じキーを computeIfAbsent すると完了しないため、IllegalStateException を送出する。
+ */
+public class LimitMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
 
-    private int limit;
+    /** Max segment count */
+    private static final int MAX_SEGMENTS = 16;
+
+    /** Min entries per segment (small maps are not striped) */
+    private static final int MIN_SEGMENT_SIZE = 8;
+
+    private final int limit;
+
+    private final List<Segment> segments;
+
+    private final int mask;
+
+    /** Loading values (for single flight) */
+    private final Map<K, Loading<V>> loadings = new ConcurrentHashMap<>();
 
     public LimitMap(int limit) {
+        this(limit, MAX_SEGMENTS);
+    }
+
+    public LimitMap(int limit, int concurrencyLevel) {
         this.limit = limit;
+
+        // 分割数は 2 の累乗 (セグメント毎に最低件数を確保)
+        int count = 1;
+        while ((count << 1) <= concurrencyLevel
+                && (count << 1) * MIN_SEGMENT_SIZE <= limit) {
+            count <<= 1;
+        }
+
+        this.mask = count - 1;
+        this.segments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int size = (limit / count) + ((i < (limit % count)) ? 1 : 0);
+            segments.add(new Segment(size));
+        }
+    }
+
+    /**
+     * Called when entry is evicted by limit
+     * 上限により破棄された場合に呼び出し
+     */
+    protected void onEviction(K key, V value) {
+    }
+
+    // ============================================================== //
+    // Functions
+    // ============================================================== //
+
+    @Override
+    public V get(Object key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
     }
 
     @Override
-    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-        return (size() > limit);
+    public V put(K key, V value) {
+        checkNotNull(key, value);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        checkNotNull(key, value);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            V current = segment.get(key);
+            return (current != null) ? current : segment.put(key, value);
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            V current = segment.get(key);
+            if (current != null && current.equals(value)) {
+                segment.remove(key);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        checkNotNull(key, newValue);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            V current = segment.get(key);
+            if (current != null && current.equals(oldValue)) {
+                segment.put(key, newValue);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        checkNotNull(key, value);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key) ? segment.put(key, value) : null;
+        }
+    }
+
+    /**
+     * Get value or load it only once per key
+     * (Other threads requesting same key wait for the result)
+     * 値を取得、存在しない場合はキー毎に一度だけ読み込む
+     *
+     * @throws IllegalStateException if same key is requested in function (recursive load)
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        Loading<V> loading = new Loading<>();
+        Loading<V> other = loadings.putIfAbsent(key, loading);
+        if (other != null) {
+            // 読み込み中のスレッド自身が待機すると完了しないため検出
+            if (other.owner == Thread.currentThread()) {
+                throw new IllegalStateException("Recursive load of key: " + key);
+            }
+            return await(other);
+        }
+
+        try {
+            // 登録までの間に他のスレッドが読み込んでいる可能性があるため再確認
+            value = get(key);
+            if (value == null) {
+                value = function.apply(key);
+                if (value != null) {
+                    put(key, value);
+                }
+            }
+            loading.complete(value);
+            return value;
+
+        } catch (Throwable e) {
+            loading.completeExceptionally(e);
+            throw e;
+
+        } finally {
+            loadings.remove(key, loading);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Snapshot of entries (not reflect later changes)
+     * エントリのスナップショットを取得 (以降の変更は反映されない)
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> results = new LinkedHashSet<>();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                for (Entry<K, V> entry : segment.entrySet()) {
+                    results.add(new SimpleImmutableEntry<>(entry));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Remove entries matched by predicate
+     * 条件に一致するエントリを削除
+     */
+    public List<V> removeIf(BiPredicate<K, V> predicate) {
+        List<V> results = new ArrayList<>();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                Iterator<Entry<K, V>> iterator = segment.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Entry<K, V> entry = iterator.next();
+                    if (predicate.test(entry.getKey(), entry.getValue())) {
+                        results.add(entry.getValue());
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    // ============================================================== //
+    // Support
+    // ============================================================== //
+
+    private Segment segmentFor(Object key) {
+        int hash = (key != null) ? key.hashCode() : 0;
+        hash ^= (hash >>> 16);
+        return segments.get(hash & mask);
+    }
+
+    private static void checkNotNull(Object key, Object value) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    //region // Getter&Setter
+    public int getLimit() {
+        return limit;
+    }
+    //endregion
+
+    /**
+     * Access ordered segment
+     * 参照順で管理するセグメント
+     */
+    class Segment extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int segmentLimit;
+
+        Segment(int segmentLimit) {
+            super(16, 0.75f, true);
+            this.segmentLimit = segmentLimit;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > segmentLimit) {
+                onEviction(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Loading value with thread loading it
+     * 読み込み中の値 (読み込み中のスレッドを保持)
+     */
+    static class Loading<V> extends CompletableFuture<V> {
+
+        final Thread owner = Thread.currentThread();
     }
 }
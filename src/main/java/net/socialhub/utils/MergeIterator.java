@@ -0,0 +1,121 @@
+package net.socialhub.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-Way Merge Iterator
+ * ソート済みリスト群を順序を保ったまま結合するイテレータ
+ *
+ * 各リストは comparator の順序で整列済みであること。
+ * 同順位の要素はリストの順 → リスト内の順で返却する (安定)。
+ * O(n log k) で要素を遅延的に取り出す。
+ */
+public class MergeIterator<T> implements Iterator<T> {
+
+    private final PriorityQueue<Cursor<T>> queue;
+
+    /**
+     * Make merge iterator of sorted lists
+     * ソート済みリスト群から作成
+     */
+    public static <T> MergeIterator<T> of(List<? extends List<? extends T>> sources, Comparator<? super T> comparator) {
+        return new MergeIterator<>(sources, comparator);
+    }
+
+    /**
+     * Merge sorted lists into new list
+     * ソート済みリスト群を結合したリストを取得
+     */
+    public static <T> List<T> merge(List<? extends List<? extends T>> sources, Comparator<? super T> comparator) {
+        int size = 0;
+        for (List<? extends T> source : sources) {
+            size += source.size();
+        }
+
+        List<T> results = new ArrayList<>(size);
+        MergeIterator<T> iterator = of(sources, comparator);
+        while (iterator.hasNext()) {
+            results.add(iterator.next());
+        }
+        return results;
+    }
+
+    /**
+     * Check list is sorted by comparator
+     * リストが整列済みかを確認
+     */
+    public static <T> boolean isSorted(List<? extends T> list, Comparator<? super T> comparator) {
+        T prev = null;
+        for (T item : list) {
+            if (prev != null && comparator.compare(prev, item) > 0) {
+                return false;
+            }
+            prev = item;
+        }
+        return true;
+    }
+
+    private MergeIterator(List<? extends List<? extends T>> sources, Comparator<? super T> comparator) {
+        Comparator<Cursor<T>> order = (a, b) -> {
+            int result = comparator.compare(a.head, b.head);
+            return (result != 0) ? result : Integer.compare(a.index, b.index);
+        };
+
+        queue = new PriorityQueue<>(Math.max(1, sources.size()), order);
+        for (int i = 0; i < sources.size(); i++) {
+            Iterator<? extends T> iterator = sources.get(i).iterator();
+            if (iterator.hasNext()) {
+                queue.add(new Cursor<>(i, iterator));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !queue.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Cursor<T> cursor = queue.poll();
+        if (cursor == null) {
+            throw new NoSuchElementException();
+        }
+
+        T result = cursor.head;
+        if (cursor.advance()) {
+            queue.add(cursor);
+        }
+        return result;
+    }
+
+    /**
+     * Head of each source
+     * 各リストの先頭
+     */
+    static class Cursor<T> {
+
+        private final int index;
+        private final Iterator<? extends T> iterator;
+        private T head;
+
+        Cursor(int index, Iterator<? extends T> iterator) {
+            this.index = index;
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+
+        boolean advance() {
+            if (iterator.hasNext()) {
+                head = iterator.next();
+                return true;
+            }
+            return false;
+        }
+    }
+}
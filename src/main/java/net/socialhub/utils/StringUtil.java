@@ -7,14 +7,10 @@ public final class StringUtil {
     private static final int MAX_DISPLAY_LENGTH = 26;
     
     /**
-     * URL デコード処理
+     * URL デコード処理 (実体参照の展開)
      */
     public static String decodeUrl(String str) {
-        return str
-                .replaceAll("&gt;", ">")
-                .replaceAll("&lt;", "<")
-                .replaceAll("&amp;", "&")
-                .replaceAll("&quot;", "\"");
+        return HtmlEntityDecoder.decode(str);
     }
 
     /**
@@ -1,22 +1,12 @@
 package net.socialhub.utils;
 
-import net.socialhub.define.SpecialCharType;
 import net.socialhub.model.common.xml.XmlDocument;
 import net.socialhub.model.common.xml.XmlString;
 import net.socialhub.model.common.xml.XmlTag;
-import net.socialhub.model.error.SocialHubException;
-import org.xml.sax.Attributes;
-import org.xml.sax.helpers.DefaultHandler;
-
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.Stack;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import net.socialhub.model.common.xml.XmlTokenizer;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class XmlParseUtil {
 
@@ -25,117 +15,64 @@ public class XmlParseUtil {
      * 簡単な XHTML をパース処理
      */
     public static XmlDocument xhtml(String string) {
+        XMLParseHandler handler = new XMLParseHandler();
+        XmlTokenizer.parse(string, handler);
 
-        // For Root Element Missing
-        string = "<xml>" + string + "</xml>";
-
-        // Delete System NewLine
-        string = string.replaceAll("\n", "");
-        string = string.replaceAll("\r", "");
-
-        // Remove Script Async
-        string = string.replaceAll("<script async", "<script");
-
-        // Regex like: <(br|BR)(.*?)/?>
-        String[] tags = { "br", "img", "hr" };
-        for (String tag : tags) {
-            string = replace(string, "<(" + tag + "|" + //
-                    tag.toUpperCase() + ")(.*?)/?>", "<$1$2/>");
-        }
-
-        // Some Tumblr Post NOT escaped & in href in a tag.
-        string = string.replaceAll("&(?![#a-zA-Z0-9]+;)", "&amp;");
-
-        // Replace &nbsp; to &#160; (library issue)
-        for (SpecialCharType sp : SpecialCharType.values()) {
-            string = string.replaceAll(sp.getEntityRepl(), sp.getNumberRepl());
-        }
-        
-        try {
-
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser parser = factory.newSAXParser();
-
-            InputStream is = new ByteArrayInputStream(string.getBytes(StandardCharsets.UTF_8));
-            XMLParseHandler handler = new XMLParseHandler();
-            parser.parse(is, handler);
-
-            XmlDocument document = new XmlDocument();
-            document.setRoot(handler.getRoot());
-            return document;
-
-        } catch (Exception e) {
-            System.out.println(string);
-            throw new SocialHubException(e);
-        }
-    }
-
-    private static String replace(String from, String regex, String to) {
-        Pattern p = Pattern.compile(regex);
-        Matcher m = p.matcher(from);
-        return m.replaceAll(to);
+        XmlDocument document = new XmlDocument();
+        document.setRoot(handler.getRoot());
+        return document;
     }
 
     /**
      * XML パーサ
      */
-    public static class XMLParseHandler extends DefaultHandler {
+    public static class XMLParseHandler implements XmlTokenizer.Handler {
 
         private XmlTag root;
 
-        private Stack<XmlTag> tags = new Stack<>();
+        private List<XmlTag> tags = new ArrayList<>();
 
-        @Override
-        public void startDocument() {
+        public XMLParseHandler() {
+
+            // For Root Element Missing
+            root = new XmlTag();
+            root.setName("xml");
+            tags.add(root);
         }
 
         @Override
-        public void characters(
-                char[] ch,
-                int start,
-                int length) {
-
+        public void text(CharSequence text) {
             XmlString string = new XmlString();
-            string.setString(new String(Arrays.copyOfRange(ch, start, start + length)));
-            tags.peek().getElements().add(string);
+            string.setString(text.toString());
+            peek().getElements().add(string);
         }
 
         @Override
-        public void startElement(
-                String uri,
-                String localName,
-                String qName,
-                Attributes attributes) {
+        public void startTag(
+                String name,
+                XmlTokenizer.Attributes attributes) {
 
             XmlTag tag = new XmlTag();
-            tag.setName(qName);
+            tag.setName(name);
 
-            for (int i = 0; i < attributes.getLength(); i++) {
-                tag.getAttributes().put(attributes.getQName(i), attributes.getValue(i));
+            for (int i = 0; i < attributes.size(); i++) {
+                tag.getAttributes().put(attributes.getName(i), attributes.getValue(i));
             }
 
-            // タグを登録
-            if (tags.size() != 0) {
-                tags.peek().getElements().add(tag);
-
-            } else {
-
-                // ルート要素に指定
-                root = tag;
-            }
-
-            // スタックに追加
-            tags.push(tag);
+            // タグを登録してスタックに追加
+            peek().getElements().add(tag);
+            tags.add(tag);
         }
 
         @Override
-        public void endElement(
-                String uri,
-                String localName,
-                String qName) {
+        public void endTag(String name) {
 
             // スタックから削除
-            tags.pop();
+            tags.remove(tags.size() - 1);
+        }
+
+        private XmlTag peek() {
+            return tags.get(tags.size() - 1);
         }
 
         public XmlTag getRoot() {
@@ -0,0 +1,174 @@
+package net.socialhub.utils;
+
+import net.socialhub.define.ServiceType;
+import net.socialhub.model.Account;
+import net.socialhub.model.error.CircuitOpenException;
+import net.socialhub.model.service.Service;
+import net.socialhub.service.action.AccountActionImpl;
+import net.socialhub.service.control.CircuitBreaker;
+import net.socialhub.service.control.RetryPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.ConnectException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class AccountActionRetryTest {
+
+    private static final String HOST = "mastodon.example.com";
+
+    private CircuitBreaker prevBreaker;
+
+    @Before
+    public void setUp() {
+        prevBreaker = CircuitBreaker.shared();
+    }
+
+    @After
+    public void tearDown() {
+        CircuitBreaker.setShared(prevBreaker);
+    }
+
+    @Test
+    public void testNestedNotRetried() {
+        CircuitBreaker.setShared(CircuitBreaker.of(100, 20000L, 1000L, 1));
+        TestAction action = action();
+        AtomicInteger calls = new AtomicInteger();
+
+        // ネストしたリクエストは外側のリクエストの一部として再試行される
+        try {
+            action.call(() -> action.call(() -> {
+                calls.incrementAndGet();
+                throw new ConnectException();
+            }));
+            fail();
+        } catch (Exception e) {
+            assertEquals(3, calls.get());
+        }
+    }
+
+    @Test
+    public void testNestedTaskNotRetried() {
+        CircuitBreaker.setShared(CircuitBreaker.of(100, 20000L, 1000L, 1));
+        TestAction action = action();
+        AtomicInteger calls = new AtomicInteger();
+
+        // 並列に実行したタスク内のリクエストも外側のリクエストの一部
+        try {
+            action.call(() -> action.executor().submit(() -> action.call(() -> {
+                calls.incrementAndGet();
+                throw new ConnectException();
+            })).get());
+            fail();
+        } catch (Exception e) {
+            assertEquals(3, calls.get());
+        }
+    }
+
+    @Test
+    public void testCompositeRetriesLeaf() throws Exception {
+        CircuitBreaker.setShared(CircuitBreaker.of(100, 20000L, 1000L, 1));
+        TestAction action = action();
+        AtomicInteger uploads = new AtomicInteger();
+        AtomicInteger posts = new AtomicInteger();
+
+        // 失敗したリクエストのみ再試行し、先に成功したもの (アップロード) は再送しない
+        action.runComposite(() -> {
+            action.call(uploads::incrementAndGet);
+            action.run(() -> {
+                if (posts.incrementAndGet() == 1) {
+                    throw new ConnectException();
+                }
+            });
+        });
+
+        assertEquals(1, uploads.get());
+        assertEquals(2, posts.get());
+    }
+
+    @Test
+    public void testCompositeHalfOpen() throws Exception {
+        CircuitBreaker.setShared(CircuitBreaker.of(1, 20000L, 50L, 1));
+        TestAction action = action();
+        action.setRetryPolicy(RetryPolicy.none());
+        openCircuit(action);
+
+        // 半開状態の試行は外側ではなく個々のリクエストで行う
+        String result = action.callComposite(() -> action.executor()
+                .submit(() -> action.call(() -> "probe")).get());
+
+        assertEquals("probe", result);
+        assertEquals(CircuitBreaker.State.CLOSED, CircuitBreaker.shared().getState(HOST));
+    }
+
+    @Test
+    public void testWrappedCircuitOpenIgnored() throws Exception {
+        CircuitBreaker.setShared(CircuitBreaker.of(1, 20000L, 50L, 1));
+        TestAction action = action();
+        action.setRetryPolicy(RetryPolicy.none());
+        openCircuit(action);
+
+        // 並列処理の例外に包まれていても送信前に止めたものは成功として扱わない
+        try {
+            action.call(() -> {
+                throw new ExecutionException(new CircuitOpenException(HOST, 0L));
+            });
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals(CircuitBreaker.State.HALF_OPEN, CircuitBreaker.shared().getState(HOST));
+        }
+    }
+
+    private static void openCircuit(TestAction action) throws InterruptedException {
+        try {
+            action.call(() -> {
+                throw new ConnectException();
+            });
+            fail();
+        } catch (Exception e) {
+            assertEquals(CircuitBreaker.State.OPEN, CircuitBreaker.shared().getState(HOST));
+        }
+        java.lang.Thread.sleep(100L);
+    }
+
+    private static TestAction action() {
+        Account account = new Account();
+        Service service = new Service(ServiceType.Mastodon, account);
+        service.setApiHost(HOST);
+        account.setService(service);
+
+        TestAction action = new TestAction();
+        action.setAccount(account);
+        action.setRetryPolicy(RetryPolicy.of(3, 1L, 1L, 1000L));
+        return action;
+    }
+
+    static class TestAction extends AccountActionImpl {
+
+        <T> T call(ActionCaller<T, Exception> caller) throws Exception {
+            return retry(caller, true, RetryPolicy::retryAfterOf);
+        }
+
+        void run(ActionRunner<Exception> runner) throws Exception {
+            retry(runner, false, RetryPolicy::retryAfterOf);
+        }
+
+        void runComposite(ActionRunner<Exception> runner) throws Exception {
+            retry(composite(runner), false, RetryPolicy::retryAfterOf);
+        }
+
+        <T> T callComposite(ActionCaller<T, Exception> caller) throws Exception {
+            return retry(composite(caller), true, RetryPolicy::retryAfterOf);
+        }
+
+        ExecutorService executor() {
+            return getExecutor();
+        }
+    }
+}
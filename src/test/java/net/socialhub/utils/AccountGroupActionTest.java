@@ -0,0 +1,74 @@
+package net.socialhub.utils;
+
+import net.socialhub.define.ServiceType;
+import net.socialhub.model.Account;
+import net.socialhub.model.group.AccountGroupImpl;
+import net.socialhub.model.group.UserGroup;
+import net.socialhub.model.service.Service;
+import net.socialhub.model.service.User;
+import net.socialhub.service.action.AccountAction;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AccountGroupActionTest {
+
+    @Test
+    public void testUserMePartialFailure() {
+        User me = new User(null);
+        Account good = account("good.example.com", () -> me);
+        Account bad = account("bad.example.com", () -> {
+            throw new IllegalStateException("failed");
+        });
+
+        // 一部のアカウントの失敗はエラーとして通知
+        UserGroup group = new AccountGroupImpl(good, bad).action().getUserMe();
+        assertFalse(group.isComplete());
+        assertSame(me, group.getEntities().get(good));
+        assertFalse(group.getEntities().containsKey(bad));
+        assertTrue(group.getErrors().get(bad) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testUserMeTimeout() {
+        CountDownLatch latch = new CountDownLatch(1);
+        Account fast = account("fast.example.com", () -> new User(null));
+        Account slow = account("slow.example.com", () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return new User(null);
+        });
+
+        // 期限内に完了しないものは保留
+        UserGroup group = new AccountGroupImpl(fast, slow).action()
+                .getUserMe(100, TimeUnit.MILLISECONDS);
+        assertEquals(1, group.getEntities().size());
+        assertTrue(group.getPendingAccounts().contains(slow));
+        assertTrue(group.getErrors().get(slow) instanceof TimeoutException);
+        latch.countDown();
+    }
+
+    private static Account account(String host, java.util.function.Supplier<User> supplier) {
+        Account account = new Account();
+        Service service = new Service(ServiceType.Mastodon, account);
+        service.setApiHost(host);
+        account.setService(service);
+        account.setAction(new AccountAction() {
+            @Override
+            public User getUserMe() {
+                return supplier.get();
+            }
+        });
+        return account;
+    }
+}
@@ -0,0 +1,148 @@
+package net.socialhub.utils;
+
+import net.socialhub.service.control.ActionExecutor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ActionExecutorTest {
+
+    @Test
+    public void testHostBound() throws Exception {
+        ActionExecutor executor = ActionExecutor.ofThreads(8, 2);
+        ExecutorService host = executor.getExecutor("mastodon.example.com");
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+        AtomicInteger inline = new AtomicInteger();
+        java.lang.Thread caller = java.lang.Thread.currentThread();
+
+        // 上限を超えた分は呼び出し元で実行せずに待ち合わせる
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(host.submit(() -> {
+                if (java.lang.Thread.currentThread() == caller) {
+                    inline.incrementAndGet();
+                }
+                max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(50L);
+                running.decrementAndGet();
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(0, inline.get());
+        assertTrue(max.get() <= 2);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testNestedTask() throws Exception {
+        ActionExecutor executor = ActionExecutor.ofThreads(8, 1);
+        ExecutorService host = executor.getExecutor("misskey.example.com");
+
+        // 同じホストのタスク内からのリクエストはデッドロックしない
+        Future<String> future = host.submit(() -> host.submit(() -> "nested").get());
+        assertEquals("nested", future.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testShutdownNow() throws Exception {
+        ActionExecutor executor = ActionExecutor.ofThreads(8, 1);
+        ExecutorService host = executor.getExecutor("mastodon.example.com");
+        CountDownLatch latch = new CountDownLatch(1);
+
+        host.submit(() -> await(latch));
+        host.submit(() -> "queued");
+        host.submit(() -> "queued");
+
+        // 待ち合わせ中のタスクのみ返却し、共有プールは停止しない
+        assertEquals(2, host.shutdownNow().size());
+        assertFalse(executor.isShutdown());
+
+        latch.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testRejectedByPool() throws Exception {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 60L,
+                TimeUnit.SECONDS, new SynchronousQueue<>(), (runnable) -> {
+            java.lang.Thread thread = new java.lang.Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ActionExecutor executor = ActionExecutor.of(pool, 4);
+        ExecutorService host = executor.getExecutor("mastodon.example.com");
+        CountDownLatch latch = new CountDownLatch(1);
+        java.lang.Thread caller = java.lang.Thread.currentThread();
+
+        // プールが飽和した場合も呼び出し元では実行しない
+        Future<?> blocker = host.submit(() -> await(latch));
+        Future<java.lang.Thread> queued = host.submit(java.lang.Thread::currentThread);
+        assertFalse(queued.isDone());
+
+        latch.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        assertNotEquals(caller, queued.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSaturatedPool() throws Exception {
+        for (int threads = 1; threads <= 2; threads++) {
+            ActionExecutor executor = ActionExecutor.of(new ThreadPoolExecutor(threads, threads, 60L,
+                    TimeUnit.SECONDS, new SynchronousQueue<>(), (runnable) -> {
+                java.lang.Thread thread = new java.lang.Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            }), 2);
+
+            // 各ホストに 1 件ずつ同時に投入しても、飽和で戻されたタスクが全て完了する
+            // (後続のタスクが無いホストも取り残されない)
+            int hosts = 2000;
+            CountDownLatch done = new CountDownLatch(hosts);
+            ExecutorService callers = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < hosts; i++) {
+                ExecutorService host = executor.getExecutor("host" + i + ".example.com");
+                callers.submit(() -> host.submit(done::countDown));
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            callers.shutdown();
+            executor.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            java.lang.Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package net.socialhub.utils;
+
+import net.socialhub.define.ServiceType;
+import net.socialhub.model.Account;
+import net.socialhub.model.error.NotImplimentedException;
+import net.socialhub.model.service.Service;
+import net.socialhub.model.service.User;
+import net.socialhub.service.action.AccountAction;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncAccountActionTest {
+
+    @Test
+    public void testSupply() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        User me = new User(null);
+
+        Account account = account(new AccountAction() {
+            @Override
+            public User getUserMe() {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return me;
+            }
+        });
+
+        // 呼び出し元をブロックしない
+        CompletableFuture<User> future = account.asyncAction().getUserMe();
+        assertFalse(future.isDone());
+
+        latch.countDown();
+        assertEquals(me, future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testError() throws Exception {
+        Account account = account(new AccountAction() {
+        });
+
+        // 失敗は CompletionException で包んで通知
+        CompletableFuture<User> future = account.asyncAction().getUserMe();
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NotImplimentedException);
+        }
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    private static Account account(AccountAction action) {
+        Account account = new Account();
+        Service service = new Service(ServiceType.Mastodon, account);
+        service.setApiHost("mastodon.example.com");
+        account.setService(service);
+        account.setAction(action);
+        return account;
+    }
+}
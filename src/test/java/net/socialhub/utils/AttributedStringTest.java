@@ -0,0 +1,357 @@
+package net.socialhub.utils;
+
+import net.socialhub.define.AttributedTypes;
+import net.socialhub.define.service.slack.SlackAttributedTypes;
+import net.socialhub.model.common.AttributedElement;
+import net.socialhub.model.common.AttributedItem;
+import net.socialhub.model.common.AttributedKind;
+import net.socialhub.model.common.AttributedString;
+import net.socialhub.model.common.AttributedType;
+import net.socialhub.model.common.EmojiMatcher;
+import net.socialhub.model.service.Emoji;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+
+public class AttributedStringTest {
+
+    private static final String[] TEXTS = {
+            "",
+            "plain text only",
+            "https://t.co/rx5cgtsmIj",
+            "LINK: https://t.co/rx5cgtsmIj https://www.googole.com/path?q=1&r=2 END",
+            "EMAIL: sample@example.com ex+sample@example.com",
+            "PHONE: 08012345678 (03)1234-5678 +81-1234-5678",
+            "HASH_TAG: #TheWorld #超会議 ＃闘会議 #tag#tag",
+            "ACCOUNT: @U_Akihir0@mstdn.jp @TheWorld_JP@pawoo.net @u_akihir0 @a",
+            "mixed @user https://example.com/@user #tag mail@example.com@x 09012345678",
+            "@user@example.com https://example.com @user@example.com",
+            "連続:https://a.com:https://b.com:@abc:@def:#ghi:",
+            "\n\n@start and end@\n",
+    };
+
+    private static final String[] SLACK_TEXTS = {
+            "<https://example.com|Example> and <https://example.com>",
+            "<mailto:sample@example.com|sample@example.com> <@U12345>",
+            "<@U1><@U2> <https://a.com|> text",
+    };
+
+    private static final String[] EMOJI_TEXTS = {
+            ":smile:",
+            "start :smile: middle :wave::smile: end",
+            "::smile:: :unknown: :wave",
+            "no emoji here",
+    };
+
+    @Test
+    public void testGoldenSimple() {
+        for (String text : TEXTS) {
+            assertSame(
+                    legacyPlain(text, AttributedTypes.simple()),
+                    AttributedString.plain(text).getElements());
+        }
+    }
+
+    @Test
+    public void testGoldenSlack() {
+        for (String text : SLACK_TEXTS) {
+            assertSame(
+                    legacyPlain(text, SlackAttributedTypes.simple()),
+                    AttributedString.plain(text, SlackAttributedTypes.simple()).getElements());
+        }
+    }
+
+    @Test
+    public void testGoldenEmoji() {
+        List<Emoji> emojis = Arrays.asList(emoji("smile"), emoji("wave"));
+
+        for (String text : EMOJI_TEXTS) {
+            List<AttributedElement> expect = legacyEmojis(
+                    legacyPlain(text, Collections.emptyList()), emojis);
+
+            AttributedString actual = AttributedString.plain(text, Collections.emptyList());
+            actual.addEmojiElement(emojis);
+            assertSame(expect, actual.getElements());
+        }
+    }
+
+    @Test
+    public void testEmojiLeftmost() {
+        List<Emoji> emojis = Arrays.asList(emoji("smile"), emoji("wave"), emoji("wave_hand"));
+
+        // 先に現れたものを優先、同じ位置では最長のものを優先
+        AttributedString string = AttributedString.plain(":wave:smile: :wave_hand:", Collections.emptyList());
+        string.addEmojiElement(emojis);
+
+        List<AttributedElement> elements = string.getElements();
+        assertEquals(5, elements.size());
+        assertEquals(":wave:", elements.get(1).getDisplayText());
+        assertEquals("smile: ", elements.get(2).getDisplayText());
+        assertEquals(":wave_hand:", elements.get(3).getDisplayText());
+        assertEquals("https://example.com/wave_hand.png", elements.get(3).getExpandedText());
+    }
+
+    @Test
+    public void testSharedEmojiMatcher() {
+        EmojiMatcher matcher = EmojiMatcher.of(Arrays.asList(emoji("smile"), emoji("wave")));
+
+        // 同じ絵文字の集合の文字列では作成済みの検出を使用
+        AttributedString text = AttributedString.plain("hi :wave:", Collections.emptyList());
+        AttributedString spoiler = AttributedString.plain(":smile: cw", Collections.emptyList());
+        text.addEmojiElement(matcher);
+        spoiler.addEmojiElement(matcher);
+
+        assertEquals(AttributedKind.EMOJI, text.getElements().get(1).getKind());
+        assertEquals(":smile:", spoiler.getElements().get(1).getDisplayText());
+
+        // 絵文字が無い場合は分割しない
+        AttributedString plain = AttributedString.plain(":smile:", Collections.emptyList());
+        plain.addEmojiElement(EmojiMatcher.of(Collections.emptyList()));
+        assertEquals(1, plain.getElements().size());
+    }
+
+    @Test
+    public void testUnicodeEmoji() {
+
+        // ZWJ・スキントーン・キーキャップ・国旗・異体字セレクタ
+        String text = "家族\uD83D\uDC68\u200D\uD83D\uDC69\u200D\uD83D\uDC67"
+                + " \uD83D\uDC4D\uD83C\uDFFD#\uFE0F\u20E3\uD83C\uDDEF\uD83C\uDDF5"
+                + "\u2764\uFE0F #tag \u00A9 1";
+
+        List<AttributedElement> elements = AttributedString.plain(text).getElements();
+        List<String> emojis = new ArrayList<>();
+        for (AttributedElement element : elements) {
+            if (element.getKind() == AttributedKind.EMOJI) {
+                emojis.add(element.getDisplayText());
+            }
+        }
+
+        assertEquals(Arrays.asList(
+                "\uD83D\uDC68\u200D\uD83D\uDC69\u200D\uD83D\uDC67",
+                "\uD83D\uDC4D\uD83C\uDFFD",
+                "#\uFE0F\u20E3",
+                "\uD83C\uDDEF\uD83C\uDDF5",
+                "\u2764\uFE0F"), emojis);
+        assertEquals(AttributedKind.HASH_TAG, elements.get(elements.size() - 2).getKind());
+        assertEquals(text, AttributedString.plain(text).getDisplayText());
+
+        // 種類に含めない場合は分割しない
+        assertEquals(1, AttributedString.plain(text, Collections.emptyList()).getElements().size());
+    }
+
+    @Test
+    public void testLazy() {
+        AtomicInteger count = new AtomicInteger();
+
+        // 要素を参照するまで解析されない
+        AttributedString string = AttributedString.plain("link: https://t.co/rx5cgtsmIj");
+        string.addElementProcessor((elem) -> {
+            count.incrementAndGet();
+            if (elem.getKind() == AttributedKind.LINK) {
+                ((AttributedItem) elem).setDisplayText("example.com");
+            }
+        });
+        assertEquals(0, count.get());
+
+        assertEquals("link: example.com", string.getDisplayText());
+        assertEquals("link: example.com", string.getDisplayText());
+        assertEquals(3, count.get());
+
+        // 要素を変更した場合
+        ((AttributedItem) string.getElements().get(1)).setDisplayText("other.com");
+        assertEquals("link: other.com", string.getDisplayText());
+    }
+
+    /**
+     * Compare with legacy implementation
+     * (100 emojis, 200 statuses)
+     */
+    @Test
+    @Ignore
+    public void testEmojiBenchmark() {
+        List<Emoji> emojis = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            emojis.add(emoji("emoji_" + i));
+        }
+
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            texts.add("text :emoji_" + i % 100 + ": and :emoji_" + (i * 7) % 100 + ": "
+                    + TEXTS[i % TEXTS.length] + " :unknown: end");
+        }
+
+        for (int round = 0; round < 5; round++) {
+            long legacy = System.nanoTime();
+            for (String text : texts) {
+                legacyEmojis(legacyPlain(text, Collections.emptyList()), emojis);
+            }
+            legacy = System.nanoTime() - legacy;
+
+            long matcher = System.nanoTime();
+            for (String text : texts) {
+                AttributedString.plain(text, Collections.emptyList()).addEmojiElement(emojis);
+            }
+            matcher = System.nanoTime() - matcher;
+
+            System.out.println("legacy: " + (legacy / 1000000) + "ms"
+                    + " matcher: " + (matcher / 1000000) + "ms");
+        }
+    }
+
+    /**
+     * Compare with legacy recursive implementation
+     * (200 statuses)
+     */
+    @Test
+    @Ignore
+    public void testBenchmark() {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            texts.add(TEXTS[i % TEXTS.length] + " " + TEXTS[(i * 7) % TEXTS.length]);
+        }
+
+        for (int round = 0; round < 5; round++) {
+            long legacy = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                for (String text : texts) {
+                    legacyPlain(text, AttributedTypes.simple());
+                }
+            }
+            legacy = System.nanoTime() - legacy;
+
+            long tokenizer = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                for (String text : texts) {
+                    AttributedString.plain(text);
+                }
+            }
+            tokenizer = System.nanoTime() - tokenizer;
+
+            System.out.println("legacy: " + (legacy / 1000000) + "ms"
+                    + " tokenizer: " + (tokenizer / 1000000) + "ms");
+        }
+    }
+
+    // ============================================================== //
+    // Support
+    // ============================================================== //
+
+    private static void assertSame(
+            List<AttributedElement> expect,
+            List<AttributedElement> actual) {
+
+        assertEquals(expect.size(), actual.size());
+        for (int i = 0; i < expect.size(); i++) {
+            assertEquals(expect.get(i).getKind(), actual.get(i).getKind());
+            assertEquals(expect.get(i).getDisplayText(), actual.get(i).getDisplayText());
+            assertEquals(expect.get(i).getExpandedText(), actual.get(i).getExpandedText());
+        }
+    }
+
+    private static Emoji emoji(String code) {
+        Emoji emoji = new Emoji();
+        emoji.setCode(code);
+        emoji.setUrl("https://example.com/" + code + ".png");
+        return emoji;
+    }
+
+    /**
+     * Legacy implementation (recursive scan)
+     * 従来の実装 (比較用)
+     */
+    private static List<AttributedElement> legacyPlain(String text, List<AttributedType> kinds) {
+        List<AttributedElement> elements = Collections.singletonList(plain(text));
+        for (AttributedType kind : kinds) {
+            // Unicode 絵文字は従来の実装では分割しない
+            if (kind.getRegex() == null) {
+                continue;
+            }
+            List<AttributedElement> results = new ArrayList<>();
+            for (AttributedElement element : elements) {
+                results.addAll(legacyScan(element, kind));
+            }
+            elements = results;
+        }
+        return elements;
+    }
+
+    private static List<AttributedElement> legacyScan(AttributedElement element, AttributedType kind) {
+        if (element.getKind() == AttributedKind.PLAIN) {
+            String text = element.getDisplayText();
+            if (!text.isEmpty()) {
+                Matcher m = Pattern.compile(kind.getRegex()).matcher(text);
+
+                if (m.find()) {
+                    String found = m.group();
+                    int i = m.start();
+
+                    List<AttributedElement> results = new ArrayList<>();
+                    results.add(plain(text.substring(0, i)));
+
+                    AttributedItem model = new AttributedItem();
+                    model.setDisplayText(kind.getDisplayedText(m));
+                    model.setExpandedText(kind.getExpandedText(m));
+                    model.setKind(kind.getKind());
+                    results.add(model);
+
+                    results.addAll(legacyScan(plain(text.substring(i + found.length())), kind));
+                    return results;
+                }
+            }
+        }
+        return Collections.singletonList(element);
+    }
+
+    private static List<AttributedElement> legacyEmojis(List<AttributedElement> elements, List<Emoji> emojis) {
+        for (Emoji emoji : emojis) {
+            List<AttributedElement> results = new ArrayList<>();
+            for (AttributedElement element : elements) {
+                results.addAll(legacyEmoji(element, emoji));
+            }
+            elements = results;
+        }
+        return elements;
+    }
+
+    private static List<AttributedElement> legacyEmoji(AttributedElement element, Emoji emoji) {
+        if (element.getKind() == AttributedKind.PLAIN) {
+            String text = element.getDisplayText();
+            String regex = ":" + emoji.getCode() + ":";
+            Matcher m = Pattern.compile(regex).matcher(text);
+
+            if (m.find()) {
+                String found = m.group();
+                int i = m.start();
+
+                List<AttributedElement> results = new ArrayList<>();
+                results.add(plain(text.substring(0, i)));
+
+                AttributedItem model = new AttributedItem();
+                model.setDisplayText(regex);
+                model.setExpandedText(emoji.getUrl());
+                model.setKind(AttributedKind.EMOJI);
+                results.add(model);
+
+                results.addAll(legacyEmoji(plain(text.substring(i + found.length())), emoji));
+                return results;
+            }
+        }
+        return Collections.singletonList(element);
+    }
+
+    private static AttributedItem plain(String text) {
+        AttributedItem model = new AttributedItem();
+        model.setKind(AttributedKind.PLAIN);
+        model.setDisplayText(text);
+        return model;
+    }
+}
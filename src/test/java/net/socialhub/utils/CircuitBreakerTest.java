@@ -0,0 +1,81 @@
+package net.socialhub.utils;
+
+import net.socialhub.model.error.CircuitOpenException;
+import net.socialhub.service.control.CircuitBreaker;
+import net.socialhub.service.control.CircuitBreaker.Outcome;
+import net.socialhub.service.control.CircuitBreaker.State;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakerTest {
+
+    private static final String HOST = "mastodon.example.com";
+
+    @Test
+    public void testOpenAndClose() throws Exception {
+        CircuitBreaker breaker = CircuitBreaker.of(3, 1000L, 100L, 1);
+
+        // 連続した失敗で遮断
+        for (int i = 0; i < 3; i++) {
+            assertEquals(State.CLOSED, breaker.getState(HOST));
+            breaker.acquire(HOST);
+            breaker.record(HOST, Outcome.FAILURE, 10L);
+        }
+        assertEquals(State.OPEN, breaker.getState(HOST));
+        assertFalse(breaker.isAvailable(HOST));
+        assertFails(breaker);
+
+        // 一定時間後は試験リクエストを一つだけ許可
+        java.lang.Thread.sleep(150L);
+        assertEquals(State.HALF_OPEN, breaker.getState(HOST));
+        breaker.acquire(HOST);
+        assertFails(breaker);
+
+        // 試験リクエストの成功で復帰
+        breaker.record(HOST, Outcome.SUCCESS, 10L);
+        assertEquals(State.CLOSED, breaker.getState(HOST));
+        assertTrue(breaker.isAvailable(HOST));
+    }
+
+    @Test
+    public void testProbeFailure() throws Exception {
+        CircuitBreaker breaker = CircuitBreaker.of(1, 1000L, 100L, 1);
+        breaker.acquire(HOST);
+        breaker.record(HOST, Outcome.FAILURE, 10L);
+
+        java.lang.Thread.sleep(150L);
+        breaker.acquire(HOST);
+        breaker.record(HOST, Outcome.FAILURE, 10L);
+        assertEquals(State.OPEN, breaker.getState(HOST));
+    }
+
+    @Test
+    public void testSlowCallAndSuccess() {
+        CircuitBreaker breaker = CircuitBreaker.of(2, 1000L, 100L, 1);
+
+        // 成功で失敗回数はリセット
+        breaker.record(HOST, Outcome.FAILURE, 10L);
+        breaker.record(HOST, Outcome.SUCCESS, 10L);
+        breaker.record(HOST, Outcome.FAILURE, 10L);
+        breaker.record(HOST, Outcome.IGNORE, 10L);
+        assertEquals(State.CLOSED, breaker.getState(HOST));
+
+        // 応答遅延は失敗とみなす
+        breaker.record(HOST, Outcome.SUCCESS, 2000L);
+        assertEquals(State.OPEN, breaker.getState(HOST));
+        assertTrue(breaker.isAvailable("other.example.com"));
+    }
+
+    private static void assertFails(CircuitBreaker breaker) {
+        try {
+            breaker.acquire(HOST);
+            fail();
+        } catch (CircuitOpenException e) {
+            assertEquals(HOST, e.getHost());
+        }
+    }
+}
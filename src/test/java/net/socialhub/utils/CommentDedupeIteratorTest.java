@@ -0,0 +1,115 @@
+package net.socialhub.utils;
+
+import net.socialhub.define.ServiceType;
+import net.socialhub.model.Account;
+import net.socialhub.model.service.Comment;
+import net.socialhub.model.service.Service;
+import net.socialhub.model.service.addition.slack.SlackComment;
+import net.socialhub.model.service.addition.tumblr.TumblrComment;
+import net.socialhub.model.service.addition.twitter.TwitterComment;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class CommentDedupeIteratorTest {
+
+    @Test
+    public void testDedupe() {
+        Service first = service("misskey.io");
+        Service second = service("misskey.io");
+        Service other = service("misskey.dev");
+
+        Comment c1 = comment(first, "n1");
+        Comment c2 = comment(second, "n1");
+        Comment c3 = comment(other, "n1");
+
+        // 同じホストの別アカウントは重複
+        List<Comment> results = CommentDedupeIterator.dedupe(Arrays.asList(c1, c2, c3));
+        assertEquals(2, results.size());
+        assertSame(c1, results.get(0));
+        assertSame(c3, results.get(1));
+
+        // 共有のみのコメントと共有元
+        Comment share = comment(second, "n2");
+        share.setSharedComment(c2);
+        Comment share2 = comment(first, "n3");
+        share2.setSharedComment(c1);
+
+        results = CommentDedupeIterator.dedupe(Arrays.asList(share, share2, c1));
+        assertEquals(1, results.size());
+        assertSame(share, results.get(0));
+    }
+
+    @Test
+    public void testLarge() {
+        Service first = service("misskey.io");
+        Service second = service("misskey.io");
+
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            comments.add(comment(first, "n" + i));
+            comments.add(comment(second, "n" + i));
+        }
+        assertEquals(5000, CommentDedupeIterator.dedupe(comments).size());
+    }
+
+    @Test
+    public void testWebUrl() {
+        Service service = new Service(ServiceType.Tumblr, new Account());
+
+        // ID が異なっても Web URL が同じものは重複
+        TumblrComment c1 = new TumblrComment(service);
+        c1.setId(1L);
+        c1.setWebUrl("https://example.tumblr.com/post/1");
+        TumblrComment c2 = new TumblrComment(service);
+        c2.setId(2L);
+        c2.setWebUrl("https://example.tumblr.com/post/1");
+
+        // Web URL が無いものは識別キーのみ
+        TwitterComment c3 = new TwitterComment(new Service(ServiceType.Twitter, new Account()));
+        c3.setId(3L);
+
+        List<Comment> results = CommentDedupeIterator.dedupe(Arrays.asList(c1, c2, c3));
+        assertEquals(2, results.size());
+        assertSame(c1, results.get(0));
+        assertSame(c3, results.get(1));
+    }
+
+    @Test
+    public void testSlackChannelScope() {
+        Service service = new Service(ServiceType.Slack, new Account());
+
+        // 同じ ts でもチャンネルが異なるものは重複ではない
+        SlackComment c1 = new SlackComment(service);
+        c1.setId("1600000000.000100");
+        c1.setChannel("general");
+        SlackComment c2 = new SlackComment(service);
+        c2.setId("1600000000.000100");
+        c2.setChannel("random");
+        SlackComment c3 = new SlackComment(service);
+        c3.setId("1600000000.000100");
+        c3.setChannel("general");
+
+        List<Comment> results = CommentDedupeIterator.dedupe(Arrays.asList(c1, c2, c3));
+        assertEquals(2, results.size());
+        assertSame(c1, results.get(0));
+        assertSame(c2, results.get(1));
+    }
+
+    private static Service service(String host) {
+        Service service = new Service(ServiceType.Misskey, new Account());
+        service.setApiHost(host);
+        return service;
+    }
+
+    private static Comment comment(Service service, String id) {
+        Comment comment = new Comment(service);
+        comment.setId(id);
+        return comment;
+    }
+}
@@ -0,0 +1,141 @@
+package net.socialhub.utils;
+
+import net.socialhub.define.ServiceType;
+import net.socialhub.model.Account;
+import net.socialhub.model.group.CommentGroup;
+import net.socialhub.model.group.CommentsRequestGroupImpl;
+import net.socialhub.model.service.Comment;
+import net.socialhub.model.service.Pageable;
+import net.socialhub.model.service.Paging;
+import net.socialhub.model.service.Service;
+import net.socialhub.service.action.request.CommentsRequest;
+import net.socialhub.service.action.request.CommentsRequestImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CommentGroupActionTest {
+
+    @Test
+    public void testPartialFailure() {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger time = new AtomicInteger(100);
+
+        CommentsRequestImpl good = request("good.example.com", (p) -> page(time.getAndIncrement()));
+        CommentsRequestImpl bad = request("bad.example.com", (p) -> {
+            if (failing.get()) {
+                throw new IllegalStateException("failed");
+            }
+            return page(time.getAndIncrement());
+        });
+
+        // 一部の失敗はエラーとして通知
+        CommentGroup group = new CommentsRequestGroupImpl(good, bad).action().getComments();
+        assertFalse(group.isComplete());
+        assertTrue(group.getErrors().get(bad) instanceof IllegalStateException);
+        assertEquals(1, group.getEntities().size());
+        assertEquals(1, group.getComments().getEntities().size());
+
+        // 次回のページングで失敗したリクエストを再送
+        failing.set(false);
+        CommentGroup next = group.action().getNewComments();
+        assertTrue(next.isComplete());
+        assertEquals(2, next.getEntities().size());
+        assertTrue(next.getEntities().containsKey(bad));
+    }
+
+    @Test
+    public void testStillFailing() {
+        CommentsRequestImpl good = request("good.example.com", (p) -> page(100));
+        CommentsRequestImpl bad = request("bad.example.com", (p) -> {
+            throw new IllegalStateException("failed");
+        });
+
+        // 失敗が続いてもグループから除外されない
+        CommentGroup group = new CommentsRequestGroupImpl(good, bad).action().getComments();
+        for (int i = 0; i < 3; i++) {
+            group = group.action().getNewComments();
+            assertTrue(group.getErrors().containsKey(bad));
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger slowCalls = new AtomicInteger();
+
+        CommentsRequestImpl fast = request("fast.example.com", (p) -> page(100));
+        CommentsRequestImpl slow = request("slow.example.com", (p) -> {
+            slowCalls.incrementAndGet();
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return page(200);
+        });
+
+        // 期限内に完了しないものは保留
+        CommentGroup group = new CommentsRequestGroupImpl(fast, slow)
+                .action().getComments(100, TimeUnit.MILLISECONDS);
+        assertFalse(group.isComplete());
+        assertTrue(group.getPendingRequests().contains(slow));
+        assertTrue(group.getErrors().get(slow) instanceof TimeoutException);
+        assertEquals(1, group.getComments().getEntities().size());
+
+        // 実行中のものは再送せずに引き継ぐ
+        CommentGroup next = group.action().getNewComments(100, TimeUnit.MILLISECONDS);
+        Set<CommentsRequest> pendings = next.getPendingRequests();
+        assertTrue(pendings.contains(slow));
+        assertEquals(1, slowCalls.get());
+
+        // 到着後に結合
+        latch.countDown();
+        for (int i = 0; i < 50 && !next.mergeArrivedComments(); i++) {
+            java.lang.Thread.sleep(20L);
+        }
+        assertTrue(next.isComplete());
+        assertEquals(2, next.getEntities().size());
+
+        // 取得済みの一覧は結合の影響を受けない
+        assertTrue(pendings.contains(slow));
+        assertTrue(next.getPendingRequests().isEmpty());
+    }
+
+    private static CommentsRequestImpl request(String host, java.util.function.Function<Paging, Pageable<Comment>> function) {
+        Account account = new Account();
+        Service service = new Service(ServiceType.Mastodon, account);
+        service.setApiHost(host);
+        account.setService(service);
+
+        CommentsRequestImpl request = new CommentsRequestImpl();
+        request.setAccount(account);
+        request.setCommentsFunction(function);
+        return request;
+    }
+
+    private static Pageable<Comment> page(long time) {
+        Comment comment = new Comment(null);
+        comment.setId(time);
+        comment.setCreateAt(new Date(time));
+
+        List<Comment> comments = new ArrayList<>(Collections.singletonList(comment));
+        Pageable<Comment> page = new Pageable<>();
+        page.setEntities(comments);
+        page.setPaging(new Paging(20L));
+        return page;
+    }
+}
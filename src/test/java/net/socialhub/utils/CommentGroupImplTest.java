@@ -0,0 +1,95 @@
+package net.socialhub.utils;
+
+import net.socialhub.model.group.CommentGroupImpl;
+import net.socialhub.model.service.Comment;
+import net.socialhub.model.service.Pageable;
+import net.socialhub.service.action.request.CommentsRequest;
+import net.socialhub.service.action.request.CommentsRequestImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class CommentGroupImplTest {
+
+    @Test
+    public void testOrder() {
+        CommentGroupImpl group = group(
+                Arrays.asList(comment(50), comment(10), comment(30)),
+                Arrays.asList(comment(40), comment(20)));
+
+        // 作成日時の降順で結合
+        assertEquals(Arrays.asList(50L, 40L, 30L, 20L, 10L), times(group.getComments().getEntities()));
+        assertEquals(Arrays.asList(50L, 40L, 30L), times(group.getComments(3).getEntities()));
+
+        // 期間で絞り込み (MaxDate を含み SinceDate を含まない)
+        group.setMaxDate(new Date(40));
+        group.setSinceDate(new Date(10));
+        assertEquals(Arrays.asList(40L, 30L, 20L), times(group.getComments().getEntities()));
+        assertEquals(Arrays.asList(40L, 30L, 20L), times(iterate(group.getCommentsIterator())));
+    }
+
+    @Test
+    public void testIteratorIsSnapshot() {
+        List<Comment> first = new ArrayList<>(Arrays.asList(comment(30), comment(10)));
+        CommentGroupImpl group = group(first, new ArrayList<>(Arrays.asList(comment(20))));
+
+        // 取得後に元のリストが変更されても影響しない
+        Iterator<Comment> iterator = group.getCommentsIterator();
+        first.add(0, comment(40));
+        assertEquals(Arrays.asList(30L, 20L, 10L), times(iterate(iterator)));
+    }
+
+    @Test
+    public void testChangedInPlace() {
+        List<Comment> first = new ArrayList<>(Arrays.asList(comment(30), comment(10)));
+        CommentGroupImpl group = group(first, new ArrayList<>(Arrays.asList(comment(20))));
+        assertEquals(Arrays.asList(30L, 20L, 10L), times(group.getComments().getEntities()));
+
+        // 同じ件数のまま要素が置き換えられた場合も再結合
+        first.set(1, comment(25));
+        assertEquals(Arrays.asList(30L, 25L, 20L), times(group.getComments().getEntities()));
+    }
+
+    private static CommentGroupImpl group(List<Comment> first, List<Comment> second) {
+        Map<CommentsRequest, Pageable<Comment>> entities = new LinkedHashMap<>();
+        entities.put(new CommentsRequestImpl(), page(first));
+        entities.put(new CommentsRequestImpl(), page(second));
+
+        CommentGroupImpl group = new CommentGroupImpl();
+        group.setEntities(entities);
+        return group;
+    }
+
+    private static Pageable<Comment> page(List<Comment> comments) {
+        Pageable<Comment> page = new Pageable<>();
+        page.setEntities(comments);
+        return page;
+    }
+
+    private static Comment comment(long time) {
+        Comment comment = new Comment(null);
+        comment.setId(time);
+        comment.setCreateAt(new Date(time));
+        return comment;
+    }
+
+    private static List<Comment> iterate(Iterator<Comment> iterator) {
+        List<Comment> results = new ArrayList<>();
+        iterator.forEachRemaining(results::add);
+        return results;
+    }
+
+    private static List<Long> times(List<Comment> comments) {
+        List<Long> results = new ArrayList<>();
+        comments.forEach((c) -> results.add(c.getCreateAt().getTime()));
+        return results;
+    }
+}
@@ -0,0 +1,114 @@
+package net.socialhub.utils;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class DateParseUtilTest {
+
+    private static final String[] DATES = {
+            "2019-09-02T04:21:44.123Z",
+            "1970-01-01T00:00:00.000Z",
+            "2000-02-29T23:59:59.999Z",
+            "1969-12-31T12:34:56.789Z",
+            "2100-03-01T00:00:00.001Z",
+    };
+
+    @Test
+    public void testGolden() throws Exception {
+        SimpleDateFormat format = legacyParser();
+        for (String date : DATES) {
+            assertEquals(format.parse(date), DateParseUtil.iso8601(date));
+        }
+    }
+
+    @Test
+    public void testFormats() throws Exception {
+        Date expect = DateParseUtil.iso8601("2019-09-02T04:21:44.000Z");
+        assertEquals(expect, DateParseUtil.iso8601("2019-09-02T04:21:44Z"));
+        assertEquals(expect, DateParseUtil.iso8601("2019-09-02T13:21:44.000+09:00"));
+        assertEquals(expect.getTime() + 123, DateParseUtil.iso8601("2019-09-02T04:21:44.123456Z").getTime());
+
+        for (String date : new String[]{null, "", "2019-09-02", "2019-13-02T04:21:44.000Z", "2019-09-02T04:21:44.Z"}) {
+            try {
+                DateParseUtil.iso8601(date);
+                fail(date);
+            } catch (ParseException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        SimpleDateFormat format = legacyParser();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        String date = DATES[i % DATES.length];
+                        Date expect;
+                        synchronized (format) {
+                            expect = format.parse(date);
+                        }
+                        assertEquals(expect, DateParseUtil.iso8601(date));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Compare with shared SimpleDateFormat
+     */
+    @Test
+    @Ignore
+    public void testBenchmark() throws Exception {
+        SimpleDateFormat format = legacyParser();
+        int count = 1000000;
+
+        for (int round = 0; round < 5; round++) {
+            long legacy = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                format.parse(DATES[i % DATES.length]);
+            }
+            legacy = System.nanoTime() - legacy;
+
+            long current = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                DateParseUtil.iso8601(DATES[i % DATES.length]);
+            }
+            current = System.nanoTime() - current;
+
+            System.out.println("legacy: " + (legacy / count) + "ns"
+                    + " current: " + (current / count) + "ns");
+        }
+    }
+
+    private static SimpleDateFormat legacyParser() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+}
@@ -0,0 +1,78 @@
+package net.socialhub.utils;
+
+import net.socialhub.define.EmojiCategoryType;
+import net.socialhub.define.EmojiIndex;
+import net.socialhub.define.EmojiType;
+import net.socialhub.define.EmojiVariationType;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EmojiIndexTest {
+
+    @Test
+    public void testLookup() {
+        EmojiIndex index = EmojiIndex.getInstance();
+
+        assertEquals(EmojiType.Heart, index.findByName("heart"));
+        assertEquals(EmojiType.Heart, index.findByName(":heart:"));
+        assertEquals(EmojiType.Heart, index.findByEmoji("❤️"));
+        assertEquals(EmojiType.Heart, index.findByEmoji("❤"));
+        assertEquals(EmojiVariationType.SantaSkinTone2, index.findByName("santa::skin-tone-2"));
+        assertNull(index.findByName("unknown_emoji_name"));
+
+        assertEquals(EmojiType.Hand, EmojiVariationType.HandSkinTone3.getBase());
+        assertEquals(5, EmojiType.Hand.getVariations().size());
+    }
+
+    @Test
+    public void testCategory() {
+        for (EmojiCategoryType category : EmojiCategoryType.values()) {
+            assertEquals(scan(category), EmojiType.fromCategory(category));
+        }
+        assertTrue(EmojiType.fromCategory(EmojiCategoryType.Custom).isEmpty());
+    }
+
+    /**
+     * Compare with linear scan
+     */
+    @Test
+    @Ignore
+    public void testBenchmark() {
+        EmojiType[] values = EmojiType.values();
+        EmojiIndex.getInstance();
+
+        for (int round = 0; round < 5; round++) {
+            long scan = System.nanoTime();
+            for (int i = 0; i < 1000; i++) {
+                scan(EmojiCategoryType.PeopleBody);
+                String name = values[i % values.length].getName();
+                Stream.of(values).filter(e -> e.getName().equals(name)).findFirst();
+            }
+            scan = System.nanoTime() - scan;
+
+            long index = System.nanoTime();
+            for (int i = 0; i < 1000; i++) {
+                EmojiType.fromCategory(EmojiCategoryType.PeopleBody);
+                EmojiType.fromName(values[i % values.length].getName());
+            }
+            index = System.nanoTime() - index;
+
+            System.out.println("scan: " + (scan / 1000) + "us"
+                    + " index: " + (index / 1000) + "us");
+        }
+    }
+
+    private static List<EmojiType> scan(EmojiCategoryType category) {
+        return Stream.of(EmojiType.values())
+                .filter((e) -> e.getCategory() == category)
+                .collect(Collectors.toList());
+    }
+}
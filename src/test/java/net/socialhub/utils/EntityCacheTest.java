@@ -0,0 +1,118 @@
+package net.socialhub.utils;
+
+import net.socialhub.model.service.Channel;
+import net.socialhub.model.service.Pageable;
+import net.socialhub.model.service.Paging;
+import net.socialhub.service.cache.ActionCache;
+import net.socialhub.service.cache.EntityCache;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+public class EntityCacheTest {
+
+    @Test
+    public void testLoad() {
+        EntityCache<String, String> cache = EntityCache.of(10, 60, TimeUnit.SECONDS);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("a", cache.get("k", () -> {
+            loads.incrementAndGet();
+            return "a";
+        }));
+        assertEquals("a", cache.get("k", () -> "b"));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getHitCount());
+
+        // null はキャッシュしない
+        assertNull(cache.get("n", () -> null));
+        assertEquals("c", cache.get("n", () -> "c"));
+    }
+
+    @Test
+    public void testSizeAndExpire() throws Exception {
+        EntityCache<Integer, String> cache = EntityCache.of(3, 60, TimeUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            cache.put(i, "v" + i);
+        }
+        assertEquals(3, cache.size());
+        assertNull(cache.get(0));
+        assertEquals("v4", cache.get(4));
+
+        // 有効期限を過ぎたものは破棄
+        EntityCache<Integer, String> expiring = EntityCache.of(3, 50, TimeUnit.MILLISECONDS);
+        expiring.put(1, "v1");
+        java.lang.Thread.sleep(100L);
+        assertNull(expiring.get(1));
+        assertEquals(1, expiring.getStats().getExpirationCount());
+    }
+
+    @Test
+    public void testLoadOnce() throws Exception {
+        EntityCache<String, String> cache = EntityCache.of(10, 60, TimeUnit.SECONDS);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        // 同じキーの同時読み込みは一度だけ
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return cache.get("k", () -> {
+                    loads.incrementAndGet();
+                    try {
+                        java.lang.Thread.sleep(50L);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return "v";
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<String> future : futures) {
+            assertEquals("v", future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        pool.shutdown();
+    }
+
+    @Test
+    public void testChannels() {
+        ActionCache cache = ActionCache.ofDefault();
+        AtomicInteger loads = new AtomicInteger();
+
+        Pageable<Channel> first = cache.getChannels(null, null, () -> channels(loads));
+        Pageable<Channel> second = cache.getChannels(null, null, () -> channels(loads));
+        assertEquals(1, loads.get());
+
+        // 呼び出し毎に複製を返却
+        assertNotSame(first, second);
+        first.getEntities().clear();
+        assertEquals(1, second.getEntities().size());
+
+        // ページング指定時はキャッシュしない
+        cache.getChannels(null, new Paging(10L), () -> channels(loads));
+        assertEquals(2, loads.get());
+    }
+
+    private static Pageable<Channel> channels(AtomicInteger loads) {
+        loads.incrementAndGet();
+        Pageable<Channel> page = new Pageable<>();
+        page.setEntities(new ArrayList<>(Collections.singletonList(new Channel(null))));
+        return page;
+    }
+}
@@ -0,0 +1,171 @@
+package net.socialhub.utils;
+
+import net.socialhub.define.ServiceType;
+import net.socialhub.model.common.AttributedString;
+import net.socialhub.model.service.Comment;
+import net.socialhub.model.service.Pageable;
+import net.socialhub.model.service.Service;
+import net.socialhub.model.service.addition.mastodon.MastodonComment;
+import net.socialhub.model.service.addition.mastodon.MastodonUser;
+import net.socialhub.model.service.addition.misskey.MisskeyComment;
+import net.socialhub.model.service.addition.misskey.MisskeyPaging;
+import net.socialhub.model.service.addition.slack.SlackComment;
+import net.socialhub.service.cache.EntityStore;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EntityStoreTest {
+
+    private final Service service = new Service(ServiceType.Mastodon, null);
+
+    @Test
+    public void testCanonical() {
+        EntityStore store = new EntityStore();
+
+        MastodonComment first = comment(1L, 10L, "user");
+        first.setLikeCount(1L);
+        Comment canonical = store.comment(first);
+        assertSame(first, canonical);
+
+        // 新しい内容は正規のインスタンスに反映
+        MastodonComment second = comment(1L, 10L, "renamed");
+        second.setLikeCount(5L);
+        second.setLiked(true);
+        assertSame(first, store.comment(second));
+        assertEquals(5L, (long) first.getLikeCount());
+        assertTrue(first.getLiked());
+        assertEquals("renamed", first.getUser().getName());
+
+        // 未取得 (null) の値は上書きしない
+        MastodonComment partial = comment(1L, 10L, null);
+        partial.setLikeCount(null);
+        store.comment(partial);
+        assertEquals(5L, (long) first.getLikeCount());
+        assertEquals("renamed", first.getUser().getName());
+    }
+
+    @Test
+    public void testResolve() {
+        EntityStore store = new EntityStore();
+        MastodonComment first = comment(1L, 10L, "user");
+        store.comment(first);
+
+        // 変更できないリストも置き換え
+        Pageable<Comment> pageable = new Pageable<>();
+        pageable.setEntities(Collections.singletonList(comment(1L, 10L, "user")));
+        store.resolve(pageable);
+        assertSame(first, pageable.getEntities().get(0));
+
+        // 別のコメントでもユーザーは共有
+        MastodonComment other = comment(2L, 10L, "user");
+        store.resolve(Arrays.asList(other));
+        assertSame(first.getUser(), other.getUser());
+
+        // 削除
+        store.removeComment(1L);
+        assertNull(store.getComment(1L));
+    }
+
+    @Test
+    public void testUnknownFlags() {
+        EntityStore store = new EntityStore();
+
+        MastodonComment first = comment(1L, 10L, "user");
+        first.setLiked(true);
+        first.setShared(true);
+        first.setPossiblySensitive(true);
+        store.comment(first);
+
+        // サービスから設定されていないフラグ (初期値) は上書きしない
+        store.comment(comment(1L, 10L, "user"));
+        assertTrue(first.getLiked());
+        assertTrue(first.getShared());
+        assertTrue(first.getPossiblySensitive());
+
+        // 設定されたフラグは反映
+        MastodonComment unliked = comment(1L, 10L, "user");
+        unliked.setLiked(false);
+        store.comment(unliked);
+        assertFalse(first.getLiked());
+        assertTrue(first.getShared());
+    }
+
+    @Test
+    public void testSlackChannelScope() {
+        EntityStore store = new EntityStore();
+        Service slack = new Service(ServiceType.Slack, null);
+
+        // ts はチャンネル内でのみ一意なので、別チャンネルのメッセージは統合しない
+        SlackComment general = slackComment(slack, "general", "hello");
+        SlackComment random = slackComment(slack, "random", "world");
+        assertSame(general, store.comment(general));
+        assertSame(random, store.comment(random));
+        assertEquals("general", general.getChannel());
+        assertEquals("hello", general.getText().getDisplayText());
+
+        // 同じチャンネルのものは統合
+        assertSame(general, store.comment(slackComment(slack, "general", "edited")));
+        assertEquals("edited", general.getText().getDisplayText());
+        assertEquals("world", random.getText().getDisplayText());
+    }
+
+    @Test
+    public void testMisskeyPagingPerListing() {
+        EntityStore store = new EntityStore();
+        Service misskey = new Service(ServiceType.Misskey, null);
+
+        // 同じノートをタイムラインと通知 (メンション) の一覧から取得
+        MisskeyComment home = new MisskeyComment(misskey);
+        home.setId("note");
+        Pageable<Comment> timeline = new Pageable<>();
+        timeline.setEntities(Collections.singletonList(home));
+        timeline.setPaging(MisskeyPaging.fromPaging(null));
+
+        MisskeyComment mention = new MisskeyComment(misskey);
+        mention.setId("note");
+        MisskeyPaging mentionPaging = MisskeyPaging.fromPaging(null);
+        mentionPaging.setPagingIds(Collections.singletonMap("note", "notification"));
+        Pageable<Comment> mentions = new Pageable<>();
+        mentions.setEntities(Collections.singletonList(mention));
+        mentions.setPaging(mentionPaging);
+
+        store.resolve(timeline);
+        store.resolve(mentions);
+        assertSame(timeline.getEntities().get(0), mentions.getEntities().get(0));
+
+        // インスタンスは共有しても、ページング用 ID は一覧毎
+        assertEquals("note", ((MisskeyPaging) timeline.pastPage()).getUntilId());
+        assertEquals("notification", ((MisskeyPaging) mentions.pastPage()).getUntilId());
+        assertEquals("notification", ((MisskeyPaging) mentions.newPage()).getSinceId());
+
+        // 次の一覧には引き継がない
+        assertNull(MisskeyPaging.fromPaging(mentions.pastPage()).getPagingIds());
+    }
+
+    private static SlackComment slackComment(Service service, String channel, String text) {
+        SlackComment comment = new SlackComment(service);
+        comment.setId("1600000000.000100");
+        comment.setChannel(channel);
+        comment.setText(AttributedString.plain(text));
+        return comment;
+    }
+
+    private MastodonComment comment(Long id, Long userId, String name) {
+        MastodonUser user = new MastodonUser(service);
+        user.setId(userId);
+        user.setName(name);
+
+        MastodonComment comment = new MastodonComment(service);
+        comment.setId(id);
+        comment.setUser(user);
+        return comment;
+    }
+}
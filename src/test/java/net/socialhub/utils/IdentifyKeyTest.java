@@ -0,0 +1,126 @@
+package net.socialhub.utils;
+
+import net.socialhub.define.ServiceType;
+import net.socialhub.model.Account;
+import net.socialhub.model.service.Comment;
+import net.socialhub.model.service.Identify;
+import net.socialhub.model.service.IdentifyKey;
+import net.socialhub.model.service.Service;
+import net.socialhub.model.service.User;
+import net.socialhub.model.service.addition.mastodon.MastodonComment;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IdentifyKeyTest {
+
+    @Test
+    public void testDeserialized() throws Exception {
+        Comment comment = new Comment(new Service(ServiceType.Misskey, new Account()));
+        comment.setId("8a2b3c");
+        comment.getKey();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(comment);
+        }
+        Comment copy;
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (Comment) in.readObject();
+        }
+
+        // キーは復元したアカウントから作り直し、ハッシュ値と比較が一致する
+        Comment other = new Comment(copy.getService());
+        other.setId("8a2b3c");
+        assertEquals(other.getKey(), copy.getKey());
+        assertEquals(other.getKey().hashCode(), copy.getKey().hashCode());
+        assertNotEquals(comment.getKey(), copy.getKey());
+    }
+
+    @Test
+    public void testEquals() {
+        Service service = new Service(ServiceType.Misskey, new Account());
+
+        // 文字列 ID (別インスタンスの文字列)
+        Comment c1 = new Comment(service);
+        c1.setId(new String("8a2b3c"));
+        Comment c2 = new Comment(service);
+        c2.setId("8a2b3c");
+        assertEquals(c1, c2);
+        assertEquals(c1.hashCode(), c2.hashCode());
+        assertEquals(c1.getKey(), c2.getKey());
+
+        // 種別が異なる
+        User user = new User(service);
+        user.setId("8a2b3c");
+        assertNotEquals(c1, user);
+
+        // アカウントが異なる
+        Comment other = new Comment(new Service(ServiceType.Misskey, new Account()));
+        other.setId("8a2b3c");
+        assertNotEquals(c1, other);
+
+        // ID の変更
+        c2.setId("other");
+        assertNotEquals(c1, c2);
+
+        // ID 無しは自身のみ
+        Identify empty = new Identify(service);
+        assertNull(empty.getKey());
+        assertNotEquals(empty, new Identify(service));
+        assertEquals(empty, empty);
+    }
+
+    @Test
+    public void testHashSet() {
+        Service service = new Service(ServiceType.Mastodon, null);
+        Set<Identify> set = new HashSet<>();
+
+        for (long i = 0; i < 1000; i++) {
+            MastodonComment comment = new MastodonComment(service);
+            comment.setId(i % 100);
+            set.add(comment);
+        }
+        assertEquals(100, set.size());
+
+        // サブクラスと基底クラスは同じ種別
+        Comment comment = new Comment(service);
+        comment.setId(5L);
+        assertTrue(set.contains(comment));
+    }
+
+    @Test
+    public void testHostKey() {
+        Service first = new Service(ServiceType.Misskey, new Account());
+        first.setApiHost("misskey.io");
+        Service second = new Service(ServiceType.Misskey, new Account());
+        second.setApiHost("misskey.io");
+        Service other = new Service(ServiceType.Misskey, new Account());
+        other.setApiHost("misskey.dev");
+
+        Comment c1 = new Comment(first);
+        c1.setId("n1");
+        Comment c2 = new Comment(second);
+        c2.setId("n1");
+        Comment c3 = new Comment(other);
+        c3.setId("n1");
+
+        // ホストのキーは同じホストの別アカウントで同じ
+        assertNotEquals(IdentifyKey.of(c1), IdentifyKey.of(c2));
+        assertEquals(IdentifyKey.ofHost(c1), IdentifyKey.ofHost(c2));
+        assertEquals(IdentifyKey.ofHost(c1).hashCode(), IdentifyKey.ofHost(c2).hashCode());
+        assertNotEquals(IdentifyKey.ofHost(c1), IdentifyKey.ofHost(c3));
+        assertNotEquals(IdentifyKey.of(c1), IdentifyKey.ofHost(c1));
+    }
+}
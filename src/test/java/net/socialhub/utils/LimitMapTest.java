@@ -0,0 +1,146 @@
+package net.socialhub.utils;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LimitMapTest {
+
+    @Test
+    public void testLimit() {
+        LimitMap<Integer, String> map = new LimitMap<>(3);
+        map.put(1, "a");
+        map.put(2, "b");
+        map.put(3, "c");
+
+        // 参照したものは破棄されない
+        map.get(1);
+        map.put(4, "d");
+
+        assertEquals(3, map.size());
+        assertEquals("a", map.get(1));
+        assertNull(map.get(2));
+    }
+
+    @Test
+    public void testSegmentLimit() {
+        LimitMap<Integer, Integer> map = new LimitMap<>(200);
+        for (int i = 0; i < 10000; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.size() <= 200);
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        LimitMap<String, String> map = new LimitMap<>(100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+
+        for (int i = 0; i < 16; i++) {
+            pool.submit(() -> {
+                start.await();
+                return map.computeIfAbsent("key", (k) -> {
+                    loads.incrementAndGet();
+                    sleep(100);
+                    return "value";
+                });
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(1, loads.get());
+        assertEquals("value", map.get("key"));
+    }
+
+    @Test
+    public void testRecursiveLoad() {
+        LimitMap<String, String> map = new LimitMap<>(100);
+        try {
+            map.computeIfAbsent("key", (k) -> map.computeIfAbsent(k, (k2) -> "value"));
+            fail("recursive load must be detected.");
+        } catch (IllegalStateException e) {
+            // 同じキーの読み込みは検出され、次の読み込みは行える
+        }
+        assertEquals("value", map.computeIfAbsent("key", (k) -> "value"));
+    }
+
+    /**
+     * Compare with synchronized LinkedHashMap
+     * (8 - 32 threads, 80% read)
+     */
+    @Test
+    @Ignore
+    public void testBenchmark() throws Exception {
+        for (int threads : new int[]{8, 16, 32}) {
+            Map<Integer, Integer> sync = Collections.synchronizedMap(
+                    new LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                            return size() > 1000;
+                        }
+                    });
+
+            long syncTime = benchmark(sync, threads);
+            long stripedTime = benchmark(new LimitMap<>(1000), threads);
+            System.out.println("threads: " + threads
+                    + " synchronized: " + syncTime + "ms"
+                    + " LimitMap: " + stripedTime + "ms");
+        }
+    }
+
+    private long benchmark(Map<Integer, Integer> map, int threads) throws Exception {
+        int operations = 200000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        for (int i = 0; i < threads; i++) {
+            int seed = i;
+            pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int j = 0; j < operations; j++) {
+                    int key = random.nextInt(2000);
+                    if (random.nextInt(10) < 8) {
+                        map.get(key);
+                    } else {
+                        map.put(key, j);
+                    }
+                }
+                return null;
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
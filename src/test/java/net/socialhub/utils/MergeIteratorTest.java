@@ -0,0 +1,75 @@
+package net.socialhub.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MergeIteratorTest {
+
+    @Test
+    public void testMerge() {
+        List<List<Integer>> sources = Arrays.asList(
+                Arrays.asList(9, 5, 1),
+                Collections.emptyList(),
+                Arrays.asList(8, 5, 2),
+                Arrays.asList(7));
+
+        List<Integer> results = MergeIterator.merge(sources, Comparator.reverseOrder());
+        assertEquals(Arrays.asList(9, 8, 7, 5, 5, 2, 1), results);
+        assertTrue(MergeIterator.merge(Collections.<List<Integer>>emptyList(), Comparator.<Integer>reverseOrder()).isEmpty());
+    }
+
+    @Test
+    public void testStable() {
+        String a = new String("x");
+        String b = new String("x");
+        String c = new String("x");
+
+        // 同順位の要素はリストの順 → リスト内の順
+        List<List<String>> sources = Arrays.asList(
+                Arrays.asList(b),
+                Arrays.asList(a, c));
+
+        List<String> results = MergeIterator.merge(sources, Comparator.naturalOrder());
+        assertSame(b, results.get(0));
+        assertSame(a, results.get(1));
+        assertSame(c, results.get(2));
+    }
+
+    @Test
+    public void testSameAsSort() {
+        Random random = new Random(1);
+        List<List<Integer>> sources = new ArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            List<Integer> source = new ArrayList<>();
+            for (int j = random.nextInt(50); j > 0; j--) {
+                source.add(random.nextInt(100));
+            }
+            source.sort(Comparator.reverseOrder());
+            sources.add(source);
+            expected.addAll(source);
+        }
+        expected.sort(Comparator.reverseOrder());
+
+        assertEquals(expected, MergeIterator.merge(sources, Comparator.reverseOrder()));
+    }
+
+    @Test
+    public void testIsSorted() {
+        assertTrue(MergeIterator.isSorted(Arrays.asList(3, 2, 2, 1), Comparator.reverseOrder()));
+        assertFalse(MergeIterator.isSorted(Arrays.asList(3, 1, 2), Comparator.reverseOrder()));
+        assertTrue(MergeIterator.isSorted(Collections.<Integer>emptyList(), Comparator.reverseOrder()));
+    }
+}
@@ -0,0 +1,131 @@
+package net.socialhub.utils;
+
+import net.socialhub.model.error.RateLimitExceededException;
+import mastodon4j.entity.share.Response;
+import net.socialhub.model.service.RateLimit;
+import org.junit.Test;
+import twitter4j.RateLimitStatus;
+import twitter4j.TwitterResponse;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.socialhub.define.action.OtherActionType.GetComment;
+import static net.socialhub.define.action.TimeLineActionType.HomeTimeLine;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RateLimitTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ACCOUNT_REMAINING = 200;
+
+    @Test
+    public void testAccountExhausted() throws Exception {
+        RateLimit limit = new RateLimit();
+        limit.setMaxWaitMillis(0L);
+        limit.addInfo(GetComment, response(ACCOUNT_REMAINING + 1));
+        limit.addInfo(HomeTimeLine, mastodonResponse(ACCOUNT_REMAINING));
+
+        // アカウント全体の残り回数を同時に取り合う
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            pool.submit(() -> {
+                start.await();
+                while (true) {
+                    try {
+                        limit.acquire(GetComment);
+                        acquired.incrementAndGet();
+                    } catch (RateLimitExceededException e) {
+                        return null;
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // アカウント全体の制限で失敗した場合はアクションの残り回数を消費しない
+        assertEquals(ACCOUNT_REMAINING, acquired.get());
+        assertTrue(limit.isRemaining(GetComment));
+    }
+
+    @Test
+    public void testActionExhausted() {
+        RateLimit limit = new RateLimit();
+        limit.setMaxWaitMillis(0L);
+        limit.addInfo(GetComment, response(1));
+
+        limit.acquire(GetComment);
+        try {
+            limit.acquire(GetComment);
+            fail();
+        } catch (RateLimitExceededException e) {
+            assertFalse(limit.isRemaining(GetComment));
+        }
+    }
+
+    private static Response<Object> mastodonResponse(int remaining) {
+        mastodon4j.entity.share.RateLimit rateLimit = new mastodon4j.entity.share.RateLimit() {
+            @Override
+            public int getLimit() {
+                return 300;
+            }
+
+            @Override
+            public int getRemaining() {
+                return remaining;
+            }
+
+            @Override
+            public Date getReset() {
+                return new Date(System.currentTimeMillis() + 60 * 1000L);
+            }
+        };
+        return new Response<Object>() {
+            @Override
+            public mastodon4j.entity.share.RateLimit getRateLimit() {
+                return rateLimit;
+            }
+        };
+    }
+
+    private static TwitterResponse response(int remaining) {
+        RateLimitStatus status = new RateLimitStatus() {
+            public int getLimit() {
+                return 15;
+            }
+
+            public int getRemaining() {
+                return remaining;
+            }
+
+            public int getSecondsUntilReset() {
+                return 900;
+            }
+
+            public int getResetTimeInSeconds() {
+                return (int) (System.currentTimeMillis() / 1000L) + 900;
+            }
+        };
+        return new TwitterResponse() {
+            public RateLimitStatus getRateLimitStatus() {
+                return status;
+            }
+
+            public int getAccessLevel() {
+                return 0;
+            }
+        };
+    }
+}
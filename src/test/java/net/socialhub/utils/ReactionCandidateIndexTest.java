@@ -0,0 +1,115 @@
+package net.socialhub.utils;
+
+import net.socialhub.model.service.support.ReactionCandidate;
+import net.socialhub.model.service.support.ReactionCandidateIndex;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReactionCandidateIndexTest {
+
+    @Test
+    public void testSearch() {
+        ReactionCandidateIndex index = ReactionCandidateIndex.ofDefault();
+
+        List<ReactionCandidate> results = index.search(":smi", 5);
+        assertEquals(5, results.size());
+        for (ReactionCandidate candidate : results) {
+            assertTrue(candidate.getName().startsWith("smi"));
+        }
+
+        // 上位件数を超える場合
+        List<ReactionCandidate> all = index.search("s", 1000);
+        assertTrue(all.size() > 32);
+        assertEquals(results.get(0), index.search("smi", 1).get(0));
+        assertEquals(0, index.search("zzzzzz", 5).size());
+    }
+
+    @Test
+    public void testUpdate() {
+        ReactionCandidateIndex index = ReactionCandidateIndex.of(Collections.emptyList());
+        List<ReactionCandidate> candidates = new ArrayList<>();
+        candidates.add(custom("smile_cat", false));
+        candidates.add(custom("smirk_party", true));
+        index.update(candidates);
+
+        // よく使われるものが先
+        assertEquals("smirk_party", index.search(":sm", 5).get(0).getSearchWord());
+
+        // 差分更新
+        candidates = new ArrayList<>(candidates);
+        candidates.remove(1);
+        candidates.add(custom("smooth", false));
+        index.update(candidates);
+
+        List<ReactionCandidate> results = index.search("sm", 5);
+        assertEquals(2, results.size());
+        assertEquals("smooth", results.get(0).getSearchWord());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testUsage() {
+        ReactionCandidateIndex index = ReactionCandidateIndex.of(Collections.emptyList());
+        List<ReactionCandidate> candidates = new ArrayList<>();
+        candidates.add(custom("party", false));
+        candidates.add(custom("party_parrot", false));
+        index.update(candidates);
+
+        assertEquals("party", index.search("par", 1).get(0).getSearchWord());
+        index.recordUsage(candidates.get(1));
+        assertEquals("party_parrot", index.search("par", 1).get(0).getSearchWord());
+        assertEquals("party_parrot", index.search("", 1).get(0).getSearchWord());
+    }
+
+    /**
+     * Prefix query on 10k custom emojis
+     */
+    @Test
+    @Ignore
+    public void testBenchmark() {
+        ReactionCandidateIndex index = ReactionCandidateIndex.ofDefault();
+        List<ReactionCandidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            candidates.add(custom("custom_" + Integer.toString(i, 36), (i % 10) == 0));
+        }
+
+        long time = System.nanoTime();
+        index.update(candidates);
+        System.out.println("build: " + ((System.nanoTime() - time) / 1000) + "us");
+
+        // 一部のみ変更
+        candidates = new ArrayList<>(candidates);
+        candidates.subList(0, 100).clear();
+        candidates.add(custom("added", false));
+
+        time = System.nanoTime();
+        index.update(candidates);
+        System.out.println("update: " + ((System.nanoTime() - time) / 1000) + "us");
+
+        String[] prefixes = {":sm", "c", "custom_1", "th", ":party"};
+        int count = 100000;
+        for (int round = 0; round < 5; round++) {
+            time = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                index.search(prefixes[i % prefixes.length], 10);
+            }
+            System.out.println("search: " + ((System.nanoTime() - time) / count) + "ns");
+        }
+    }
+
+    private static ReactionCandidate custom(String name, boolean frequent) {
+        ReactionCandidate candidate = new ReactionCandidate();
+        candidate.setName(":" + name + ":");
+        candidate.setIconUrl("https://example.com/" + name + ".png");
+        candidate.setSearchWord(name);
+        candidate.setFrequentlyUsed(frequent);
+        return candidate;
+    }
+}
@@ -0,0 +1,156 @@
+package net.socialhub.utils;
+
+import net.socialhub.service.control.ActionExecutor;
+import net.socialhub.service.control.RequestHedger;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RequestHedgerTest {
+
+    private static final String HOST = "misskey.example.com";
+
+    @Test
+    public void testHedge() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        RequestHedger hedger = RequestHedger.of(0.95, 1.0, 10.0, 10L);
+
+        // レイテンシの観測前はヘッジしない
+        assertEquals(-1L, hedger.getHedgeDelayMillis(HOST));
+        for (int i = 0; i < 20; i++) {
+            assertEquals("ok", hedger.call(HOST, executor, () -> "ok"));
+        }
+        assertEquals(10L, hedger.getHedgeDelayMillis(HOST));
+
+        // 最初のリクエストが遅い場合は後から送信したものを採用
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.currentTimeMillis();
+        String result = hedger.call(HOST, executor, () -> {
+            if (calls.incrementAndGet() == 1) {
+                java.lang.Thread.sleep(2000L);
+                return "slow";
+            }
+            return "fast";
+        });
+
+        assertEquals("fast", result);
+        assertEquals(2, calls.get());
+        assertTrue(System.currentTimeMillis() - start < 1000L);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testHedgeNotQueuedBehindFirst() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        RequestHedger hedger = RequestHedger.of(0.95, 1.0, 10.0, 10L);
+        for (int i = 0; i < 20; i++) {
+            hedger.call(HOST, executor, () -> "ok");
+        }
+
+        // 最初のリクエストのエクゼキュータが埋まっていてもヘッジは送信される
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.currentTimeMillis();
+        String result = hedger.call(HOST, executor, () -> {
+            if (calls.incrementAndGet() == 1) {
+                java.lang.Thread.sleep(2000L);
+                return "slow";
+            }
+            return "fast";
+        });
+
+        assertEquals("fast", result);
+        assertTrue(System.currentTimeMillis() - start < 1000L);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDelayFromStart() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        RequestHedger hedger = RequestHedger.of(0.95, 1.0, 10.0, 10L);
+        for (int i = 0; i < 20; i++) {
+            hedger.call(HOST, executor, () -> "ok");
+        }
+
+        // 実行を待ち合わせている間はヘッジまでの時間に含めない
+        executor.submit(() -> {
+            java.lang.Thread.sleep(300L);
+            return null;
+        });
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("ok", hedger.call(HOST, executor, () -> {
+            calls.incrementAndGet();
+            return "ok";
+        }));
+        assertEquals(1, calls.get());
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testHostBusy() throws Exception {
+        ActionExecutor actionExecutor = ActionExecutor.ofThreads(8, 1);
+        ExecutorService executor = actionExecutor.getExecutor(HOST);
+        RequestHedger hedger = RequestHedger.of(0.95, 1.0, 10.0, 10L);
+        for (int i = 0; i < 20; i++) {
+            hedger.call(HOST, executor, () -> "ok");
+        }
+
+        // ホストの許可に空きが無い場合はヘッジせずに予算を戻す
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("slow", hedger.call(HOST, executor, () -> {
+            calls.incrementAndGet();
+            java.lang.Thread.sleep(300L);
+            return "slow";
+        }));
+        assertEquals(1, calls.get());
+        assertEquals(10.0, hedger.getBudget(), 0.0);
+        actionExecutor.shutdown();
+    }
+
+    @Test
+    public void testHostFree() throws Exception {
+        ActionExecutor actionExecutor = ActionExecutor.ofThreads(8, 2);
+        ExecutorService executor = actionExecutor.getExecutor(HOST);
+        RequestHedger hedger = RequestHedger.of(0.95, 1.0, 10.0, 10L);
+        for (int i = 0; i < 20; i++) {
+            hedger.call(HOST, executor, () -> "ok");
+        }
+
+        // ホストの許可に空きがある場合はホストのエクゼキュータでヘッジ
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("fast", hedger.call(HOST, executor, () -> {
+            if (calls.incrementAndGet() == 1) {
+                java.lang.Thread.sleep(2000L);
+                return "slow";
+            }
+            return "fast";
+        }));
+        assertEquals(2, calls.get());
+        actionExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testBudget() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        RequestHedger hedger = RequestHedger.of(0.95, 0.1, 10.0, 10L);
+        for (int i = 0; i < 20; i++) {
+            hedger.call(HOST, executor, () -> "ok");
+        }
+
+        // 予算を使い切ったらヘッジしない
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            hedger.call(HOST, executor, () -> {
+                calls.incrementAndGet();
+                java.lang.Thread.sleep(50L);
+                return "slow";
+            });
+        }
+        assertEquals(5, calls.get());
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,70 @@
+package net.socialhub.utils;
+
+import net.socialhub.model.error.CircuitOpenException;
+import net.socialhub.model.error.RateLimitExceededException;
+import net.socialhub.service.control.RetryPolicy;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void testDelay() {
+        RetryPolicy policy = RetryPolicy.of(4, 100L, 250L, 1000L);
+
+        for (int i = 0; i < 1000; i++) {
+            long first = policy.delayMillis(1, RetryPolicy.BACKOFF);
+            assertTrue(first >= 0 && first <= 100);
+            long third = policy.delayMillis(3, RetryPolicy.BACKOFF);
+            assertTrue(third >= 0 && third <= 250);
+
+            // Retry-After は指定時間以上待機
+            long after = policy.delayMillis(1, 500L);
+            assertTrue(after >= 500 && after <= 600);
+        }
+
+        assertEquals(RetryPolicy.NOT_RETRYABLE, policy.delayMillis(4, RetryPolicy.BACKOFF));
+        assertEquals(RetryPolicy.NOT_RETRYABLE, policy.delayMillis(1, RetryPolicy.NOT_RETRYABLE));
+        assertEquals(RetryPolicy.NOT_RETRYABLE, policy.delayMillis(1, 5000L));
+    }
+
+    @Test
+    public void testClassify() {
+        // 通信エラー
+        assertEquals(RetryPolicy.BACKOFF, RetryPolicy.retryAfterOf(new ConnectException(), false));
+        assertEquals(RetryPolicy.BACKOFF, RetryPolicy.retryAfterOf(new RuntimeException(new SocketTimeoutException()), true));
+        assertEquals(RetryPolicy.NOT_RETRYABLE, RetryPolicy.retryAfterOf(new SocketTimeoutException(), false));
+
+        // ステータスコード
+        assertEquals(RetryPolicy.BACKOFF, RetryPolicy.retryAfterOf(new StatusException(429), false));
+        assertEquals(RetryPolicy.BACKOFF, RetryPolicy.retryAfterOf(new StatusException(503), true));
+        assertEquals(RetryPolicy.NOT_RETRYABLE, RetryPolicy.retryAfterOf(new StatusException(503), false));
+        assertEquals(RetryPolicy.NOT_RETRYABLE, RetryPolicy.retryAfterOf(new StatusException(404), true));
+        assertEquals(RetryPolicy.NOT_RETRYABLE, RetryPolicy.retryAfterOf(new IllegalStateException(), true));
+
+        // 送信前にレートリミット・サーキットブレーカーで止めたものは再試行しない
+        assertEquals(RetryPolicy.NOT_RETRYABLE, RetryPolicy.retryAfterOf(new RateLimitExceededException("", 1200L), true));
+        assertEquals(RetryPolicy.NOT_RETRYABLE, RetryPolicy.retryAfterOf(new CircuitOpenException("host", 1200L), true));
+        assertEquals(RetryPolicy.NOT_RETRYABLE, RetryPolicy.retryAfterOf(new RuntimeException(new RateLimitExceededException("", 0L)), true));
+    }
+
+    /** Library exception with status code */
+    public static class StatusException extends IOException {
+
+        private final int statusCode;
+
+        StatusException(int statusCode) {
+            this.statusCode = statusCode;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+    }
+}
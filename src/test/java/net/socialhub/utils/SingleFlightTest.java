@@ -0,0 +1,166 @@
+package net.socialhub.utils;
+
+import net.socialhub.define.ServiceType;
+import net.socialhub.model.Account;
+import net.socialhub.model.error.SocialHubException;
+import net.socialhub.model.service.Comment;
+import net.socialhub.model.service.Service;
+import net.socialhub.service.control.RequestKey;
+import net.socialhub.service.control.SingleFlight;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.socialhub.define.action.OtherActionType.GetContext;
+import static net.socialhub.define.action.OtherActionType.GetUser;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void testShareResult() throws Exception {
+        SingleFlight flight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            futures.add(pool.submit(() -> flight.execute("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return result;
+            })));
+
+            // 実行中のリクエストに後続の呼び出しを合流させる
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < THREADS; i++) {
+                futures.add(pool.submit(() -> flight.execute("key", () -> {
+                    calls.incrementAndGet();
+                    return new Object();
+                })));
+            }
+            waitForJoin();
+            release.countDown();
+
+            for (Future<Object> future : futures) {
+                assertSame(result, future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+            assertEquals(0, flight.getInFlightCount());
+
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testShareError() throws Exception {
+        SingleFlight flight = new SingleFlight();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> first = pool.submit(() -> flight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw new SocialHubException("failed");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Object> second = pool.submit(() -> flight.execute("key", Object::new));
+            waitForJoin();
+            release.countDown();
+
+            // 合流した呼び出しにも同じ例外が送出される
+            SocialHubException error = cause(first);
+            assertSame(error, cause(second));
+            assertEquals(0, flight.getInFlightCount());
+
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRemoveAfterComplete() {
+        SingleFlight flight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+
+        // 完了後は結果を保持せず、次の呼び出しで再度実行
+        flight.execute("key", calls::incrementAndGet);
+        assertEquals(0, flight.getInFlightCount());
+        assertEquals(2, (int) flight.execute("key", calls::incrementAndGet));
+
+        try {
+            flight.execute("key", () -> {
+                throw new SocialHubException("failed");
+            });
+            fail();
+        } catch (SocialHubException e) {
+            assertEquals(0, flight.getInFlightCount());
+        }
+        assertEquals(3, (int) flight.execute("key", calls::incrementAndGet));
+    }
+
+    @Test
+    public void testRequestKey() {
+        Account account = new Account();
+        Service service = new Service(ServiceType.Mastodon, account);
+
+        Comment c1 = new Comment(service);
+        c1.setId(1L);
+        Comment c2 = new Comment(service);
+        c2.setId(1L);
+        Comment c3 = new Comment(service);
+        c3.setId(2L);
+
+        // ID が同じであれば別インスタンスでも同じリクエスト
+        assertEquals(RequestKey.of(account, GetContext, c1), RequestKey.of(account, GetContext, c2));
+        assertEquals(RequestKey.of(account, GetContext, c1).hashCode(),
+                RequestKey.of(account, GetContext, c2).hashCode());
+
+        assertNotEquals(RequestKey.of(account, GetContext, c1), RequestKey.of(account, GetContext, c3));
+        assertNotEquals(RequestKey.of(account, GetContext, c1), RequestKey.of(account, GetUser, c1));
+        assertNotEquals(RequestKey.of(account, GetContext, c1), RequestKey.of(new Account(), GetContext, c1));
+    }
+
+    private static SocialHubException cause(Future<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail();
+            return null;
+        } catch (ExecutionException e) {
+            return (SocialHubException) e.getCause();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitForJoin() throws InterruptedException {
+        Thread.sleep(200);
+    }
+}
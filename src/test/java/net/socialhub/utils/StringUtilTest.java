@@ -7,6 +7,8 @@ import net.socialhub.model.common.AttributedKind;
 import net.socialhub.model.common.AttributedString;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 public class StringUtilTest {
 
     @Test
@@ -14,6 +16,18 @@ public class StringUtilTest {
         System.out.println(StringUtil.decodeUrl("&gt;"));
     }
 
+    @Test
+    public void testDecodeEntities() {
+        assertEquals("<a> & \"b\" 'c'", HtmlEntityDecoder.decode("&lt;a&gt; &amp; &quot;b&quot; &apos;c&apos;"));
+        assertEquals("\u00a0©…あ😀", HtmlEntityDecoder.decode("&nbsp;&copy;&hellip;&#12354;&#x1F600;"));
+
+        // 一度だけ展開
+        assertEquals("&lt; &quot;", HtmlEntityDecoder.decode("&amp;lt; &amp;quot;"));
+
+        // 実体参照でないものはそのまま
+        assertEquals("& &amp &unknown; &#; &#xZZ; &copy", HtmlEntityDecoder.decode("& &amp &unknown; &#; &#xZZ; &copy"));
+    }
+
     @Test
     public void testAttributes() {
 
@@ -1,12 +1,49 @@
 package net.socialhub.utils;
 
+import net.socialhub.define.SpecialCharType;
+import net.socialhub.model.common.AttributedBucket;
+import net.socialhub.model.common.AttributedElement;
 import net.socialhub.model.common.AttributedString;
 import net.socialhub.model.common.xml.XmlConvertRule;
 import net.socialhub.model.common.xml.XmlDocument;
+import net.socialhub.model.common.xml.XmlString;
+import net.socialhub.model.common.xml.XmlTag;
+import org.junit.Ignore;
 import org.junit.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Stack;
+
+import static org.junit.Assert.assertEquals;
 
 public class XmlParseUtilTest {
 
+    /** Mastodon / Misskey / Tumblr like bodies */
+    private static final String[] BODIES = {
+            "<p>Hello World!</p>",
+            "<p>プログラミングで<br/>わからないときは<br>まず<a href=\"http://google.com\">ググる</a>！</p>",
+            "<p><span class=\"h-card\"><a href=\"https://mstdn.jp/@U_Akihir0\" class=\"u-url mention\">@<span>U_Akihir0</span></a></span> こんにちは</p>",
+            "<p>Check <a href=\"https://example.com/very/long/path/to/resource?query=1&amp;b=2\" rel=\"nofollow noopener\" target=\"_blank\">"
+                    + "<span class=\"invisible\">https://</span><span class=\"ellipsis\">example.com/very/long/pat</span>"
+                    + "<span class=\"invisible\">h/to/resource?query=1&amp;b=2</span></a></p>",
+            "<p><a href=\"https://mstdn.jp/tags/SocialHub\" class=\"mention hashtag\" rel=\"tag\">#<span>SocialHub</span></a> &amp; &lt;tag&gt; &quot;q&quot; &#39;s&#39;</p>",
+            "<p>first line</p><p>second&nbsp;line&hellip; &copy; 2020</p>",
+            "<p>Tumblr <b>bold</b> <i>italic</i></p><blockquote><p>quoted text</p><p>and more</p></blockquote><p>after</p>",
+            "<p><img src=\"https://example.com/a.png\" alt=\"a\"><br><hr>text</p>",
+            "<figure class=\"tmblr-full\"><img src=\"https://example.com/b.png\"/></figure><p>caption\n with\r\n newline</p>",
+            "<p><a href=\"https://example.com/?a=1&b=2\">bare & ampersand</a></p>",
+            "&#12354;&#x3042; entity only",
+            "",
+    };
+
     @Test
     public void testParseXml() {
 
@@ -18,4 +55,141 @@ public class XmlParseUtilTest {
         AttributedString string = document.toAttributedString(new XmlConvertRule());
         System.out.println(string.getDisplayText());
     }
+
+    @Test
+    public void testGoldenConvert() throws Exception {
+        XmlConvertRule rule = new XmlConvertRule();
+        for (String body : BODIES) {
+            List<AttributedElement> expect = legacyXhtml(body).toAttributedString(rule).getElements();
+            assertSame(expect, AttributedString.xhtml(body, rule).getElements());
+            assertSame(expect, XmlParseUtil.xhtml(body).toAttributedString(rule).getElements());
+        }
+    }
+
+    @Test
+    public void testLenient() {
+
+        // 閉じられていないタグ・対応しない終了タグ・未定義の実体参照
+        AttributedString string = AttributedString.xhtml(
+                "<p>a < b &unknown; <a href=x>link</p></span><p>last");
+        assertEquals("a < b &unknown; link\nlast", string.getDisplayText());
+    }
+
+    /**
+     * Compare with legacy regex + SAX implementation
+     * (throughput and allocated bytes)
+     */
+    @Test
+    @Ignore
+    public void testBenchmark() throws Exception {
+        XmlConvertRule rule = new XmlConvertRule();
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean)
+                ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int count = 2000;
+
+        for (int round = 0; round < 5; round++) {
+            long legacyBytes = bean.getThreadAllocatedBytes(thread);
+            long legacyTime = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                legacyXhtml(BODIES[i % BODIES.length]).toAttributedString(rule);
+            }
+            legacyTime = System.nanoTime() - legacyTime;
+            legacyBytes = bean.getThreadAllocatedBytes(thread) - legacyBytes;
+
+            long streamBytes = bean.getThreadAllocatedBytes(thread);
+            long streamTime = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                AttributedString.xhtml(BODIES[i % BODIES.length], rule).getElements();
+            }
+            streamTime = System.nanoTime() - streamTime;
+            streamBytes = bean.getThreadAllocatedBytes(thread) - streamBytes;
+
+            System.out.println("legacy: " + (legacyTime / 1000000) + "ms " + (legacyBytes / 1024) + "KB"
+                    + " stream: " + (streamTime / 1000000) + "ms " + (streamBytes / 1024) + "KB");
+        }
+    }
+
+    // ============================================================== //
+    // Support
+    // ============================================================== //
+
+    private static void assertSame(
+            List<AttributedElement> expect,
+            List<AttributedElement> actual) {
+
+        assertEquals(expect.size(), actual.size());
+        for (int i = 0; i < expect.size(); i++) {
+            AttributedElement e = expect.get(i);
+            AttributedElement a = actual.get(i);
+            assertEquals(e.getKind(), a.getKind());
+            assertEquals(e.getDisplayText(), a.getDisplayText());
+            assertEquals(e.getExpandedText(), a.getExpandedText());
+
+            if (e instanceof AttributedBucket) {
+                assertSame(((AttributedBucket) e).getChildren(), ((AttributedBucket) a).getChildren());
+            }
+        }
+    }
+
+    /**
+     * Legacy implementation (regex + SAX)
+     * 従来の実装 (比較用)
+     */
+    private static XmlDocument legacyXhtml(String string) throws Exception {
+        string = "<xml>" + string + "</xml>";
+        string = string.replaceAll("\n", "");
+        string = string.replaceAll("\r", "");
+        string = string.replaceAll("<script async", "<script");
+
+        for (String tag : new String[]{"br", "img", "hr"}) {
+            string = string.replaceAll("<(" + tag + "|" + //
+                    tag.toUpperCase() + ")(.*?)/?>", "<$1$2/>");
+        }
+        string = string.replaceAll("&(?![#a-zA-Z0-9]+;)", "&amp;");
+        for (SpecialCharType sp : SpecialCharType.values()) {
+            string = string.replaceAll(sp.getEntityRepl(), sp.getNumberRepl());
+        }
+
+        SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
+        LegacyHandler handler = new LegacyHandler();
+        parser.parse(new ByteArrayInputStream(string.getBytes(StandardCharsets.UTF_8)), handler);
+
+        XmlDocument document = new XmlDocument();
+        document.setRoot(handler.root);
+        return document;
+    }
+
+    private static class LegacyHandler extends DefaultHandler {
+
+        private XmlTag root;
+        private Stack<XmlTag> tags = new Stack<>();
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            XmlString string = new XmlString();
+            string.setString(new String(Arrays.copyOfRange(ch, start, start + length)));
+            tags.peek().getElements().add(string);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            XmlTag tag = new XmlTag();
+            tag.setName(qName);
+            for (int i = 0; i < attributes.getLength(); i++) {
+                tag.getAttributes().put(attributes.getQName(i), attributes.getValue(i));
+            }
+            if (tags.size() != 0) {
+                tags.peek().getElements().add(tag);
+            } else {
+                root = tag;
+            }
+            tags.push(tag);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            tags.pop();
+        }
+    }
 }